@@ -0,0 +1,138 @@
+package staj.ordermanagementsystemapi.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import staj.ordermanagementsystemapi.OrdermanagementsystemApiApplication;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CategoryRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CustomerRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ReviewRepository;
+import staj.ordermanagementsystemapi.entities.concretes.Category;
+import staj.ordermanagementsystemapi.entities.concretes.Customer;
+import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.concretes.Review;
+
+/**
+ * Starts the application without its web server against the database of the
+ * test resources (in-memory H2) and seeds it. Setting SPRING_DATASOURCE_URL,
+ * SPRING_DATASOURCE_USERNAME and SPRING_DATASOURCE_PASSWORD in the environment
+ * points the benchmarks at another database, e.g. PostgreSQL.
+ */
+final class BenchmarkDatabase {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private BenchmarkDatabase() {
+    }
+
+    // Extra arguments are Spring Boot command line properties, e.g. "--spring.jpa.properties.id.allocation-size=1".
+    static ConfigurableApplicationContext start(String... properties) {
+        SpringApplication application = new SpringApplication(OrdermanagementsystemApiApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        List<String> args = new ArrayList<>(List.of("--logging.level.root=WARN", "--spring.jpa.show-sql=false"));
+        args.addAll(List.of(properties));
+        return application.run(args.toArray(new String[0]));
+    }
+
+    // Returns the ids of the seeded customers and products as {customerIds, productIds}.
+    static int[][] seed(ConfigurableApplicationContext context, int customers, int products, int reviewsPerProduct) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        CustomerRepository customerRepository = context.getBean(CustomerRepository.class);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        ReviewRepository reviewRepository = context.getBean(ReviewRepository.class);
+        Random random = new Random(42);
+
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, products / 40); i++) {
+            Category category = new Category();
+            category.setName("category-" + i);
+            category.setDetails("Benchmark category " + i);
+            categories.add(category);
+        }
+        List<Category> savedCategories = categoryRepository.saveAll(categories);
+
+        int[] customerIds = new int[customers];
+        for (int from = 0; from < customers; from += CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(from + CHUNK_SIZE, customers);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Customer> chunk = new ArrayList<>();
+                for (int i = start; i < end; i++) {
+                    Customer customer = new Customer();
+                    customer.setName("customer-" + i);
+                    customer.setLocation("city-" + (i % 81));
+                    customer.setPhone(String.valueOf(5_000_000_000L + i));
+                    customer.setMail("customer-" + i + "@benchmark.com");
+                    customer.setPassword("benchmark");
+                    // Enough that no placed order is rejected for the balance
+                    customer.setWalletBalance(1_000_000_000.0);
+                    chunk.add(customer);
+                }
+                List<Customer> saved = customerRepository.saveAll(chunk);
+                for (int i = 0; i < saved.size(); i++) {
+                    customerIds[start + i] = saved.get(i).getId();
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+
+        int[] productIds = new int[products];
+        for (int from = 0; from < products; from += CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(from + CHUNK_SIZE, products);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Product> chunk = new ArrayList<>();
+                for (int i = start; i < end; i++) {
+                    Product product = new Product();
+                    product.setName("product-" + i);
+                    product.setPrice(1 + random.nextInt(500) + random.nextInt(100) / 100.0);
+                    product.setDetails("Benchmark product " + i);
+                    product.setCategory(savedCategories.get(i % savedCategories.size()));
+                    product.setQuantity(1_000_000_000);
+                    chunk.add(product);
+                }
+                List<Product> saved = productRepository.saveAll(chunk);
+                for (int i = 0; i < saved.size(); i++) {
+                    productIds[start + i] = saved.get(i).getId();
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+
+        // Review counts are skewed: a few products collect most of the reviews
+        int reviews = products * reviewsPerProduct;
+        for (int from = 0; from < reviews; from += CHUNK_SIZE) {
+            int end = Math.min(from + CHUNK_SIZE, reviews);
+            int count = end - from;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Review> chunk = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    int product = (int) (products * Math.pow(random.nextDouble(), 3));
+                    Review review = new Review();
+                    review.setDescription("Benchmark review");
+                    review.setStar(1 + random.nextInt(5));
+                    review.setCustomer(entityManager.getReference(Customer.class, customerIds[random.nextInt(customers)]));
+                    review.setProduct(entityManager.getReference(Product.class, productIds[product]));
+                    chunk.add(review);
+                }
+                reviewRepository.saveAll(chunk);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        return new int[][] {customerIds, productIds};
+    }
+}
@@ -0,0 +1,65 @@
+package staj.ordermanagementsystemapi.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.util.Statistics;
+
+/**
+ * Runs the benchmarks of this package once per thread count and prints one
+ * line per benchmark, parameter set and thread count with ops/s and p99 latency.
+ * <p>
+ * System properties: {@code benchmark.threads} (default 1,4,16,64) and
+ * {@code benchmark.include}, a regex of {@code <Class>.<method>} to run.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = System.getProperty("benchmark.include", ".*");
+        List<String[]> rows = new ArrayList<>();
+        for (String threads : System.getProperty("benchmark.threads", "1,4,16,64").split(",")) {
+            Options options = new OptionsBuilder()
+                    .include(BenchmarkRunner.class.getPackageName() + "\\." + include)
+                    .threads(Integer.parseInt(threads.trim()))
+                    .build();
+            Collection<RunResult> results = new Runner(options).run();
+            for (RunResult result : results) {
+                rows.add(summarize(result, threads.trim()));
+            }
+        }
+        System.out.printf("%n%-80s %8s %-12s %14s %14s%n", "Benchmark", "Threads", "Mode", "ops/s", "p99 ms");
+        for (String[] row : rows) {
+            System.out.printf("%-80s %8s %-12s %14s %14s%n", (Object[]) row);
+        }
+    }
+
+    private static String[] summarize(RunResult result, String threads) {
+        String benchmark = result.getParams().getBenchmark();
+        String method = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+        // One row per parameter set, e.g. insertOrders{allocationSize=1, batchSize=1}
+        BenchmarkParams params = result.getParams();
+        if (!params.getParamsKeys().isEmpty()) {
+            method += params.getParamsKeys().stream()
+                    .map(key -> key + "=" + params.getParam(key))
+                    .collect(Collectors.joining(", ", "{", "}"));
+        }
+        Result<?> primary = result.getPrimaryResult();
+        String mode = result.getParams().getMode().shortLabel();
+        if (result.getParams().getMode() == Mode.Throughput) {
+            return new String[] {method, threads, mode, String.format("%.1f", primary.getScore()), "-"};
+        }
+        // Sample time is reported in the benchmark's output unit (seconds per op)
+        Statistics statistics = primary.getStatistics();
+        return new String[] {method, threads, mode, "-", String.format("%.3f", statistics.getPercentile(99) * 1000)};
+    }
+}
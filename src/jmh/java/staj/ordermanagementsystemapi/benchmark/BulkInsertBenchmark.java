@@ -0,0 +1,117 @@
+package staj.ordermanagementsystemapi.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ReviewRepository;
+import staj.ordermanagementsystemapi.entities.concretes.Customer;
+import staj.ordermanagementsystemapi.entities.concretes.Order;
+import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.concretes.Review;
+
+/**
+ * Bulk inserts of orders and reviews, one transaction of {@code rows} entities
+ * per operation. {@code allocationSize=1, batchSize=1} costs one sequence call
+ * and one insert statement per row, like the identity columns the pooled
+ * sequences replaced; {@code allocationSize=50, batchSize=50} is the current
+ * configuration. An allocation size other than the one the sequences were
+ * created with needs a fresh database, such as the default in-memory one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    @Param({"1", "50"})
+    private int allocationSize;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    @Param("500")
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private OrderRepository orderRepository;
+    private ReviewRepository reviewRepository;
+    private int[] customerIds;
+    private int[] productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start(
+                "--spring.jpa.properties.id.allocation-size=" + allocationSize,
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        int[][] ids = BenchmarkDatabase.seed(context, 100, 100, 0);
+        customerIds = ids[0];
+        productIds = ids[1];
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        entityManager = context.getBean(EntityManager.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        reviewRepository = context.getBean(ReviewRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int insertOrders() {
+        return transactionTemplate.execute(status -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            List<Order> orders = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                Order order = new Order();
+                order.setCustomer(entityManager.getReference(Customer.class, customerIds[random.nextInt(customerIds.length)]));
+                order.setProduct(entityManager.getReference(Product.class, productIds[random.nextInt(productIds.length)]));
+                order.setQuantity(1 + random.nextInt(3));
+                orders.add(order);
+            }
+            return orderRepository.saveAll(orders).size();
+        });
+    }
+
+    @Benchmark
+    public int insertReviews() {
+        return transactionTemplate.execute(status -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            List<Review> reviews = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                Review review = new Review();
+                review.setDescription("Benchmark review");
+                review.setStar(1 + random.nextInt(5));
+                review.setCustomer(entityManager.getReference(Customer.class, customerIds[random.nextInt(customerIds.length)]));
+                review.setProduct(entityManager.getReference(Product.class, productIds[random.nextInt(productIds.length)]));
+                reviews.add(review);
+            }
+            return reviewRepository.saveAll(reviews).size();
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package staj.ordermanagementsystemapi.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import staj.ordermanagementsystemapi.business.abstracts.OrderService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductService;
+import staj.ordermanagementsystemapi.business.abstracts.ReviewService;
+import staj.ordermanagementsystemapi.entities.dto.CustomerDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+
+/**
+ * Service-level benchmarks against a seeded database. Throughput mode reports
+ * ops/s and sample-time mode reports the latency percentiles (p0.99 is the p99).
+ * Run with {@code ./mvnw -P benchmarks test-compile exec:exec}; see
+ * {@link BenchmarkRunner} for the thread counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderManagementBenchmark {
+
+    @Param("1000")
+    private int customers;
+
+    @Param("2000")
+    private int products;
+
+    @Param("50")
+    private int reviewsPerProduct;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private ProductService productService;
+    private ReviewService reviewService;
+    private int[] customerIds;
+    private int[] productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start();
+        int[][] ids = BenchmarkDatabase.seed(context, customers, products, reviewsPerProduct);
+        customerIds = ids[0];
+        productIds = ids[1];
+        orderService = context.getBean(OrderService.class);
+        productService = context.getBean(ProductService.class);
+        reviewService = context.getBean(ReviewService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderDto saveOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        CustomerDto customer = new CustomerDto();
+        customer.setId(customerIds[random.nextInt(customerIds.length)]);
+        ProductDto product = new ProductDto();
+        product.setId(productIds[random.nextInt(productIds.length)]);
+        OrderDto order = new OrderDto();
+        order.setCustomer(customer);
+        order.setProduct(product);
+        order.setQuantity(1 + random.nextInt(3));
+        return orderService.saveOrder(order);
+    }
+
+    @Benchmark
+    public List<ProductDto> getAllProducts() {
+        return productService.getAllProducts();
+    }
+
+    @Benchmark
+    public double getAverageReviewOfProduct() {
+        return reviewService.getAverageReviewOfProduct(productIds[ThreadLocalRandom.current().nextInt(productIds.length)]);
+    }
+}
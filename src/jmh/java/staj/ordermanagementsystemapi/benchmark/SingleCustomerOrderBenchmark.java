@@ -0,0 +1,78 @@
+package staj.ordermanagementsystemapi.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import staj.ordermanagementsystemapi.business.abstracts.OrderService;
+import staj.ordermanagementsystemapi.entities.dto.CustomerDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+
+/**
+ * Every thread places orders for the same customer, so all of them debit one
+ * wallet; the products are spread out so stock is not what they wait on. The
+ * ops/s across thread counts show how far the wallet serializes a customer's
+ * parallel orders. On PostgreSQL the debit is a conditional append that only
+ * waits from the append to the commit; the in-memory H2 default locks the
+ * customer row instead, so measure against PostgreSQL for that comparison.
+ * Run with {@code ./mvnw -P benchmarks test-compile exec:exec
+ * -Dbenchmark.include=SingleCustomerOrderBenchmark.*}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SingleCustomerOrderBenchmark {
+
+    @Param("2000")
+    private int products;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private int customerId;
+    private int[] productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start();
+        int[][] ids = BenchmarkDatabase.seed(context, 1, products, 0);
+        customerId = ids[0][0];
+        productIds = ids[1];
+        orderService = context.getBean(OrderService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderDto saveOrder() {
+        CustomerDto customer = new CustomerDto();
+        customer.setId(customerId);
+        ProductDto product = new ProductDto();
+        product.setId(productIds[ThreadLocalRandom.current().nextInt(productIds.length)]);
+        OrderDto order = new OrderDto();
+        order.setCustomer(customer);
+        order.setProduct(product);
+        order.setQuantity(1);
+        return orderService.saveOrder(order);
+    }
+}
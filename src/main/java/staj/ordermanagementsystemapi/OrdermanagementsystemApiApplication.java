@@ -2,8 +2,10 @@ package staj.ordermanagementsystemapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class OrdermanagementsystemApiApplication {
 
 	public static void main(String[] args) {
@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import staj.ordermanagementsystemapi.business.abstracts.CustomerService;
+import staj.ordermanagementsystemapi.core.exception.ConcurrentUpdateException;
 import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
 import staj.ordermanagementsystemapi.entities.dto.CustomerDto;
 
@@ -69,14 +70,28 @@ public class CustomerController {
             @RequestParam String updatedMail,
             @RequestParam String updatedBirthDate,
             @RequestParam String updatedPassword,
-            @RequestParam Double updatedWalletBalance
+            @RequestParam Long version
     ) {
         try {
             CustomerDto updatedCustomer = customerService.updateCustomer(id, updatedName, updatedLocation,
-                    updatedPhone, updatedMail, updatedBirthDate, updatedPassword, updatedWalletBalance);
+                    updatedPhone, updatedMail, updatedBirthDate, updatedPassword, version);
             return new ResponseEntity<>(updatedCustomer, HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (ConcurrentUpdateException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @PostMapping("/topup/{id}")
+    public ResponseEntity<CustomerDto> topUpWallet(@PathVariable Integer id, @RequestParam Double amount) {
+        try {
+            CustomerDto customer = customerService.topUpWallet(id, amount);
+            return new ResponseEntity<>(customer, HttpStatus.OK);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         } catch (IllegalArgumentException e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
@@ -2,9 +2,13 @@ package staj.ordermanagementsystemapi.api.controller;
 
 import java.util.Date;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,30 +16,67 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import staj.ordermanagementsystemapi.business.abstracts.IdempotencyService;
+import staj.ordermanagementsystemapi.business.abstracts.OrderExportService;
+import staj.ordermanagementsystemapi.business.abstracts.OrderPipelineService;
 import staj.ordermanagementsystemapi.business.abstracts.OrderService;
+import staj.ordermanagementsystemapi.business.abstracts.OutboxService;
+import staj.ordermanagementsystemapi.core.exception.ConcurrentUpdateException;
 import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.core.exception.TooManyRequestsException;
+import staj.ordermanagementsystemapi.core.utilities.pagination.KeysetCursor;
+import staj.ordermanagementsystemapi.entities.dto.CheckoutDto;
+import staj.ordermanagementsystemapi.entities.dto.CheckoutResultDto;
+import staj.ordermanagementsystemapi.entities.dto.CursorPageDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderBatchResultDto;
 import staj.ordermanagementsystemapi.entities.dto.OrderDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderLineDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderSearchFilter;
+import staj.ordermanagementsystemapi.entities.dto.OrderStatusUpdateDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderStatusUpdateResultDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderTrackingDto;
+import staj.ordermanagementsystemapi.entities.dto.OutboxEventDto;
 
 @RestController
 @RequestMapping("/order")
 public class OrderController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     private final OrderService orderService;
+    private final OrderPipelineService orderPipelineService;
+    private final IdempotencyService idempotencyService;
+    private final OrderExportService orderExportService;
+    private final OutboxService outboxService;
 
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderPipelineService orderPipelineService,
+                           IdempotencyService idempotencyService, OrderExportService orderExportService,
+                           OutboxService outboxService) {
         this.orderService = orderService;
+        this.orderPipelineService = orderPipelineService;
+        this.idempotencyService = idempotencyService;
+        this.orderExportService = orderExportService;
+        this.outboxService = outboxService;
     }
 
     @GetMapping("/get")
-    public ResponseEntity<List<OrderDto>> getAllOrders() {
+    public ResponseEntity<CursorPageDto<OrderDto>> getAllOrders(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_LIMIT) int limit
+    ) {
         try{
-            List<OrderDto> orders = orderService.getAllOrders();
+            CursorPageDto<OrderDto> orders = orderService.getAllOrders(after, limit);
             return new ResponseEntity<>(orders, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -51,33 +92,172 @@ public class OrderController {
         }
     }
 
+    @GetMapping("/get/{id}/lines")
+    public ResponseEntity<List<OrderLineDto>> getOrderLines(@PathVariable Integer id) {
+        try {
+            return new ResponseEntity<>(orderService.getOrderLines(id), HttpStatus.OK);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
     @GetMapping("/get/customer/{customerId}")
-    public ResponseEntity<List<OrderDto>> getOrderOfCustomer(@PathVariable Integer customerId) {
+    public ResponseEntity<CursorPageDto<OrderDto>> getOrderOfCustomer(
+            @PathVariable Integer customerId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_LIMIT) int limit
+    ) {
         try {
-            List<OrderDto> orders = orderService.getOrdersOfCustomer(customerId);
+            CursorPageDto<OrderDto> orders = orderService.getOrdersOfCustomer(customerId, after, limit);
             return new ResponseEntity<>(orders, HttpStatus.OK);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDto<OrderDto>> searchOrders(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+            @RequestParam(required = false) Integer customerId,
+            @RequestParam(required = false) Integer productId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_LIMIT) int limit
+    ) {
+        try {
+            OrderSearchFilter filter = new OrderSearchFilter(status, from, to, customerId, productId);
+            return new ResponseEntity<>(orderService.searchOrders(filter, after, limit), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Date to,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        // Validated up front: once streaming has started the status can no longer change
+        if (from != null && to != null && !from.before(to)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(NDJSON);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, EXPORT_BUFFER_SIZE);
+                orderExportService.exportOrders(from, to, status, gzipOut);
+                gzipOut.finish();
+            } else {
+                orderExportService.exportOrders(from, to, status, out);
+            }
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    @GetMapping("/events")
+    public ResponseEntity<CursorPageDto<OutboxEventDto>> getOrderEvents(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_LIMIT) int limit
+    ) {
+        try {
+            return new ResponseEntity<>(outboxService.getEvents(after, limit), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @PostMapping("/add")
-    public ResponseEntity<OrderDto> addOrder(@RequestBody OrderDto orderDto) {
-        OrderDto savedOrder = orderService.saveOrder(orderDto);
+    public ResponseEntity<OrderDto> addOrder(@RequestBody OrderDto orderDto,
+                                             @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        OrderDto savedOrder = idempotencyKey == null
+                ? orderService.saveOrder(orderDto)
+                : idempotencyService.execute("order:add", idempotencyKey, orderDto, OrderDto.class,
+                        () -> orderService.saveOrder(orderDto));
         return new ResponseEntity<>(savedOrder, HttpStatus.CREATED);
     }
 
+    @PostMapping("/checkout")
+    public ResponseEntity<CheckoutResultDto> checkout(@RequestBody CheckoutDto checkoutDto,
+                                                      @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        try {
+            CheckoutResultDto result = idempotencyKey == null
+                    ? orderService.checkout(checkoutDto)
+                    : idempotencyService.execute("order:checkout", idempotencyKey, checkoutDto, CheckoutResultDto.class,
+                            () -> orderService.checkout(checkoutDto));
+            return new ResponseEntity<>(result, HttpStatus.CREATED);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @PostMapping("/add/batch")
+    public ResponseEntity<List<OrderBatchResultDto>> addOrders(@RequestBody List<OrderDto> orderDtos) {
+        try {
+            List<OrderBatchResultDto> results = orderService.saveOrders(orderDtos);
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @PostMapping("/add/async")
+    public ResponseEntity<OrderTrackingDto> addOrderAsync(@RequestBody OrderDto orderDto) {
+        try {
+            OrderTrackingDto tracking = orderPipelineService.submit(orderDto);
+            return new ResponseEntity<>(tracking, HttpStatus.ACCEPTED);
+        } catch (TooManyRequestsException e) {
+            return new ResponseEntity<>(HttpStatus.TOO_MANY_REQUESTS);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/status/{trackingId}")
+    public ResponseEntity<OrderTrackingDto> getOrderStatus(@PathVariable String trackingId) {
+        try {
+            OrderTrackingDto tracking = orderPipelineService.getStatus(trackingId);
+            return new ResponseEntity<>(tracking, HttpStatus.OK);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
     @PutMapping("/update/{id}")
     public ResponseEntity<OrderDto> updateOrder(
             @PathVariable Integer id,
             @RequestParam Date updatedDeliveryDate,
-            @RequestParam String updatedStatus
+            @RequestParam String updatedStatus,
+            @RequestParam Long version
     ) {
         try {
-            OrderDto updatedOrder = orderService.updateOrder(id, updatedDeliveryDate, updatedStatus);
+            OrderDto updatedOrder = orderService.updateOrder(id, updatedDeliveryDate, updatedStatus, version);
             return new ResponseEntity<>(updatedOrder, HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (ConcurrentUpdateException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        }
+    }
+
+    @PutMapping("/status/bulk")
+    public ResponseEntity<OrderStatusUpdateResultDto> updateOrderStatuses(@RequestBody OrderStatusUpdateDto statusUpdateDto) {
+        try {
+            return new ResponseEntity<>(orderService.updateOrderStatuses(statusUpdateDto), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
 
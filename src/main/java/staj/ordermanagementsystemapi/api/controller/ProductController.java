@@ -1,43 +1,129 @@
 package staj.ordermanagementsystemapi.api.controller;
 
+import java.io.InputStream;
 import java.util.Date;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
+import staj.ordermanagementsystemapi.business.abstracts.CatalogService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductFacetService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductImportService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductSearchService;
 import staj.ordermanagementsystemapi.business.abstracts.ProductService;
+import staj.ordermanagementsystemapi.core.exception.ConcurrentUpdateException;
 import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.entities.dto.CatalogSnapshot;
+import staj.ordermanagementsystemapi.entities.dto.ProductDetailDto;
 import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductFilterResultDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductRepriceDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductRepriceResultDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductSearchHitDto;
 
 @RestController
 @RequestMapping("/product")
 public class ProductController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final ProductService productService;
+    private final CatalogService catalogService;
+    private final ProductSearchService productSearchService;
+    private final ProductFacetService productFacetService;
+    private final ProductImportService productImportService;
 
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, CatalogService catalogService,
+                             ProductSearchService productSearchService, ProductFacetService productFacetService,
+                             ProductImportService productImportService) {
         this.productService = productService;
+        this.catalogService = catalogService;
+        this.productSearchService = productSearchService;
+        this.productFacetService = productFacetService;
+        this.productImportService = productImportService;
     }
 
+    // Served from the pre-encoded catalog snapshot; clients revalidate with If-None-Match.
     @GetMapping("/get")
-    public ResponseEntity<List<ProductDto>> getAllProducts() {
-        List<ProductDto> products = productService.getAllProducts();
-        try{
-            return new ResponseEntity<>(products, HttpStatus.OK);
-        } catch (Exception e) {
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<byte[]> getAllProducts(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        CatalogSnapshot snapshot = catalogService.getSnapshot();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        // Each encoding gets its own strong ETag; either one proves the client has the current content
+        String etag = gzip ? gzipEtag(snapshot.getEtag()) : snapshot.getEtag();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.setCacheControl(CacheControl.noCache());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        if (matches(ifNoneMatch, snapshot.getEtag())) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return new ResponseEntity<>(gzip ? snapshot.getGzip() : snapshot.getJson(), headers, HttpStatus.OK);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductSearchHitDto>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + ProductSearchService.DEFAULT_LIMIT) int limit
+    ) {
+        try {
+            return new ResponseEntity<>(productSearchService.search(q, limit), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggestProductTerms(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        try {
+            return new ResponseEntity<>(productSearchService.suggest(prefix, limit), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<ProductFilterResultDto> filterProducts(
+            @RequestParam(required = false) List<Integer> categoryId,
+            @RequestParam(required = false) List<Integer> priceBand,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "" + ProductFacetService.DEFAULT_LIMIT) int limit
+    ) {
+        try {
+            return new ResponseEntity<>(productFacetService.filter(categoryId, priceBand, inStock, offset, limit), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
 
@@ -51,6 +137,21 @@ public class ProductController {
         }
     }
 
+    // Product, category, rating summary and the newest reviews from a single query.
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<ProductDetailDto> getProductDetail(
+            @PathVariable Integer id,
+            @RequestParam(defaultValue = "" + ProductService.DEFAULT_DETAIL_REVIEWS) int reviews
+    ) {
+        try {
+            return new ResponseEntity<>(productService.getProductDetail(id, reviews), HttpStatus.OK);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @PostMapping("/add")
     public ResponseEntity<ProductDto> addProduct(@RequestBody ProductDto productDto) {
         try {
@@ -61,6 +162,33 @@ public class ProductController {
         }
     }
 
+    // The body is read while the response streams progress and rejected rows back as NDJSON.
+    @PostMapping("/import")
+    public ResponseEntity<StreamingResponseBody> importProducts(
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body
+    ) {
+        ProductImportService.Format format = importFormatOf(contentType);
+        if (format == null) {
+            return new ResponseEntity<>(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(NDJSON);
+        StreamingResponseBody stream = out -> productImportService.importProducts(body, format, out);
+        return new ResponseEntity<>(stream, headers, HttpStatus.OK);
+    }
+
+    @PostMapping("/reprice")
+    public ResponseEntity<ProductRepriceResultDto> repriceCategory(@RequestBody ProductRepriceDto repriceDto) {
+        try {
+            return new ResponseEntity<>(productService.repriceCategory(repriceDto), HttpStatus.OK);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @PutMapping("/update/{id}")
     public ResponseEntity<ProductDto> updateProduct(
             @PathVariable Integer id,
@@ -70,14 +198,29 @@ public class ProductController {
             @RequestParam String updatedDetails,
             @RequestParam Integer categoryId,
             @RequestParam Integer updatedQuantity,
-            @RequestParam Date updatedTimestamp
+            @RequestParam Date updatedTimestamp,
+            @RequestParam Long version
     ) {
         try {
             ProductDto updatedProduct = productService.updateProduct(id, updatedName, updatedPrice, updatedThumbnail,
-                    updatedDetails, categoryId, updatedQuantity, updatedTimestamp);
+                    updatedDetails, categoryId, updatedQuantity, updatedTimestamp, version);
             return new ResponseEntity<>(updatedProduct, HttpStatus.OK);
         } catch (ResourceNotFoundException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (ConcurrentUpdateException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // JSON merge patch: send only the fields to change, e.g. {"quantity": 12}.
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ProductDto> patchProduct(@PathVariable Integer id, @RequestBody JsonNode patch) {
+        try {
+            return new ResponseEntity<>(productService.patchProduct(id, patch), HttpStatus.OK);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         } catch (IllegalArgumentException e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
@@ -92,4 +235,75 @@ public class ProductController {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
+
+    private static ProductImportService.Format importFormatOf(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if (mediaType.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+                return ProductImportService.Format.CSV;
+            }
+            return mediaType.isCompatibleWith(NDJSON) ? ProductImportService.Format.NDJSON : null;
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+    }
+
+    // gzip is acceptable when listed, or covered by "*", with a q-value above zero; an explicit gzip entry wins.
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double wildcard = 0;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip")) {
+                return qualityOf(parts) > 0;
+            }
+            if (name.equals("*")) {
+                wildcard = qualityOf(parts);
+            }
+        }
+        return wildcard > 0;
+    }
+
+    // A missing q-value means 1; a malformed one counts as 0, so the coding is not used.
+    private static double qualityOf(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String[] parameter = parts[i].trim().split("=", 2);
+            if (parameter.length == 2 && parameter[0].trim().equalsIgnoreCase("q")) {
+                try {
+                    double q = Double.parseDouble(parameter[1].trim());
+                    return q >= 0 && q <= 1 ? q : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    // If-None-Match uses the weak comparison, so W/ prefixes added by proxies still match.
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String gzipEtag(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
 }
@@ -11,12 +11,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import staj.ordermanagementsystemapi.business.abstracts.IdempotencyService;
 import staj.ordermanagementsystemapi.business.abstracts.ReviewService;
 import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.core.utilities.pagination.KeysetCursor;
+import staj.ordermanagementsystemapi.entities.dto.CursorPageDto;
 import staj.ordermanagementsystemapi.entities.dto.ReviewDto;
 
 @RestController
@@ -24,17 +28,24 @@ import staj.ordermanagementsystemapi.entities.dto.ReviewDto;
 public class ReviewController {
 
     private final ReviewService reviewService;
+    private final IdempotencyService idempotencyService;
 
     @Autowired
-    public ReviewController(ReviewService reviewService) {
+    public ReviewController(ReviewService reviewService, IdempotencyService idempotencyService) {
         this.reviewService = reviewService;
+        this.idempotencyService = idempotencyService;
     }
 
     @GetMapping("/get")
-    public ResponseEntity<List<ReviewDto>> getAllReviews() {
-        List<ReviewDto> reviews = reviewService.getAllReviews();
+    public ResponseEntity<CursorPageDto<ReviewDto>> getAllReviews(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_LIMIT) int limit
+    ) {
         try{
+            CursorPageDto<ReviewDto> reviews = reviewService.getAllReviews(after, limit);
             return new ResponseEntity<>(reviews, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -51,8 +62,12 @@ public class ReviewController {
     }
 
     @PostMapping("/add")
-    public ResponseEntity<ReviewDto> addReview(@RequestBody ReviewDto reviewDto) {
-        ReviewDto savedReview = reviewService.saveReview(reviewDto);
+    public ResponseEntity<ReviewDto> addReview(@RequestBody ReviewDto reviewDto,
+                                               @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        ReviewDto savedReview = idempotencyKey == null
+                ? reviewService.saveReview(reviewDto)
+                : idempotencyService.execute("review:add", idempotencyKey, reviewDto, ReviewDto.class,
+                        () -> reviewService.saveReview(reviewDto));
         return new ResponseEntity<>(savedReview, HttpStatus.CREATED);
     }
 
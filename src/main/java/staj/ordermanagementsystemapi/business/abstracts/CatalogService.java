@@ -0,0 +1,10 @@
+package staj.ordermanagementsystemapi.business.abstracts;
+
+import staj.ordermanagementsystemapi.entities.dto.CatalogSnapshot;
+
+public interface CatalogService {
+    CatalogSnapshot getSnapshot();
+
+    // Called after products or categories were written; takes effect when the current transaction, if any, commits.
+    void invalidate();
+}
@@ -15,6 +15,7 @@ public interface CustomerService {
                                String updatedMail, 
                                String updatedBirthDate,
                                String updatedPassword, 
-                               Double updatedWalletBalance);
+                               Long version);
     void deleteCustomer(Integer id);
+    CustomerDto topUpWallet(Integer id, Double amount);
 }
@@ -0,0 +1,10 @@
+package staj.ordermanagementsystemapi.business.abstracts;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    // Runs the action once per scope and key; repeated calls get the stored response instead.
+    <T> T execute(String scope, String key, Object request, Class<T> responseType, Supplier<T> action);
+
+    int deleteExpired();
+}
@@ -0,0 +1,25 @@
+package staj.ordermanagementsystemapi.business.abstracts;
+
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+public interface InventoryService {
+    int getAvailableQuantity(Integer productId);
+
+    // Holds the given quantity per product id, all or nothing, until confirmed, released or expired.
+    long reserve(Map<Integer, Integer> quantities);
+    void confirm(long reservationId);
+    void release(long reservationId);
+
+    // Holds stock that is confirmed when the current transaction commits and released otherwise.
+    void reserveForTransaction(Map<Integer, Integer> quantities);
+
+    // Commits a write of the product's stored quantity, which returns the row it wrote, and applies
+    // it to the stock; no flush runs in between. Decrements not flushed yet still apply on top of it.
+    <T> T writeStock(Integer productId, Supplier<T> write, ToIntFunction<T> storedQuantity);
+    // Called after the product was deleted.
+    void removeProduct(Integer productId);
+
+    int flush();
+}
@@ -0,0 +1,8 @@
+package staj.ordermanagementsystemapi.business.abstracts;
+
+import java.util.Date;
+
+public interface OrderArchiveService {
+    // Moves delivered orders placed before the cutoff to orders_archive; returns how many were moved.
+    int archiveOrders(Date cutoff);
+}
@@ -0,0 +1,10 @@
+package staj.ordermanagementsystemapi.business.abstracts;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+
+public interface OrderExportService {
+    // Writes matching orders as NDJSON, one object per line; every filter is optional. Returns the row count.
+    long exportOrders(Date from, Date to, String status, OutputStream out) throws IOException;
+}
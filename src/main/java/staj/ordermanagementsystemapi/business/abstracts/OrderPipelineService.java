@@ -0,0 +1,10 @@
+package staj.ordermanagementsystemapi.business.abstracts;
+
+import staj.ordermanagementsystemapi.entities.dto.OrderDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderTrackingDto;
+
+public interface OrderPipelineService {
+    // Queues the order and returns at once; throws TooManyRequestsException when the queue is full.
+    OrderTrackingDto submit(OrderDto orderDto);
+    OrderTrackingDto getStatus(String trackingId);
+}
@@ -3,13 +3,27 @@ package staj.ordermanagementsystemapi.business.abstracts;
 import java.util.Date;
 import java.util.List;
 
+import staj.ordermanagementsystemapi.entities.dto.CheckoutDto;
+import staj.ordermanagementsystemapi.entities.dto.CheckoutResultDto;
+import staj.ordermanagementsystemapi.entities.dto.CursorPageDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderBatchResultDto;
 import staj.ordermanagementsystemapi.entities.dto.OrderDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderLineDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderSearchFilter;
+import staj.ordermanagementsystemapi.entities.dto.OrderStatusUpdateDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderStatusUpdateResultDto;
 
 public interface OrderService {
-    List<OrderDto> getAllOrders();
+    CursorPageDto<OrderDto> getAllOrders(String after, int limit);
     OrderDto getOrderById(Integer id);
-    List <OrderDto> getOrdersOfCustomer(Integer customerId);
+    CursorPageDto<OrderDto> getOrdersOfCustomer(Integer customerId, String after, int limit);
+    CursorPageDto<OrderDto> searchOrders(OrderSearchFilter filter, String after, int limit);
     OrderDto saveOrder(OrderDto orderDto);
-    OrderDto updateOrder(Integer id, Date deliveryDate, String updatedStatus);
+    List<OrderBatchResultDto> saveOrders(List<OrderDto> orderDtos);
+    CheckoutResultDto checkout(CheckoutDto checkoutDto);
+    List<OrderLineDto> getOrderLines(Integer orderId);
+    // Overwrites the order the client read at the given version; a newer version is a ConcurrentUpdateException.
+    OrderDto updateOrder(Integer id, Date deliveryDate, String updatedStatus, Long version);
+    OrderStatusUpdateResultDto updateOrderStatuses(OrderStatusUpdateDto statusUpdateDto);
     void deleteOrder(Integer id);
 }
@@ -0,0 +1,14 @@
+package staj.ordermanagementsystemapi.business.abstracts;
+
+import java.util.List;
+
+import staj.ordermanagementsystemapi.entities.dto.CursorPageDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderEventDto;
+import staj.ordermanagementsystemapi.entities.dto.OutboxEventDto;
+
+public interface OutboxService {
+    // Must be called inside the transaction that makes the change.
+    void recordOrderEvents(String type, List<OrderEventDto> events);
+    CursorPageDto<OutboxEventDto> getEvents(Long after, int limit);
+    int relay();
+}
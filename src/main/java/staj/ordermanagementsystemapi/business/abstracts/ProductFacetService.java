@@ -0,0 +1,21 @@
+package staj.ordermanagementsystemapi.business.abstracts;
+
+import java.util.List;
+
+import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductFilterResultDto;
+
+public interface ProductFacetService {
+    int DEFAULT_LIMIT = 50;
+    int MAX_LIMIT = 500;
+
+    // Values within one facet are OR-ed, facets are AND-ed; null or empty means no filter on that facet.
+    ProductFilterResultDto filter(List<Integer> categoryIds, List<Integer> priceBands, Boolean inStock, int offset, int limit);
+
+    // Called after a product was saved or deleted, or its stored stock changed.
+    void index(ProductDto productDto);
+    void remove(Integer productId);
+    void updateStock(Integer productId, int quantity);
+
+    int rebuild();
+}
@@ -0,0 +1,15 @@
+package staj.ordermanagementsystemapi.business.abstracts;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import staj.ordermanagementsystemapi.entities.dto.ProductImportProgressDto;
+
+public interface ProductImportService {
+    enum Format { CSV, NDJSON }
+
+    // Columns (CSV header or JSON fields): name, price, category (by name), quantity, and optionally thumbnail and details.
+    // Writes NDJSON to out: one line per rejected row and one progress line per committed chunk, ending with the totals.
+    ProductImportProgressDto importProducts(InputStream in, Format format, OutputStream out) throws IOException;
+}
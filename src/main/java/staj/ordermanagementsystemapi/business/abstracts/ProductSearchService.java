@@ -0,0 +1,20 @@
+package staj.ordermanagementsystemapi.business.abstracts;
+
+import java.util.List;
+
+import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductSearchHitDto;
+
+public interface ProductSearchService {
+    int DEFAULT_LIMIT = 20;
+    int MAX_LIMIT = 100;
+
+    List<ProductSearchHitDto> search(String query, int limit);
+    List<String> suggest(String prefix, int limit);
+
+    // Called after a product was saved or deleted.
+    void index(ProductDto productDto);
+    void remove(Integer productId);
+
+    int rebuild();
+}
@@ -3,12 +3,22 @@ package staj.ordermanagementsystemapi.business.abstracts;
 import java.util.Date;
 import java.util.List;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
+import staj.ordermanagementsystemapi.entities.dto.ProductDetailDto;
 import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductRepriceDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductRepriceResultDto;
 
 public interface ProductService {
+    int DEFAULT_DETAIL_REVIEWS = 5;
+    int MAX_DETAIL_REVIEWS = 50;
+
     List<ProductDto> getAllProducts();
     ProductDto getProductById(Integer id);
+    ProductDetailDto getProductDetail(Integer id, int reviewLimit);
     ProductDto saveProduct(ProductDto productDto);
+    // Full overwrite; fails with a ConcurrentUpdateException when the product changed after the client read version.
     ProductDto updateProduct(Integer id,
     		                 String updatedName,
                              Double updatedPrice, 
@@ -16,6 +26,13 @@ public interface ProductService {
                              String updatedDetail, 
                              Integer updatedCategoryId,
                              Integer newQuantity, 
-                             Date newDate);
+                             Date newDate,
+                             Long version);
+    // Applies a JSON merge patch (RFC 7396): only the fields present are written, null clears thumbnail or details.
+    ProductDto patchProduct(Integer id, JsonNode patch);
     void deleteProduct(Integer id);
+    // Changes the price of every product in a category with one statement.
+    ProductRepriceResultDto repriceCategory(ProductRepriceDto repriceDto);
+    // Drops the cached products of a category, which embed it, after the category itself changed.
+    void evictCategory(Integer categoryId);
 }
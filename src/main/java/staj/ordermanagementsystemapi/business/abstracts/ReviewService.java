@@ -2,10 +2,11 @@ package staj.ordermanagementsystemapi.business.abstracts;
 
 import java.util.List;
 
+import staj.ordermanagementsystemapi.entities.dto.CursorPageDto;
 import staj.ordermanagementsystemapi.entities.dto.ReviewDto;
 
 public interface ReviewService {
-    List<ReviewDto> getAllReviews();
+    CursorPageDto<ReviewDto> getAllReviews(String after, int limit);
     ReviewDto getReviewById(Integer id);
     ReviewDto saveReview(ReviewDto reviewDTO);
     ReviewDto updateReview(Integer id, Integer updatedStar, String updatedDetails);
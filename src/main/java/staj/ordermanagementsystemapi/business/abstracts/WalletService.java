@@ -0,0 +1,16 @@
+package staj.ordermanagementsystemapi.business.abstracts;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface WalletService {
+    double getBalance(Integer customerId);
+    Map<Integer, Double> getBalances(Collection<Integer> customerIds);
+    Map<Integer, Double> getPendingAmounts(Collection<Integer> customerIds);
+
+    // Appends the debit only while the balance covers it; throws IllegalArgumentException otherwise.
+    void debit(Integer customerId, double amount, String reference);
+    void credit(Integer customerId, double amount, String reference);
+
+    int compact();
+}
@@ -0,0 +1,164 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import staj.ordermanagementsystemapi.business.abstracts.CatalogService;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+import staj.ordermanagementsystemapi.entities.dto.CatalogSnapshot;
+import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+
+/**
+ * Keeps the encoded product list in memory. Every write to products,
+ * categories or stored stock bumps a generation counter once it has committed;
+ * the next read sees the snapshot is older than the counter and rebuilds it
+ * with one query, so a burst of writes costs a single rebuild. The ETag is a
+ * hash of the JSON, so a rebuild that produced the same content keeps it.
+ * <p>
+ * The counter only sees writes made by this node. Writes of other nodes are
+ * caught by a signature of the product and category tables (counts and the sums
+ * of product ids and versions), compared at most every {@code check-interval-ms}; a
+ * change the signature cannot see, such as another node renaming a category,
+ * shows up once the snapshot is older than {@code ttl-ms}.
+ */
+@Service
+public class CatalogServiceImpl implements CatalogService {
+
+    private final ProductRepository productRepository;
+    private final ModelMapper modelMapper;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong generation = new AtomicLong();
+    private final Object rebuildLock = new Object();
+    private final long ttlMillis;
+    private final long checkIntervalMillis;
+    private volatile Entry entry;
+
+    @Autowired
+    public CatalogServiceImpl(ProductRepository productRepository, ModelMapper modelMapper, ObjectMapper objectMapper,
+                              @Value("${product.catalog.ttl-ms:60000}") long ttlMillis,
+                              @Value("${product.catalog.check-interval-ms:1000}") long checkIntervalMillis) {
+        this.productRepository = productRepository;
+        this.modelMapper = modelMapper;
+        this.objectMapper = objectMapper;
+        this.ttlMillis = ttlMillis;
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    @Override
+    public CatalogSnapshot getSnapshot() {
+        Entry current = entry;
+        if (isFresh(current)) {
+            return current.snapshot;
+        }
+        synchronized (rebuildLock) {
+            if (entry != current && isFresh(entry)) {
+                return entry.snapshot;
+            }
+            // Both read before the query: a write committing meanwhile leaves the snapshot marked stale
+            long target = generation.get();
+            String signature = signature();
+            CatalogSnapshot snapshot = build(target);
+            entry = new Entry(snapshot, signature, System.currentTimeMillis());
+            return snapshot;
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            generation.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                generation.incrementAndGet();
+            }
+        });
+    }
+
+    private boolean isFresh(Entry current) {
+        if (current == null || current.snapshot.getGeneration() != generation.get()) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (now - current.builtAt >= ttlMillis) {
+            return false;
+        }
+        if (now - current.checkedAt < checkIntervalMillis) {
+            return true;
+        }
+        if (!current.signature.equals(signature())) {
+            return false;
+        }
+        current.checkedAt = now;
+        return true;
+    }
+
+    private String signature() {
+        List<Object[]> rows = productRepository.findCatalogSignature();
+        return rows.isEmpty() ? "" : Arrays.toString(rows.get(0));
+    }
+
+    private CatalogSnapshot build(long target) {
+        List<ProductDto> products = productRepository.findAllWithCategory().stream()
+                .map(product -> modelMapper.map(product, ProductDto.class))
+                .toList();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(products);
+            return new CatalogSnapshot(target, etagOf(json), json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode the catalog: " + e.getMessage());
+        }
+    }
+
+    private static String etagOf(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to hash the catalog: " + e.getMessage());
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(json);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to compress the catalog: " + e.getMessage());
+        }
+        return out.toByteArray();
+    }
+
+    private static class Entry {
+        private final CatalogSnapshot snapshot;
+        private final String signature;
+        private final long builtAt;
+        private volatile long checkedAt;
+
+        private Entry(CatalogSnapshot snapshot, String signature, long builtAt) {
+            this.snapshot = snapshot;
+            this.signature = signature;
+            this.builtAt = builtAt;
+            this.checkedAt = builtAt;
+        }
+    }
+}
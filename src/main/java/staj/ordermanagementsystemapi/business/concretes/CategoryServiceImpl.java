@@ -9,7 +9,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import staj.ordermanagementsystemapi.business.abstracts.CatalogService;
 import staj.ordermanagementsystemapi.business.abstracts.CategoryService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductService;
 import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.CategoryRepository;
 import staj.ordermanagementsystemapi.entities.concretes.Category;
@@ -20,11 +22,16 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final ModelMapper modelMapper;
+    private final CatalogService catalogService;
+    private final ProductService productService;
 
     @Autowired
-    public CategoryServiceImpl(CategoryRepository categoryRepository, ModelMapper modelMapper) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, ModelMapper modelMapper, CatalogService catalogService,
+                               ProductService productService) {
         this.categoryRepository = categoryRepository;
         this.modelMapper = modelMapper;
+        this.catalogService = catalogService;
+        this.productService = productService;
     }
 
     @Override
@@ -47,6 +54,7 @@ public class CategoryServiceImpl implements CategoryService {
         try {
             Category category = modelMapper.map(categoryDTO, Category.class);
             Category savedCategory = categoryRepository.save(category);
+            catalogService.invalidate();
             return modelMapper.map(savedCategory, CategoryDto.class);
         } catch (DataIntegrityViolationException e) {
             throw new IllegalArgumentException("Category name must be unique.");
@@ -66,6 +74,9 @@ public class CategoryServiceImpl implements CategoryService {
 
             // Save the updated category
             Category updatedCategory = categoryRepository.save(category);
+            // Products embed their category
+            catalogService.invalidate();
+            productService.evictCategory(id);
             return modelMapper.map(updatedCategory, CategoryDto.class);
         } catch (DataIntegrityViolationException e) {
             throw new IllegalArgumentException("Category name must be unique.");
@@ -81,6 +92,7 @@ public class CategoryServiceImpl implements CategoryService {
         try {
             // Attempt to delete the category
             categoryRepository.deleteById(id);
+            catalogService.invalidate();
         } catch (DataIntegrityViolationException e) {
             // If the category is associated with existing products, throw an IllegalArgumentException
             throw new IllegalArgumentException("Category with id " + id + " is associated with existing products and cannot be deleted.");
@@ -1,15 +1,21 @@
 package staj.ordermanagementsystemapi.business.concretes;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import staj.ordermanagementsystemapi.business.abstracts.CustomerService;
+import staj.ordermanagementsystemapi.business.abstracts.WalletService;
+import staj.ordermanagementsystemapi.core.exception.ConcurrentUpdateException;
 import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.core.utilities.concurrency.OptimisticWriteExecutor;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.CustomerRepository;
 import staj.ordermanagementsystemapi.entities.concretes.Customer;
 import staj.ordermanagementsystemapi.entities.dto.CustomerDto;
@@ -20,19 +26,27 @@ public class CustomerServiceImpl implements CustomerService {
     private final CustomerRepository customerRepository;
     private final ModelMapper modelMapper;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final WalletService walletService;
+    private final OptimisticWriteExecutor writeExecutor;
 
     @Autowired
-    public CustomerServiceImpl(CustomerRepository customerRepository, ModelMapper modelMapper, BCryptPasswordEncoder passwordEncoder) {
+    public CustomerServiceImpl(CustomerRepository customerRepository, ModelMapper modelMapper,
+                               BCryptPasswordEncoder passwordEncoder, WalletService walletService,
+                               OptimisticWriteExecutor writeExecutor) {
         this.customerRepository = customerRepository;
         this.modelMapper = modelMapper;
         this.passwordEncoder = passwordEncoder;
+        this.walletService = walletService;
+        this.writeExecutor = writeExecutor;
     }
 
     @Override
     public List<CustomerDto> getAllCustomers() {
         List<Customer> customers = customerRepository.findAll();
+        Map<Integer, Double> pending = walletService.getPendingAmounts(
+                customers.stream().map(Customer::getId).collect(Collectors.toList()));
         return customers.stream()
-                .map(customer -> modelMapper.map(customer, CustomerDto.class))
+                .map(customer -> toDto(customer, pending))
                 .collect(Collectors.toList());
     }
 
@@ -40,7 +54,7 @@ public class CustomerServiceImpl implements CustomerService {
     public CustomerDto getCustomerById(Integer id) {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id));
-        return modelMapper.map(customer, CustomerDto.class);
+        return toDto(customer, walletService.getPendingAmounts(List.of(id)));
     }
 
     @Override
@@ -59,20 +73,31 @@ public class CustomerServiceImpl implements CustomerService {
     @Override
     public CustomerDto updateCustomer(Integer id, String updatedName, String updatedLocation,
                                       String updatedPhone, String updatedMail, String updatedBirthDate,
-                                      String updatedPassword, Double updatedWalletBalance) {
-        Customer customer = customerRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id));
+                                      String updatedPassword, Long version) {
+        return writeExecutor.execute("customer.update", () -> {
+            Customer customer = customerRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id));
+            if (!customer.getVersion().equals(version)) {
+                throw new ConcurrentUpdateException("Customer " + id + " changed after version " + version + ".");
+            }
 
-        try {
-            Customer updatedCustomer = new Customer(id, updatedName, updatedLocation,
-                    updatedPhone, updatedMail, updatedBirthDate, updatedPassword,
-                    updatedWalletBalance, customer.getTimestamp());
+            try {
+                Customer updatedCustomer = new Customer(id, updatedName, updatedLocation,
+                        updatedPhone, updatedMail, updatedBirthDate, updatedPassword,
+                        customer.getWalletBalance(), customer.getTimestamp(), version);
 
-            customerRepository.save(updatedCustomer);
-            return modelMapper.map(updatedCustomer, CustomerDto.class);
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to update the customer:" + e.getMessage());
-        }
+                Customer savedCustomer = customerRepository.saveAndFlush(updatedCustomer);
+                // The balance is not part of the profile: it only changes through ledger debits and
+                // credits such as a top-up, which do not bump the customer's version.
+                CustomerDto customerDto = modelMapper.map(savedCustomer, CustomerDto.class);
+                customerDto.setWalletBalance(walletService.getBalance(id));
+                return customerDto;
+            } catch (OptimisticLockingFailureException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Failed to update the customer:" + e.getMessage());
+            }
+        });
     }
 
     @Override
@@ -85,4 +110,21 @@ public class CustomerServiceImpl implements CustomerService {
             throw new IllegalArgumentException("Failed to delete the customer:" + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional
+    public CustomerDto topUpWallet(Integer id, Double amount) {
+        Customer customer = customerRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer", "id", id));
+        walletService.credit(id, amount, "top-up");
+        CustomerDto customerDto = modelMapper.map(customer, CustomerDto.class);
+        customerDto.setWalletBalance(walletService.getBalance(id));
+        return customerDto;
+    }
+
+    private CustomerDto toDto(Customer customer, Map<Integer, Double> pending) {
+        CustomerDto customerDto = modelMapper.map(customer, CustomerDto.class);
+        customerDto.setWalletBalance(customer.getWalletBalance() + pending.getOrDefault(customer.getId(), 0.0));
+        return customerDto;
+    }
+}
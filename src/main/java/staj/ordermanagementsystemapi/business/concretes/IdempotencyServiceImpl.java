@@ -0,0 +1,273 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import staj.ordermanagementsystemapi.business.abstracts.IdempotencyService;
+import staj.ordermanagementsystemapi.core.exception.IdempotencyKeyException;
+import staj.ordermanagementsystemapi.core.exception.RequestInProgressException;
+import staj.ordermanagementsystemapi.core.utilities.cache.LruCache;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.IdempotencyRecordRepository;
+import staj.ordermanagementsystemapi.entities.concretes.IdempotencyRecord;
+
+/**
+ * Stores the response of the first request made with an idempotency key and
+ * replays it for every retry with the same key.
+ * <p>
+ * The idempotency_record table is the source of truth shared by all nodes. A
+ * request first claims its key by inserting an IN_PROGRESS row; the unique
+ * constraint on (scope, key) lets exactly one node win. The winner runs the
+ * action and marks the row COMPLETED in the same transaction, so the stored
+ * response exists exactly when the action's writes do. Completed responses are
+ * also kept in a local LRU, and duplicates arriving on the same node while the
+ * first is still running wait on its future instead of polling the table.
+ * <p>
+ * A claim is held for {@code idempotency.lease-ms}, which must outlast the
+ * slowest action; only a claim abandoned by a crashed node is taken over once
+ * its lease ends. Duplicates give up after {@code idempotency.wait-timeout-ms}
+ * with 409 Conflict and may retry later.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+    private final LruCache<String, CachedResponse> cache;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final long waitTimeoutMillis;
+    private final long leaseMillis;
+
+    @Autowired
+    public IdempotencyServiceImpl(IdempotencyRecordRepository idempotencyRecordRepository, ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${idempotency.cache-size:10000}") int cacheSize,
+                                  @Value("${idempotency.ttl-ms:86400000}") long ttlMillis,
+                                  @Value("${idempotency.wait-timeout-ms:30000}") long waitTimeoutMillis,
+                                  @Value("${idempotency.lease-ms:300000}") long leaseMillis) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cache = new LruCache<>(cacheSize);
+        this.ttlMillis = ttlMillis;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.leaseMillis = leaseMillis;
+    }
+
+    @Override
+    public <T> T execute(String scope, String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IdempotencyKeyException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters.");
+        }
+        String requestHash = hash(request);
+        String cacheKey = scope + ":" + key;
+        long deadline = System.currentTimeMillis() + waitTimeoutMillis;
+
+        CachedResponse cached = cache.get(cacheKey);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            checkSameRequest(cached.requestHash, requestHash);
+            return fromJson(cached.response, responseType);
+        }
+
+        InFlight mine = new InFlight(requestHash);
+        InFlight running = inFlight.putIfAbsent(cacheKey, mine);
+        if (running != null) {
+            checkSameRequest(running.requestHash, requestHash);
+            return fromJson(await(running.response, deadline), responseType);
+        }
+        try {
+            IdempotencyRecord record = claim(scope, key, requestHash, deadline);
+            T result;
+            if (IdempotencyRecord.COMPLETED.equals(record.getStatus())) {
+                checkSameRequest(record.getRequestHash(), requestHash);
+                result = fromJson(record.getResponse(), responseType);
+            } else {
+                result = run(record, action);
+            }
+            cache.put(cacheKey, new CachedResponse(requestHash, record.getResponse(), record.getExpiresAt().getTime()));
+            mine.response.complete(record.getResponse());
+            return result;
+        } catch (RuntimeException e) {
+            mine.response.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, mine);
+        }
+    }
+
+    @Override
+    public int deleteExpired() {
+        Integer deleted = transactionTemplate.execute(status -> idempotencyRecordRepository.deleteExpired(new Date()));
+        return deleted == null ? 0 : deleted;
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+    public void deleteExpiredRecords() {
+        deleteExpired();
+    }
+
+    // Returns the completed record of an earlier request, or a new IN_PROGRESS record owned by this call.
+    private IdempotencyRecord claim(String scope, String key, String requestHash, long deadline) {
+        while (true) {
+            Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findByScopeAndIdempotencyKey(scope, key);
+            if (existing.isPresent()) {
+                IdempotencyRecord record = existing.get();
+                if (record.getExpiresAt().getTime() < System.currentTimeMillis()) {
+                    newTransactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.deleteById(record.getId()));
+                    continue;
+                }
+                if (IdempotencyRecord.COMPLETED.equals(record.getStatus())) {
+                    return record;
+                }
+                // Another node is running the request
+                checkSameRequest(record.getRequestHash(), requestHash);
+                sleepUntilRetry(deadline);
+                continue;
+            }
+            IdempotencyRecord record = new IdempotencyRecord();
+            record.setScope(scope);
+            record.setIdempotencyKey(key);
+            record.setRequestHash(requestHash);
+            record.setStatus(IdempotencyRecord.IN_PROGRESS);
+            // An abandoned claim becomes free again once its lease has passed
+            record.setExpiresAt(new Date(System.currentTimeMillis() + leaseMillis));
+            try {
+                return newTransactionTemplate.execute(status -> idempotencyRecordRepository.saveAndFlush(record));
+            } catch (DataIntegrityViolationException e) {
+                // Another node claimed the key first
+            }
+        }
+    }
+
+    private <T> T run(IdempotencyRecord record, Supplier<T> action) {
+        try {
+            return transactionTemplate.execute(status -> {
+                T result = action.get();
+                record.setStatus(IdempotencyRecord.COMPLETED);
+                record.setResponse(toJson(result));
+                record.setExpiresAt(new Date(System.currentTimeMillis() + ttlMillis));
+                idempotencyRecordRepository.save(record);
+                return result;
+            });
+        } catch (RuntimeException e) {
+            // Free the key so the client can retry after a failure
+            try {
+                newTransactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.deleteById(record.getId()));
+            } catch (RuntimeException deleteFailure) {
+                // The claim expires on its own after the lease
+            }
+            throw e;
+        }
+    }
+
+    private String await(CompletableFuture<String> response, long deadline) {
+        try {
+            return response.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RequestInProgressException("A request with this Idempotency-Key is still in progress.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyException("Interrupted while waiting for a request with the same Idempotency-Key.");
+        }
+    }
+
+    private void sleepUntilRetry(long deadline) {
+        if (System.currentTimeMillis() >= deadline) {
+            throw new RequestInProgressException("A request with this Idempotency-Key is still in progress.");
+        }
+        try {
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyException("Interrupted while waiting for a request with the same Idempotency-Key.");
+        }
+    }
+
+    private static void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IdempotencyKeyException("Idempotency-Key was already used with a different request.");
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] body = objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Failed to hash the request: " + e.getMessage());
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to store the response: " + e.getMessage());
+        }
+    }
+
+    private <T> T fromJson(String response, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(response, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read the stored response: " + e.getMessage());
+        }
+    }
+
+    private static class InFlight {
+        private final String requestHash;
+        private final CompletableFuture<String> response = new CompletableFuture<>();
+
+        private InFlight(String requestHash) {
+            this.requestHash = requestHash;
+        }
+    }
+
+    private static class CachedResponse {
+        private final String requestHash;
+        private final String response;
+        private final long expiresAt;
+
+        private CachedResponse(String requestHash, String response, long expiresAt) {
+            this.requestHash = requestHash;
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import staj.ordermanagementsystemapi.business.abstracts.CatalogService;
+import staj.ordermanagementsystemapi.business.abstracts.InventoryService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductFacetService;
+import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.core.utilities.concurrency.HashedTimingWheel;
+import staj.ordermanagementsystemapi.core.utilities.concurrency.StripedLocks;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+
+/**
+ * Stock is kept in memory per product, loaded from {@code product.quantity} on
+ * first use and guarded by a striped lock on the product id. A checkout places
+ * a hold on the units it needs; the hold is confirmed when the order commits or
+ * released when it rolls back or expires on the timing wheel.
+ * <p>
+ * Confirmed units are subtracted from the in-memory stock at once and written
+ * to the product table in batches by {@link #flush()}, so stock checks never
+ * take a database row lock. A product update that sets the stored quantity
+ * goes through {@link #writeStock}: the decrements not flushed yet are sales
+ * the stored row does not show, so they are kept and subtracted from the new
+ * quantity instead of being dropped.
+ * <p>
+ * The stock lives in the memory of this instance, and nothing in the database
+ * stops a second instance from loading its own copy and selling the same
+ * units. Only one instance may take orders until holds move to the database.
+ */
+@Service
+public class InventoryServiceImpl implements InventoryService {
+
+    private static final int LOCK_STRIPES = 256;
+    private static final long LOCK_TIMEOUT_MILLIS = 10_000;
+    private static final long WHEEL_TICK_MILLIS = 100;
+    private static final int WHEEL_BUCKETS = 512;
+    private static final String FLUSH_SQL = "update product set quantity = quantity - ?, version = version + 1 where id = ?";
+
+    private static final int HELD = 0;
+    private static final int CONFIRMED = 1;
+    private static final int RELEASED = 2;
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogService catalogService;
+    private final ProductFacetService productFacetService;
+    private final TransactionTemplate transactionTemplate;
+    private final long reservationTtlMillis;
+    private final StripedLocks locks = new StripedLocks(LOCK_STRIPES);
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final HashedTimingWheel timingWheel;
+    private final Map<Integer, Stock> stocks = new ConcurrentHashMap<>();
+    private final Map<Long, Reservation> reservations = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> pendingDecrements = new ConcurrentHashMap<>();
+    private final AtomicLong reservationIds = new AtomicLong();
+
+    @Autowired
+    public InventoryServiceImpl(ProductRepository productRepository, JdbcTemplate jdbcTemplate,
+                                CatalogService catalogService, ProductFacetService productFacetService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${inventory.reservation.ttl-ms:30000}") long reservationTtlMillis) {
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.catalogService = catalogService;
+        this.productFacetService = productFacetService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reservationTtlMillis = reservationTtlMillis;
+        this.timingWheel = new HashedTimingWheel("inventory-holds", WHEEL_TICK_MILLIS, WHEEL_BUCKETS);
+    }
+
+    @Override
+    public int getAvailableQuantity(Integer productId) {
+        ReentrantLock lock = locks.lock(productId, LOCK_TIMEOUT_MILLIS);
+        try {
+            return stockOf(productId).available();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long reserve(Map<Integer, Integer> quantities) {
+        return hold(quantities).id;
+    }
+
+    @Override
+    public void confirm(long reservationId) {
+        Reservation reservation = reservations.get(reservationId);
+        if (reservation == null || !confirm(reservation)) {
+            throw new IllegalStateException("Reservation " + reservationId + " has expired or was already settled.");
+        }
+    }
+
+    @Override
+    public void release(long reservationId) {
+        Reservation reservation = reservations.get(reservationId);
+        if (reservation != null) {
+            release(reservation);
+        }
+    }
+
+    @Override
+    public void reserveForTransaction(Map<Integer, Integer> quantities) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Transactional inventory holds require an active transaction.");
+        }
+        Reservation reservation = hold(quantities);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(reservation);
+                } else if (!confirm(reservation)) {
+                    // The hold expired before the commit; the order exists, so take the stock anyway.
+                    apply(reservation, false);
+                }
+            }
+        });
+    }
+
+    @Override
+    public <T> T writeStock(Integer productId, Supplier<T> write, ToIntFunction<T> storedQuantity) {
+        // A flush between the commit and the update below would subtract the pending decrements
+        // from the new row while the in-memory stock still counted them
+        flushLock.lock();
+        try {
+            T written = write.get();
+            int quantity = storedQuantity.applyAsInt(written);
+            // Orders confirmed since the write committed are already in the pending decrements
+            ReentrantLock lock = locks.lock(productId, LOCK_TIMEOUT_MILLIS);
+            try {
+                Stock stock = stocks.get(productId);
+                if (stock != null) {
+                    stock.onHand = quantity - pendingDecrements.getOrDefault(productId, 0);
+                }
+            } finally {
+                lock.unlock();
+            }
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void removeProduct(Integer productId) {
+        flushLock.lock();
+        try {
+            ReentrantLock lock = locks.lock(productId, LOCK_TIMEOUT_MILLIS);
+            try {
+                stocks.remove(productId);
+                pendingDecrements.remove(productId);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public int flush() {
+        flushLock.lock();
+        try {
+            List<Object[]> batch = new ArrayList<>();
+            for (Integer productId : pendingDecrements.keySet()) {
+                Integer quantity = pendingDecrements.remove(productId);
+                if (quantity != null && quantity != 0) {
+                    batch.add(new Object[]{quantity, productId});
+                }
+            }
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+            } catch (RuntimeException e) {
+                // Keep the decrements for the next run
+                batch.forEach(row -> pendingDecrements.merge((Integer) row[1], (Integer) row[0], Integer::sum));
+                throw e;
+            }
+            // The catalog and the in-stock filter follow the stored quantities
+            catalogService.invalidate();
+            for (Object[] row : batch) {
+                Integer productId = (Integer) row[1];
+                Integer onHand = onHandOf(productId);
+                if (onHand != null) {
+                    productFacetService.updateStock(productId, onHand);
+                }
+            }
+            return batch.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.flush-interval-ms:1000}")
+    public void flushDecrements() {
+        flush();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timingWheel.stop();
+        flush();
+    }
+
+    private Reservation hold(Map<Integer, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            throw new IllegalArgumentException("A reservation needs at least one product.");
+        }
+        int[] productIds = new int[quantities.size()];
+        int[] amounts = new int[quantities.size()];
+        int n = 0;
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            if (entry.getValue() == null || entry.getValue() <= 0) {
+                throw new IllegalArgumentException("Reserved quantity must be positive.");
+            }
+            productIds[n] = entry.getKey();
+            amounts[n++] = entry.getValue();
+        }
+
+        // Lock in stripe order so two multi-product holds can never wait on each other.
+        List<ReentrantLock> held = new ArrayList<>();
+        try {
+            quantities.keySet().stream()
+                    .sorted(Comparator.comparingInt(locks::stripeOf))
+                    .forEach(productId -> held.add(locks.lock(productId, LOCK_TIMEOUT_MILLIS)));
+            for (int i = 0; i < productIds.length; i++) {
+                int available = stockOf(productIds[i]).available();
+                if (available < amounts[i]) {
+                    throw new IllegalArgumentException("Insufficient stock for product " + productIds[i] + ": "
+                            + available + " available, " + amounts[i] + " requested.");
+                }
+            }
+            for (int i = 0; i < productIds.length; i++) {
+                stocks.get(productIds[i]).reserved += amounts[i];
+            }
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+
+        Reservation reservation = new Reservation(reservationIds.incrementAndGet(), productIds, amounts);
+        reservations.put(reservation.id, reservation);
+        reservation.timeout = timingWheel.schedule(() -> release(reservation), reservationTtlMillis);
+        return reservation;
+    }
+
+    private boolean confirm(Reservation reservation) {
+        if (!reservation.state.compareAndSet(HELD, CONFIRMED)) {
+            return false;
+        }
+        settle(reservation);
+        apply(reservation, true);
+        return true;
+    }
+
+    private void release(Reservation reservation) {
+        if (!reservation.state.compareAndSet(HELD, RELEASED)) {
+            return;
+        }
+        settle(reservation);
+        for (int i = 0; i < reservation.productIds.length; i++) {
+            ReentrantLock lock = locks.lock(reservation.productIds[i], LOCK_TIMEOUT_MILLIS);
+            try {
+                Stock stock = stocks.get(reservation.productIds[i]);
+                if (stock != null) {
+                    stock.reserved -= reservation.quantities[i];
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void settle(Reservation reservation) {
+        reservations.remove(reservation.id);
+        HashedTimingWheel.Timeout timeout = reservation.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private void apply(Reservation reservation, boolean wasHeld) {
+        for (int i = 0; i < reservation.productIds.length; i++) {
+            int productId = reservation.productIds[i];
+            int quantity = reservation.quantities[i];
+            ReentrantLock lock = locks.lock(productId, LOCK_TIMEOUT_MILLIS);
+            try {
+                Stock stock = stocks.get(productId);
+                if (stock == null) {
+                    continue;
+                }
+                if (wasHeld) {
+                    stock.reserved -= quantity;
+                }
+                stock.onHand -= quantity;
+                pendingDecrements.merge(productId, quantity, Integer::sum);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Integer onHandOf(Integer productId) {
+        ReentrantLock lock = locks.lock(productId, LOCK_TIMEOUT_MILLIS);
+        try {
+            Stock stock = stocks.get(productId);
+            return stock == null ? null : stock.onHand;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller must hold the product's stripe lock.
+    private Stock stockOf(Integer productId) {
+        Stock stock = stocks.get(productId);
+        if (stock == null) {
+            int quantity = productRepository.findQuantityById(productId)
+                    .orElseThrow(() -> new ResourceNotFoundException("product", "id", productId));
+            stock = new Stock(quantity);
+            stocks.put(productId, stock);
+        }
+        return stock;
+    }
+
+    // Guarded by the stripe lock of its product.
+    private static class Stock {
+        private int onHand;
+        private int reserved;
+
+        private Stock(int onHand) {
+            this.onHand = onHand;
+        }
+
+        private int available() {
+            return onHand - reserved;
+        }
+    }
+
+    private static class Reservation {
+        private final long id;
+        private final int[] productIds;
+        private final int[] quantities;
+        private final AtomicInteger state = new AtomicInteger(HELD);
+        private volatile HashedTimingWheel.Timeout timeout;
+
+        private Reservation(long id, int[] productIds, int[] quantities) {
+            this.id = id;
+            this.productIds = productIds;
+            this.quantities = quantities;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import staj.ordermanagementsystemapi.business.abstracts.OrderArchiveService;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ArchivedOrderRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderRepository;
+import staj.ordermanagementsystemapi.entities.concretes.Order;
+
+/**
+ * Keeps the orders table small by moving delivered orders older than
+ * {@code order.archive.after-days} to orders_archive.
+ * <p>
+ * Each chunk runs in its own short transaction: the rows are locked, copied
+ * with one INSERT ... SELECT and deleted with one DELETE, so an order is
+ * always in exactly one of the two tables and a concurrent update of a locked
+ * row waits instead of being lost.
+ */
+@Service
+public class OrderArchiveServiceImpl implements OrderArchiveService {
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int afterDays;
+    private final int chunkSize;
+
+    @Autowired
+    public OrderArchiveServiceImpl(OrderRepository orderRepository, ArchivedOrderRepository archivedOrderRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${order.archive.enabled:true}") boolean enabled,
+                                   @Value("${order.archive.after-days:365}") int afterDays,
+                                   @Value("${order.archive.chunk-size:1000}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.afterDays = afterDays;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public int archiveOrders(Date cutoff) {
+        int archived = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            archived += moved == null ? 0 : moved;
+            if (moved == null || moved < chunkSize) {
+                return archived;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order.archive.interval-ms:3600000}")
+    public void archiveDeliveredOrders() {
+        if (enabled) {
+            archiveOrders(new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(afterDays)));
+        }
+    }
+
+    private int archiveChunk(Date cutoff) {
+        List<Integer> ids = orderRepository.lockIdsToArchive(Order.DELIVERED, cutoff, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedOrderRepository.copyFromOrders(ids, new Date());
+        orderRepository.deleteAllByIdInBatch(ids);
+        return ids.size();
+    }
+}
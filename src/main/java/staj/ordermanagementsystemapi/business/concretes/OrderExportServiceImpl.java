@@ -0,0 +1,123 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import staj.ordermanagementsystemapi.business.abstracts.OrderExportService;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ArchivedOrderRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderLineRepository;
+import staj.ordermanagementsystemapi.entities.dto.OrderExportDto;
+
+/**
+ * Streams order lines straight from a database cursor to the response, one
+ * row per line at the unit price stored when the order was placed. Rows are
+ * read as projections, so no entities pile up in the persistence context, and
+ * the output is flushed every {@link #FLUSH_INTERVAL} rows; heap use does not
+ * grow with the size of the orders table. When the range reaches back into
+ * the archive, the archived lines are read from a second cursor and merged
+ * with the current ones in (order date, order id) order. The lines of the
+ * order being written are held until the next order starts, so that each row
+ * can carry the order total; a checkout has at most 200 of them.
+ */
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+
+    private static final int FLUSH_INTERVAL = 500;
+    private static final Comparator<OrderExportDto> ORDER_KEY =
+            Comparator.comparing(OrderExportDto::getOrderDate).thenComparing(OrderExportDto::getId);
+
+    private final OrderLineRepository orderLineRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter lineWriter;
+
+    @Autowired
+    public OrderExportServiceImpl(OrderLineRepository orderLineRepository, ArchivedOrderRepository archivedOrderRepository,
+                                  ObjectMapper objectMapper) {
+        this.orderLineRepository = orderLineRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.objectMapper = objectMapper;
+        // Flushing is batched below instead of once per line
+        this.lineWriter = objectMapper.writerFor(OrderExportDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportOrders(Date from, Date to, String status, OutputStream out) throws IOException {
+        if (from != null && to != null && !from.before(to)) {
+            throw new IllegalArgumentException("Export range start must be before its end.");
+        }
+        long rows = 0;
+        try (Stream<OrderExportDto> current = orderLineRepository.streamForExport(from, to, status);
+             Stream<OrderExportDto> archived = needsArchive(from)
+                     ? orderLineRepository.streamArchivedForExport(from, to, status) : Stream.empty();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<OrderExportDto> currentRows = current.iterator();
+            Iterator<OrderExportDto> archivedRows = archived.iterator();
+            OrderExportDto nextCurrent = currentRows.hasNext() ? currentRows.next() : null;
+            OrderExportDto nextArchived = archivedRows.hasNext() ? archivedRows.next() : null;
+            List<OrderExportDto> orderLines = new ArrayList<>();
+            while (nextCurrent != null || nextArchived != null) {
+                // An order is in one of the tables, so its lines all come from the same cursor
+                OrderExportDto line;
+                if (nextArchived == null || (nextCurrent != null && ORDER_KEY.compare(nextCurrent, nextArchived) <= 0)) {
+                    line = nextCurrent;
+                    nextCurrent = currentRows.hasNext() ? currentRows.next() : null;
+                } else {
+                    line = nextArchived;
+                    nextArchived = archivedRows.hasNext() ? archivedRows.next() : null;
+                }
+                if (!orderLines.isEmpty() && !orderLines.get(0).getId().equals(line.getId())) {
+                    rows = writeOrder(orderLines, generator, rows);
+                }
+                orderLines.add(line);
+            }
+            rows = writeOrder(orderLines, generator, rows);
+            generator.flush();
+        }
+        return rows;
+    }
+
+    // The archive only holds orders placed up to its latest order date.
+    private boolean needsArchive(Date from) {
+        Optional<Date> latest = archivedOrderRepository.findLatestOrderDate();
+        return latest.isPresent() && (from == null || !from.after(latest.get()));
+    }
+
+    // Writes the buffered lines of one order and empties the buffer; returns the new row count
+    private long writeOrder(List<OrderExportDto> orderLines, JsonGenerator generator, long rows) throws IOException {
+        double orderTotalPrice = 0;
+        for (OrderExportDto line : orderLines) {
+            orderTotalPrice += line.getTotalPrice();
+        }
+        for (OrderExportDto line : orderLines) {
+            line.setOrderTotalPrice(orderTotalPrice);
+            lineWriter.writeValue(generator, line);
+            generator.writeRaw('\n');
+            if (++rows % FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        }
+        orderLines.clear();
+        return rows;
+    }
+}
@@ -0,0 +1,270 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import staj.ordermanagementsystemapi.business.abstracts.OrderPipelineService;
+import staj.ordermanagementsystemapi.business.abstracts.OrderService;
+import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.core.exception.TooManyRequestsException;
+import staj.ordermanagementsystemapi.entities.dto.OrderBatchResultDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderTrackingDto;
+
+/**
+ * Accepts orders into a bounded queue and places them on dedicated worker
+ * threads, so the request thread returns as soon as the order is queued.
+ * <p>
+ * The validate stage rejects malformed orders and hands the rest to the
+ * persist stage, which debits and inserts each micro-batch in one transaction
+ * through {@link OrderService#saveOrders}. Both queues are bounded: a slow
+ * persist stage blocks the validator, which fills the intake queue, which makes
+ * {@link #submit} reject new orders. Outcomes are kept in memory for the
+ * configured retention, so queued orders are lost if the application stops.
+ * <p>
+ * The workers start once the bean is fully constructed and are stopped and
+ * joined when the context closes; a batch being persisted is finished, and
+ * orders still queued are reported as failed.
+ */
+@Service
+public class OrderPipelineServiceImpl implements OrderPipelineService {
+
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    private final OrderService orderService;
+    private final int batchSize;
+    private final long statusRetentionMillis;
+    private final BlockingQueue<Job> intakeQueue;
+    private final BlockingQueue<Job> persistQueue;
+    private final Map<String, OrderTrackingDto> statuses = new ConcurrentHashMap<>();
+    private final Queue<Finished> finished = new ConcurrentLinkedQueue<>();
+    private final Timer queueTimer;
+    private final Timer validateTimer;
+    private final Timer persistTimer;
+    private final Counter rejectedCounter;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    @Autowired
+    public OrderPipelineServiceImpl(OrderService orderService, MeterRegistry meterRegistry,
+                                    @Value("${order.pipeline.capacity:1024}") int capacity,
+                                    @Value("${order.pipeline.batch-size:100}") int batchSize,
+                                    @Value("${order.pipeline.status-retention-ms:600000}") long statusRetentionMillis) {
+        this.orderService = orderService;
+        this.batchSize = batchSize;
+        this.statusRetentionMillis = statusRetentionMillis;
+        this.intakeQueue = new ArrayBlockingQueue<>(capacity);
+        this.persistQueue = new ArrayBlockingQueue<>(capacity);
+
+        Gauge.builder("order.pipeline.queue.depth", intakeQueue, BlockingQueue::size)
+                .tag("queue", "intake").register(meterRegistry);
+        Gauge.builder("order.pipeline.queue.depth", persistQueue, BlockingQueue::size)
+                .tag("queue", "persist").register(meterRegistry);
+        this.queueTimer = stageTimer(meterRegistry, "queue");
+        this.validateTimer = stageTimer(meterRegistry, "validate");
+        this.persistTimer = stageTimer(meterRegistry, "persist");
+        this.rejectedCounter = Counter.builder("order.pipeline.rejected").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        startWorker("order-pipeline-validate", this::runValidateStage);
+        startWorker("order-pipeline-persist", this::runPersistStage);
+    }
+
+    @Override
+    public OrderTrackingDto submit(OrderDto orderDto) {
+        if (orderDto == null) {
+            throw new IllegalArgumentException("Order is required.");
+        }
+        String trackingId = UUID.randomUUID().toString();
+        OrderTrackingDto queued = new OrderTrackingDto(trackingId, OrderTrackingDto.QUEUED, null, null);
+        statuses.put(trackingId, queued);
+        if (!running || !intakeQueue.offer(new Job(trackingId, orderDto, System.nanoTime()))) {
+            statuses.remove(trackingId);
+            rejectedCounter.increment();
+            throw new TooManyRequestsException("Order queue is full, retry later.");
+        }
+        return queued;
+    }
+
+    @Override
+    public OrderTrackingDto getStatus(String trackingId) {
+        OrderTrackingDto status = statuses.get(trackingId);
+        if (status == null) {
+            throw new ResourceNotFoundException("Order tracking", "id", trackingId);
+        }
+        return status;
+    }
+
+    @Scheduled(fixedDelayString = "${order.pipeline.status-retention-ms:600000}")
+    public void evictFinishedStatuses() {
+        long cutoff = System.currentTimeMillis() - statusRetentionMillis;
+        Finished head;
+        while ((head = finished.peek()) != null && head.finishedAt < cutoff) {
+            finished.poll();
+            statuses.remove(head.trackingId);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        // Every wait in the stages is bounded, so the workers notice this and the persist stage finishes its batch
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+        // Nothing takes from the queues any more
+        List<Job> abandoned = new ArrayList<>();
+        intakeQueue.drainTo(abandoned);
+        persistQueue.drainTo(abandoned);
+        abandoned.forEach(job -> finish(job.trackingId, OrderTrackingDto.FAILED, null, "Order pipeline stopped."));
+    }
+
+    private void runValidateStage() {
+        List<Job> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (!takeBatch(intakeQueue, batch)) {
+                continue;
+            }
+            long start = System.nanoTime();
+            for (Job job : batch) {
+                queueTimer.record(start - job.enqueuedAt, TimeUnit.NANOSECONDS);
+                String error = validate(job.order);
+                if (error != null) {
+                    finish(job.trackingId, OrderTrackingDto.FAILED, null, error);
+                    continue;
+                }
+                statuses.put(job.trackingId,
+                        new OrderTrackingDto(job.trackingId, OrderTrackingDto.PROCESSING, null, null));
+                if (!handOver(job)) {
+                    finish(job.trackingId, OrderTrackingDto.FAILED, null, "Order pipeline stopped.");
+                }
+            }
+            validateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batch.clear();
+        }
+    }
+
+    private void runPersistStage() {
+        List<Job> batch = new ArrayList<>(batchSize);
+        while (running) {
+            if (!takeBatch(persistQueue, batch)) {
+                continue;
+            }
+            long start = System.nanoTime();
+            List<OrderDto> orders = new ArrayList<>(batch.size());
+            batch.forEach(job -> orders.add(job.order));
+            List<OrderBatchResultDto> results;
+            try {
+                results = orderService.saveOrders(orders);
+            } catch (RuntimeException e) {
+                results = null;
+                batch.forEach(job -> finish(job.trackingId, OrderTrackingDto.FAILED, null,
+                        "Failed to save the order: " + e.getMessage()));
+            }
+            persistTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            for (int i = 0; results != null && i < batch.size(); i++) {
+                OrderBatchResultDto result = results.get(i);
+                finish(batch.get(i).trackingId,
+                        result.isSuccess() ? OrderTrackingDto.COMPLETED : OrderTrackingDto.FAILED,
+                        result.getOrder(), result.getError());
+            }
+            batch.clear();
+        }
+    }
+
+    // Waits for room in the persist queue for as long as the pipeline runs
+    private boolean handOver(Job job) {
+        try {
+            while (running) {
+                if (persistQueue.offer(job, POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private boolean takeBatch(BlockingQueue<Job> queue, List<Job> batch) {
+        try {
+            Job first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                return false;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    private String validate(OrderDto orderDto) {
+        if (orderDto.getCustomer() == null || orderDto.getCustomer().getId() == null
+                || orderDto.getProduct() == null || orderDto.getProduct().getId() == null) {
+            return "Customer and product are required.";
+        }
+        if (orderDto.getQuantity() == null || orderDto.getQuantity() <= 0) {
+            return "Order quantity must be positive.";
+        }
+        return null;
+    }
+
+    private void finish(String trackingId, String status, OrderDto order, String error) {
+        statuses.put(trackingId, new OrderTrackingDto(trackingId, status, order, error));
+        finished.add(new Finished(trackingId, System.currentTimeMillis()));
+    }
+
+    private void startWorker(String name, Runnable stage) {
+        Thread worker = new Thread(stage, name);
+        worker.setDaemon(true);
+        worker.start();
+        workers.add(worker);
+    }
+
+    private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder("order.pipeline.stage.latency")
+                .tag("stage", stage)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    private record Job(String trackingId, OrderDto order, long enqueuedAt) {
+    }
+
+    private record Finished(String trackingId, long finishedAt) {
+    }
+}
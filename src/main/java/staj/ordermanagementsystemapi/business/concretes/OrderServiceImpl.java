@@ -1,134 +1,492 @@
 package staj.ordermanagementsystemapi.business.concretes;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import staj.ordermanagementsystemapi.business.abstracts.InventoryService;
 import staj.ordermanagementsystemapi.business.abstracts.OrderService;
+import staj.ordermanagementsystemapi.business.abstracts.OutboxService;
+import staj.ordermanagementsystemapi.business.abstracts.WalletService;
+import staj.ordermanagementsystemapi.core.exception.ConcurrentUpdateException;
 import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.core.utilities.concurrency.OptimisticWriteExecutor;
+import staj.ordermanagementsystemapi.core.utilities.pagination.KeysetCursor;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ArchivedOrderRepository;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.CustomerRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderLineRepository;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderSearchRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderWriteRepository;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
 import staj.ordermanagementsystemapi.entities.concretes.Customer;
 import staj.ordermanagementsystemapi.entities.concretes.Order;
+import staj.ordermanagementsystemapi.entities.concretes.OrderLine;
+import staj.ordermanagementsystemapi.entities.concretes.OutboxEvent;
 import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.dto.CheckoutDto;
+import staj.ordermanagementsystemapi.entities.dto.CheckoutResultDto;
+import staj.ordermanagementsystemapi.entities.dto.CursorPageDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderBatchResultDto;
 import staj.ordermanagementsystemapi.entities.dto.OrderDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderEventDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderLineDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderSearchFilter;
+import staj.ordermanagementsystemapi.entities.dto.OrderStatusUpdateDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderStatusUpdateResultDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderView;
 
 @Service
 public class OrderServiceImpl implements OrderService {
 
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_CHECKOUT_LINES = 200;
+    private static final int MAX_STATUS_UPDATE_IDS = 50_000;
+    // Ids per UPDATE statement, well below the bind parameter limits of the drivers
+    private static final int STATUS_UPDATE_CHUNK_SIZE = 1000;
+    // Target status -> statuses an order may move to it from
+    private static final Map<String, Set<String>> STATUS_TRANSITIONS = Map.of(
+            Order.SHIPPED, Set.of(Order.CREATED),
+            Order.DELIVERED, Set.of(Order.SHIPPED),
+            Order.CANCELLED, Set.of(Order.CREATED));
+
     private final OrderRepository orderRepository;
+    private final OrderLineRepository orderLineRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderSearchRepository orderSearchRepository;
+    private final OrderWriteRepository orderWriteRepository;
     private final ModelMapper modelMapper;
     private final CustomerRepository customerRepository;
     private final ProductRepository productRepository;
+    private final WalletService walletService;
+    private final InventoryService inventoryService;
+    private final OptimisticWriteExecutor writeExecutor;
+    private final OutboxService outboxService;
 
     @Autowired
-    public OrderServiceImpl(OrderRepository orderRepository, ModelMapper modelMapper, CustomerRepository customerRepository, ProductRepository productRepository) {
+    public OrderServiceImpl(OrderRepository orderRepository, OrderLineRepository orderLineRepository,
+                            ArchivedOrderRepository archivedOrderRepository, OrderSearchRepository orderSearchRepository,
+                            OrderWriteRepository orderWriteRepository, ModelMapper modelMapper, CustomerRepository customerRepository,
+                            ProductRepository productRepository, WalletService walletService,
+                            InventoryService inventoryService, OptimisticWriteExecutor writeExecutor,
+                            OutboxService outboxService) {
         this.orderRepository = orderRepository;
+        this.orderLineRepository = orderLineRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.orderSearchRepository = orderSearchRepository;
+        this.orderWriteRepository = orderWriteRepository;
         this.modelMapper = modelMapper;
         this.customerRepository = customerRepository;
         this.productRepository = productRepository;
+        this.walletService = walletService;
+        this.inventoryService = inventoryService;
+        this.writeExecutor = writeExecutor;
+        this.outboxService = outboxService;
     }
 
+    // Pages without a date range read only the orders table; archived orders are found through the search.
     @Override
-    public List<OrderDto> getAllOrders() {
-        List<Order> orders = orderRepository.findAll();
-        return orders.stream()
-                .map(order -> modelMapper.map(order, OrderDto.class))
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDto<OrderDto> getAllOrders(String after, int limit) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        // One extra row tells whether another page follows
+        Pageable page = PageRequest.of(0, KeysetCursor.checkLimit(limit) + 1);
+        List<OrderView> orders = cursor == null
+                ? orderRepository.findFirstPage(page)
+                : orderRepository.findPageAfter(cursor.getTimestamp(), cursor.getId(), page);
+        return toPage(orders, limit);
     }
 
     @Override
     public OrderDto getOrderById(Integer id) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
-        return modelMapper.map(order, OrderDto.class);
+        return orderRepository.findViewById(id)
+                .or(() -> archivedOrderRepository.findViewById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id))
+                .toDto();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<OrderDto> getOrdersOfCustomer(Integer customerId, String after, int limit) {
+        if (!customerRepository.existsById(customerId)) {
+            throw new ResourceNotFoundException("customer", "id", customerId);
+        }
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Pageable page = PageRequest.of(0, KeysetCursor.checkLimit(limit) + 1);
+        List<OrderView> orders = cursor == null
+                ? orderRepository.findFirstPageOfCustomer(customerId, page)
+                : orderRepository.findPageOfCustomerAfter(customerId, cursor.getTimestamp(), cursor.getId(), page);
+        return toPage(orders, limit);
     }
 
     @Override
-    public List<OrderDto> getOrdersOfCustomer(Integer customerId) {
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new ResourceNotFoundException("customer", "id", customerId));
-        List<Order> orders = orderRepository.findByCustomer(customer);
-        return orders.stream()
-                .map(order -> modelMapper.map(order, OrderDto.class))
+    @Transactional(readOnly = true)
+    public CursorPageDto<OrderDto> searchOrders(OrderSearchFilter filter, String after, int limit) {
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().before(filter.getTo())) {
+            throw new IllegalArgumentException("Search range start must be before its end.");
+        }
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        int rows = KeysetCursor.checkLimit(limit) + 1;
+        Date afterDate = cursor == null ? null : cursor.getTimestamp();
+        Integer afterId = cursor == null ? null : cursor.getId();
+        List<OrderView> orders = orderSearchRepository.search(filter, afterDate, afterId, rows);
+        Date lowerBound = afterDate != null && (filter.getFrom() == null || afterDate.after(filter.getFrom()))
+                ? afterDate : filter.getFrom();
+        if (needsArchive(lowerBound)) {
+            orders = merge(orders, orderSearchRepository.searchArchive(filter, afterDate, afterId, rows), rows);
+        }
+        return toPage(orders, limit);
+    }
+
+    // The archive only holds orders placed up to its latest order date.
+    private boolean needsArchive(Date lowerBound) {
+        Optional<Date> latest = archivedOrderRepository.findLatestOrderDate();
+        return latest.isPresent() && (lowerBound == null || !lowerBound.after(latest.get()));
+    }
+
+    // Both lists are in (order_date, id) order; the result keeps the first rows of their union.
+    private static List<OrderView> merge(List<OrderView> hot, List<OrderView> archived, int rows) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        List<OrderView> merged = new ArrayList<>(hot.size() + archived.size());
+        merged.addAll(hot);
+        merged.addAll(archived);
+        merged.sort(Comparator.comparing(OrderView::orderDate).thenComparing(OrderView::id));
+        return merged.size() > rows ? merged.subList(0, rows) : merged;
+    }
+
+    private CursorPageDto<OrderDto> toPage(List<OrderView> orders, int limit) {
+        List<OrderView> items = orders.size() > limit ? orders.subList(0, limit) : orders;
+        String nextCursor = null;
+        if (orders.size() > limit) {
+            OrderView last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.orderDate(), last.id()).encode();
+        }
+        List<OrderDto> orderDtos = items.stream()
+                .map(OrderView::toDto)
                 .collect(Collectors.toList());
+        return new CursorPageDto<>(orderDtos, nextCursor);
     }
 
     @Override
+    @Transactional
     public OrderDto saveOrder(OrderDto orderDTO) {
         Order order = modelMapper.map(orderDTO, Order.class);
-        validateOrder(order);
+        Product product = validateOrder(order);
+        int customerId = order.getCustomer().getId();
+        double totalPrice = product.getPrice() * order.getQuantity();
+        // Held in memory; confirmed when this transaction commits, released if it rolls back.
+        inventoryService.reserveForTransaction(Map.of(product.getId(), order.getQuantity()));
+        Order savedOrder;
         try {
-            withdrawCost(order);
-            Order savedOrder = orderRepository.save(order);
-            return modelMapper.map(savedOrder, OrderDto.class);
+            order.setCustomer(customerRepository.getReferenceById(customerId));
+            order.setProduct(product);
+            savedOrder = orderRepository.save(order);
+            orderLineRepository.save(new OrderLine(null, savedOrder, product, order.getQuantity(), product.getPrice()));
+            outboxService.recordOrderEvents(OutboxEvent.ORDER_CREATED, List.of(toEvent(savedOrder,
+                    List.of(new OrderLineDto(product.getId(), order.getQuantity(), product.getPrice())))));
         } catch (Exception e) {
             throw new IllegalArgumentException("Failed to save the order: " + e.getMessage());
         }
+        // Last write of the transaction: orders of the same customer only wait on each other from here to the commit
+        walletService.debit(customerId, totalPrice, "order:" + savedOrder.getId());
+        return toDto(savedOrder);
     }
 
-    public void validateOrder(Order order) {
-        // Validate objects
-        int customerId = order.getCustomer().getId();
-        int productId = order.getProduct().getId();
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new ResourceNotFoundException("customer", "id", customerId));
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("product", "id", productId));
+    @Override
+    @Transactional
+    public List<OrderBatchResultDto> saveOrders(List<OrderDto> orderDtos) {
+        if (orderDtos.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("A batch can contain at most " + MAX_BATCH_SIZE + " orders.");
+        }
+        OrderBatchResultDto[] results = new OrderBatchResultDto[orderDtos.size()];
 
-        // Validate balance
-        double balance = customer.getWalletBalance();
-        double price = product.getPrice();
-        int quantity = order.getQuantity();
-        if (balance < price*quantity) {
-            throw new IllegalArgumentException("Insufficient wallet balance: " + balance + " required: " + price*quantity);
+        // Load every referenced customer and product with one query each
+        Set<Integer> customerIds = new HashSet<>();
+        Set<Integer> productIds = new HashSet<>();
+        for (OrderDto orderDto : orderDtos) {
+            if (orderDto.getCustomer() != null && orderDto.getCustomer().getId() != null) {
+                customerIds.add(orderDto.getCustomer().getId());
+            }
+            if (orderDto.getProduct() != null && orderDto.getProduct().getId() != null) {
+                productIds.add(orderDto.getProduct().getId());
+            }
         }
+        Map<Integer, Customer> customers = customerRepository.findAllById(customerIds).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        Map<Integer, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        // Read without locks; the debits at the end re-check them and fail the batch if a concurrent order spent them
+        Map<Integer, Double> balances = walletService.getBalances(customers.keySet());
+
+        // Validate each item and accept it while the customer's remaining balance and the stock cover it
+        List<Integer> accepted = new ArrayList<>();
+        Map<Integer, Double> totals = new HashMap<>();
+        for (int i = 0; i < orderDtos.size(); i++) {
+            OrderDto orderDto = orderDtos.get(i);
+            String error = validateBatchItem(orderDto, customers, products);
+            if (error == null) {
+                int customerId = orderDto.getCustomer().getId();
+                double totalPrice = products.get(orderDto.getProduct().getId()).getPrice() * orderDto.getQuantity();
+                double remaining = balances.getOrDefault(customerId, 0.0) - totals.getOrDefault(customerId, 0.0);
+                if (remaining < totalPrice) {
+                    error = "Insufficient wallet balance: " + remaining + " required: " + totalPrice;
+                } else {
+                    error = reserveBatchItem(orderDto);
+                }
+                if (error == null) {
+                    totals.merge(customerId, totalPrice, Double::sum);
+                    accepted.add(i);
+                }
+            }
+            if (error != null) {
+                results[i] = new OrderBatchResultDto(i, false, null, error);
+            }
+        }
+
+        // Persist the accepted orders in one batch and debit every customer once
+        List<Order> orders = new ArrayList<>(accepted.size());
+        for (int i : accepted) {
+            OrderDto orderDto = orderDtos.get(i);
+            Order order = new Order();
+            order.setCustomer(customers.get(orderDto.getCustomer().getId()));
+            order.setProduct(products.get(orderDto.getProduct().getId()));
+            order.setQuantity(orderDto.getQuantity());
+            order.setDeliveryDate(orderDto.getDeliveryDate());
+            orders.add(order);
+        }
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        orderLineRepository.saveAll(savedOrders.stream()
+                .map(savedOrder -> new OrderLine(null, savedOrder, savedOrder.getProduct(), savedOrder.getQuantity(),
+                        savedOrder.getProduct().getPrice()))
+                .collect(Collectors.toList()));
+        outboxService.recordOrderEvents(OutboxEvent.ORDER_CREATED, savedOrders.stream()
+                .map(savedOrder -> toEvent(savedOrder, List.of(new OrderLineDto(savedOrder.getProduct().getId(),
+                        savedOrder.getQuantity(), savedOrder.getProduct().getPrice()))))
+                .collect(Collectors.toList()));
+        Map<Integer, List<Integer>> orderIdsByCustomer = new HashMap<>();
+        for (int k = 0; k < accepted.size(); k++) {
+            Order savedOrder = savedOrders.get(k);
+            orderIdsByCustomer.computeIfAbsent(savedOrder.getCustomer().getId(), id -> new ArrayList<>())
+                    .add(savedOrder.getId());
+            results[accepted.get(k)] = new OrderBatchResultDto(accepted.get(k), true,
+                    toDto(savedOrder), null);
+        }
+        orderIdsByCustomer.forEach((customerId, orderIds) -> walletService.debit(customerId,
+                totals.get(customerId), "order batch:" + orderIds.get(0) + "+" + (orderIds.size() - 1)));
+        return Arrays.asList(results);
     }
 
-    public void withdrawCost(Order order) {
-        Customer customer = order.getCustomer();
-        Product product = order.getProduct();
-        double balance = customer.getWalletBalance();
-        double totalPrice = product.getPrice() + order.getQuantity();
+    @Override
+    @Transactional
+    public CheckoutResultDto checkout(CheckoutDto checkoutDto) {
+        List<OrderLineDto> lineDtos = checkoutDto.getLines();
+        if (checkoutDto.getCustomerId() == null || lineDtos == null || lineDtos.isEmpty()) {
+            throw new IllegalArgumentException("A checkout needs a customer and at least one line.");
+        }
+        if (lineDtos.size() > MAX_CHECKOUT_LINES) {
+            throw new IllegalArgumentException("A checkout can contain at most " + MAX_CHECKOUT_LINES + " lines.");
+        }
+        // Lines of the same product are merged, keeping the order in which products first appear
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        for (OrderLineDto lineDto : lineDtos) {
+            if (lineDto.getProductId() == null || lineDto.getQuantity() == null || lineDto.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Every line needs a product and a positive quantity.");
+            }
+            quantities.merge(lineDto.getProductId(), lineDto.getQuantity(), Integer::sum);
+        }
 
-        try {
-            customer.setWalletBalance(balance - totalPrice);
-            customerRepository.save(customer);
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to withdraw cost from customer:" + e.getMessage());
+        // Every product is loaded with one query
+        Map<Integer, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        double totalPrice = 0;
+        for (Map.Entry<Integer, Integer> line : quantities.entrySet()) {
+            Product product = products.get(line.getKey());
+            if (product == null) {
+                throw new ResourceNotFoundException("product", "id", line.getKey());
+            }
+            totalPrice += product.getPrice() * line.getValue();
+        }
+
+        int customerId = checkoutDto.getCustomerId();
+        // All lines are reserved together, so a short product fails the whole checkout
+        inventoryService.reserveForTransaction(quantities);
+
+        Order order = new Order();
+        order.setCustomer(customerRepository.getReferenceById(customerId));
+        if (quantities.size() == 1) {
+            // A single-product checkout reads like any other order; longer ones only have lines
+            Map.Entry<Integer, Integer> line = quantities.entrySet().iterator().next();
+            order.setProduct(products.get(line.getKey()));
+            order.setQuantity(line.getValue());
         }
+        order.setDeliveryDate(checkoutDto.getDeliveryDate());
+        Order savedOrder = orderRepository.save(order);
+
+        List<OrderLine> lines = new ArrayList<>(quantities.size());
+        List<OrderLineDto> savedLines = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            lines.add(new OrderLine(null, savedOrder, product, quantity, product.getPrice()));
+            savedLines.add(new OrderLineDto(productId, quantity, product.getPrice()));
+        });
+        orderLineRepository.saveAll(lines);
+        outboxService.recordOrderEvents(OutboxEvent.ORDER_CREATED, List.of(toEvent(savedOrder, savedLines)));
+        walletService.debit(customerId, totalPrice, "order:" + savedOrder.getId());
+        return new CheckoutResultDto(toDto(savedOrder), savedLines, totalPrice);
     }
 
     @Override
-    public OrderDto updateOrder(Integer id, Date deliveryDate, String status) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+    @Transactional(readOnly = true)
+    public List<OrderLineDto> getOrderLines(Integer orderId) {
+        if (!orderRepository.existsById(orderId) && !archivedOrderRepository.existsById(orderId)) {
+            throw new ResourceNotFoundException("Order", "id", orderId);
+        }
+        return orderLineRepository.findLinesOfOrder(orderId);
+    }
 
+    private String reserveBatchItem(OrderDto orderDto) {
         try {
-            // Update the fields
-            order.setDeliveryDate(deliveryDate);
-            order.setStatus(status);
+            inventoryService.reserveForTransaction(Map.of(orderDto.getProduct().getId(), orderDto.getQuantity()));
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
 
-            orderRepository.save(order);
-            return modelMapper.map(order, OrderDto.class);
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to update the order: " + e.getMessage());
+    private String validateBatchItem(OrderDto orderDto, Map<Integer, Customer> customers, Map<Integer, Product> products) {
+        if (orderDto.getCustomer() == null || orderDto.getCustomer().getId() == null
+                || orderDto.getProduct() == null || orderDto.getProduct().getId() == null) {
+            return "Customer and product are required.";
+        }
+        if (!customers.containsKey(orderDto.getCustomer().getId())) {
+            return "customer not found with id: '" + orderDto.getCustomer().getId() + "'";
+        }
+        if (!products.containsKey(orderDto.getProduct().getId())) {
+            return "product not found with id: '" + orderDto.getProduct().getId() + "'";
+        }
+        if (orderDto.getQuantity() == null || orderDto.getQuantity() <= 0) {
+            return "Order quantity must be positive.";
+        }
+        return null;
+    }
+
+    public Product validateOrder(Order order) {
+        // Validate objects
+        int productId = order.getProduct().getId();
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("product", "id", productId));
+
+        // Validate quantity
+        if (order.getQuantity() == null || order.getQuantity() <= 0) {
+            throw new IllegalArgumentException("Order quantity must be positive.");
         }
+        return product;
+    }
+
+    @Override
+    public OrderDto updateOrder(Integer id, Date deliveryDate, String status, Long version) {
+        return writeExecutor.execute("order.update", () -> {
+            Order order = orderRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+            if (!order.getVersion().equals(version)) {
+                throw new ConcurrentUpdateException("Order " + id + " changed after version " + version + ".");
+            }
+
+            try {
+                // Update the fields
+                order.setDeliveryDate(deliveryDate);
+                order.setStatus(status);
+
+                orderRepository.saveAndFlush(order);
+                outboxService.recordOrderEvents(OutboxEvent.ORDER_UPDATED, List.of(toEvent(order, null)));
+                return toDto(order);
+            } catch (OptimisticLockingFailureException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Failed to update the order: " + e.getMessage());
+            }
+        });
     }
 
     @Override
+    @Transactional
+    public OrderStatusUpdateResultDto updateOrderStatuses(OrderStatusUpdateDto statusUpdateDto) {
+        Set<String> fromStatuses = STATUS_TRANSITIONS.get(statusUpdateDto.getStatus());
+        if (fromStatuses == null) {
+            throw new IllegalArgumentException("Orders cannot be moved to status: " + statusUpdateDto.getStatus());
+        }
+        if (statusUpdateDto.getIds() == null || statusUpdateDto.getIds().isEmpty()) {
+            throw new IllegalArgumentException("At least one order id is required.");
+        }
+        if (statusUpdateDto.getIds().size() > MAX_STATUS_UPDATE_IDS) {
+            throw new IllegalArgumentException("A status update can contain at most " + MAX_STATUS_UPDATE_IDS + " orders.");
+        }
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(statusUpdateDto.getIds()));
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += STATUS_UPDATE_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + STATUS_UPDATE_CHUNK_SIZE, ids.size()));
+            // The update itself names the orders that moved, so events go out for exactly those
+            List<Integer> moving = orderWriteRepository.updateStatus(chunk, fromStatuses, statusUpdateDto.getStatus(),
+                    statusUpdateDto.getDeliveryDate());
+            if (moving.isEmpty()) {
+                continue;
+            }
+            updated += moving.size();
+            outboxService.recordOrderEvents(OutboxEvent.ORDER_UPDATED, moving.stream()
+                    .map(orderId -> new OrderEventDto(orderId, null, null, null, statusUpdateDto.getStatus(), null,
+                            statusUpdateDto.getDeliveryDate(), null))
+                    .collect(Collectors.toList()));
+        }
+        return new OrderStatusUpdateResultDto(ids.size(), updated);
+    }
+
+    @Override
+    @Transactional
     public void deleteOrder(Integer id) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
         try {
+            orderLineRepository.deleteByOrderId(id);
             orderRepository.deleteById(id);
+            outboxService.recordOrderEvents(OutboxEvent.ORDER_DELETED,
+                    List.of(new OrderEventDto(id, null, null, null, null, null, null, null)));
         } catch (Exception e) {
             throw new IllegalArgumentException("Failed to delete the order: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    // The customer row only holds the compacted wallet snapshot, so orders do not report a balance.
+    private OrderDto toDto(Order order) {
+        OrderDto orderDto = modelMapper.map(order, OrderDto.class);
+        if (orderDto.getCustomer() != null) {
+            orderDto.getCustomer().setWalletBalance(null);
+        }
+        return orderDto;
+    }
+
+    private static OrderEventDto toEvent(Order order, List<OrderLineDto> lines) {
+        return new OrderEventDto(order.getId(), order.getCustomer().getId(),
+                order.getProduct() == null ? null : order.getProduct().getId(), order.getQuantity(), order.getStatus(), order.getOrderDate(), order.getDeliveryDate(), lines);
+    }
+}
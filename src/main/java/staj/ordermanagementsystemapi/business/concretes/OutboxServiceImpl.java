@@ -0,0 +1,169 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import staj.ordermanagementsystemapi.business.abstracts.OutboxService;
+import staj.ordermanagementsystemapi.core.utilities.outbox.OutboxSink;
+import staj.ordermanagementsystemapi.core.utilities.pagination.KeysetCursor;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OutboxEventRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OutboxRelayStateRepository;
+import staj.ordermanagementsystemapi.entities.concretes.OutboxEvent;
+import staj.ordermanagementsystemapi.entities.concretes.OutboxRelayState;
+import staj.ordermanagementsystemapi.entities.dto.CursorPageDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderEventDto;
+import staj.ordermanagementsystemapi.entities.dto.OutboxEventDto;
+
+/**
+ * Transactional outbox for order events. Events are inserted in the
+ * transaction of the order change, so they exist exactly when the change does.
+ * <p>
+ * The relay drains unpublished events in batches: each batch is locked,
+ * numbered, handed to the {@link OutboxSink} and marked published in one
+ * transaction. Delivery is at-least-once; a batch whose sink call fails is
+ * offered again on the next run.
+ * <p>
+ * The pull feed pages by the publish sequence, not by event id. Ids are
+ * allocated before commit, so an event can become visible after a higher id
+ * already was. Publish sequence numbers are handed out while holding the
+ * single {@link OutboxRelayState} row lock, so one relay runs at a time and
+ * a number becomes visible only after every lower one has.
+ */
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelayStateRepository outboxRelayStateRepository;
+    private final OutboxSink outboxSink;
+    private final ObjectWriter payloadWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long retentionMillis;
+
+    @Autowired
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository,
+                             OutboxRelayStateRepository outboxRelayStateRepository, OutboxSink outboxSink,
+                             ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                             @Value("${outbox.relay.batch-size:200}") int batchSize,
+                             @Value("${outbox.retention-ms:604800000}") long retentionMillis) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxRelayStateRepository = outboxRelayStateRepository;
+        this.outboxSink = outboxSink;
+        this.payloadWriter = objectMapper.writerFor(OrderEventDto.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retentionMillis = retentionMillis;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrderEvents(String type, List<OrderEventDto> events) {
+        List<OutboxEvent> rows = new ArrayList<>(events.size());
+        for (OrderEventDto event : events) {
+            OutboxEvent row = new OutboxEvent();
+            row.setType(type);
+            row.setAggregateId(event.getOrderId());
+            row.setPayload(toJson(event));
+            rows.add(row);
+        }
+        outboxEventRepository.saveAll(rows);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<OutboxEventDto> getEvents(Long after, int limit) {
+        KeysetCursor.checkLimit(limit);
+        List<OutboxEvent> events = outboxEventRepository.findPublishedAfter(after == null ? 0L : after,
+                PageRequest.of(0, limit + 1));
+        List<OutboxEvent> items = events.size() > limit ? events.subList(0, limit) : events;
+        String nextCursor = events.size() > limit ? String.valueOf(items.get(items.size() - 1).getPublishSeq()) : null;
+        return new CursorPageDto<>(items.stream().map(OutboxServiceImpl::toDto).toList(), nextCursor);
+    }
+
+    @Override
+    public int relay() {
+        if (!outboxRelayStateRepository.existsById(OutboxRelayState.ID)) {
+            createRelayState();
+        }
+        int relayed = 0;
+        while (true) {
+            Integer published = transactionTemplate.execute(status -> relayBatch());
+            relayed += published == null ? 0 : published;
+            if (published == null || published < batchSize) {
+                return relayed;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relayEvents() {
+        relay();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval-ms:3600000}")
+    public void deletePublishedEvents() {
+        Date publishedBefore = new Date(System.currentTimeMillis() - retentionMillis);
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deletePublishedBefore(publishedBefore));
+    }
+
+    private int relayBatch() {
+        Optional<OutboxRelayState> relayState = outboxRelayStateRepository.lockById(OutboxRelayState.ID);
+        if (relayState.isEmpty()) {
+            // A relay on another node is publishing
+            return 0;
+        }
+        List<OutboxEvent> events = outboxEventRepository.lockUnpublished(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+        OutboxRelayState state = relayState.get();
+        long publishSeq = state.getLastPublishSeq();
+        Date publishedAt = new Date();
+        for (OutboxEvent event : events) {
+            event.setPublishSeq(++publishSeq);
+            event.setPublishedAt(publishedAt);
+        }
+        state.setLastPublishSeq(publishSeq);
+        outboxSink.publish(events.stream().map(OutboxServiceImpl::toDto).toList());
+        return events.size();
+    }
+
+    private void createRelayState() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxRelayStateRepository.saveAndFlush(
+                    new OutboxRelayState(OutboxRelayState.ID, 0L)));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created it first
+        }
+    }
+
+    private String toJson(OrderEventDto event) {
+        try {
+            return payloadWriter.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to write the order event: " + e.getMessage());
+        }
+    }
+
+    private static OutboxEventDto toDto(OutboxEvent event) {
+        return new OutboxEventDto(event.getId(), event.getPublishSeq(), event.getType(), event.getAggregateId(), event.getCreatedAt(),
+                event.getPayload());
+    }
+}
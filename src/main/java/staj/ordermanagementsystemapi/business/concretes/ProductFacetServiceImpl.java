@@ -0,0 +1,288 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import staj.ordermanagementsystemapi.business.abstracts.ProductFacetService;
+import staj.ordermanagementsystemapi.core.utilities.search.CompressedBitmap;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+import staj.ordermanagementsystemapi.entities.dto.FacetCountDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductFilterResultDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductIndexRow;
+
+/**
+ * Product filtering over in-memory {@link CompressedBitmap}s: one per
+ * category, one per price band and one each for in-stock and sold-out
+ * products. Products are numbered with dense ordinals in the order they are
+ * first seen, so the bitmaps stay compact however sparse the product ids are;
+ * ordinals of deleted products are not reused until the next rebuild.
+ * <p>
+ * The bitmaps are built from a cursor over the product table while the
+ * context starts and kept current by {@link ProductServiceImpl} and by the
+ * inventory flush, which reports products that sold out.
+ */
+@Service
+public class ProductFacetServiceImpl implements ProductFacetService {
+
+    // Band i covers [PRICE_BAND_BOUNDS[i], PRICE_BAND_BOUNDS[i + 1]); the last band is open-ended.
+    private static final double[] PRICE_BAND_BOUNDS = {0, 10, 25, 50, 100, 250, 500, 1000};
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTemplate;
+    private volatile FacetState state = new FacetState();
+
+    @Autowired
+    public ProductFacetServiceImpl(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public ProductFilterResultDto filter(List<Integer> categoryIds, List<Integer> priceBands, Boolean inStock,
+                                         int offset, int limit) {
+        if (offset < 0 || limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Offset must not be negative and limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        if (priceBands != null) {
+            for (Integer band : priceBands) {
+                if (band == null || band < 0 || band >= PRICE_BAND_BOUNDS.length) {
+                    throw new IllegalArgumentException("Price band must be between 0 and " + (PRICE_BAND_BOUNDS.length - 1) + ".");
+                }
+            }
+        }
+        FacetState current = state;
+        current.lock.readLock().lock();
+        try {
+            return current.filter(categoryIds, priceBands, inStock, offset, limit);
+        } finally {
+            current.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(ProductDto productDto) {
+        if (productDto == null || productDto.getId() == null) {
+            return;
+        }
+        Integer categoryId = productDto.getCategory() == null ? null : productDto.getCategory().getId();
+        FacetState current = state;
+        current.lock.writeLock().lock();
+        try {
+            current.put(productDto.getId(), categoryId, productDto.getPrice(), productDto.getQuantity());
+        } finally {
+            current.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Integer productId) {
+        FacetState current = state;
+        current.lock.writeLock().lock();
+        try {
+            current.remove(productId);
+        } finally {
+            current.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void updateStock(Integer productId, int quantity) {
+        FacetState current = state;
+        current.lock.writeLock().lock();
+        try {
+            current.setStock(productId, quantity);
+        } finally {
+            current.lock.writeLock().unlock();
+        }
+    }
+
+    // Builds new bitmaps beside the live ones and swaps them in when complete.
+    @Override
+    @PostConstruct
+    public int rebuild() {
+        FacetState rebuilt = new FacetState();
+        readOnlyTemplate.executeWithoutResult(status -> {
+            try (Stream<ProductIndexRow> rows = productRepository.streamIndexRows()) {
+                Iterator<ProductIndexRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    ProductIndexRow row = iterator.next();
+                    rebuilt.put(row.getId(), row.getCategoryId(), row.getPrice(), row.getQuantity());
+                }
+            }
+        });
+        state = rebuilt;
+        return rebuilt.all.cardinality();
+    }
+
+    private static int priceBandOf(Double price) {
+        double value = price == null ? 0 : price;
+        int band = 0;
+        while (band + 1 < PRICE_BAND_BOUNDS.length && value >= PRICE_BAND_BOUNDS[band + 1]) {
+            band++;
+        }
+        return band;
+    }
+
+    private static String priceBandLabel(int band) {
+        String lower = String.valueOf((long) PRICE_BAND_BOUNDS[band]);
+        return band + 1 < PRICE_BAND_BOUNDS.length ? lower + "-" + (long) PRICE_BAND_BOUNDS[band + 1] : lower + "+";
+    }
+
+    // Guarded by its lock; a rebuild replaces the whole state.
+    private static final class FacetState {
+        private static final int NONE = -1;
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Integer, Integer> ordinals = new HashMap<>();
+        private int[] productIds = new int[1024];
+        private int[] categoryOf = new int[1024];
+        private int[] bandOf = new int[1024];
+        private int nextOrdinal;
+        private final CompressedBitmap all = new CompressedBitmap();
+        private final CompressedBitmap inStock = new CompressedBitmap();
+        private final CompressedBitmap soldOut = new CompressedBitmap();
+        private final Map<Integer, CompressedBitmap> byCategory = new TreeMap<>();
+        private final CompressedBitmap[] byPriceBand = new CompressedBitmap[PRICE_BAND_BOUNDS.length];
+
+        private FacetState() {
+            for (int i = 0; i < byPriceBand.length; i++) {
+                byPriceBand[i] = new CompressedBitmap();
+            }
+        }
+
+        private void put(Integer productId, Integer categoryId, Double price, Integer quantity) {
+            Integer existing = ordinals.get(productId);
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                clearAttributes(ordinal);
+            } else {
+                ordinal = nextOrdinal++;
+                if (ordinal == productIds.length) {
+                    productIds = Arrays.copyOf(productIds, ordinal * 2);
+                    categoryOf = Arrays.copyOf(categoryOf, ordinal * 2);
+                    bandOf = Arrays.copyOf(bandOf, ordinal * 2);
+                }
+                ordinals.put(productId, ordinal);
+                productIds[ordinal] = productId;
+            }
+            categoryOf[ordinal] = categoryId == null ? NONE : categoryId;
+            if (categoryId != null) {
+                byCategory.computeIfAbsent(categoryId, key -> new CompressedBitmap()).add(ordinal);
+            }
+            bandOf[ordinal] = priceBandOf(price);
+            byPriceBand[bandOf[ordinal]].add(ordinal);
+            all.add(ordinal);
+            setStockOfOrdinal(ordinal, quantity == null ? 0 : quantity);
+        }
+
+        private void remove(Integer productId) {
+            Integer ordinal = ordinals.remove(productId);
+            if (ordinal != null) {
+                clearAttributes(ordinal);
+                all.remove(ordinal);
+                inStock.remove(ordinal);
+                soldOut.remove(ordinal);
+            }
+        }
+
+        private void setStock(Integer productId, int quantity) {
+            Integer ordinal = ordinals.get(productId);
+            if (ordinal != null) {
+                setStockOfOrdinal(ordinal, quantity);
+            }
+        }
+
+        private void setStockOfOrdinal(int ordinal, int quantity) {
+            if (quantity > 0) {
+                inStock.add(ordinal);
+                soldOut.remove(ordinal);
+            } else {
+                soldOut.add(ordinal);
+                inStock.remove(ordinal);
+            }
+        }
+
+        private void clearAttributes(int ordinal) {
+            if (categoryOf[ordinal] != NONE) {
+                CompressedBitmap category = byCategory.get(categoryOf[ordinal]);
+                category.remove(ordinal);
+                if (category.cardinality() == 0) {
+                    byCategory.remove(categoryOf[ordinal]);
+                }
+            }
+            byPriceBand[bandOf[ordinal]].remove(ordinal);
+        }
+
+        private ProductFilterResultDto filter(List<Integer> categoryIds, List<Integer> priceBands, Boolean stock,
+                                              int offset, int limit) {
+            CompressedBitmap categoryFilter = null;
+            if (categoryIds != null && !categoryIds.isEmpty()) {
+                categoryFilter = new CompressedBitmap();
+                for (Integer categoryId : categoryIds) {
+                    CompressedBitmap category = byCategory.get(categoryId);
+                    if (category != null) {
+                        categoryFilter = categoryFilter.or(category);
+                    }
+                }
+            }
+            CompressedBitmap bandFilter = null;
+            if (priceBands != null && !priceBands.isEmpty()) {
+                bandFilter = new CompressedBitmap();
+                for (Integer band : priceBands) {
+                    bandFilter = bandFilter.or(byPriceBand[band]);
+                }
+            }
+            CompressedBitmap stockFilter = stock == null ? null : stock ? inStock : soldOut;
+
+            CompressedBitmap withoutCategory = intersect(all, bandFilter, stockFilter);
+            CompressedBitmap matches = categoryFilter == null ? withoutCategory : withoutCategory.and(categoryFilter);
+
+            List<Integer> ids = new ArrayList<>(Math.min(limit, 64));
+            matches.forEach(offset, limit, ordinal -> ids.add(productIds[ordinal]));
+
+            List<FacetCountDto> categories = new ArrayList<>();
+            for (Map.Entry<Integer, CompressedBitmap> entry : byCategory.entrySet()) {
+                int count = entry.getValue().andCardinality(withoutCategory);
+                if (count > 0) {
+                    categories.add(new FacetCountDto(entry.getKey(), null, count));
+                }
+            }
+            CompressedBitmap withoutBand = intersect(all, categoryFilter, stockFilter);
+            List<FacetCountDto> bands = new ArrayList<>();
+            for (int band = 0; band < byPriceBand.length; band++) {
+                bands.add(new FacetCountDto(band, priceBandLabel(band), byPriceBand[band].andCardinality(withoutBand)));
+            }
+            int inStockCount = inStock.andCardinality(intersect(all, categoryFilter, bandFilter));
+
+            return new ProductFilterResultDto(matches.cardinality(), ids, categories, bands, inStockCount);
+        }
+
+        private static CompressedBitmap intersect(CompressedBitmap base, CompressedBitmap first, CompressedBitmap second) {
+            CompressedBitmap result = base;
+            if (first != null) {
+                result = result.and(first);
+            }
+            if (second != null) {
+                result = result.and(second);
+            }
+            return result;
+        }
+    }
+}
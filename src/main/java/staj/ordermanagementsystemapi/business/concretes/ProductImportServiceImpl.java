@@ -0,0 +1,488 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import staj.ordermanagementsystemapi.business.abstracts.CatalogService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductFacetService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductImportService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductSearchService;
+import staj.ordermanagementsystemapi.core.utilities.csv.CsvReader;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CategoryRepository;
+import staj.ordermanagementsystemapi.entities.concretes.Category;
+import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.dto.CategoryDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductImportErrorDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductImportProgressDto;
+
+/**
+ * Loads products in bulk without going through the entity layer. The input is
+ * read one chunk of rows at a time, and while a chunk is written to the
+ * database the next one is parsed and validated on a pool of worker threads.
+ * Each chunk commits in its own transaction, so memory use stays at about two
+ * chunks however large the file is, and a chunk the database rejects does not
+ * undo the chunks before it.
+ * <p>
+ * On PostgreSQL rows are streamed with {@code COPY ... FROM STDIN}; other
+ * databases get batched inserts. Ids come from the product sequence through
+ * Hibernate's own generator, so they never collide with products saved through
+ * JPA. Categories are matched by name, ignoring case, against a map loaded once
+ * per import.
+ */
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final String COLUMNS = "id, name, price, thumbnail, details, category_id, quantity, timestamp, version";
+    private static final String COPY_SQL = "copy product (" + COLUMNS + ") from stdin with (format csv)";
+    private static final String INSERT_SQL = "insert into product (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private static final String[] HEADERS = {"name", "price", "thumbnail", "details", "category", "quantity"};
+    private static final int NAME = 0;
+    private static final int PRICE = 1;
+    private static final int THUMBNAIL = 2;
+    private static final int DETAILS = 3;
+    private static final int CATEGORY = 4;
+    private static final int QUANTITY = 5;
+
+    private final CategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final CatalogService catalogService;
+    private final ProductSearchService productSearchService;
+    private final ProductFacetService productFacetService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter lineWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final IdentifierGenerator idGenerator;
+    private final ForkJoinPool validationPool;
+    private final int chunkSize;
+
+    @Autowired
+    public ProductImportServiceImpl(CategoryRepository categoryRepository, JdbcTemplate jdbcTemplate,
+                                    EntityManagerFactory entityManagerFactory, EntityManager entityManager,
+                                    CatalogService catalogService, ProductSearchService productSearchService,
+                                    ProductFacetService productFacetService, ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${product.import.chunk-size:1000}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Import chunk size must be positive.");
+        }
+        this.categoryRepository = categoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.catalogService = catalogService;
+        this.productSearchService = productSearchService;
+        this.productFacetService = productFacetService;
+        this.objectMapper = objectMapper;
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idGenerator = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                .getEntityDescriptor(Product.class).getIdentifierGenerator();
+        this.validationPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ProductImportProgressDto importProducts(InputStream in, Format format, OutputStream out) throws IOException {
+        Map<String, CategoryDto> categories = loadCategories();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        RecordSource source = format == Format.CSV ? new CsvSource(reader) : new NdjsonSource(reader);
+        long rowsRead = 0;
+        long imported = 0;
+        long rejected = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            ForkJoinTask<List<ImportRow>> pending = validate(source.read(chunkSize), source, categories);
+            while (pending != null) {
+                List<ImportRow> rows = pending.join();
+                // The next chunk is parsed while this one is loaded
+                pending = validate(source.read(chunkSize), source, categories);
+
+                rowsRead += rows.size();
+                List<ImportRow> valid = new ArrayList<>(rows.size());
+                for (ImportRow row : rows) {
+                    if (row.error != null) {
+                        writeLine(generator, new ProductImportErrorDto(row.line, row.error));
+                        rejected++;
+                    } else {
+                        valid.add(row);
+                    }
+                }
+                if (!valid.isEmpty()) {
+                    try {
+                        load(valid);
+                        imported += valid.size();
+                    } catch (DataAccessException e) {
+                        writeLine(generator, new ProductImportErrorDto(valid.get(0).line, "Rows from line " + valid.get(0).line
+                                + " to " + valid.get(valid.size() - 1).line + " were not imported: "
+                                + e.getMostSpecificCause().getMessage()));
+                        rejected += valid.size();
+                    }
+                }
+                writeLine(generator, new ProductImportProgressDto(rowsRead, imported, rejected, false));
+                generator.flush();
+            }
+            if (source.failure != null) {
+                writeLine(generator, source.failure);
+            }
+            ProductImportProgressDto result = new ProductImportProgressDto(rowsRead, imported, rejected, true);
+            writeLine(generator, result);
+            generator.flush();
+            return result;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validationPool.shutdown();
+    }
+
+    private Map<String, CategoryDto> loadCategories() {
+        Map<String, CategoryDto> categories = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categories.putIfAbsent(categoryKey(category.getName()),
+                    new CategoryDto(category.getId(), category.getName(), category.getDetails(), category.getTimestamp()));
+        }
+        return categories;
+    }
+
+    private ForkJoinTask<List<ImportRow>> validate(List<RawRecord> records, RecordSource source, Map<String, CategoryDto> categories) {
+        if (records.isEmpty()) {
+            return null;
+        }
+        // A parallel stream started inside the pool runs on the pool's threads
+        return validationPool.submit(() -> records.parallelStream()
+                .map(record -> source.parse(record, categories))
+                .toList());
+    }
+
+    private void load(List<ImportRow> rows) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        transactionTemplate.executeWithoutResult(status -> {
+            SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+            for (ImportRow row : rows) {
+                row.id = ((Number) idGenerator.generate(session, null)).intValue();
+            }
+            Boolean copied = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    return false;
+                }
+                copy(connection, rows, now);
+                return true;
+            });
+            if (!Boolean.TRUE.equals(copied)) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows, INSERT_BATCH_SIZE, (statement, row) -> {
+                    statement.setInt(1, row.id);
+                    statement.setString(2, row.name);
+                    statement.setDouble(3, row.price);
+                    statement.setString(4, row.thumbnail);
+                    statement.setString(5, row.details);
+                    statement.setInt(6, row.category.getId());
+                    statement.setInt(7, row.quantity);
+                    statement.setTimestamp(8, now);
+                });
+            }
+        });
+        catalogService.invalidate();
+        for (ImportRow row : rows) {
+            ProductDto productDto = new ProductDto(row.id, row.name, row.price, row.thumbnail, row.details, row.category,
+                    row.quantity, now, null);
+            productSearchService.index(productDto);
+            productFacetService.index(productDto);
+        }
+    }
+
+    private static void copy(Connection connection, List<ImportRow> rows, Timestamp now) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+        try {
+            StringBuilder line = new StringBuilder(256);
+            for (ImportRow row : rows) {
+                line.setLength(0);
+                line.append(row.id).append(',');
+                appendQuoted(line, row.name).append(',');
+                line.append(row.price).append(',');
+                appendQuoted(line, row.thumbnail).append(',');
+                appendQuoted(line, row.details).append(',');
+                line.append(row.category.getId()).append(',');
+                line.append(row.quantity).append(',');
+                line.append(now).append(",0\n");
+                byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    // In COPY's CSV format an unquoted empty field is NULL and a quoted one is an empty string.
+    private static StringBuilder appendQuoted(StringBuilder line, String value) {
+        if (value != null) {
+            line.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+        return line;
+    }
+
+    private void writeLine(JsonGenerator generator, Object value) throws IOException {
+        lineWriter.writeValue(generator, value);
+        generator.writeRaw('\n');
+    }
+
+    private static String categoryKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static ImportRow toRow(long line, String[] values, Map<String, CategoryDto> categories) {
+        ImportRow row = new ImportRow(line);
+        String name = trimToNull(values[NAME]);
+        String category = trimToNull(values[CATEGORY]);
+        String thumbnail = trimToNull(values[THUMBNAIL]);
+        String details = trimToNull(values[DETAILS]);
+        if (name == null) {
+            row.error = "Product name is required.";
+        } else if (name.length() > 200) {
+            row.error = "Product name must be at most 200 characters.";
+        } else if (thumbnail != null && thumbnail.length() > 500) {
+            row.error = "Thumbnail must be at most 500 characters.";
+        } else if (details != null && details.length() > 1000) {
+            row.error = "Details must be at most 1000 characters.";
+        } else if (category == null) {
+            row.error = "Category is required.";
+        } else if (!categories.containsKey(categoryKey(category))) {
+            row.error = "Category '" + category + "' does not exist.";
+        } else {
+            try {
+                double price = Double.parseDouble(values[PRICE] == null ? "" : values[PRICE].trim());
+                int quantity = Integer.parseInt(values[QUANTITY] == null ? "" : values[QUANTITY].trim());
+                if (!Double.isFinite(price) || price < 0) {
+                    row.error = "Price must be a non-negative number.";
+                } else if (quantity < 0) {
+                    row.error = "Quantity must not be negative.";
+                } else {
+                    row.name = name;
+                    row.price = price;
+                    row.thumbnail = thumbnail;
+                    row.details = details;
+                    row.category = categories.get(categoryKey(category));
+                    row.quantity = quantity;
+                }
+            } catch (NumberFormatException e) {
+                row.error = "Price must be a number and quantity a whole number.";
+            }
+        }
+        return row;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private record RawRecord(long line, String[] fields, String json) {
+    }
+
+    // Filled in by the validation stage; id is assigned while loading.
+    private static final class ImportRow {
+        private final long line;
+        private String error;
+        private int id;
+        private String name;
+        private double price;
+        private String thumbnail;
+        private String details;
+        private CategoryDto category;
+        private int quantity;
+
+        private ImportRow(long line) {
+            this.line = line;
+        }
+    }
+
+    // Reads records on the calling thread; parse() runs on the validation pool and must not touch reader state.
+    private abstract static class RecordSource {
+        protected ProductImportErrorDto failure;
+
+        // Returns up to max records; empty once the input is exhausted or unreadable.
+        private List<RawRecord> read(int max) throws IOException {
+            List<RawRecord> records = new ArrayList<>();
+            if (failure != null) {
+                return records;
+            }
+            try {
+                RawRecord record;
+                while (records.size() < max && (record = next()) != null) {
+                    records.add(record);
+                }
+            } catch (IllegalArgumentException e) {
+                failure = new ProductImportErrorDto(currentLine(), e.getMessage() + " The rest of the file was not read.");
+            }
+            return records;
+        }
+
+        protected abstract RawRecord next() throws IOException;
+
+        protected abstract long currentLine();
+
+        protected abstract ImportRow parse(RawRecord record, Map<String, CategoryDto> categories);
+    }
+
+    private static final class CsvSource extends RecordSource {
+        private final CsvReader csv;
+        private int[] columns;
+
+        private CsvSource(BufferedReader reader) {
+            this.csv = new CsvReader(reader);
+        }
+
+        @Override
+        protected RawRecord next() throws IOException {
+            if (columns == null) {
+                readHeader();
+            }
+            String[] fields = csv.next();
+            return fields == null ? null : new RawRecord(csv.getRecordLine(), fields, null);
+        }
+
+        @Override
+        protected long currentLine() {
+            return Math.max(1, csv.getRecordLine());
+        }
+
+        @Override
+        protected ImportRow parse(RawRecord record, Map<String, CategoryDto> categories) {
+            String[] values = new String[HEADERS.length];
+            for (int i = 0; i < HEADERS.length; i++) {
+                if (columns[i] >= 0 && columns[i] < record.fields().length) {
+                    values[i] = record.fields()[columns[i]];
+                }
+            }
+            return toRow(record.line(), values, categories);
+        }
+
+        private void readHeader() throws IOException {
+            String[] header = csv.next();
+            if (header == null) {
+                throw new IllegalArgumentException("The file has no header row.");
+            }
+            columns = new int[HEADERS.length];
+            for (int i = 0; i < HEADERS.length; i++) {
+                columns[i] = -1;
+                for (int j = 0; j < header.length; j++) {
+                    if (header[j].trim().equalsIgnoreCase(HEADERS[i])) {
+                        columns[i] = j;
+                    }
+                }
+            }
+            for (int required : new int[] {NAME, PRICE, CATEGORY, QUANTITY}) {
+                if (columns[required] < 0) {
+                    throw new IllegalArgumentException("The header has no '" + HEADERS[required] + "' column.");
+                }
+            }
+        }
+    }
+
+    private final class NdjsonSource extends RecordSource {
+        private final BufferedReader reader;
+        private long line;
+
+        private NdjsonSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        protected RawRecord next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.length() > CsvReader.MAX_RECORD_LENGTH) {
+                    throw new IllegalArgumentException("Line " + line + " is longer than " + CsvReader.MAX_RECORD_LENGTH
+                            + " characters.");
+                }
+                if (!text.isBlank()) {
+                    return new RawRecord(line, null, text);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        protected long currentLine() {
+            return line;
+        }
+
+        @Override
+        protected ImportRow parse(RawRecord record, Map<String, CategoryDto> categories) {
+            String[] values = new String[HEADERS.length];
+            try {
+                JsonNode node = objectMapper.readTree(record.json());
+                if (!node.isObject()) {
+                    return rejected(record.line(), "Each line must be a JSON object.");
+                }
+                for (int i = 0; i < HEADERS.length; i++) {
+                    JsonNode value = node.get(HEADERS[i]);
+                    if (value != null && !value.isNull()) {
+                        if (!value.isValueNode()) {
+                            return rejected(record.line(), "Field '" + HEADERS[i] + "' must be a string or a number.");
+                        }
+                        values[i] = value.asText();
+                    }
+                }
+            } catch (IOException e) {
+                return rejected(record.line(), "Line is not valid JSON.");
+            }
+            return toRow(record.line(), values, categories);
+        }
+
+        private ImportRow rejected(long line, String error) {
+            ImportRow row = new ImportRow(line);
+            row.error = error;
+            return row;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import staj.ordermanagementsystemapi.business.abstracts.ProductSearchService;
+import staj.ordermanagementsystemapi.core.utilities.search.InvertedIndex;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductIndexRow;
+import staj.ordermanagementsystemapi.entities.dto.ProductSearchHitDto;
+
+/**
+ * Product search over an in-process {@link InvertedIndex} of product names
+ * (weighted as titles) and details. The index is built from a cursor over the
+ * product table while the context starts and kept current by
+ * {@link ProductServiceImpl}, so queries never touch the database. Hits carry
+ * the name, price and thumbnail kept next to the index. Products written
+ * around the product service, or by another node, are picked up on restart.
+ */
+@Service
+public class ProductSearchServiceImpl implements ProductSearchService {
+
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTemplate;
+    private volatile SearchState state = new SearchState();
+
+    @Autowired
+    public ProductSearchServiceImpl(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public List<ProductSearchHitDto> search(String query, int limit) {
+        checkInput(query, limit);
+        SearchState current = state;
+        List<ProductSearchHitDto> hits = new ArrayList<>();
+        for (InvertedIndex.Hit hit : current.index.search(query, limit)) {
+            ProductSearchHitDto summary = current.summaries.get(hit.documentId());
+            if (summary != null) {
+                hits.add(new ProductSearchHitDto(summary.getId(), summary.getName(), summary.getPrice(),
+                        summary.getThumbnail(), hit.score()));
+            }
+        }
+        return hits;
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int limit) {
+        checkInput(prefix, limit);
+        return state.index.suggest(prefix, limit);
+    }
+
+    @Override
+    public void index(ProductDto productDto) {
+        if (productDto == null || productDto.getId() == null) {
+            return;
+        }
+        state.put(productDto.getId(), productDto.getName(), productDto.getDetails(), productDto.getPrice(),
+                productDto.getThumbnail());
+    }
+
+    @Override
+    public void remove(Integer productId) {
+        SearchState current = state;
+        current.index.remove(productId);
+        current.summaries.remove(productId);
+    }
+
+    // Builds a new index beside the live one and swaps it in when complete.
+    @Override
+    @PostConstruct
+    public int rebuild() {
+        SearchState rebuilt = new SearchState();
+        readOnlyTemplate.executeWithoutResult(status -> {
+            try (Stream<ProductIndexRow> rows = productRepository.streamIndexRows()) {
+                Iterator<ProductIndexRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    ProductIndexRow row = iterator.next();
+                    rebuilt.put(row.getId(), row.getName(), row.getDetails(), row.getPrice(), row.getThumbnail());
+                }
+            }
+        });
+        state = rebuilt;
+        return rebuilt.index.size();
+    }
+
+    private static void checkInput(String text, int limit) {
+        if (text == null || text.isBlank() || text.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search text must be between 1 and " + MAX_QUERY_LENGTH + " characters.");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+    }
+
+    private static final class SearchState {
+        private final InvertedIndex index = new InvertedIndex();
+        private final Map<Integer, ProductSearchHitDto> summaries = new ConcurrentHashMap<>();
+
+        private void put(Integer id, String name, String details, Double price, String thumbnail) {
+            summaries.put(id, new ProductSearchHitDto(id, name, price, thumbnail, null));
+            index.put(id, name, details);
+        }
+    }
+}
@@ -1,34 +1,104 @@
 package staj.ordermanagementsystemapi.business.concretes;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import staj.ordermanagementsystemapi.business.abstracts.CatalogService;
+import staj.ordermanagementsystemapi.business.abstracts.InventoryService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductFacetService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductSearchService;
 import staj.ordermanagementsystemapi.business.abstracts.ProductService;
+import staj.ordermanagementsystemapi.core.exception.ConcurrentUpdateException;
 import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.core.utilities.cache.TinyLfuCache;
+import staj.ordermanagementsystemapi.core.utilities.concurrency.OptimisticWriteExecutor;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.CategoryRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductDetailRepository;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductWriteRepository;
 import staj.ordermanagementsystemapi.entities.concretes.Category;
 import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.dto.CategoryDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductDetailDto;
 import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductIndexRow;
+import staj.ordermanagementsystemapi.entities.dto.ProductRepriceDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductRepriceResultDto;
 
+/**
+ * Product reads by id go through a local {@link TinyLfuCache}. Every write made
+ * through this service refreshes or drops the entry once it has committed;
+ * changes made elsewhere (stock flushes, other nodes) show up when the entry's
+ * time-to-live runs out.
+ */
 @Service
 public class ProductServiceImpl implements ProductService {
 
+    // Prices are never negative, so UP and CEILING are the same, as are DOWN and FLOOR.
+    private static final Set<RoundingMode> REPRICE_ROUNDING = EnumSet.of(RoundingMode.HALF_UP, RoundingMode.UP,
+            RoundingMode.CEILING, RoundingMode.DOWN, RoundingMode.FLOOR);
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductWriteRepository productWriteRepository;
+    private final ProductDetailRepository productDetailRepository;
     private final ModelMapper modelMapper;
+    private final InventoryService inventoryService;
+    private final OptimisticWriteExecutor writeExecutor;
+    private final CatalogService catalogService;
+    private final ProductSearchService productSearchService;
+    private final ProductFacetService productFacetService;
+    private final TinyLfuCache<ProductDto> productCache;
 
     @Autowired
-    public ProductServiceImpl(ProductRepository productRepository, CategoryRepository categoryRepository, ModelMapper modelMapper){
+    public ProductServiceImpl(ProductRepository productRepository, CategoryRepository categoryRepository,
+                              ProductWriteRepository productWriteRepository, ProductDetailRepository productDetailRepository,
+                              ModelMapper modelMapper,
+                              InventoryService inventoryService, OptimisticWriteExecutor writeExecutor, CatalogService catalogService,
+                              ProductSearchService productSearchService, ProductFacetService productFacetService,
+                              MeterRegistry meterRegistry,
+                              @Value("${product.cache.maximum-size:10000}") int cacheSize,
+                              @Value("${product.cache.ttl-ms:60000}") long cacheTtlMillis){
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.productWriteRepository = productWriteRepository;
+        this.productDetailRepository = productDetailRepository;
         this.modelMapper = modelMapper;
+        this.inventoryService = inventoryService;
+        this.writeExecutor = writeExecutor;
+        this.catalogService = catalogService;
+        this.productSearchService = productSearchService;
+        this.productFacetService = productFacetService;
+        this.productCache = new TinyLfuCache<>(cacheSize, cacheTtlMillis);
+
+        FunctionCounter.builder("cache.gets", productCache, TinyLfuCache::hitCount)
+                .tag("cache", "product").tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", productCache, TinyLfuCache::missCount)
+                .tag("cache", "product").tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", productCache, TinyLfuCache::evictionCount)
+                .tag("cache", "product").register(meterRegistry);
+        Gauge.builder("cache.size", productCache, TinyLfuCache::size)
+                .tag("cache", "product").register(meterRegistry);
     }
 
     @Override
@@ -41,9 +111,24 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public ProductDto getProductById(Integer id) {
+        ProductDto cached = productCache.get(id);
+        if (cached != null) {
+            return copy(cached);
+        }
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
-        return modelMapper.map(product, ProductDto.class);
+        ProductDto productDto = modelMapper.map(product, ProductDto.class);
+        productCache.put(id, copy(productDto));
+        return productDto;
+    }
+
+    @Override
+    public ProductDetailDto getProductDetail(Integer id, int reviewLimit) {
+        if (reviewLimit < 0 || reviewLimit > MAX_DETAIL_REVIEWS) {
+            throw new IllegalArgumentException("Review limit must be between 0 and " + MAX_DETAIL_REVIEWS + ".");
+        }
+        return productDetailRepository.findDetail(id, reviewLimit)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
     }
 
     @Override
@@ -51,7 +136,14 @@ public class ProductServiceImpl implements ProductService {
         try {
             Product product = modelMapper.map(productDTO, Product.class);
             Product savedProduct = productRepository.save(product);
-            return modelMapper.map(savedProduct, ProductDto.class);
+            ProductDto savedProductDto = modelMapper.map(savedProduct, ProductDto.class);
+            if (savedProductDto.getId() != null) {
+                productCache.put(savedProductDto.getId(), copy(savedProductDto));
+            }
+            catalogService.invalidate();
+            productSearchService.index(savedProductDto);
+            productFacetService.index(savedProductDto);
+            return savedProductDto;
         } catch (DataIntegrityViolationException e) {
             throw new IllegalArgumentException("Product name must be unique.");
         }
@@ -61,35 +153,60 @@ public class ProductServiceImpl implements ProductService {
     public ProductDto updateProduct(Integer id, String updatedName,
                                     Double updatedPrice, String updatedThumbnail,
                                     String updatedDetail, Integer updatedCategoryId,
-                                    Integer newQuantity, Date newDate) {
-        // Check if the product exists.
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+                                    Integer newQuantity, Date newDate, Long version) {
+        // Every field is overwritten, so a conflict is not retried: the client has to read the product again
+        ProductDto productDto;
+        try {
+            // The stock takes the new quantity together with the commit, keeping unflushed sales
+            productDto = inventoryService.writeStock(id, () -> updateProductRow(id, updatedName, updatedPrice,
+                    updatedThumbnail, updatedDetail, updatedCategoryId, newQuantity, newDate, version),
+                    ProductDto::getQuantity);
+        } catch (ConcurrentUpdateException e) {
+            // Stock flushes bump the version too, so the cached copy may be what the client read
+            productCache.invalidate(id);
+            throw e;
+        }
+        productCache.put(id, copy(productDto));
+        catalogService.invalidate();
+        productSearchService.index(productDto);
+        productFacetService.index(productDto);
+        return productDto;
+    }
 
-        // Check if the category exists.
-        Category category = categoryRepository.findById(updatedCategoryId)
-                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", updatedCategoryId));
+    @Override
+    public ProductDto patchProduct(Integer id, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("A merge patch must be a JSON object.");
+        }
+        Map<String, Object> changes = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            changes.put(field.getKey(), patchValue(field.getKey(), field.getValue()));
+        }
+        if (changes.isEmpty()) {
+            return getProductById(id);
+        }
+        if (changes.containsKey("categoryId")) {
+            Integer categoryId = (Integer) changes.get("categoryId");
+            if (!categoryRepository.existsById(categoryId)) {
+                throw new ResourceNotFoundException("Category", "id", categoryId);
+            }
+        }
 
-        try {
-            // TODO: fix NullPointerException when product itself is modified and mapped
-            // Create a new product for updated product
-            Product updatedProduct = new Product();
-            // Update fields
-            updatedProduct.setId(id);
-            updatedProduct.setName(updatedName);
-            updatedProduct.setPrice(updatedPrice);
-            updatedProduct.setThumbnail(updatedThumbnail);
-            updatedProduct.setDetails(updatedDetail);
-            updatedProduct.setCategory(category);
-            updatedProduct.setQuantity(newQuantity);
-            updatedProduct.setTimestamp(newDate);
-
-            // Save the updated product
-            productRepository.save(updatedProduct);
-            return modelMapper.map(updatedProduct, ProductDto.class);
-        } catch (DataIntegrityViolationException e) {
-            throw new IllegalArgumentException("Product name must be unique.");
+        ProductDto productDto = changes.containsKey("quantity")
+                // The stock takes the new quantity together with the commit, keeping unflushed sales
+                ? inventoryService.writeStock(id, () -> patchProductRow(id, changes), ProductDto::getQuantity)
+                : patchProductRow(id, changes);
+        productCache.put(id, copy(productDto));
+        catalogService.invalidate();
+        if (changes.size() == 1 && changes.containsKey("quantity")) {
+            productFacetService.updateStock(id, productDto.getQuantity());
+        } else {
+            productSearchService.index(productDto);
+            productFacetService.index(productDto);
         }
+        return productDto;
     }
 
     @Override
@@ -100,9 +217,152 @@ public class ProductServiceImpl implements ProductService {
 
         try {
             productRepository.deleteById(id);
+            inventoryService.removeProduct(id);
+            productCache.invalidate(id);
+            catalogService.invalidate();
+            productSearchService.remove(id);
+            productFacetService.remove(id);
         } catch (DataIntegrityViolationException e) {
             throw new IllegalArgumentException("Associated data prevents deletion. Cannot delete the product.");
         }
     }
 
+    @Override
+    public ProductRepriceResultDto repriceCategory(ProductRepriceDto repriceDto) {
+        if (repriceDto.getCategoryId() == null || (repriceDto.getPercent() == null) == (repriceDto.getAmount() == null)) {
+            throw new IllegalArgumentException("A reprice needs a category and exactly one of percent and amount.");
+        }
+        if (repriceDto.getPercent() != null && !(repriceDto.getPercent() > -100 && repriceDto.getPercent() <= 1000)) {
+            throw new IllegalArgumentException("Percent must be above -100 and at most 1000.");
+        }
+        if (repriceDto.getAmount() != null && !Double.isFinite(repriceDto.getAmount())) {
+            throw new IllegalArgumentException("Amount must be a number.");
+        }
+        double increment = repriceDto.getIncrement() == null ? 0.01 : repriceDto.getIncrement();
+        if (!(increment >= 0.01 && increment <= 1000)) {
+            throw new IllegalArgumentException("Increment must be between 0.01 and 1000.");
+        }
+        RoundingMode rounding = repriceDto.getRounding() == null ? RoundingMode.HALF_UP : repriceDto.getRounding();
+        if (!REPRICE_ROUNDING.contains(rounding)) {
+            throw new IllegalArgumentException("Rounding must be HALF_UP, UP or DOWN.");
+        }
+
+        Category category = categoryRepository.findById(repriceDto.getCategoryId())
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", repriceDto.getCategoryId()));
+        BigDecimal factor = repriceDto.getPercent() == null ? BigDecimal.ONE
+                : BigDecimal.ONE.add(BigDecimal.valueOf(repriceDto.getPercent()).movePointLeft(2));
+        BigDecimal delta = repriceDto.getAmount() == null ? BigDecimal.ZERO : BigDecimal.valueOf(repriceDto.getAmount());
+        List<ProductIndexRow> rows = productWriteRepository.repriceCategory(category.getId(), factor, delta,
+                BigDecimal.valueOf(increment), rounding);
+
+        // Only the repriced products leave the cache; the rest of it stays warm
+        catalogService.invalidate();
+        CategoryDto categoryDto = modelMapper.map(category, CategoryDto.class);
+        List<Integer> productIds = new ArrayList<>(rows.size());
+        for (ProductIndexRow row : rows) {
+            ProductDto productDto = new ProductDto(row.getId(), row.getName(), row.getPrice(), row.getThumbnail(),
+                    row.getDetails(), categoryDto, row.getQuantity(), null, null);
+            productSearchService.index(productDto);
+            productFacetService.index(productDto);
+            productIds.add(row.getId());
+        }
+        productCache.invalidateAll(productIds);
+        return new ProductRepriceResultDto(category.getId(), rows.size(), productIds);
+    }
+
+    @Override
+    public void evictCategory(Integer categoryId) {
+        productCache.invalidateIf(product -> product.getCategory() != null
+                && categoryId.equals(product.getCategory().getId()));
+    }
+
+    private ProductDto patchProductRow(Integer id, Map<String, Object> changes) {
+        return productWriteRepository.patchProduct(id, changes)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+    }
+
+    // Checks one merge-patch member against the same limits as the product columns.
+    private static Object patchValue(String field, JsonNode value) {
+        switch (field) {
+            case "name":
+                if (!value.isTextual() || value.asText().isBlank() || value.asText().length() > 200) {
+                    throw new IllegalArgumentException("Name must be text of 1 to 200 characters.");
+                }
+                return value.asText();
+            case "thumbnail":
+            case "details":
+                int maxLength = field.equals("thumbnail") ? 500 : 1000;
+                if (value.isNull()) {
+                    return null;
+                }
+                if (!value.isTextual() || value.asText().length() > maxLength) {
+                    throw new IllegalArgumentException("Field '" + field + "' must be text of at most " + maxLength
+                            + " characters or null.");
+                }
+                return value.asText();
+            case "price":
+                if (!value.isNumber() || !Double.isFinite(value.asDouble()) || value.asDouble() < 0) {
+                    throw new IllegalArgumentException("Price must be a non-negative number.");
+                }
+                return value.asDouble();
+            case "quantity":
+            case "categoryId":
+                if (!value.isIntegralNumber() || !value.canConvertToInt() || (field.equals("quantity") && value.asInt() < 0)) {
+                    throw new IllegalArgumentException("Field '" + field + "' must be a whole number"
+                            + (field.equals("quantity") ? " of at least 0." : "."));
+                }
+                return value.asInt();
+            default:
+                throw new IllegalArgumentException("Field '" + field + "' cannot be patched.");
+        }
+    }
+
+    private ProductDto updateProductRow(Integer id, String updatedName, Double updatedPrice, String updatedThumbnail,
+                                        String updatedDetail, Integer updatedCategoryId, Integer newQuantity,
+                                        Date newDate, Long version) {
+        return writeExecutor.execute("product.update", () -> {
+            // Check if the product exists.
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+            if (!product.getVersion().equals(version)) {
+                throw new ConcurrentUpdateException("Product " + id + " changed after version " + version + ".");
+            }
+
+            // Check if the category exists.
+            Category category = categoryRepository.findById(updatedCategoryId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Category", "id", updatedCategoryId));
+
+            try {
+                // TODO: fix NullPointerException when product itself is modified and mapped
+                // Create a new product for updated product
+                Product updatedProduct = new Product();
+                // Update fields
+                updatedProduct.setId(id);
+                updatedProduct.setName(updatedName);
+                updatedProduct.setPrice(updatedPrice);
+                updatedProduct.setThumbnail(updatedThumbnail);
+                updatedProduct.setDetails(updatedDetail);
+                updatedProduct.setCategory(category);
+                updatedProduct.setQuantity(newQuantity);
+                updatedProduct.setTimestamp(newDate);
+                updatedProduct.setVersion(version);
+
+                // Save the updated product; the flush assigns the new version
+                Product savedProduct = productRepository.saveAndFlush(updatedProduct);
+                return modelMapper.map(savedProduct, ProductDto.class);
+            } catch (DataIntegrityViolationException e) {
+                throw new IllegalArgumentException("Product name must be unique.");
+            }
+        });
+    }
+
+    // Cached values are never handed out, so callers cannot change them.
+    private static ProductDto copy(ProductDto productDto) {
+        CategoryDto category = productDto.getCategory();
+        CategoryDto categoryCopy = category == null ? null
+                : new CategoryDto(category.getId(), category.getName(), category.getDetails(), category.getTimestamp());
+        return new ProductDto(productDto.getId(), productDto.getName(), productDto.getPrice(), productDto.getThumbnail(),
+                productDto.getDetails(), categoryCopy, productDto.getQuantity(), productDto.getTimestamp(),
+                productDto.getVersion());
+    }
 }
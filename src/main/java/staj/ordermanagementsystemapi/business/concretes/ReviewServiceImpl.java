@@ -5,17 +5,22 @@ import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import staj.ordermanagementsystemapi.business.abstracts.ReviewService;
 import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.core.utilities.pagination.KeysetCursor;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.CustomerRepository;
-import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderLineRepository;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.ReviewRepository;
 import staj.ordermanagementsystemapi.entities.concretes.Customer;
 import staj.ordermanagementsystemapi.entities.concretes.Product;
 import staj.ordermanagementsystemapi.entities.concretes.Review;
+import staj.ordermanagementsystemapi.entities.dto.CursorPageDto;
 import staj.ordermanagementsystemapi.entities.dto.ReviewDto;
 
 @Service
@@ -23,25 +28,38 @@ public class ReviewServiceImpl implements ReviewService {
 
     private final ProductRepository productRepository;
     private final CustomerRepository customerRepository;
-    private final OrderRepository orderRepository;
+    private final OrderLineRepository orderLineRepository;
     private final ReviewRepository reviewRepository;
     private final ModelMapper modelMapper;
 
     @Autowired
-    public ReviewServiceImpl(ProductRepository productRepository, CustomerRepository customerRepository, OrderRepository orderRepository, ReviewRepository reviewRepository, ModelMapper modelMapper) {
+    public ReviewServiceImpl(ProductRepository productRepository, CustomerRepository customerRepository, OrderLineRepository orderLineRepository, ReviewRepository reviewRepository, ModelMapper modelMapper) {
         this.productRepository = productRepository;
         this.customerRepository = customerRepository;
-        this.orderRepository = orderRepository;
+        this.orderLineRepository = orderLineRepository;
         this.reviewRepository = reviewRepository;
         this.modelMapper = modelMapper;
     }
 
     @Override
-    public List<ReviewDto> getAllReviews() {
-        List<Review> reviews = reviewRepository.findAll();
-        return reviews.stream()
+    @Transactional(readOnly = true)
+    public CursorPageDto<ReviewDto> getAllReviews(String after, int limit) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        // One extra row tells whether another page follows
+        Pageable page = PageRequest.of(0, KeysetCursor.checkLimit(limit) + 1);
+        List<Review> reviews = cursor == null
+                ? reviewRepository.findFirstPage(page)
+                : reviewRepository.findPageAfter(cursor.getTimestamp(), cursor.getId(), page);
+        List<Review> items = reviews.size() > limit ? reviews.subList(0, limit) : reviews;
+        String nextCursor = null;
+        if (reviews.size() > limit) {
+            Review last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        List<ReviewDto> reviewDtos = items.stream()
                 .map(review -> modelMapper.map(review, ReviewDto.class))
                 .collect(Collectors.toList());
+        return new CursorPageDto<>(reviewDtos, nextCursor);
     }
 
     @Override
@@ -56,11 +74,12 @@ public class ReviewServiceImpl implements ReviewService {
         Review review = modelMapper.map(reviewDTO, Review.class);
         int customerId = review.getCustomer().getId();
         int productId = review.getProduct().getId();
-        Customer customer = customerRepository.findById(customerId)
+        customerRepository.findById(customerId)
                 .orElseThrow(() -> new ResourceNotFoundException("customer", "id", customerId));
-        Product product = productRepository.findById(productId)
+        productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("product", "id", productId));
-        if (orderRepository.existsByCustomerAndProduct(customer, product)){
+        // Any line of any order counts, not only the first product of a checkout
+        if (orderLineRepository.existsPurchase(customerId, productId)){
             Review savedReview = reviewRepository.save(review);
             return modelMapper.map(savedReview, ReviewDto.class);
         } else {
@@ -99,13 +118,11 @@ public class ReviewServiceImpl implements ReviewService {
 
     @Override
     public double getAverageReviewOfProduct(Integer productId) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("product", "id", productId));
-        List<Review> reviews = reviewRepository.findByProduct(product);
-        return reviews.stream()
-                .mapToInt(Review::getStar)
-                .average()
-                .orElse(0.0);
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("product", "id", productId);
+        }
+        Double average = reviewRepository.findAverageStarByProductId(productId);
+        return average == null ? 0.0 : average;
     }
 
     @Override
@@ -0,0 +1,153 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import staj.ordermanagementsystemapi.business.abstracts.WalletService;
+import staj.ordermanagementsystemapi.core.exception.ConcurrentUpdateException;
+import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.WalletLedgerRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.WalletLedgerWriteRepository;
+import staj.ordermanagementsystemapi.entities.concretes.WalletLedgerEntry;
+
+/**
+ * Wallet balances are an append-only ledger on top of the snapshot kept in
+ * {@code customer.wallet_balance}. Writers never update the customer row; the
+ * compaction job folds committed entries into the snapshot in the background.
+ * <p>
+ * A debit is a single conditional append: the entry goes in under the
+ * customer's next sequence number only while the balance covers it, so the
+ * check holds across every node sharing the database without a customer row
+ * lock. Two writers of one customer meet only on that sequence number, from
+ * the append to the commit; callers therefore debit as the last write of
+ * their transaction.
+ */
+@Service
+public class WalletServiceImpl implements WalletService {
+
+    // Each lost race means another entry of the customer committed, so this only runs out under a write storm
+    private static final int MAX_APPEND_ATTEMPTS = 50;
+
+    private final WalletLedgerRepository walletLedgerRepository;
+    private final WalletLedgerWriteRepository walletLedgerWriteRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public WalletServiceImpl(WalletLedgerRepository walletLedgerRepository,
+                             WalletLedgerWriteRepository walletLedgerWriteRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.walletLedgerRepository = walletLedgerRepository;
+        this.walletLedgerWriteRepository = walletLedgerWriteRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public double getBalance(Integer customerId) {
+        return walletLedgerRepository.findBalance(customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("customer", "id", customerId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, Double> getBalances(Collection<Integer> customerIds) {
+        Map<Integer, Double> balances = new HashMap<>();
+        if (customerIds.isEmpty()) {
+            return balances;
+        }
+        for (Object[] row : walletLedgerRepository.findBalances(customerIds)) {
+            balances.put((Integer) row[0], ((Number) row[1]).doubleValue());
+        }
+        return balances;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, Double> getPendingAmounts(Collection<Integer> customerIds) {
+        Map<Integer, Double> pending = new HashMap<>();
+        if (customerIds.isEmpty()) {
+            return pending;
+        }
+        for (Object[] row : walletLedgerRepository.findPendingAmounts(customerIds)) {
+            pending.put((Integer) row[0], ((Number) row[1]).doubleValue());
+        }
+        return pending;
+    }
+
+    @Override
+    @Transactional
+    public void debit(Integer customerId, double amount, String reference) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Debit amount must be positive.");
+        }
+        append(customerId, -amount, WalletLedgerEntry.DEBIT, reference, true);
+    }
+
+    @Override
+    @Transactional
+    public void credit(Integer customerId, double amount, String reference) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Credit amount must be positive.");
+        }
+        append(customerId, amount, WalletLedgerEntry.CREDIT, reference, false);
+    }
+
+    @Override
+    public int compact() {
+        int compacted = 0;
+        for (Integer customerId : walletLedgerRepository.findCustomersWithPendingEntries()) {
+            Boolean folded = transactionTemplate.execute(status -> compactCustomer(customerId, status));
+            if (Boolean.TRUE.equals(folded)) {
+                compacted++;
+            }
+        }
+        return compacted;
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.ledger.compaction-interval-ms:60000}")
+    public void compactLedger() {
+        compact();
+    }
+
+    // Committed entries form a gapless prefix of the sequence, so every entry up to the highest one summed here
+    // is already visible. Entries appended meanwhile are above it and stay pending; only a concurrent compaction
+    // can change the count, and then this one backs off.
+    private boolean compactCustomer(Integer customerId, TransactionStatus status) {
+        List<Object[]> summary = walletLedgerRepository.summarizePendingEntries(customerId);
+        if (summary.isEmpty() || ((Number) summary.get(0)[0]).longValue() == 0) {
+            return false;
+        }
+        long count = ((Number) summary.get(0)[0]).longValue();
+        double amount = ((Number) summary.get(0)[1]).doubleValue();
+        long maxSeq = ((Number) summary.get(0)[2]).longValue();
+        if (walletLedgerRepository.markCompacted(customerId, maxSeq) != count) {
+            status.setRollbackOnly();
+            return false;
+        }
+        return walletLedgerRepository.foldIntoSnapshot(customerId, amount) == 1;
+    }
+
+    private void append(Integer customerId, double amount, String type, String reference, boolean requireCover) {
+        for (int attempt = 0; attempt < MAX_APPEND_ATTEMPTS; attempt++) {
+            if (walletLedgerWriteRepository.append(customerId, amount, type, reference, requireCover)) {
+                return;
+            }
+            // Nothing was appended: tell a missing customer or a short balance from a lost race
+            double balance = getBalance(customerId);
+            if (requireCover && balance + amount < 0) {
+                throw new IllegalArgumentException("Insufficient wallet balance: " + balance + " required: " + -amount);
+            }
+        }
+        throw new ConcurrentUpdateException("Wallet of customer " + customerId + " kept changing, try again.");
+    }
+}
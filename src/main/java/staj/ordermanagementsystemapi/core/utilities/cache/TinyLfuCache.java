@@ -0,0 +1,350 @@
+package staj.ordermanagementsystemapi.core.utilities.cache;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded, int-keyed cache with W-TinyLFU eviction and a time-to-live.
+ * <p>
+ * New entries enter a small LRU window. When the window overflows, its oldest
+ * entry is admitted to the main segmented LRU only if a count-min sketch of
+ * recent reads says it is requested more often than the main area's eviction
+ * victim, so a burst of one-off keys cannot push out the popular ones. Main
+ * entries start in probation and move to the protected segment on their next
+ * hit. Entries expire a fixed time after they were written and are dropped
+ * when next read. Keys are stored unboxed in an open-addressing table. All
+ * operations are synchronized.
+ */
+public class TinyLfuCache<V> {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final int maximumSize;
+    private final int windowMaximum;
+    private final int protectedMaximum;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final FrequencySketch sketch;
+    private final Node<V>[] heads;
+    private final int[] segmentSizes = new int[3];
+    private final Node<V>[] table;
+    private final int mask;
+    private int size;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public TinyLfuCache(int maximumSize, long ttlMillis) {
+        this(maximumSize, ttlMillis, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    TinyLfuCache(int maximumSize, long ttlMillis, LongSupplier nanoClock) {
+        if (maximumSize <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("Cache size and time-to-live must be positive.");
+        }
+        this.maximumSize = maximumSize;
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.protectedMaximum = (maximumSize - windowMaximum) * 4 / 5;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.nanoClock = nanoClock;
+        this.sketch = new FrequencySketch(maximumSize);
+        this.heads = new Node[3];
+        for (int i = 0; i < heads.length; i++) {
+            heads[i] = new Node<>(0, null, 0);
+            heads[i].prev = heads[i];
+            heads[i].next = heads[i];
+        }
+        // At most half full, so probe sequences stay short
+        int capacity = Integer.highestOneBit(Math.max(2, maximumSize) * 2 - 1) << 1;
+        this.table = new Node[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public synchronized V get(int key) {
+        sketch.increment(key);
+        int slot = find(key);
+        if (slot < 0) {
+            missCount++;
+            return null;
+        }
+        Node<V> node = table[slot];
+        if (nanoClock.getAsLong() - node.writtenAt >= ttlNanos) {
+            remove(slot);
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        onHit(node);
+        return node.value;
+    }
+
+    public synchronized void put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cached value is required.");
+        }
+        long now = nanoClock.getAsLong();
+        int slot = find(key);
+        if (slot >= 0) {
+            Node<V> node = table[slot];
+            node.value = value;
+            node.writtenAt = now;
+            return;
+        }
+        Node<V> node = new Node<>(key, value, now);
+        insert(node);
+        link(node, WINDOW);
+        size++;
+        evict();
+    }
+
+    public synchronized void invalidate(int key) {
+        int slot = find(key);
+        if (slot >= 0) {
+            remove(slot);
+        }
+    }
+
+    // One lock acquisition for a whole batch, such as the products of a repriced category.
+    public synchronized void invalidateAll(Collection<Integer> keys) {
+        for (int key : keys) {
+            invalidate(key);
+        }
+    }
+
+    // Drops every entry whose value matches, for changes that are not keyed by the cache key.
+    public synchronized void invalidateIf(Predicate<? super V> predicate) {
+        for (int i = 0; i < heads.length; i++) {
+            Node<V> node = heads[i].next;
+            while (node != heads[i]) {
+                Node<V> next = node.next;
+                if (predicate.test(node.value)) {
+                    invalidate(node.key);
+                }
+                node = next;
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = null;
+        }
+        for (int i = 0; i < heads.length; i++) {
+            heads[i].prev = heads[i];
+            heads[i].next = heads[i];
+            segmentSizes[i] = 0;
+        }
+        size = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized long hitCount() {
+        return hitCount;
+    }
+
+    public synchronized long missCount() {
+        return missCount;
+    }
+
+    public synchronized long evictionCount() {
+        return evictionCount;
+    }
+
+    private void onHit(Node<V> node) {
+        if (node.segment == PROBATION) {
+            unlink(node);
+            link(node, PROTECTED);
+            if (segmentSizes[PROTECTED] > protectedMaximum) {
+                // The least recently used protected entry gets another chance in probation
+                Node<V> demoted = heads[PROTECTED].next;
+                unlink(demoted);
+                link(demoted, PROBATION);
+            }
+        } else {
+            int segment = node.segment;
+            unlink(node);
+            link(node, segment);
+        }
+    }
+
+    // Each pass either moves the window's oldest entry to the main area or removes one entry.
+    private void evict() {
+        while (segmentSizes[WINDOW] > windowMaximum || size > maximumSize) {
+            Node<V> candidate = segmentSizes[WINDOW] > 0 ? heads[WINDOW].next : null;
+            if (size <= maximumSize) {
+                unlink(candidate);
+                link(candidate, PROBATION);
+                continue;
+            }
+            Node<V> victim = segmentSizes[PROBATION] > 0 ? heads[PROBATION].next
+                    : segmentSizes[PROTECTED] > 0 ? heads[PROTECTED].next : null;
+            Node<V> evicted;
+            if (victim == null) {
+                evicted = candidate;
+            } else if (candidate == null) {
+                evicted = victim;
+            } else {
+                evicted = sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate;
+            }
+            remove(find(evicted.key));
+            evictionCount++;
+        }
+    }
+
+    private int find(int key) {
+        int slot = spread(key) & mask;
+        Node<V> node;
+        while ((node = table[slot]) != null) {
+            if (node.key == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insert(Node<V> node) {
+        int slot = spread(node.key) & mask;
+        while (table[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = node;
+    }
+
+    // Linear-probing deletion: shifts later entries of the probe run back so lookups need no tombstones.
+    private void remove(int slot) {
+        unlink(table[slot]);
+        size--;
+        int free = slot;
+        int next = slot;
+        while (true) {
+            table[free] = null;
+            int home;
+            do {
+                next = (next + 1) & mask;
+                if (table[next] == null) {
+                    return;
+                }
+                home = spread(table[next].key) & mask;
+            } while (free <= next ? free < home && home <= next : free < home || home <= next);
+            table[free] = table[next];
+            free = next;
+        }
+    }
+
+    private void link(Node<V> node, int segment) {
+        Node<V> head = heads[segment];
+        node.segment = segment;
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+        segmentSizes[segment]++;
+    }
+
+    private void unlink(Node<V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        segmentSizes[node.segment]--;
+    }
+
+    private static int spread(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Node<V> {
+        private final int key;
+        private V value;
+        private long writtenAt;
+        private int segment;
+        private Node<V> prev;
+        private Node<V> next;
+
+        private Node(int key, V value, long writtenAt) {
+            this.key = key;
+            this.value = value;
+            this.writtenAt = writtenAt;
+        }
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters, sixteen to a long. Once the number of
+     * increments reaches ten times the cache size every counter is halved, so
+     * the estimates follow recent popularity rather than all-time totals.
+     */
+    static final class FrequencySketch {
+
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] counters;
+        private final int tableMask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int maximumSize) {
+            int length = Integer.highestOneBit(Math.max(8, maximumSize) - 1) << 1;
+            this.counters = new long[length];
+            this.tableMask = length - 1;
+            this.sampleSize = 10 * Math.max(8, maximumSize);
+        }
+
+        void increment(int key) {
+            int hash = spread(key);
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                added |= incrementAt(indexOf(hash, i), start + i);
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(int key) {
+            int hash = spread(key);
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int offset = (start + i) << 2;
+                frequency = Math.min(frequency, (int) ((counters[indexOf(hash, i)] >>> offset) & 0xfL));
+            }
+            return frequency;
+        }
+
+        private boolean incrementAt(int index, int counter) {
+            int offset = counter << 2;
+            long mask = 0xfL << offset;
+            if ((counters[index] & mask) == mask) {
+                return false;
+            }
+            counters[index] += 1L << offset;
+            return true;
+        }
+
+        private int indexOf(int hash, int row) {
+            long value = (hash + SEEDS[row]) * SEEDS[row];
+            value += value >>> 32;
+            return (int) value & tableMask;
+        }
+
+        private void reset() {
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = (counters[i] >>> 1) & RESET_MASK;
+            }
+            additions >>>= 1;
+        }
+    }
+}
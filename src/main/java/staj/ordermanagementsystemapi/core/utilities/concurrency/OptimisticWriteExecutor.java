@@ -0,0 +1,65 @@
+package staj.ordermanagementsystemapi.core.utilities.concurrency;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import staj.ordermanagementsystemapi.core.exception.ConcurrentUpdateException;
+
+/**
+ * Runs a write that carries the version the client read in its own
+ * transaction and reports a lost optimistic-lock race as a
+ * {@link ConcurrentUpdateException} (409). Such a conflict means the client's
+ * copy is stale, so the write is never retried; the client reads again and
+ * decides.
+ * <p>
+ * Every operation gets {@code optimistic.lock.attempts} and
+ * {@code optimistic.lock.conflicts} counters tagged with its name; conflicts
+ * divided by attempts is the conflict rate of that operation.
+ */
+@Component
+public class OptimisticWriteExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public OptimisticWriteExecutor(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        Meters operationMeters = meters.computeIfAbsent(operation, this::registerMeters);
+        operationMeters.attempts.increment();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // The caller's transaction commits the write and sees its conflict
+            return action.get();
+        }
+        try {
+            return transactionTemplate.execute(status -> action.get());
+        } catch (OptimisticLockingFailureException e) {
+            operationMeters.conflicts.increment();
+            throw new ConcurrentUpdateException("Concurrent update of the same record, " + operation + " was rejected.");
+        }
+    }
+
+    private Meters registerMeters(String operation) {
+        return new Meters(
+                Counter.builder("optimistic.lock.attempts").tag("operation", operation).register(meterRegistry),
+                Counter.builder("optimistic.lock.conflicts").tag("operation", operation).register(meterRegistry));
+    }
+
+    private record Meters(Counter attempts, Counter conflicts) {
+    }
+}
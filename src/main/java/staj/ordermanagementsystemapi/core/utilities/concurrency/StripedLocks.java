@@ -0,0 +1,45 @@
+package staj.ordermanagementsystemapi.core.utilities.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks addressed by an int key. Keys that hash to the same
+ * stripe share a lock, so memory stays constant no matter how many keys exist.
+ */
+public class StripedLocks {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedLocks(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1) << 1);
+        this.locks = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public ReentrantLock get(int key) {
+        return locks[stripeOf(key)];
+    }
+
+    public int stripeOf(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    public ReentrantLock lock(int key, long timeoutMillis) {
+        ReentrantLock lock = get(key);
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timed out waiting for lock on key " + key);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for lock on key " + key);
+        }
+        return lock;
+    }
+}
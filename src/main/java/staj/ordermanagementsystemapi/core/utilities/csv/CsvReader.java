@@ -0,0 +1,129 @@
+package staj.ordermanagementsystemapi.core.utilities.csv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 records one at a time: comma-separated fields, optionally
+ * quoted, with {@code ""} for a quote inside a quoted field. Quoted fields may
+ * span lines. Blank lines and a leading byte order mark are skipped.
+ * <p>
+ * Only the current record is kept in memory, and a record longer than
+ * {@link #MAX_RECORD_LENGTH} characters is rejected, so an unterminated quote
+ * cannot pull the rest of the input into one field. Not thread-safe.
+ */
+public class CsvReader {
+
+    public static final int MAX_RECORD_LENGTH = 64 * 1024;
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private int peeked = NONE;
+    private long line = 1;
+    private long recordLine;
+    private boolean started;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // Returns the fields of the next record, or null at the end of the input.
+    public String[] next() throws IOException {
+        int c = read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = read();
+            }
+        }
+        while (c == '\n' || c == '\r') {
+            if (c == '\n' || peek() != '\n') {
+                line++;
+            }
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        while (true) {
+            if (++length > MAX_RECORD_LENGTH) {
+                throw new IllegalArgumentException("Record on line " + recordLine + " is longer than "
+                        + MAX_RECORD_LENGTH + " characters.");
+            }
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Quoted field on line " + recordLine + " is never closed.");
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                if (c != -1) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields.toArray(new String[0]);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    // Line on which the record last returned by next() starts, counting from 1.
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    private int peek() throws IOException {
+        if (peeked == NONE) {
+            peeked = read();
+        }
+        return peeked;
+    }
+
+    private int read() throws IOException {
+        if (peeked != NONE) {
+            int c = peeked;
+            peeked = NONE;
+            return c;
+        }
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
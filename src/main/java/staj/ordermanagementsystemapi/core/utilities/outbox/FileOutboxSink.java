@@ -0,0 +1,48 @@
+package staj.ordermanagementsystemapi.core.utilities.outbox;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import staj.ordermanagementsystemapi.entities.dto.OutboxEventDto;
+
+// Appends every batch to an NDJSON file, one event per line.
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final ObjectWriter writer;
+
+    @Autowired
+    public FileOutboxSink(@Value("${outbox.sink.file.path:outbox-events.ndjson}") String path, ObjectMapper objectMapper) {
+        this.path = Path.of(path);
+        this.writer = objectMapper.writerFor(OutboxEventDto.class);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEventDto> events) {
+        try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxEventDto event : events) {
+                out.write(writer.writeValueAsString(event));
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write outbox events to " + path, e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package staj.ordermanagementsystemapi.core.utilities.outbox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import staj.ordermanagementsystemapi.entities.dto.OutboxEventDto;
+
+// Keeps the most recent events in memory; meant for tests and local runs.
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final int capacity;
+    private final Deque<OutboxEventDto> events = new ArrayDeque<>();
+
+    @Autowired
+    public InMemoryOutboxSink(@Value("${outbox.sink.memory.capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEventDto> batch) {
+        for (OutboxEventDto event : batch) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    public synchronized List<OutboxEventDto> getEvents() {
+        return new ArrayList<>(events);
+    }
+}
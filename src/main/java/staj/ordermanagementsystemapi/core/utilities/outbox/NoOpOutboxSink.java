@@ -0,0 +1,18 @@
+package staj.ordermanagementsystemapi.core.utilities.outbox;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import staj.ordermanagementsystemapi.entities.dto.OutboxEventDto;
+
+// Default sink: pushes nothing; consumers read the events through the pull feed instead.
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "none", matchIfMissing = true)
+public class NoOpOutboxSink implements OutboxSink {
+
+    @Override
+    public void publish(List<OutboxEventDto> events) {
+    }
+}
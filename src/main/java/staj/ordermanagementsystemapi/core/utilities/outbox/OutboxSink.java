@@ -0,0 +1,14 @@
+package staj.ordermanagementsystemapi.core.utilities.outbox;
+
+import java.util.List;
+
+import staj.ordermanagementsystemapi.entities.dto.OutboxEventDto;
+
+/**
+ * Destination of the events relayed from the outbox table. A batch counts as
+ * delivered when {@link #publish} returns; if it throws, the whole batch stays
+ * in the outbox and is offered again, so sinks must tolerate duplicates.
+ */
+public interface OutboxSink {
+    void publish(List<OutboxEventDto> events);
+}
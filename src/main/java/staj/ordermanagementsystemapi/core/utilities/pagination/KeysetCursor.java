@@ -0,0 +1,58 @@
+package staj.ordermanagementsystemapi.core.utilities.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Position after the last row of a page ordered by (timestamp, id). Clients
+ * receive it as an opaque URL-safe string and pass it back unchanged.
+ */
+public class KeysetCursor {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private final Date timestamp;
+    private final Integer id;
+
+    public KeysetCursor(Date timestamp, Integer id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public Date getTimestamp() {
+        return timestamp;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String encode() {
+        String value = timestamp.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns null for a missing cursor, which means the first page.
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            return new KeysetCursor(new Date(Long.parseLong(value.substring(0, separator))),
+                    Integer.parseInt(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
+    }
+
+    public static int checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        return limit;
+    }
+}
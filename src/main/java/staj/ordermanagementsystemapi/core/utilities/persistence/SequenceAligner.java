@@ -0,0 +1,60 @@
+package staj.ordermanagementsystemapi.core.utilities.persistence;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Moves every id sequence past the largest id already in its table.
+ * <p>
+ * Rows inserted while the tables used identity columns, or by hand, are not
+ * known to the sequences, which would otherwise start handing out ids that are
+ * taken. Runs while the context starts, before the web server accepts
+ * requests. Each check draws one {@code nextval}, so a restart skips at most
+ * one allocation block per table.
+ */
+@Component
+public class SequenceAligner {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SequenceAligner(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public int alignSequences() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+        int[] restarted = {0};
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getIdentifierGenerator() instanceof SequenceStyleGenerator generator
+                    && persister instanceof AbstractEntityPersister entityPersister) {
+                String sequence = generator.getDatabaseStructure().getPhysicalName().render();
+                Long maxId = jdbcTemplate.queryForObject("select max(" + entityPersister.getRootTableIdentifierColumnNames()[0]
+                        + ") from " + entityPersister.getRootTableName(), Long.class);
+                if (maxId == null) {
+                    return;
+                }
+                // With pooled-lo every id handed out so far is below the next value
+                Long nextValue = jdbcTemplate.queryForObject(
+                        dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+                if (nextValue != null && nextValue <= maxId) {
+                    jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + 1));
+                    restarted[0]++;
+                }
+            }
+        });
+        return restarted[0];
+    }
+}
@@ -0,0 +1,204 @@
+package staj.ordermanagementsystemapi.core.utilities.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory full-text index over int document ids, ranked with BM25.
+ * <p>
+ * Each term maps to a posting list of parallel int arrays (document id, term
+ * frequency, document length) sorted by id, so a query walks its terms' lists
+ * side by side and scores one document at a time into a bounded heap without
+ * a per-document map. Title terms count {@link #TITLE_WEIGHT} times. Document
+ * frequencies are mirrored in a {@link PrefixTrie} for completion. Readers
+ * share a read lock; updates take the write lock.
+ */
+public class InvertedIndex {
+
+    public static final int TITLE_WEIGHT = 3;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparingInt(Hit::documentId);
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private final PrefixTrie trie = new PrefixTrie();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    // Adds the document, replacing an earlier version with the same id.
+    public void put(int documentId, String title, String body) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        TextAnalyzer.tokenize(title).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        TextAnalyzer.tokenize(body).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        int length = 0;
+        for (int frequency : frequencies.values()) {
+            length += frequency;
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(documentId);
+            String[] terms = frequencies.keySet().toArray(new String[0]);
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> new Postings()).add(documentId, frequencies.get(term), length);
+                trie.add(term, 1);
+            }
+            documents.put(documentId, new Document(terms, length));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int documentId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(documentId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best matches first; a document matches when it contains any of the query terms.
+    public List<Hit> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.tokenize(query)));
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0 || limit <= 0) {
+                return new ArrayList<>();
+            }
+            double averageLength = (double) totalLength / documentCount;
+            List<Postings> lists = new ArrayList<>();
+            double[] idfs = new double[terms.size()];
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list != null) {
+                    idfs[lists.size()] = Math.log(1 + (documentCount - list.size + 0.5) / (list.size + 0.5));
+                    lists.add(list);
+                }
+            }
+            int[] cursors = new int[lists.size()];
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            while (true) {
+                int documentId = Integer.MAX_VALUE;
+                for (int i = 0; i < lists.size(); i++) {
+                    if (cursors[i] < lists.get(i).size) {
+                        documentId = Math.min(documentId, lists.get(i).documents[cursors[i]]);
+                    }
+                }
+                if (documentId == Integer.MAX_VALUE) {
+                    break;
+                }
+                double score = 0;
+                for (int i = 0; i < lists.size(); i++) {
+                    Postings list = lists.get(i);
+                    int cursor = cursors[i];
+                    if (cursor < list.size && list.documents[cursor] == documentId) {
+                        double frequency = list.frequencies[cursor];
+                        double norm = K1 * (1 - B + B * list.lengths[cursor] / averageLength);
+                        score += idfs[i] * frequency * (K1 + 1) / (frequency + norm);
+                        cursors[i]++;
+                    }
+                }
+                top.add(new Hit(documentId, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(RANKING);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Terms starting with the prefix, the ones found in the most documents first.
+    public List<String> suggest(String prefix, int limit) {
+        String normalized = TextAnalyzer.normalize(prefix).trim();
+        lock.readLock().lock();
+        try {
+            return normalized.isEmpty() ? new ArrayList<>() : trie.complete(normalized, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(int documentId) {
+        Document document = documents.remove(documentId);
+        if (document == null) {
+            return;
+        }
+        totalLength -= document.length;
+        for (String term : document.terms) {
+            Postings list = postings.get(term);
+            list.remove(documentId);
+            if (list.size == 0) {
+                postings.remove(term);
+            }
+            trie.add(term, -1);
+        }
+    }
+
+    public record Hit(int documentId, double score) {
+    }
+
+    private record Document(String[] terms, int length) {
+    }
+
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private int[] frequencies = new int[4];
+        private int[] lengths = new int[4];
+        private int size;
+
+        private void add(int documentId, int frequency, int length) {
+            int index = -(Arrays.binarySearch(documents, 0, size, documentId) + 1);
+            if (size == documents.length) {
+                int capacity = size * 2;
+                documents = Arrays.copyOf(documents, capacity);
+                frequencies = Arrays.copyOf(frequencies, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+            // New ids are usually the largest, so this is normally an append
+            System.arraycopy(documents, index, documents, index + 1, size - index);
+            System.arraycopy(frequencies, index, frequencies, index + 1, size - index);
+            System.arraycopy(lengths, index, lengths, index + 1, size - index);
+            documents[index] = documentId;
+            frequencies[index] = frequency;
+            lengths[index] = length;
+            size++;
+        }
+
+        private void remove(int documentId) {
+            int index = Arrays.binarySearch(documents, 0, size, documentId);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(documents, index + 1, documents, index, size - index - 1);
+            System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+            System.arraycopy(lengths, index + 1, lengths, index, size - index - 1);
+            size--;
+        }
+    }
+}
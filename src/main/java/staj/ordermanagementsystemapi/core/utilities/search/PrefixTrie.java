@@ -0,0 +1,136 @@
+package staj.ordermanagementsystemapi.core.utilities.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Counted set of terms that completes a prefix with its most frequent terms.
+ * Every node keeps the highest count found below it, so completion is a
+ * best-first walk that stops after {@code limit} terms instead of visiting
+ * the whole subtree. Children are kept in sorted parallel arrays. Not
+ * thread-safe.
+ */
+public class PrefixTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+
+    // Changes the count of a term by delta; a term whose count drops to zero is removed.
+    public void add(String term, int delta) {
+        Node[] path = new Node[term.length() + 1];
+        path[0] = root;
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            Node child = node.child(term.charAt(i));
+            if (child == null) {
+                if (delta <= 0) {
+                    return;
+                }
+                child = node.addChild(term.charAt(i));
+            }
+            node = child;
+            path[i + 1] = node;
+        }
+        node.count = Math.max(0, node.count + delta);
+        for (int i = term.length(); i >= 0; i--) {
+            Node current = path[i];
+            if (i > 0 && current.count == 0 && current.keys.length == 0) {
+                path[i - 1].removeChild(term.charAt(i - 1));
+                continue;
+            }
+            current.best = current.count;
+            for (Node child : current.children) {
+                current.best = Math.max(current.best, child.best);
+            }
+        }
+    }
+
+    public List<String> complete(String prefix, int limit) {
+        List<String> terms = new ArrayList<>(limit);
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node == null || limit <= 0) {
+            return terms;
+        }
+        // Subtrees are ranked by their best count, terms by their own count; ties go to the shorter or smaller term
+        PriorityQueue<Candidate> queue = new PriorityQueue<>((a, b) -> a.score != b.score
+                ? Integer.compare(b.score, a.score) : a.text.compareTo(b.text));
+        queue.add(new Candidate(node, prefix, node.best, false));
+        while (!queue.isEmpty() && terms.size() < limit) {
+            Candidate candidate = queue.poll();
+            if (candidate.term) {
+                terms.add(candidate.text);
+                continue;
+            }
+            Node current = candidate.node;
+            if (current.count > 0) {
+                queue.add(new Candidate(current, candidate.text, current.count, true));
+            }
+            for (int i = 0; i < current.keys.length; i++) {
+                Node child = current.children[i];
+                queue.add(new Candidate(child, candidate.text + current.keys[i], child.best, false));
+            }
+        }
+        return terms;
+    }
+
+    public int count(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length() && node != null; i++) {
+            node = node.child(term.charAt(i));
+        }
+        return node == null ? 0 : node.count;
+    }
+
+    private static final class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int count;
+        private int best;
+
+        private Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node addChild(char key) {
+            int index = -(Arrays.binarySearch(keys, key) + 1);
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            Node child = new Node();
+            newKeys[index] = key;
+            newChildren[index] = child;
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+
+        private void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            keys = newKeys.length == 0 ? NO_KEYS : newKeys;
+            children = newChildren.length == 0 ? NO_CHILDREN : newChildren;
+        }
+    }
+
+    private record Candidate(Node node, String text, int score, boolean term) {
+    }
+}
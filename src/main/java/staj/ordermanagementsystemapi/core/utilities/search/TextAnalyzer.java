@@ -0,0 +1,51 @@
+package staj.ordermanagementsystemapi.core.utilities.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into search terms: accents are stripped, letters lower-cased
+ * and anything that is not a letter or digit separates terms, so "Çay-Bardağı"
+ * and "cay bardagi" produce the same terms.
+ */
+public final class TextAnalyzer {
+
+    public static final int MAX_TERM_LENGTH = 40;
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(normalized.substring(start, Math.min(i, start + MAX_TERM_LENGTH)));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    // Same folding as the terms, for matching a typed prefix against them.
+    public static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                folded.append(c == 'ı' ? 'i' : c);
+            }
+        }
+        return folded.toString().toLowerCase(Locale.ROOT);
+    }
+}
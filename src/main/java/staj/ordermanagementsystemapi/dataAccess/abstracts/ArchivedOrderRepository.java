@@ -0,0 +1,33 @@
+package staj.ordermanagementsystemapi.dataAccess.abstracts;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import staj.ordermanagementsystemapi.entities.concretes.ArchivedOrder;
+import staj.ordermanagementsystemapi.entities.dto.OrderView;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Integer> {
+
+    @Query(OrderRepository.VIEW_CONSTRUCTOR + "cast(null as Long), " + OrderRepository.VIEW_RELATED_COLUMNS
+            + "from ArchivedOrder o join o.customer c left join o.product p left join p.category cat "
+            + "where o.id = :id")
+    Optional<OrderView> findViewById(@Param("id") Integer id);
+
+    // Reads that start after this date never need the archive.
+    @Query("select max(o.orderDate) from ArchivedOrder o")
+    Optional<Date> findLatestOrderDate();
+
+    @Modifying
+    @Query(value = "insert into orders_archive (id, customer_id, product_id, quantity, order_date, delivery_date, status, archived_at) "
+            + "select id, customer_id, product_id, quantity, order_date, delivery_date, status, :archivedAt "
+            + "from orders where id in :ids", nativeQuery = true)
+    int copyFromOrders(@Param("ids") Collection<Integer> ids, @Param("archivedAt") Date archivedAt);
+}
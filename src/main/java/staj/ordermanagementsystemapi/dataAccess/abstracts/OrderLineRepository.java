@@ -0,0 +1,58 @@
+package staj.ordermanagementsystemapi.dataAccess.abstracts;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+import staj.ordermanagementsystemapi.entities.concretes.OrderLine;
+import staj.ordermanagementsystemapi.entities.dto.OrderExportDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderLineDto;
+
+@Repository
+public interface OrderLineRepository extends JpaRepository<OrderLine, Long> {
+
+    // Export rows are built from the columns alone; neither the lines nor their orders are hydrated.
+    String EXPORT_COLUMNS = "select new staj.ordermanagementsystemapi.entities.dto.OrderExportDto(o.id, c.id, p.id, "
+            + "p.name, l.quantity, l.unitPrice, cast(l.quantity * l.unitPrice as Double), cast(0 as Double), "
+            + "o.orderDate, o.deliveryDate, o.status) ";
+    String EXPORT_FILTER = "where (:from is null or o.orderDate >= :from) and (:to is null or o.orderDate < :to) "
+            + "and (:status is null or o.status = :status) order by o.orderDate, o.id, l.id";
+
+    @Query("select new staj.ordermanagementsystemapi.entities.dto.OrderLineDto(l.product.id, l.quantity, l.unitPrice) "
+            + "from OrderLine l where l.order.id = :orderId order by l.id")
+    List<OrderLineDto> findLinesOfOrder(@Param("orderId") Integer orderId);
+
+    // Whether any line of the customer's orders, current or archived, is for the product
+    @Query(value = "select exists (select 1 from order_line l join orders o on o.id = l.order_id"
+            + " where l.product_id = :productId and o.customer_id = :customerId)"
+            + " or exists (select 1 from order_line l join orders_archive a on a.id = l.order_id"
+            + " where l.product_id = :productId and a.customer_id = :customerId)", nativeQuery = true)
+    boolean existsPurchase(@Param("customerId") Integer customerId, @Param("productId") Integer productId);
+
+    // Rows are read from an open cursor in chunks of the fetch size; must run inside a transaction.
+    // The lines of one order are adjacent, in the order they were placed. The order total is left at 0
+    // for the caller to fill in.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(EXPORT_COLUMNS + "from OrderLine l join l.order o join o.customer c join l.product p "
+            + EXPORT_FILTER)
+    Stream<OrderExportDto> streamForExport(@Param("from") Date from, @Param("to") Date to, @Param("status") String status);
+
+    // The same rows for archived orders; their lines stay in order_line under the same order id.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(EXPORT_COLUMNS + "from OrderLine l join ArchivedOrder o on o.id = l.order.id join o.customer c "
+            + "join l.product p " + EXPORT_FILTER)
+    Stream<OrderExportDto> streamArchivedForExport(@Param("from") Date from, @Param("to") Date to, @Param("status") String status);
+
+    @Modifying
+    @Query("delete from OrderLine l where l.order.id = :orderId")
+    int deleteByOrderId(@Param("orderId") Integer orderId);
+}
@@ -1,17 +1,61 @@
 package staj.ordermanagementsystemapi.dataAccess.abstracts;
 
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import staj.ordermanagementsystemapi.entities.concretes.Customer;
 import staj.ordermanagementsystemapi.entities.concretes.Order;
-import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.dto.OrderView;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Integer>{
 
 	 List<Order> findByCustomer(Customer customer);
-	    boolean existsByCustomerAndProduct(Customer customer, Product product);
+
+    // Reads select only the columns of an OrderDto instead of hydrating the order, customer, product and category.
+    String VIEW_CONSTRUCTOR = "select new staj.ordermanagementsystemapi.entities.dto.OrderView("
+            + "o.id, o.quantity, o.orderDate, o.deliveryDate, o.status, ";
+    // OrderView arguments after the order's version
+    String VIEW_RELATED_COLUMNS = "c.id, c.name, c.location, c.phone, c.mail, c.birthDate, c.timestamp, "
+            + "p.id, p.name, p.price, p.thumbnail, p.details, p.quantity, p.timestamp, "
+            + "cat.id, cat.name, cat.details, cat.timestamp) ";
+    String VIEW_COLUMNS = VIEW_CONSTRUCTOR + "o.version, " + VIEW_RELATED_COLUMNS;
+    // Multi-line orders have no header product, so it is outer joined
+    String VIEW_SELECT = VIEW_COLUMNS + "from Order o join o.customer c left join o.product p left join p.category cat ";
+
+    @Query(VIEW_SELECT + "where o.id = :id")
+    Optional<OrderView> findViewById(@Param("id") Integer id);
+
+    // Keyset pages ordered by (order_date, id). The leading ">=" lets the index seek to the cursor.
+    @Query(VIEW_SELECT + "order by o.orderDate, o.id")
+    List<OrderView> findFirstPage(Pageable pageable);
+
+    @Query(VIEW_SELECT + "where o.orderDate >= :afterDate and (o.orderDate > :afterDate or o.id > :afterId) "
+            + "order by o.orderDate, o.id")
+    List<OrderView> findPageAfter(@Param("afterDate") Date afterDate, @Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query(VIEW_SELECT + "where c.id = :customerId order by o.orderDate, o.id")
+    List<OrderView> findFirstPageOfCustomer(@Param("customerId") Integer customerId, Pageable pageable);
+
+    @Query(VIEW_SELECT + "where c.id = :customerId and o.orderDate >= :afterDate "
+            + "and (o.orderDate > :afterDate or o.id > :afterId) order by o.orderDate, o.id")
+    List<OrderView> findPageOfCustomerAfter(@Param("customerId") Integer customerId, @Param("afterDate") Date afterDate,
+                                            @Param("afterId") Integer afterId, Pageable pageable);
+
+    // Locks the next chunk of rows to archive; rows locked by another archiver are skipped.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select o.id from Order o where o.status = :status and o.orderDate < :cutoff order by o.orderDate, o.id")
+    List<Integer> lockIdsToArchive(@Param("status") String status, @Param("cutoff") Date cutoff, Pageable pageable);
 }
@@ -0,0 +1,16 @@
+package staj.ordermanagementsystemapi.dataAccess.abstracts;
+
+import java.util.Date;
+import java.util.List;
+
+import staj.ordermanagementsystemapi.entities.dto.OrderSearchFilter;
+import staj.ordermanagementsystemapi.entities.dto.OrderView;
+
+public interface OrderSearchRepository {
+
+    // Returns at most limit rows after the (afterDate, afterId) key, or from the start when afterDate is null.
+    List<OrderView> search(OrderSearchFilter filter, Date afterDate, Integer afterId, int limit);
+
+    // The same search against orders_archive.
+    List<OrderView> searchArchive(OrderSearchFilter filter, Date afterDate, Integer afterId, int limit);
+}
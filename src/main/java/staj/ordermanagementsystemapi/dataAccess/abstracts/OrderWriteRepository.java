@@ -0,0 +1,12 @@
+package staj.ordermanagementsystemapi.dataAccess.abstracts;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+public interface OrderWriteRepository {
+
+    // Moves the orders that are in one of the source statuses to the new status, keeps the delivery date when none
+    // is given and bumps their versions. Orders in any other status are left alone. Returns the moved ids in id order.
+    List<Integer> updateStatus(Collection<Integer> ids, Collection<String> fromStatuses, String status, Date deliveryDate);
+}
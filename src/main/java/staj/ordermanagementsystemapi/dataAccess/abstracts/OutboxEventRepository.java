@@ -0,0 +1,35 @@
+package staj.ordermanagementsystemapi.dataAccess.abstracts;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import staj.ordermanagementsystemapi.entities.concretes.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // SELECT ... FOR UPDATE SKIP LOCKED: relays on other nodes take the next batch instead of waiting.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEvent e where e.publishedAt is null order by e.id")
+    List<OutboxEvent> lockUnpublished(Pageable pageable);
+
+    // Unpublished events have no publish sequence and are never served.
+    @Query("select e from OutboxEvent e where e.publishSeq > :afterSeq order by e.publishSeq")
+    List<OutboxEvent> findPublishedAfter(@Param("afterSeq") Long afterSeq, Pageable pageable);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.publishedAt < :publishedBefore")
+    int deletePublishedBefore(@Param("publishedBefore") Date publishedBefore);
+}
@@ -0,0 +1,24 @@
+package staj.ordermanagementsystemapi.dataAccess.abstracts;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import staj.ordermanagementsystemapi.entities.concretes.OutboxRelayState;
+
+@Repository
+public interface OutboxRelayStateRepository extends JpaRepository<OutboxRelayState, Integer> {
+
+    // SELECT ... FOR UPDATE SKIP LOCKED: empty while a relay on another node holds the row.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select s from OutboxRelayState s where s.id = :id")
+    Optional<OutboxRelayState> lockById(@Param("id") Integer id);
+}
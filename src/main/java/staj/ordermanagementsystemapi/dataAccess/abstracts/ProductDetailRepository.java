@@ -0,0 +1,11 @@
+package staj.ordermanagementsystemapi.dataAccess.abstracts;
+
+import java.util.Optional;
+
+import staj.ordermanagementsystemapi.entities.dto.ProductDetailDto;
+
+public interface ProductDetailRepository {
+
+    // The product with its category, rating count and average, and its newest reviewLimit reviews; empty if no such product.
+    Optional<ProductDetailDto> findDetail(Integer productId, int reviewLimit);
+}
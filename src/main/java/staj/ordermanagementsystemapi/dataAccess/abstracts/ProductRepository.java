@@ -1,11 +1,39 @@
 package staj.ordermanagementsystemapi.dataAccess.abstracts;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
 import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.dto.ProductIndexRow;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Integer>{
 
+    @Query("select p.quantity from Product p where p.id = :productId")
+    Optional<Integer> findQuantityById(@Param("productId") Integer productId);
+
+    @Query("select p from Product p left join fetch p.category order by p.id")
+    List<Product> findAllWithCategory();
+
+    // Single row of [product count, sum of product ids, sum of product versions, category count, latest category
+    // timestamp]. Any insert, delete or versioned update of a product, on any node, changes it: a delete and an
+    // insert keep the count but not the sum of ids, which also holds when the new id comes from a lower pooled block.
+    @Query("select count(p), coalesce(sum(p.id), 0), coalesce(sum(p.version), 0), (select count(c) from Category c), "
+            + "(select max(c.timestamp) from Category c) from Product p")
+    List<Object[]> findCatalogSignature();
+
+    // Rows are read from an open cursor in chunks of the fetch size; must run inside a transaction.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new staj.ordermanagementsystemapi.entities.dto.ProductIndexRow(p.id, p.name, p.details, p.price, "
+            + "p.thumbnail, p.category.id, p.quantity) from Product p order by p.id")
+    Stream<ProductIndexRow> streamIndexRows();
 }
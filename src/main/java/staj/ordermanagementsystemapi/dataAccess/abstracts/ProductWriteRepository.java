@@ -0,0 +1,22 @@
+package staj.ordermanagementsystemapi.dataAccess.abstracts;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductIndexRow;
+
+public interface ProductWriteRepository {
+
+    // Sets price = round((price * factor + delta) / increment) * increment, at least 0, for every product in the
+    // category and bumps their versions. Returns the updated rows in id order.
+    List<ProductIndexRow> repriceCategory(Integer categoryId, BigDecimal factor, BigDecimal delta, BigDecimal increment,
+                                          RoundingMode roundingMode);
+
+    // Writes only the given fields (name, price, thumbnail, details, categoryId, quantity) and bumps the version.
+    // Returns the product as stored afterwards, or empty when there is no product with the id.
+    Optional<ProductDto> patchProduct(Integer id, Map<String, Object> changes);
+}
@@ -1,8 +1,12 @@
 package staj.ordermanagementsystemapi.dataAccess.abstracts;
 
+import java.util.Date;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import staj.ordermanagementsystemapi.entities.concretes.Customer;
@@ -15,4 +19,18 @@ public interface ReviewRepository extends JpaRepository<Review, Integer>{
 	
 	    List<Review> findByProduct(Product product);
 	    List<Review> findByCustomer(Customer customer);
+
+    // Null when the product has no reviews.
+    @Query("select avg(r.star) from Review r where r.product.id = :productId")
+    Double findAverageStarByProductId(@Param("productId") Integer productId);
+
+    // Keyset pages ordered by (timestamp, id).
+    @Query("select r from Review r join fetch r.customer join fetch r.product p join fetch p.category "
+            + "order by r.timestamp, r.id")
+    List<Review> findFirstPage(Pageable pageable);
+
+    @Query("select r from Review r join fetch r.customer join fetch r.product p join fetch p.category "
+            + "where r.timestamp >= :afterDate and (r.timestamp > :afterDate or r.id > :afterId) "
+            + "order by r.timestamp, r.id")
+    List<Review> findPageAfter(@Param("afterDate") Date afterDate, @Param("afterId") Integer afterId, Pageable pageable);
 }
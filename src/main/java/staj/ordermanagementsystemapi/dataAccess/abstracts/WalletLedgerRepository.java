@@ -0,0 +1,53 @@
+package staj.ordermanagementsystemapi.dataAccess.abstracts;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import staj.ordermanagementsystemapi.entities.concretes.WalletLedgerEntry;
+
+@Repository
+public interface WalletLedgerRepository extends JpaRepository<WalletLedgerEntry, Long> {
+
+    // Snapshot plus every entry not compacted yet, read in a single statement.
+    @Query("select c.walletBalance + coalesce((select sum(e.amount) from WalletLedgerEntry e "
+            + "where e.customer.id = c.id and e.compacted = false), 0) "
+            + "from Customer c where c.id = :customerId")
+    Optional<Double> findBalance(@Param("customerId") Integer customerId);
+
+    // Rows of [customerId, balance]; customers that do not exist are missing from the result.
+    @Query("select c.id, c.walletBalance + coalesce((select sum(e.amount) from WalletLedgerEntry e "
+            + "where e.customer.id = c.id and e.compacted = false), 0) "
+            + "from Customer c where c.id in :customerIds")
+    List<Object[]> findBalances(@Param("customerIds") Collection<Integer> customerIds);
+
+    // Rows of [customerId, pending amount] for customers that have entries not compacted yet.
+    @Query("select e.customer.id, sum(e.amount) from WalletLedgerEntry e "
+            + "where e.compacted = false and e.customer.id in :customerIds "
+            + "group by e.customer.id")
+    List<Object[]> findPendingAmounts(@Param("customerIds") Collection<Integer> customerIds);
+
+    @Query("select distinct e.customer.id from WalletLedgerEntry e where e.compacted = false")
+    List<Integer> findCustomersWithPendingEntries();
+
+    // Single row of [count, sum, highest seq] of the entries not compacted yet.
+    @Query("select count(e), coalesce(sum(e.amount), 0), max(e.seq) from WalletLedgerEntry e "
+            + "where e.customer.id = :customerId and e.compacted = false")
+    List<Object[]> summarizePendingEntries(@Param("customerId") Integer customerId);
+
+    @Modifying
+    @Query(value = "update wallet_ledger set compacted = true "
+            + "where customer_id = :customerId and seq <= :maxSeq and compacted = false", nativeQuery = true)
+    int markCompacted(@Param("customerId") Integer customerId, @Param("maxSeq") Long maxSeq);
+
+    @Modifying
+    @Query(value = "update customer set wallet_balance = wallet_balance + :amount where id = :customerId",
+            nativeQuery = true)
+    int foldIntoSnapshot(@Param("customerId") Integer customerId, @Param("amount") Double amount);
+}
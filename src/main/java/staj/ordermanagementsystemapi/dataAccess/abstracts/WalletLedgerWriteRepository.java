@@ -0,0 +1,9 @@
+package staj.ordermanagementsystemapi.dataAccess.abstracts;
+
+public interface WalletLedgerWriteRepository {
+
+    // Appends an entry under the customer's next sequence number. With requireCover the entry is only appended while
+    // the snapshot plus the pending entries plus this amount stays non-negative. Returns false when nothing was
+    // appended: the customer does not exist, the balance does not cover the amount or another writer took the number.
+    boolean append(Integer customerId, double amount, String type, String reference, boolean requireCover);
+}
@@ -0,0 +1,108 @@
+package staj.ordermanagementsystemapi.dataAccess.concretes;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderSearchRepository;
+import staj.ordermanagementsystemapi.entities.concretes.ArchivedOrder;
+import staj.ordermanagementsystemapi.entities.concretes.Category;
+import staj.ordermanagementsystemapi.entities.concretes.Customer;
+import staj.ordermanagementsystemapi.entities.concretes.Order;
+import staj.ordermanagementsystemapi.entities.concretes.OrderLine;
+import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.dto.OrderSearchFilter;
+import staj.ordermanagementsystemapi.entities.dto.OrderView;
+
+/**
+ * Builds the order search from only the filters that are set, so every
+ * combination becomes a plain conjunction the planner can match to an index:
+ * status to (status, order_date, id) and customer to (customer_id, order_date, id).
+ * The product filter matches any line of the order through an EXISTS on
+ * order_line (product_id, order_id). Pages are keyset pages in (order_date, id)
+ * order and no row count is taken.
+ */
+@Repository
+public class OrderSearchRepositoryImpl implements OrderSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderView> search(OrderSearchFilter filter, Date afterDate, Integer afterId, int limit) {
+        return search(Order.class, filter, afterDate, afterId, limit);
+    }
+
+    @Override
+    public List<OrderView> searchArchive(OrderSearchFilter filter, Date afterDate, Integer afterId, int limit) {
+        return search(ArchivedOrder.class, filter, afterDate, afterId, limit);
+    }
+
+    // Order and ArchivedOrder share their attribute names, so one query builder serves both tables.
+    private <T> List<OrderView> search(Class<T> entityClass, OrderSearchFilter filter, Date afterDate, Integer afterId,
+                                       int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderView> query = cb.createQuery(OrderView.class);
+        Root<T> order = query.from(entityClass);
+        Join<T, Customer> customer = order.join("customer");
+        // Only single-product orders have a header product
+        Join<T, Product> product = order.join("product", JoinType.LEFT);
+        Join<Product, Category> category = product.join("category", JoinType.LEFT);
+
+        query.select(cb.construct(OrderView.class,
+                order.get("id"), order.get("quantity"), order.get("orderDate"), order.get("deliveryDate"),
+                order.get("status"), entityClass == Order.class ? order.get("version") : cb.nullLiteral(Long.class),
+                customer.get("id"), customer.get("name"), customer.get("location"), customer.get("phone"),
+                customer.get("mail"), customer.get("birthDate"), customer.get("timestamp"),
+                product.get("id"), product.get("name"), product.get("price"), product.get("thumbnail"),
+                product.get("details"), product.get("quantity"), product.get("timestamp"),
+                category.get("id"), category.get("name"), category.get("details"), category.get("timestamp")));
+
+        Path<Date> orderDate = order.get("orderDate");
+        Path<Integer> id = order.get("id");
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(order.get("status"), filter.getStatus()));
+        }
+        if (filter.getCustomerId() != null) {
+            predicates.add(cb.equal(customer.get("id"), filter.getCustomerId()));
+        }
+        if (filter.getProductId() != null) {
+            Subquery<Integer> line = query.subquery(Integer.class);
+            Root<OrderLine> orderLine = line.from(OrderLine.class);
+            line.select(cb.literal(1)).where(
+                    cb.equal(orderLine.get("product").get("id"), filter.getProductId()),
+                    cb.equal(orderLine.get("order").get("id"), order.get("id")));
+            predicates.add(cb.exists(line));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(orderDate, filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThan(orderDate, filter.getTo()));
+        }
+        if (afterDate != null) {
+            // The leading ">=" lets the index seek to the cursor
+            predicates.add(cb.greaterThanOrEqualTo(orderDate, afterDate));
+            predicates.add(cb.or(cb.greaterThan(orderDate, afterDate), cb.greaterThan(id, afterId)));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(orderDate), cb.asc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
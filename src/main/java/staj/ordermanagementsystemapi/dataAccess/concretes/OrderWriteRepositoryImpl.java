@@ -0,0 +1,80 @@
+package staj.ordermanagementsystemapi.dataAccess.concretes;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderWriteRepository;
+
+/**
+ * Set-based order writes in plain SQL. A bulk status change is one UPDATE per
+ * chunk, and the caller needs the ids it moved to emit their events.
+ * <p>
+ * On PostgreSQL the moved ids come back through RETURNING, so the rows are
+ * visited once. Other databases lock the matching ids first and then update
+ * exactly those rows.
+ */
+@Repository
+public class OrderWriteRepositoryImpl implements OrderWriteRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public OrderWriteRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public List<Integer> updateStatus(Collection<Integer> ids, Collection<String> fromStatuses, String status,
+                                      Date deliveryDate) {
+        if (ids.isEmpty() || fromStatuses.isEmpty()) {
+            return List.of();
+        }
+        String where = " where id in (" + placeholders(ids.size()) + ") and status in ("
+                + placeholders(fromStatuses.size()) + ")";
+        List<Object> whereArgs = new ArrayList<>(ids);
+        whereArgs.addAll(fromStatuses);
+        // Typed so that a missing date still resolves against the column inside coalesce
+        List<Object> args = new ArrayList<>();
+        args.add(status);
+        args.add(new SqlParameterValue(Types.TIMESTAMP, deliveryDate == null ? null : new Timestamp(deliveryDate.getTime())));
+        args.addAll(whereArgs);
+        String update = "update orders set status = ?, delivery_date = coalesce(?, delivery_date),"
+                + " version = version + 1" + where;
+
+        if (isPostgres()) {
+            List<Integer> moved = new ArrayList<>(jdbcTemplate.queryForList(update + " returning id", Integer.class,
+                    args.toArray()));
+            Collections.sort(moved);
+            return moved;
+        }
+        // The locked rows cannot change status before commit, so the update moves exactly these
+        List<Integer> moving = jdbcTemplate.queryForList("select id from orders" + where + " order by id for update",
+                Integer.class, whereArgs.toArray());
+        if (!moving.isEmpty()) {
+            jdbcTemplate.update(update, args.toArray());
+        }
+        return moving;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private boolean isPostgres() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) c -> c.isWrapperFor(PGConnection.class)));
+    }
+}
@@ -0,0 +1,73 @@
+package staj.ordermanagementsystemapi.dataAccess.concretes;
+
+import static staj.ordermanagementsystemapi.dataAccess.concretes.ProductWriteRepositoryImpl.PRODUCT_COLUMNS;
+import static staj.ordermanagementsystemapi.dataAccess.concretes.ProductWriteRepositoryImpl.PRODUCT_MAPPER;
+import static staj.ordermanagementsystemapi.dataAccess.concretes.ProductWriteRepositoryImpl.dateOf;
+
+import java.util.ArrayList;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductDetailRepository;
+import staj.ordermanagementsystemapi.entities.dto.ProductDetailDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductDetailReviewDto;
+
+/**
+ * Reads a product page in one round trip. The product's reviews are ranked
+ * newest first with window functions that also carry the count and average
+ * over all of them, so only the newest few rows leave the database and no
+ * review is loaded just to be averaged. The (product_id, timestamp, id) index
+ * on review serves the ranking.
+ */
+@Repository
+public class ProductDetailRepositoryImpl implements ProductDetailRepository {
+
+    private static final String DETAIL_SQL = "select " + PRODUCT_COLUMNS + ","
+            + " r.review_count, r.review_average, r.id as review_id, r.star, r.description,"
+            + " r.timestamp as review_timestamp, r.customer_id, cu.name as customer_name"
+            + " from product p"
+            + " join category c on c.id = p.category_id"
+            + " left join (select rv.id, rv.star, rv.description, rv.timestamp, rv.customer_id,"
+            + " count(*) over () as review_count,"
+            + " avg(cast(rv.star as double precision)) over () as review_average,"
+            + " row_number() over (order by rv.timestamp desc, rv.id desc) as review_rank"
+            + " from review rv where rv.product_id = ?) r on r.review_rank <= ?"
+            + " left join customer cu on cu.id = r.customer_id"
+            + " where p.id = ?"
+            + " order by r.review_rank";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProductDetailRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<ProductDetailDto> findDetail(Integer productId, int reviewLimit) {
+        // At least one review row is joined so the count and average arrive even when no reviews are wanted
+        return jdbcTemplate.query(DETAIL_SQL, rs -> {
+            ProductDetailDto detail = null;
+            while (rs.next()) {
+                if (detail == null) {
+                    detail = new ProductDetailDto(PRODUCT_MAPPER.mapRow(rs, 0), 0.0, 0L, new ArrayList<>());
+                    long count = rs.getLong("review_count");
+                    if (!rs.wasNull()) {
+                        detail.setRatingCount(count);
+                        detail.setRatingAverage(rs.getDouble("review_average"));
+                    }
+                }
+                int reviewId = rs.getInt("review_id");
+                if (!rs.wasNull() && detail.getLatestReviews().size() < reviewLimit) {
+                    detail.getLatestReviews().add(new ProductDetailReviewDto(reviewId, rs.getInt("star"),
+                            rs.getString("description"), rs.getInt("customer_id"), rs.getString("customer_name"),
+                            dateOf(rs, "review_timestamp")));
+                }
+            }
+            return Optional.ofNullable(detail);
+        }, productId, Math.max(1, reviewLimit), productId);
+    }
+}
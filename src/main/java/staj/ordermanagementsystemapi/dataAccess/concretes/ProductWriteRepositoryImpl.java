@@ -0,0 +1,135 @@
+package staj.ordermanagementsystemapi.dataAccess.concretes;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductWriteRepository;
+import staj.ordermanagementsystemapi.entities.dto.CategoryDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductIndexRow;
+
+/**
+ * Set-based product writes in plain SQL. A category reprice is one UPDATE
+ * however many products the category holds; the new price is computed in
+ * decimal arithmetic so that, say, 19.99 + 5% rounds the same way it would on
+ * paper. A patch sets only the columns it names, so a stock or price change
+ * from the ERP is a single narrow UPDATE.
+ * <p>
+ * On PostgreSQL the updated rows come back through RETURNING; other databases
+ * read them again inside the same transaction.
+ */
+@Repository
+public class ProductWriteRepositoryImpl implements ProductWriteRepository {
+
+    private static final String INDEX_COLUMNS = "id, name, details, price, thumbnail, category_id, quantity";
+    private static final RowMapper<ProductIndexRow> INDEX_ROW_MAPPER = (rs, rowNum) -> new ProductIndexRow(
+            rs.getInt("id"), rs.getString("name"), rs.getString("details"), rs.getDouble("price"),
+            rs.getString("thumbnail"), rs.getInt("category_id"), rs.getInt("quantity"));
+
+    private static final Map<String, String> PATCH_COLUMNS = Map.of("name", "name", "price", "price",
+            "thumbnail", "thumbnail", "details", "details", "categoryId", "category_id", "quantity", "quantity");
+    // Product and category columns for PRODUCT_MAPPER, from product p joined to category c.
+    static final String PRODUCT_COLUMNS = "p.id, p.name, p.price, p.thumbnail, p.details, p.quantity, p.timestamp, p.version,"
+            + " c.id as category_id, c.name as category_name, c.details as category_details,"
+            + " c.timestamp as category_timestamp";
+    static final RowMapper<ProductDto> PRODUCT_MAPPER = (rs, rowNum) -> new ProductDto(rs.getInt("id"),
+            rs.getString("name"), rs.getDouble("price"), rs.getString("thumbnail"), rs.getString("details"),
+            new CategoryDto(rs.getInt("category_id"), rs.getString("category_name"), rs.getString("category_details"),
+                    dateOf(rs, "category_timestamp")),
+            rs.getInt("quantity"), dateOf(rs, "timestamp"), rs.getLong("version"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProductWriteRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public List<ProductIndexRow> repriceCategory(Integer categoryId, BigDecimal factor, BigDecimal delta,
+                                                 BigDecimal increment, RoundingMode roundingMode) {
+        // Typed parameters keep the intermediate scale bounded on databases that infer it from the value
+        String steps = "(cast(price as decimal(19, 4)) * cast(? as decimal(19, 6)) + cast(? as decimal(19, 4)))"
+                + " / cast(? as decimal(19, 4))";
+        String rounded = switch (roundingMode) {
+            case HALF_UP -> "floor(" + steps + " + 0.5)";
+            case UP, CEILING -> "ceiling(" + steps + ")";
+            case DOWN, FLOOR -> "floor(" + steps + ")";
+            default -> throw new IllegalArgumentException("Rounding must be HALF_UP, UP or DOWN.");
+        };
+        String update = "update product set price = greatest(" + rounded + " * cast(? as decimal(19, 4)), 0), version = version + 1"
+                + " where category_id = ?";
+        Object[] args = {factor, delta, increment, increment, categoryId};
+
+        if (isPostgres()) {
+            List<ProductIndexRow> rows = jdbcTemplate.query(update + " returning " + INDEX_COLUMNS, INDEX_ROW_MAPPER, args);
+            return rows.stream().sorted(Comparator.comparing(ProductIndexRow::getId)).toList();
+        }
+        jdbcTemplate.update(update, args);
+        // The updated rows stay locked until commit, so this reads the prices just written
+        return jdbcTemplate.query("select " + INDEX_COLUMNS + " from product where category_id = ? order by id",
+                INDEX_ROW_MAPPER, categoryId);
+    }
+
+    @Override
+    @Transactional
+    public Optional<ProductDto> patchProduct(Integer id, Map<String, Object> changes) {
+        StringBuilder assignments = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            String column = PATCH_COLUMNS.get(change.getKey());
+            if (column == null) {
+                throw new IllegalArgumentException("Field '" + change.getKey() + "' cannot be patched.");
+            }
+            assignments.append(column).append(" = ?, ");
+            args.add(change.getValue());
+        }
+        assignments.append("version = version + 1");
+
+        if (isPostgres()) {
+            // The join sees the row as it was, so a new category is matched by the value being written
+            Object categoryId = changes.get("categoryId");
+            String categoryMatch = categoryId == null ? "c.id = p.category_id" : "c.id = ?";
+            args.add(id);
+            if (categoryId != null) {
+                args.add(categoryId);
+            }
+            List<ProductDto> rows = jdbcTemplate.query("update product p set " + assignments + " from category c"
+                    + " where p.id = ? and " + categoryMatch + " returning " + PRODUCT_COLUMNS, PRODUCT_MAPPER, args.toArray());
+            return rows.stream().findFirst();
+        }
+        args.add(id);
+        if (jdbcTemplate.update("update product set " + assignments + " where id = ?", args.toArray()) == 0) {
+            return Optional.empty();
+        }
+        return jdbcTemplate.query("select " + PRODUCT_COLUMNS + " from product p join category c on c.id = p.category_id"
+                + " where p.id = ?", PRODUCT_MAPPER, id).stream().findFirst();
+    }
+
+    private boolean isPostgres() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) c -> c.isWrapperFor(PGConnection.class)));
+    }
+
+    static Date dateOf(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp == null ? null : new Date(timestamp.getTime());
+    }
+}
@@ -0,0 +1,63 @@
+package staj.ordermanagementsystemapi.dataAccess.concretes;
+
+import java.sql.Timestamp;
+
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import staj.ordermanagementsystemapi.dataAccess.abstracts.WalletLedgerWriteRepository;
+
+/**
+ * Conditional ledger appends in plain SQL. The balance check and the insert are
+ * one statement, and the unique (customer_id, seq) index lets only one of two
+ * writers that read the same ledger append, so a customer can never be debited
+ * below zero and no customer row is locked.
+ * <p>
+ * On PostgreSQL a writer that loses the race waits only for the winner's
+ * commit and then inserts nothing through ON CONFLICT DO NOTHING; the caller
+ * re-reads and tries again. Other databases lock the customer row first, so
+ * their appends of one customer are serialized until commit instead.
+ */
+@Repository
+public class WalletLedgerWriteRepositoryImpl implements WalletLedgerWriteRepository {
+
+    private static final String PENDING_SUM = "coalesce((select sum(e.amount) from wallet_ledger e"
+            + " where e.customer_id = c.id and e.compacted = false), 0)";
+    private static final String NEXT_SEQ = "coalesce((select max(e.seq) from wallet_ledger e"
+            + " where e.customer_id = c.id), 0) + 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public WalletLedgerWriteRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public boolean append(Integer customerId, double amount, String type, String reference, boolean requireCover) {
+        boolean postgres = isPostgres();
+        // A raw sequence value claims a whole pooled block, so it never collides with ids handed out by Hibernate
+        String nextId = postgres ? "nextval('wallet_ledger_seq')" : "next value for wallet_ledger_seq";
+        String insert = "insert into wallet_ledger (id, customer_id, seq, amount, type, reference, timestamp, compacted)"
+                + " select " + nextId + ", c.id, " + NEXT_SEQ + ", ?, ?, ?, ?, false from customer c where c.id = ?"
+                + (requireCover ? " and c.wallet_balance + " + PENDING_SUM + " + ? >= 0" : "");
+        Object[] args = requireCover
+                ? new Object[]{amount, type, reference, new Timestamp(System.currentTimeMillis()), customerId, amount}
+                : new Object[]{amount, type, reference, new Timestamp(System.currentTimeMillis()), customerId};
+
+        if (postgres) {
+            return jdbcTemplate.update(insert + " on conflict (customer_id, seq) do nothing", args) == 1;
+        }
+        jdbcTemplate.queryForList("select id from customer where id = ? for update", Integer.class, customerId);
+        return jdbcTemplate.update(insert, args) == 1;
+    }
+
+    private boolean isPostgres() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) c -> c.isWrapperFor(PGConnection.class)));
+    }
+}
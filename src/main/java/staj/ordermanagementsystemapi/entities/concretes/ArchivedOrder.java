@@ -0,0 +1,65 @@
+package staj.ordermanagementsystemapi.entities.concretes;
+
+import java.util.Date;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A delivered order moved out of {@code orders} by the archiver. It keeps the
+ * id it had there, so order_line rows and references held by clients stay
+ * valid, and the attribute names match {@link Order} so searches can run
+ * against either table. Archived orders are never changed.
+ */
+@Entity
+@Immutable
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_order_date_id", columnList = "order_date, id"),
+        @Index(name = "idx_orders_archive_customer_id_order_date_id", columnList = "customer_id, order_date, id"),
+        @Index(name = "idx_orders_archive_status_order_date_id", columnList = "status, order_date, id")
+})
+public class ArchivedOrder {
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private Integer id;
+
+    @ManyToOne
+    @JoinColumn(name = "customer_id", nullable = false)
+    private Customer customer;
+
+    // As on Order: null for a multi-line checkout, whose lines stay in order_line
+    @ManyToOne
+    @JoinColumn(name = "product_id", nullable = true)
+    private Product product;
+
+    @Column(name = "quantity", nullable = true)
+    private Integer quantity;
+
+    @Column(name = "order_date", nullable = false)
+    private Date orderDate;
+
+    @Column(name = "delivery_date", nullable = true)
+    private Date deliveryDate;
+
+    @Column(name = "status", length = 100, nullable = false)
+    private String status;
+
+    @Column(name = "archived_at", nullable = false)
+    private Date archivedAt;
+}
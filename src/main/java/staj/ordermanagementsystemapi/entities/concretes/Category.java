@@ -2,10 +2,11 @@ package staj.ordermanagementsystemapi.entities.concretes;
 
 import java.util.Date;
 
+import org.hibernate.annotations.GenericGenerator;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
@@ -13,6 +14,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import staj.ordermanagementsystemapi.core.utilities.persistence.PooledSequenceGenerator;
 
 @Entity
 @Data
@@ -23,7 +25,8 @@ import lombok.NoArgsConstructor;
 public class Category {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "category_seq")
+    @GenericGenerator(name = "category_seq", type = PooledSequenceGenerator.class)
     @Column(name = "id", nullable = false)
     private Integer id;
 
@@ -2,17 +2,21 @@ package staj.ordermanagementsystemapi.entities.concretes;
 
 import java.util.Date;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import staj.ordermanagementsystemapi.core.utilities.persistence.PooledSequenceGenerator;
 
 @Entity
 @Data
@@ -23,7 +27,8 @@ import lombok.NoArgsConstructor;
 public class Customer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "customer_seq")
+    @GenericGenerator(name = "customer_seq", type = PooledSequenceGenerator.class)
     @Column(name = "id", nullable = false)
     private Integer id;
 
@@ -45,12 +50,19 @@ public class Customer {
     @Column(name = "password", length = 200, nullable = false)
     private String password;
 
-    @Column(name = "wallet_balance", nullable = false)
+    // Balance snapshot; ledger entries not marked compacted are not folded in yet.
+    // Only the ledger compaction writes this column, entity updates leave it alone.
+    @Column(name = "wallet_balance", nullable = false, updatable = false)
     private Double walletBalance;
 
     @Column(name = "timestamp", nullable = false)
     private Date timestamp;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         this.timestamp = new Date();
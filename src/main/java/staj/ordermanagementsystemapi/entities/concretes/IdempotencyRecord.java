@@ -0,0 +1,69 @@
+package staj.ordermanagementsystemapi.entities.concretes;
+
+import java.util.Date;
+
+import org.hibernate.annotations.GenericGenerator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import staj.ordermanagementsystemapi.core.utilities.persistence.PooledSequenceGenerator;
+
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "idempotency_record", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_idempotency_record_scope_key", columnNames = {"scope", "idempotency_key"})
+}, indexes = {
+        @Index(name = "idx_idempotency_record_expires_at", columnList = "expires_at")
+})
+public class IdempotencyRecord {
+
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+    public static final String COMPLETED = "COMPLETED";
+
+    @Id
+    @GeneratedValue(generator = "idempotency_record_seq")
+    @GenericGenerator(name = "idempotency_record_seq", type = PooledSequenceGenerator.class)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "scope", length = 50, nullable = false, updatable = false)
+    private String scope;
+
+    @Column(name = "idempotency_key", length = 100, nullable = false, updatable = false)
+    private String idempotencyKey;
+
+    // SHA-256 of the request body, so a reused key with a different body is rejected.
+    @Column(name = "request_hash", length = 64, nullable = false, updatable = false)
+    private String requestHash;
+
+    @Column(name = "status", length = 20, nullable = false)
+    private String status;
+
+    // JSON of the stored response, set once the request completed.
+    @Column(name = "response", columnDefinition = "text", nullable = true)
+    private String response;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Date createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Date expiresAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = new Date();
+    }
+}
@@ -2,30 +2,45 @@ package staj.ordermanagementsystemapi.entities.concretes;
 
 import java.util.Date;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import staj.ordermanagementsystemapi.core.utilities.persistence.PooledSequenceGenerator;
 
 @Entity
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_order_date_id", columnList = "order_date, id"),
+        @Index(name = "idx_orders_customer_id_order_date_id", columnList = "customer_id, order_date, id"),
+        @Index(name = "idx_orders_status_order_date_id", columnList = "status, order_date, id")
+})
 public class Order {
 
+    public static final String CREATED = "Created";
+    public static final String SHIPPED = "Shipped";
+    public static final String DELIVERED = "Delivered";
+    public static final String CANCELLED = "Cancelled";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "orders_seq")
+    @GenericGenerator(name = "orders_seq", type = PooledSequenceGenerator.class)
     @Column(name = "id", nullable = false)
     private Integer id;
 
@@ -33,11 +48,13 @@ public class Order {
     @JoinColumn(name = "customer_id", nullable = false)
     private Customer customer;
 
+    // Set only for a single-product order, and null for a multi-line checkout. The lines in order_line
+    // are what an order contains; readers use those.
     @ManyToOne
-    @JoinColumn(name = "product_id", nullable = false)
+    @JoinColumn(name = "product_id", nullable = true)
     private Product product;
 
-    @Column(name = "quantity", nullable = false)
+    @Column(name = "quantity", nullable = true)
     private Integer quantity;
 
     @Column(name = "order_date", nullable = false, updatable = false)
@@ -49,9 +66,14 @@ public class Order {
     @Column(name = "status", length = 100, nullable = false)
     private String status;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         this.orderDate = new Date();
-        this.status = "Created";
+        this.status = CREATED;
     }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package staj.ordermanagementsystemapi.entities.concretes;
+
+import org.hibernate.annotations.GenericGenerator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import staj.ordermanagementsystemapi.core.utilities.persistence.PooledSequenceGenerator;
+
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "order_line", indexes = {
+        @Index(name = "idx_order_line_order_id", columnList = "order_id, id"),
+        @Index(name = "idx_order_line_product_id_order_id", columnList = "product_id, order_id")
+})
+public class OrderLine {
+
+    @Id
+    @GeneratedValue(generator = "order_line_seq")
+    @GenericGenerator(name = "order_line_seq", type = PooledSequenceGenerator.class)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    // No foreign key: the order row moves to orders_archive with the same id when it is archived.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false, updatable = false,
+            foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Order order;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false, updatable = false)
+    private Product product;
+
+    @Column(name = "quantity", nullable = false, updatable = false)
+    private Integer quantity;
+
+    // Price per unit when the order was placed; later price changes do not touch it.
+    @Column(name = "unit_price", nullable = false, updatable = false)
+    private Double unitPrice;
+}
@@ -0,0 +1,66 @@
+package staj.ordermanagementsystemapi.entities.concretes;
+
+import java.util.Date;
+
+import org.hibernate.annotations.GenericGenerator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import staj.ordermanagementsystemapi.core.utilities.persistence.PooledSequenceGenerator;
+
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "outbox_event", indexes = {
+        @Index(name = "idx_outbox_event_published_at_id", columnList = "published_at, id"),
+        @Index(name = "idx_outbox_event_publish_seq", columnList = "publish_seq", unique = true)
+})
+public class OutboxEvent {
+
+    public static final String ORDER_CREATED = "OrderCreated";
+    public static final String ORDER_UPDATED = "OrderUpdated";
+    public static final String ORDER_DELETED = "OrderDeleted";
+
+    @Id
+    @GeneratedValue(generator = "outbox_event_seq")
+    @GenericGenerator(name = "outbox_event_seq", type = PooledSequenceGenerator.class)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "type", length = 50, nullable = false, updatable = false)
+    private String type;
+
+    @Column(name = "aggregate_id", nullable = false, updatable = false)
+    private Integer aggregateId;
+
+    // JSON of an OrderEventDto
+    @Column(name = "payload", columnDefinition = "text", nullable = false, updatable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Date createdAt;
+
+    // Set by the relay once a sink accepted the event
+    @Column(name = "published_at", nullable = true)
+    private Date publishedAt;
+
+    // Position in the order the relay published events; the pull feed pages by it
+    @Column(name = "publish_seq", nullable = true)
+    private Long publishSeq;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = new Date();
+    }
+}
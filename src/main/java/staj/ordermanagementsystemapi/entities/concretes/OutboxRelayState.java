@@ -0,0 +1,30 @@
+package staj.ordermanagementsystemapi.entities.concretes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Single row that relays lock while publishing, so publish sequence numbers are handed out in commit order.
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "outbox_relay_state")
+public class OutboxRelayState {
+
+    public static final Integer ID = 1;
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private Integer id;
+
+    // Publish sequence of the last event the relay published
+    @Column(name = "last_publish_seq", nullable = false)
+    private Long lastPublishSeq;
+}
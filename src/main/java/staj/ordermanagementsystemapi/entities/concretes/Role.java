@@ -1,16 +1,20 @@
 package staj.ordermanagementsystemapi.entities.concretes;
 
+import org.hibernate.annotations.GenericGenerator;
+
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
+import staj.ordermanagementsystemapi.core.utilities.persistence.PooledSequenceGenerator;
 
 @Entity
 @Data
 @Table(name = "roles")
 public class Role {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "roles_seq")
+    @GenericGenerator(name = "roles_seq", type = PooledSequenceGenerator.class)
     private int id;
 
     private String name;
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 
+import org.hibernate.annotations.GenericGenerator;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
@@ -13,6 +14,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import staj.ordermanagementsystemapi.core.utilities.persistence.PooledSequenceGenerator;
 
     @Entity
 	@Table(name = "users")
@@ -22,7 +24,8 @@ import lombok.NoArgsConstructor;
 	public class UserEntity {
 
 	    @Id
-	    @GeneratedValue(strategy = GenerationType.IDENTITY)
+	    @GeneratedValue(generator = "users_seq")
+	    @GenericGenerator(name = "users_seq", type = PooledSequenceGenerator.class)
 	    private int id;
 
 	    private String username;
@@ -0,0 +1,79 @@
+package staj.ordermanagementsystemapi.entities.concretes;
+
+import java.util.Date;
+
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import staj.ordermanagementsystemapi.core.utilities.persistence.PooledSequenceGenerator;
+
+@Entity
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "wallet_ledger", indexes = {
+        @Index(name = "idx_wallet_ledger_customer_id", columnList = "customer_id, id"),
+        @Index(name = "uk_wallet_ledger_customer_seq", columnList = "customer_id, seq", unique = true),
+        @Index(name = "idx_wallet_ledger_customer_compacted", columnList = "customer_id, compacted")
+})
+public class WalletLedgerEntry {
+
+    public static final String DEBIT = "DEBIT";
+    public static final String CREDIT = "CREDIT";
+
+    @Id
+    @GeneratedValue(generator = "wallet_ledger_seq")
+    @GenericGenerator(name = "wallet_ledger_seq", type = PooledSequenceGenerator.class)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id", nullable = false, updatable = false)
+    private Customer customer;
+
+    // Position of the entry in the customer's ledger, counted from 1. Appends take max(seq) + 1 and the unique
+    // index lets only one of two concurrent appends have it, so committed entries always form a gapless prefix.
+    @Column(name = "seq", nullable = false, updatable = false)
+    private Long seq;
+
+    // Signed amount: debits are negative, credits positive.
+    @Column(name = "amount", nullable = false, updatable = false)
+    private Double amount;
+
+    @Column(name = "type", length = 20, nullable = false, updatable = false)
+    private String type;
+
+    @Column(name = "reference", length = 100, nullable = true, updatable = false)
+    private String reference;
+
+    @Column(name = "timestamp", nullable = false, updatable = false)
+    private Date timestamp;
+
+    // Set by the compaction in the same transaction that folds the entry into the snapshot.
+    @ColumnDefault("false")
+    @Column(name = "compacted", nullable = false, updatable = false)
+    private Boolean compacted;
+
+    @PrePersist
+    protected void onCreate() {
+        this.timestamp = new Date();
+        if (this.compacted == null) {
+            this.compacted = false;
+        }
+    }
+}
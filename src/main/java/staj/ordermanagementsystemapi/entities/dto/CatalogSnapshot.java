@@ -0,0 +1,14 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// The product list as already encoded JSON, plain and gzip-compressed, with the ETag of its content.
+@Getter
+@AllArgsConstructor
+public class CatalogSnapshot {
+    private final long generation;
+    private final String etag;
+    private final byte[] json;
+    private final byte[] gzip;
+}
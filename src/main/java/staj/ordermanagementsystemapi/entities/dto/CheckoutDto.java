@@ -0,0 +1,17 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import java.util.Date;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CheckoutDto {
+    private Integer customerId;
+    private Date deliveryDate;
+    private List<OrderLineDto> lines;
+}
@@ -0,0 +1,16 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> items;
+    // Pass as ?after= to get the next page; null on the last page.
+    private String nextCursor;
+}
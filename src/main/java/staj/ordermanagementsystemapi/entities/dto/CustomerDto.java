@@ -19,4 +19,6 @@ public class CustomerDto {
     private String password;
     private Double walletBalance;
     private Date timestamp;
+    // Sent back with a full update; a stale one is rejected with 409
+    private Long version;
 }
\ No newline at end of file
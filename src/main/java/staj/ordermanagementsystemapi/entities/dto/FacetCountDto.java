@@ -0,0 +1,14 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetCountDto {
+    private Integer id;
+    private String label;
+    private Integer count;
+}
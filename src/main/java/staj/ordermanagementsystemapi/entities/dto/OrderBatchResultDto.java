@@ -0,0 +1,15 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderBatchResultDto {
+    private Integer index;
+    private boolean success;
+    private OrderDto order;
+    private String error;
+}
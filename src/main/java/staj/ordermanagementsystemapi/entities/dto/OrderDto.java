@@ -17,4 +17,6 @@ public class OrderDto {
     private Date orderDate;
     private Date deliveryDate;
     private String status;
+    // Sent back with a full update; a stale one is rejected with 409
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import java.util.Date;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Payload of an order event; fields the change did not read are null.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderEventDto {
+    private Integer orderId;
+    private Integer customerId;
+    private Integer productId;
+    private Integer quantity;
+    private String status;
+    private Date orderDate;
+    private Date deliveryDate;
+    private List<OrderLineDto> lines;
+}
@@ -0,0 +1,27 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One order line of the export; flat and without customer details beyond the id.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderExportDto {
+    private Integer id;
+    private Integer customerId;
+    private Integer productId;
+    private String productName;
+    private Integer quantity;
+    private Double unitPrice;
+    // Price of this line, at the unit price paid
+    private Double totalPrice;
+    // Sum of all lines of the order
+    private Double orderTotalPrice;
+    private Date orderDate;
+    private Date deliveryDate;
+    private String status;
+}
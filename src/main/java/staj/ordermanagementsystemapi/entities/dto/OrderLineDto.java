@@ -0,0 +1,15 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderLineDto {
+    private Integer productId;
+    private Integer quantity;
+    // Filled in by the server; ignored in checkout requests.
+    private Double unitPrice;
+}
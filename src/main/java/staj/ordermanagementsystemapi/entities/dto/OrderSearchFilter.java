@@ -0,0 +1,18 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderSearchFilter {
+    private String status;
+    private Date from;
+    private Date to;
+    private Integer customerId;
+    private Integer productId;
+}
@@ -0,0 +1,18 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import java.util.Date;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderStatusUpdateDto {
+    private List<Integer> ids;
+    private String status;
+    // Optional; the stored delivery date is kept when it is null.
+    private Date deliveryDate;
+}
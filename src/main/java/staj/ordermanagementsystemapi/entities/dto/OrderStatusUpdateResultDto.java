@@ -0,0 +1,14 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderStatusUpdateResultDto {
+    private int requested;
+    // Orders that were missing or not in a status the transition allows are not counted.
+    private int updated;
+}
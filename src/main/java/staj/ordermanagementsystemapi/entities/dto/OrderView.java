@@ -0,0 +1,33 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import java.util.Date;
+
+/**
+ * Flat row of an order read, filled by a JPQL constructor expression in
+ * OrderRepository. Only the columns an {@link OrderDto} exposes are selected,
+ * so reads skip entity hydration and the customer's password hash. The
+ * wallet balance is left out as well: the customer row only holds the compacted
+ * snapshot, not the balance, which the customer endpoints serve. Archived
+ * orders cannot be updated and have no version. A multi-line order has no
+ * header product or quantity; its content is read from its lines.
+ */
+public record OrderView(
+        Integer id, Integer quantity, Date orderDate, Date deliveryDate, String status, Long version,
+        Integer customerId, String customerName, String customerLocation, String customerPhone,
+        String customerMail, String customerBirthDate, Date customerTimestamp,
+        Integer productId, String productName, Double productPrice, String productThumbnail,
+        String productDetails, Integer productQuantity, Date productTimestamp,
+        Integer categoryId, String categoryName, String categoryDetails, Date categoryTimestamp) {
+
+    public OrderDto toDto() {
+        CustomerDto customer = new CustomerDto(customerId, customerName, customerLocation, customerPhone, customerMail,
+                customerBirthDate, null, null, customerTimestamp, null);
+        ProductDto product = null;
+        if (productId != null) {
+            CategoryDto category = new CategoryDto(categoryId, categoryName, categoryDetails, categoryTimestamp);
+            product = new ProductDto(productId, productName, productPrice, productThumbnail, productDetails,
+                    category, productQuantity, productTimestamp, null);
+        }
+        return new OrderDto(id, customer, product, quantity, orderDate, deliveryDate, status, version);
+    }
+}
@@ -0,0 +1,24 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxEventDto {
+    private Long id;
+    // Cursor of the pull feed: events appear in the order they were published
+    private Long publishSeq;
+    private String type;
+    private Integer orderId;
+    private Date createdAt;
+    // Already JSON; written as is instead of as a string
+    @JsonRawValue
+    private String payload;
+}
@@ -0,0 +1,18 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Everything a product page shows; ratingAverage is 0 when ratingCount is 0, and latestReviews are newest first.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductDetailDto {
+    private ProductDto product;
+    private Double ratingAverage;
+    private Long ratingCount;
+    private List<ProductDetailReviewDto> latestReviews;
+}
@@ -0,0 +1,19 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductDetailReviewDto {
+    private Integer id;
+    private Integer star;
+    private String description;
+    private Integer customerId;
+    private String customerName;
+    private Date timestamp;
+}
@@ -18,4 +18,6 @@ public class ProductDto {
     private CategoryDto category;
     private Integer quantity;
     private Date timestamp;
+    // Sent back with a full update; a stale one is rejected with 409
+    private Long version;
 }
@@ -0,0 +1,19 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Facet counts apply every selected filter except the facet's own, so they show what selecting another value would add.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductFilterResultDto {
+    private Integer total;
+    private List<Integer> productIds;
+    private List<FacetCountDto> categories;
+    private List<FacetCountDto> priceBands;
+    private Integer inStock;
+}
@@ -0,0 +1,14 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A rejected import row; line is where the row starts in the uploaded file.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImportErrorDto {
+    private Long line;
+    private String error;
+}
@@ -0,0 +1,15 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductImportProgressDto {
+    private Long rowsRead;
+    private Long imported;
+    private Long rejected;
+    private Boolean done;
+}
@@ -0,0 +1,19 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// The product columns the in-memory indexes are built from, read without loading entities.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductIndexRow {
+    private Integer id;
+    private String name;
+    private String details;
+    private Double price;
+    private String thumbnail;
+    private Integer categoryId;
+    private Integer quantity;
+}
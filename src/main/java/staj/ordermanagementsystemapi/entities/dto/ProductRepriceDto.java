@@ -0,0 +1,19 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import java.math.RoundingMode;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Exactly one of percent and amount is set. New prices are rounded to a multiple of increment (default 0.01).
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductRepriceDto {
+    private Integer categoryId;
+    private Double percent;
+    private Double amount;
+    private Double increment;
+    private RoundingMode rounding;
+}
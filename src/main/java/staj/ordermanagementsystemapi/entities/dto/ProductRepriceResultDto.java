@@ -0,0 +1,16 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductRepriceResultDto {
+    private Integer categoryId;
+    private Integer updated;
+    private List<Integer> productIds;
+}
@@ -0,0 +1,16 @@
+package staj.ordermanagementsystemapi.entities.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductSearchHitDto {
+    private Integer id;
+    private String name;
+    private Double price;
+    private String thumbnail;
+    private Double score;
+}
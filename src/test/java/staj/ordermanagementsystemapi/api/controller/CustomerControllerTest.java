@@ -35,8 +35,8 @@ public class CustomerControllerTest {
     void getAllCustomers_ReturnsAllCustomersSuccessfully() {
         // Arrange
         List<CustomerDto> expectedCustomers = new ArrayList<>();
-        expectedCustomers.add(new CustomerDto(1, "murat onen", "murat@murat.com", "12345", "murat's location", "21-06-2002", "password123", 100.0, new Date()));
-        expectedCustomers.add(new CustomerDto(2, "huseyin onen", "huseyin@huseyin.com", "67891", "huseyin's location", "18-04-1996", "password456", 50.0, new Date()));
+        expectedCustomers.add(new CustomerDto(1, "murat onen", "murat@murat.com", "12345", "murat's location", "21-06-2002", "password123", 100.0, new Date(), null));
+        expectedCustomers.add(new CustomerDto(2, "huseyin onen", "huseyin@huseyin.com", "67891", "huseyin's location", "18-04-1996", "password456", 50.0, new Date(), null));
         when(customerService.getAllCustomers()).thenReturn(expectedCustomers);
 
         // Act
@@ -52,7 +52,7 @@ public class CustomerControllerTest {
     void getCustomerById_ValidCustomerId_ReturnsCustomerSuccessfully() {
         // Arrange
         int customerId = 1;
-        CustomerDto expectedCustomer = new CustomerDto(1, "murat onen", "murat@murat.com", "12345", "murat's location", "21-06-2002", "password123", 100.0, new Date());
+        CustomerDto expectedCustomer = new CustomerDto(1, "murat onen", "murat@murat.com", "12345", "murat's location", "21-06-2002", "password123", 100.0, new Date(), null);
         when(customerService.getCustomerById(customerId)).thenReturn(expectedCustomer);
 
         // Act
@@ -82,8 +82,8 @@ public class CustomerControllerTest {
     @Test
     void addCustomer_ValidCustomer_ReturnsCreatedCustomer() {
         // Arrange
-        CustomerDto newCustomer = new CustomerDto(null, "murat onen", "murat@murat.com", "12345", "murat's location", "21-06-2002", "password123", 100.0, null);
-        CustomerDto expectedSavedCustomer = new CustomerDto(1, "murat onen", "murat@murat.com", "12345", "murat's location", "21-06-2002", "password123", 100.0, new Date());
+        CustomerDto newCustomer = new CustomerDto(null, "murat onen", "murat@murat.com", "12345", "murat's location", "21-06-2002", "password123", 100.0, null, null);
+        CustomerDto expectedSavedCustomer = new CustomerDto(1, "murat onen", "murat@murat.com", "12345", "murat's location", "21-06-2002", "password123", 100.0, new Date(), null);
         when(customerService.saveCustomer(newCustomer)).thenReturn(expectedSavedCustomer);
 
         // Act
@@ -99,7 +99,7 @@ public class CustomerControllerTest {
     @Test
     void addCustomer_DuplicateCustomerEmail_ReturnsBadRequest() {
         // Arrange
-        CustomerDto newCustomer = new CustomerDto(1, "murat onen", "murat@murat.com", "12345", "murat's location", "21-06-2002", "password123", 100.0, new Date());
+        CustomerDto newCustomer = new CustomerDto(1, "murat onen", "murat@murat.com", "12345", "murat's location", "21-06-2002", "password123", 100.0, new Date(), null);
         when(customerService.saveCustomer(newCustomer)).thenThrow(new IllegalArgumentException("Customer email must be unique."));
 
         // Act
@@ -113,15 +113,15 @@ public class CustomerControllerTest {
     void updateCustomer_ValidCustomer_ReturnsUpdatedCustomer() {
         // Arrange
         int customerId = 1;
-        CustomerDto updatedCustomer = new CustomerDto(1, "murat onen", "murat@murat.com", "12345", "murat's location", "21-06-2002", "password123", 100.0, new Date());
+        CustomerDto updatedCustomer = new CustomerDto(1, "murat onen", "murat@murat.com", "12345", "murat's location", "21-06-2002", "password123", 100.0, new Date(), null);
         when(customerService.updateCustomer(customerId, updatedCustomer.getName(), updatedCustomer.getLocation(),
                 updatedCustomer.getPhone(), updatedCustomer.getMail(), updatedCustomer.getBirthDate(),
-                updatedCustomer.getPassword(), updatedCustomer.getWalletBalance())).thenReturn(updatedCustomer);
+                updatedCustomer.getPassword(), 0L)).thenReturn(updatedCustomer);
 
         // Act
         ResponseEntity<CustomerDto> responseEntity = customerController.updateCustomer(customerId, updatedCustomer.getName(),
                 updatedCustomer.getLocation(), updatedCustomer.getPhone(), updatedCustomer.getMail(),
-                updatedCustomer.getBirthDate(), updatedCustomer.getPassword(), updatedCustomer.getWalletBalance());
+                updatedCustomer.getBirthDate(), updatedCustomer.getPassword(), 0L);
 
         // Assert
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
@@ -135,16 +135,46 @@ public class CustomerControllerTest {
     void updateCustomer_CustomerNotFound_ReturnsNotFound() {
         // Arrange
         int customerId = 1;
-        CustomerDto updatedCustomer = new CustomerDto(1, "murat onen", "murat@murat.com", "12345", "murat's location", "21-06-2002", "password123", 100.0, new Date());
+        CustomerDto updatedCustomer = new CustomerDto(1, "murat onen", "murat@murat.com", "12345", "murat's location", "21-06-2002", "password123", 100.0, new Date(), null);
         when(customerService.updateCustomer(customerId, updatedCustomer.getName(), updatedCustomer.getLocation(),
                 updatedCustomer.getPhone(), updatedCustomer.getMail(), updatedCustomer.getBirthDate(),
-                updatedCustomer.getPassword(), updatedCustomer.getWalletBalance()))
+                updatedCustomer.getPassword(), 0L))
                 .thenThrow(new ResourceNotFoundException("Customer", "id", customerId));
 
         // Act
         ResponseEntity<CustomerDto> responseEntity = customerController.updateCustomer(customerId, updatedCustomer.getName(),
                 updatedCustomer.getLocation(), updatedCustomer.getPhone(), updatedCustomer.getMail(),
-                updatedCustomer.getBirthDate(), updatedCustomer.getPassword(), updatedCustomer.getWalletBalance());
+                updatedCustomer.getBirthDate(), updatedCustomer.getPassword(), 0L);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
+        assertNull(responseEntity.getBody());
+    }
+
+    @Test
+    void topUpWallet_ValidCustomer_ReturnsCustomerWithNewBalance() {
+        // Arrange
+        int customerId = 1;
+        CustomerDto customer = new CustomerDto(1, "murat onen", "murat's location", "12345", "murat@murat.com", "21-06-2002", "password123", 150.0, new Date(), null);
+        when(customerService.topUpWallet(customerId, 50.0)).thenReturn(customer);
+
+        // Act
+        ResponseEntity<CustomerDto> responseEntity = customerController.topUpWallet(customerId, 50.0);
+
+        // Assert
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertNotNull(responseEntity.getBody());
+        assertEquals(150.0, responseEntity.getBody().getWalletBalance());
+    }
+
+    @Test
+    void topUpWallet_CustomerNotFound_ReturnsNotFound() {
+        // Arrange
+        int customerId = 1;
+        when(customerService.topUpWallet(customerId, 50.0)).thenThrow(new ResourceNotFoundException("Customer", "id", customerId));
+
+        // Act
+        ResponseEntity<CustomerDto> responseEntity = customerController.topUpWallet(customerId, 50.0);
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
@@ -3,58 +3,148 @@ package staj.ordermanagementsystemapi.api.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import staj.ordermanagementsystemapi.business.abstracts.IdempotencyService;
+import staj.ordermanagementsystemapi.business.abstracts.OrderExportService;
+import staj.ordermanagementsystemapi.business.abstracts.OrderPipelineService;
 import staj.ordermanagementsystemapi.business.abstracts.OrderService;
+import staj.ordermanagementsystemapi.business.abstracts.OutboxService;
 import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.core.exception.TooManyRequestsException;
+import staj.ordermanagementsystemapi.entities.dto.CheckoutDto;
+import staj.ordermanagementsystemapi.entities.dto.CheckoutResultDto;
+import staj.ordermanagementsystemapi.entities.dto.CursorPageDto;
 import staj.ordermanagementsystemapi.entities.dto.CustomerDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderBatchResultDto;
 import staj.ordermanagementsystemapi.entities.dto.OrderDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderLineDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderSearchFilter;
+import staj.ordermanagementsystemapi.entities.dto.OrderStatusUpdateDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderStatusUpdateResultDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderTrackingDto;
+import staj.ordermanagementsystemapi.entities.dto.OutboxEventDto;
 import staj.ordermanagementsystemapi.entities.dto.ProductDto;
 
 public class OrderControllerTest {
 
     private OrderController orderController;
     private OrderService orderService;
+    private OrderPipelineService orderPipelineService;
+    private IdempotencyService idempotencyService;
+    private OrderExportService orderExportService;
+    private OutboxService outboxService;
 
     @BeforeEach
     public void setUp() {
         orderService = mock(OrderService.class);
-        orderController = new OrderController(orderService);
+        orderPipelineService = mock(OrderPipelineService.class);
+        idempotencyService = mock(IdempotencyService.class);
+        orderExportService = mock(OrderExportService.class);
+        outboxService = mock(OutboxService.class);
+        orderController = new OrderController(orderService, orderPipelineService, idempotencyService, orderExportService,
+                outboxService);
+    }
+
+    @Test
+    void addOrderAsync_QueuedOrder_ReturnsAcceptedWithTrackingId() {
+        // Arrange
+        OrderDto orderDto = new OrderDto(null, new CustomerDto(), new ProductDto(), 1, new Date(), null, null, null);
+        OrderTrackingDto tracking = new OrderTrackingDto("abc", OrderTrackingDto.QUEUED, null, null);
+        when(orderPipelineService.submit(orderDto)).thenReturn(tracking);
+
+        // Act
+        ResponseEntity<OrderTrackingDto> responseEntity = orderController.addOrderAsync(orderDto);
+
+        // Assert
+        assertEquals(HttpStatus.ACCEPTED, responseEntity.getStatusCode());
+        assertEquals("abc", responseEntity.getBody().getTrackingId());
+    }
+
+    @Test
+    void addOrderAsync_QueueFull_ReturnsTooManyRequests() {
+        // Arrange
+        OrderDto orderDto = new OrderDto();
+        when(orderPipelineService.submit(orderDto)).thenThrow(new TooManyRequestsException("full"));
+
+        // Act
+        ResponseEntity<OrderTrackingDto> responseEntity = orderController.addOrderAsync(orderDto);
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, responseEntity.getStatusCode());
+        assertNull(responseEntity.getBody());
+    }
+
+    @Test
+    void getOrderStatus_UnknownTrackingId_ReturnsNotFound() {
+        // Arrange
+        when(orderPipelineService.getStatus("missing"))
+                .thenThrow(new ResourceNotFoundException("Order tracking", "id", "missing"));
+
+        // Act
+        ResponseEntity<OrderTrackingDto> responseEntity = orderController.getOrderStatus("missing");
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
     }
 
     @Test
     void getAllOrders_ReturnsAllOrdersSuccessfully() {
         // Arrange
         List<OrderDto> expectedOrders = new ArrayList<>();
-        expectedOrders.add(new OrderDto(1, new CustomerDto(), new ProductDto(), 5, new Date(), null, "pending"));
-        expectedOrders.add(new OrderDto(2, new CustomerDto(), new ProductDto(), 3, new Date(), null, "delivered"));
-        when(orderService.getAllOrders()).thenReturn(expectedOrders);
+        expectedOrders.add(new OrderDto(1, new CustomerDto(), new ProductDto(), 5, new Date(), null, "pending", null));
+        expectedOrders.add(new OrderDto(2, new CustomerDto(), new ProductDto(), 3, new Date(), null, "delivered", null));
+        when(orderService.getAllOrders(null, 50)).thenReturn(new CursorPageDto<>(expectedOrders, "next"));
 
         // Act
-        ResponseEntity<List<OrderDto>> responseEntity = orderController.getAllOrders();
+        ResponseEntity<CursorPageDto<OrderDto>> responseEntity = orderController.getAllOrders(null, 50);
 
         // Assert
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertNotNull(responseEntity.getBody());
-        assertEquals(expectedOrders.size(), responseEntity.getBody().size());
+        assertEquals(expectedOrders.size(), responseEntity.getBody().getItems().size());
+        assertEquals("next", responseEntity.getBody().getNextCursor());
+    }
+
+    @Test
+    void getAllOrders_InvalidCursor_ReturnsBadRequest() {
+        // Arrange
+        when(orderService.getAllOrders("bad", 50)).thenThrow(new IllegalArgumentException("Invalid page cursor: bad"));
+
+        // Act
+        ResponseEntity<CursorPageDto<OrderDto>> responseEntity = orderController.getAllOrders("bad", 50);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
     }
 
     @Test
     void getOrderById_ValidOrderId_ReturnsOrderSuccessfully() {
         // Arrange
         int orderId = 1;
-        OrderDto expectedOrder = new OrderDto(1, new CustomerDto(), new ProductDto(), 5, new Date(), null, "pending");
+        OrderDto expectedOrder = new OrderDto(1, new CustomerDto(), new ProductDto(), 5, new Date(), null, "pending", null);
         when(orderService.getOrderById(orderId)).thenReturn(expectedOrder);
 
         // Act
@@ -85,29 +175,94 @@ public class OrderControllerTest {
     void getOrdersOfCustomer_ReturnsOrdersSuccessfully() {
         // Arrange
         List<OrderDto> expectedOrders = new ArrayList<>();
-        CustomerDto customer = new CustomerDto(1, "name", "loc", "phone", "mail", "birth", "pass", 500.00, new Date());
-        expectedOrders.add(new OrderDto(1, customer, new ProductDto(), 5, new Date(), null, "pending"));
-        expectedOrders.add(new OrderDto(2, customer, new ProductDto(), 3, new Date(), new Date(), "delivered"));
-        when(orderService.getOrdersOfCustomer(1)).thenReturn(expectedOrders);
+        CustomerDto customer = new CustomerDto(1, "name", "loc", "phone", "mail", "birth", "pass", 500.00, new Date(), null);
+        expectedOrders.add(new OrderDto(1, customer, new ProductDto(), 5, new Date(), null, "pending", null));
+        expectedOrders.add(new OrderDto(2, customer, new ProductDto(), 3, new Date(), new Date(), "delivered", null));
+        when(orderService.getOrdersOfCustomer(1, null, 50)).thenReturn(new CursorPageDto<>(expectedOrders, null));
 
         // Act
-        ResponseEntity<List<OrderDto>> responseEntity = orderController.getOrderOfCustomer(1);
+        ResponseEntity<CursorPageDto<OrderDto>> responseEntity = orderController.getOrderOfCustomer(1, null, 50);
 
         // Assert
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertNotNull(responseEntity.getBody());
-        assertEquals(expectedOrders.size(), responseEntity.getBody().size());
+        assertEquals(expectedOrders.size(), responseEntity.getBody().getItems().size());
+    }
+
+    @Test
+    void searchOrders_ReturnsMatchingPage() {
+        // Arrange
+        CursorPageDto<OrderDto> page = new CursorPageDto<>(List.of(new OrderDto()), null);
+        OrderSearchFilter filter = new OrderSearchFilter("Pending", null, null, 1, null);
+        when(orderService.searchOrders(filter, null, 50)).thenReturn(page);
+
+        // Act
+        ResponseEntity<CursorPageDto<OrderDto>> responseEntity =
+                orderController.searchOrders("Pending", null, null, 1, null, null, 50);
+
+        // Assert
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(1, responseEntity.getBody().getItems().size());
+    }
+
+    @Test
+    void searchOrders_InvalidCursor_ReturnsBadRequest() {
+        // Arrange
+        when(orderService.searchOrders(any(), eq("bad"), eq(50))).thenThrow(new IllegalArgumentException("bad cursor"));
+
+        // Act
+        ResponseEntity<CursorPageDto<OrderDto>> responseEntity =
+                orderController.searchOrders(null, null, null, null, null, "bad", 50);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+    }
+
+    @Test
+    void exportOrders_Gzip_StreamsCompressedNdjson() throws Exception {
+        // Arrange
+        when(orderExportService.exportOrders(any(), any(), eq("SHIPPED"), any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(3);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        // Act
+        ResponseEntity<StreamingResponseBody> responseEntity = orderController.exportOrders(null, null, "SHIPPED", true);
+        responseEntity.getBody().writeTo(body);
+
+        // Assert
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals("gzip", responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body.toByteArray()))) {
+            assertEquals("{\"id\":1}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void exportOrders_InvalidRange_ReturnsBadRequest() {
+        // Arrange
+        Date from = new Date(2_000);
+        Date to = new Date(1_000);
+
+        // Act
+        ResponseEntity<StreamingResponseBody> responseEntity = orderController.exportOrders(from, to, null, false);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+        assertNull(responseEntity.getBody());
     }
 
     @Test
     void addOrder_ValidOrder_ReturnsCreatedOrder() {
         // Arrange
-        OrderDto newOrder = new OrderDto(null, new CustomerDto(), new ProductDto(), 5, new Date(), null, "pending");
-        OrderDto expectedSavedOrder = new OrderDto(1, new CustomerDto(), new ProductDto(), 5, new Date(), null, "pending");
+        OrderDto newOrder = new OrderDto(null, new CustomerDto(), new ProductDto(), 5, new Date(), null, "pending", null);
+        OrderDto expectedSavedOrder = new OrderDto(1, new CustomerDto(), new ProductDto(), 5, new Date(), null, "pending", null);
         when(orderService.saveOrder(newOrder)).thenReturn(expectedSavedOrder);
 
         // Act
-        ResponseEntity<OrderDto> responseEntity = orderController.addOrder(newOrder);
+        ResponseEntity<OrderDto> responseEntity = orderController.addOrder(newOrder, null);
 
         // Assert
         assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
@@ -116,18 +271,141 @@ public class OrderControllerTest {
         assertEquals(expectedSavedOrder.getStatus(), responseEntity.getBody().getStatus());
     }
 
+    @Test
+    void addOrder_WithIdempotencyKey_DelegatesToIdempotencyService() {
+        // Arrange
+        OrderDto newOrder = new OrderDto(null, new CustomerDto(), new ProductDto(), 5, new Date(), null, "pending", null);
+        OrderDto storedOrder = new OrderDto(1, new CustomerDto(), new ProductDto(), 5, new Date(), null, "pending", null);
+        when(idempotencyService.execute(eq("order:add"), eq("key-1"), eq(newOrder), eq(OrderDto.class), any()))
+                .thenReturn(storedOrder);
+
+        // Act
+        ResponseEntity<OrderDto> responseEntity = orderController.addOrder(newOrder, "key-1");
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
+        assertEquals(storedOrder.getId(), responseEntity.getBody().getId());
+        verify(orderService, never()).saveOrder(any(OrderDto.class));
+    }
+
+    @Test
+    void checkout_ValidCart_ReturnsCreatedWithLines() {
+        // Arrange
+        CheckoutDto checkoutDto = new CheckoutDto(1, null, List.of(new OrderLineDto(1, 2, null), new OrderLineDto(2, 1, null)));
+        CheckoutResultDto result = new CheckoutResultDto(new OrderDto(5, new CustomerDto(), new ProductDto(), 2, new Date(), null, "Created", null),
+                List.of(new OrderLineDto(1, 2, 10.0), new OrderLineDto(2, 1, 4.0)), 24.0);
+        when(orderService.checkout(checkoutDto)).thenReturn(result);
+
+        // Act
+        ResponseEntity<CheckoutResultDto> responseEntity = orderController.checkout(checkoutDto, null);
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
+        assertEquals(2, responseEntity.getBody().getLines().size());
+        assertEquals(24.0, responseEntity.getBody().getTotalPrice());
+    }
+
+    @Test
+    void checkout_UnknownProduct_ReturnsNotFound() {
+        // Arrange
+        CheckoutDto checkoutDto = new CheckoutDto(1, null, List.of(new OrderLineDto(9, 1, null)));
+        when(orderService.checkout(checkoutDto)).thenThrow(new ResourceNotFoundException("product", "id", 9));
+
+        // Act
+        ResponseEntity<CheckoutResultDto> responseEntity = orderController.checkout(checkoutDto, null);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
+    }
+
+    @Test
+    void updateOrderStatuses_ValidRequest_ReturnsAffectedCount() {
+        // Arrange
+        OrderStatusUpdateDto statusUpdateDto = new OrderStatusUpdateDto(List.of(1, 2, 3), "Shipped", null);
+        when(orderService.updateOrderStatuses(statusUpdateDto)).thenReturn(new OrderStatusUpdateResultDto(3, 2));
+
+        // Act
+        ResponseEntity<OrderStatusUpdateResultDto> responseEntity = orderController.updateOrderStatuses(statusUpdateDto);
+
+        // Assert
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(2, responseEntity.getBody().getUpdated());
+    }
+
+    @Test
+    void updateOrderStatuses_UnknownStatus_ReturnsBadRequest() {
+        // Arrange
+        OrderStatusUpdateDto statusUpdateDto = new OrderStatusUpdateDto(List.of(1), "Lost", null);
+        when(orderService.updateOrderStatuses(statusUpdateDto)).thenThrow(new IllegalArgumentException("Lost"));
+
+        // Act
+        ResponseEntity<OrderStatusUpdateResultDto> responseEntity = orderController.updateOrderStatuses(statusUpdateDto);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+    }
+
+    @Test
+    void getOrderEvents_AfterCursor_ReturnsNextEvents() {
+        // Arrange
+        CursorPageDto<OutboxEventDto> events = new CursorPageDto<>(
+                List.of(new OutboxEventDto(11L, 7L, "OrderCreated", 3, new Date(), "{\"orderId\":3}")), null);
+        when(outboxService.getEvents(10L, 50)).thenReturn(events);
+
+        // Act
+        ResponseEntity<CursorPageDto<OutboxEventDto>> responseEntity = orderController.getOrderEvents(10L, 50);
+
+        // Assert
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(11L, responseEntity.getBody().getItems().get(0).getId());
+    }
+
+    @Test
+    void addOrders_ValidBatch_ReturnsResultPerItem() {
+        // Arrange
+        List<OrderDto> newOrders = List.of(
+                new OrderDto(null, new CustomerDto(), new ProductDto(), 5, null, null, null, null),
+                new OrderDto(null, new CustomerDto(), new ProductDto(), 1, null, null, null, null));
+        List<OrderBatchResultDto> expectedResults = List.of(
+                new OrderBatchResultDto(0, true, new OrderDto(1, new CustomerDto(), new ProductDto(), 5, new Date(), null, "Created", null), null),
+                new OrderBatchResultDto(1, false, null, "Insufficient wallet balance"));
+        when(orderService.saveOrders(newOrders)).thenReturn(expectedResults);
+
+        // Act
+        ResponseEntity<List<OrderBatchResultDto>> responseEntity = orderController.addOrders(newOrders);
+
+        // Assert
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertNotNull(responseEntity.getBody());
+        assertEquals(2, responseEntity.getBody().size());
+        assertEquals(1, responseEntity.getBody().get(0).getOrder().getId());
+    }
+
+    @Test
+    void addOrders_TooManyOrders_ReturnsBadRequest() {
+        // Arrange
+        List<OrderDto> newOrders = new ArrayList<>();
+        when(orderService.saveOrders(newOrders)).thenThrow(new IllegalArgumentException("too many"));
+
+        // Act
+        ResponseEntity<List<OrderBatchResultDto>> responseEntity = orderController.addOrders(newOrders);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+    }
+
     @Test
     void updateOrder_ValidOrder_ReturnsUpdatedOrder() {
         // Arrange
         int orderId = 1;
         Date updatedDeliveryDate = new Date();
         String updatedStatus = "delivered";
-        OrderDto updatedOrder = new OrderDto(orderId, new CustomerDto(), new ProductDto(), 5, new Date(), updatedDeliveryDate, updatedStatus);
-        when(orderService.updateOrder(orderId, updatedDeliveryDate, updatedStatus))
+        OrderDto updatedOrder = new OrderDto(orderId, new CustomerDto(), new ProductDto(), 5, new Date(), updatedDeliveryDate, updatedStatus, null);
+        when(orderService.updateOrder(orderId, updatedDeliveryDate, updatedStatus, 0L))
                 .thenReturn(updatedOrder);
 
         // Act
-        ResponseEntity<OrderDto> responseEntity = orderController.updateOrder(orderId, updatedDeliveryDate, updatedStatus);
+        ResponseEntity<OrderDto> responseEntity = orderController.updateOrder(orderId, updatedDeliveryDate, updatedStatus, 0L);
 
         // Assert
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
@@ -142,11 +420,11 @@ public class OrderControllerTest {
         int orderId = 1;
         Date updatedDeliveryDate = new Date();
         String updatedStatus = "delivered";
-        when(orderService.updateOrder(orderId, updatedDeliveryDate, updatedStatus))
+        when(orderService.updateOrder(orderId, updatedDeliveryDate, updatedStatus, 0L))
                 .thenThrow(new ResourceNotFoundException("Order", "id", orderId));
 
         // Act
-        ResponseEntity<OrderDto> responseEntity = orderController.updateOrder(orderId, updatedDeliveryDate, updatedStatus);
+        ResponseEntity<OrderDto> responseEntity = orderController.updateOrder(orderId, updatedDeliveryDate, updatedStatus, 0L);
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
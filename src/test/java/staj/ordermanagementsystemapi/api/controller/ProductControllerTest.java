@@ -1,59 +1,213 @@
 package staj.ordermanagementsystemapi.api.controller;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.util.ArrayList;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Date;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import staj.ordermanagementsystemapi.business.abstracts.CatalogService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductFacetService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductImportService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductSearchService;
 import staj.ordermanagementsystemapi.business.abstracts.ProductService;
 import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.entities.dto.CatalogSnapshot;
 import staj.ordermanagementsystemapi.entities.dto.CategoryDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductDetailDto;
 import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductRepriceDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductRepriceResultDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductSearchHitDto;
 
 public class ProductControllerTest {
 
     private ProductController productController;
     private ProductService productService;
+    private CatalogService catalogService;
+    private ProductSearchService productSearchService;
+    private ProductFacetService productFacetService;
+    private ProductImportService productImportService;
+    private CatalogSnapshot snapshot;
 
     @BeforeEach
     public void setUp() {
         productService = mock(ProductService.class);
-        productController = new ProductController(productService);
+        catalogService = mock(CatalogService.class);
+        productSearchService = mock(ProductSearchService.class);
+        productFacetService = mock(ProductFacetService.class);
+        productImportService = mock(ProductImportService.class);
+        productController = new ProductController(productService, catalogService, productSearchService, productFacetService,
+                productImportService);
+        snapshot = new CatalogSnapshot(1, "\"abc\"", "[]".getBytes(), new byte[]{31, -117});
+        when(catalogService.getSnapshot()).thenReturn(snapshot);
+    }
+
+    @Test
+    void getAllProducts_ReturnsCatalogSnapshotWithEtag() {
+        // Act
+        ResponseEntity<byte[]> responseEntity = productController.getAllProducts(null, null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertArrayEquals(snapshot.getJson(), responseEntity.getBody());
+        assertEquals("\"abc\"", responseEntity.getHeaders().getETag());
+        assertNull(responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void getAllProducts_MatchingIfNoneMatchReturnsNotModified() {
+        // Act
+        ResponseEntity<byte[]> responseEntity = productController.getAllProducts("\"old\", W/\"abc\"", null);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_MODIFIED, responseEntity.getStatusCode());
+        assertNull(responseEntity.getBody());
+        assertEquals("\"abc\"", responseEntity.getHeaders().getETag());
     }
 
     @Test
-    void getAllProducts_ReturnsAllProductsSuccessfully() {
+    void getAllProducts_GzipAcceptedReturnsCompressedBytes() {
+        // Act
+        ResponseEntity<byte[]> responseEntity = productController.getAllProducts("\"old\"", "deflate, gzip;q=0.8");
+
+        // Assert
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertArrayEquals(snapshot.getGzip(), responseEntity.getBody());
+        assertEquals("gzip", responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"abc-gzip\"", responseEntity.getHeaders().getETag());
+    }
+
+    @Test
+    void getAllProducts_GzipWithZeroQualityReturnsPlainJson() {
+        // Act & Assert
+        for (String acceptEncoding : List.of("gzip;q=0", "gzip; q=0.000", "gzip;q=0.0, *;q=1", "*;q=0", "gzip;q=x")) {
+            ResponseEntity<byte[]> responseEntity = productController.getAllProducts(null, acceptEncoding);
+            assertArrayEquals(snapshot.getJson(), responseEntity.getBody(), acceptEncoding);
+            assertEquals(null, responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), acceptEncoding);
+        }
+        assertArrayEquals(snapshot.getGzip(), productController.getAllProducts(null, "br, *;q=0.1").getBody());
+    }
+
+    @Test
+    void searchProducts_ReturnsRankedHits() {
         // Arrange
-        List<ProductDto> expectedProducts = new ArrayList<>();
-        expectedProducts.add(new ProductDto(1, "Product 1", 100.0, "thumbnail1", "detail1", new CategoryDto(), 100, new Date()));
-        expectedProducts.add(new ProductDto(2, "Product 2", 200.0, "thumbnail2", "detail2", new CategoryDto(), 200, new Date()));
-        when(productService.getAllProducts()).thenReturn(expectedProducts);
+        List<ProductSearchHitDto> hits = List.of(new ProductSearchHitDto(1, "Blue Mug", 5.0, "mug.jpg", 1.7));
+        when(productSearchService.search("mug", 20)).thenReturn(hits);
 
         // Act
-        ResponseEntity<List<ProductDto>> responseEntity = productController.getAllProducts();
+        ResponseEntity<List<ProductSearchHitDto>> responseEntity = productController.searchProducts("mug", 20);
 
         // Assert
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
-        assertNotNull(responseEntity.getBody());
-        assertEquals(expectedProducts.size(), responseEntity.getBody().size());
+        assertEquals(hits, responseEntity.getBody());
+    }
+
+    @Test
+    void suggestProductTerms_InvalidLimitReturnsBadRequest() {
+        // Arrange
+        when(productSearchService.suggest("mu", 0)).thenThrow(IllegalArgumentException.class);
+
+        // Act
+        ResponseEntity<List<String>> responseEntity = productController.suggestProductTerms("mu", 0);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+    }
+
+    @Test
+    void importProducts_CsvBodyStreamsToImportService() throws Exception {
+        // Arrange
+        InputStream body = new ByteArrayInputStream("name,price,category,quantity\n".getBytes());
+        OutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        ResponseEntity<StreamingResponseBody> responseEntity = productController.importProducts("text/csv; charset=UTF-8", body);
+        responseEntity.getBody().writeTo(out);
+
+        // Assert
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals("application/x-ndjson", responseEntity.getHeaders().getContentType().toString());
+        verify(productImportService).importProducts(eq(body), eq(ProductImportService.Format.CSV), any());
+    }
+
+    @Test
+    void importProducts_UnsupportedContentTypeReturnsUnsupportedMediaType() {
+        // Act
+        ResponseEntity<StreamingResponseBody> responseEntity = productController.importProducts("application/xml",
+                new ByteArrayInputStream(new byte[0]));
+
+        // Assert
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, responseEntity.getStatusCode());
+    }
+
+    @Test
+    void repriceCategory_UnknownCategoryReturnsNotFound() {
+        // Arrange
+        ProductRepriceDto repriceDto = new ProductRepriceDto(9, 5.0, null, null, null);
+        when(productService.repriceCategory(repriceDto)).thenThrow(new ResourceNotFoundException("Category", "id", 9));
+
+        // Act
+        ResponseEntity<ProductRepriceResultDto> responseEntity = productController.repriceCategory(repriceDto);
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
+    }
+
+    @Test
+    void patchProduct_InvalidPatchReturnsBadRequest() throws Exception {
+        // Arrange
+        JsonNode patch = new ObjectMapper().readTree("{\"price\": \"free\"}");
+        when(productService.patchProduct(1, patch)).thenThrow(new IllegalArgumentException("Price must be a non-negative number."));
+
+        // Act
+        ResponseEntity<ProductDto> responseEntity = productController.patchProduct(1, patch);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
+    }
+
+    @Test
+    void getProductDetail_ReturnsAggregate() {
+        // Arrange
+        ProductDetailDto detail = new ProductDetailDto(new ProductDto(), 4.5, 2L, List.of());
+        when(productService.getProductDetail(1, 5)).thenReturn(detail);
+
+        // Act
+        ResponseEntity<ProductDetailDto> responseEntity = productController.getProductDetail(1, 5);
+
+        // Assert
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(detail, responseEntity.getBody());
     }
 
     @Test
     void getProductById_ValidProductId_ReturnsProductSuccessfully() {
         // Arrange
         int productId = 1;
-        ProductDto expectedProduct = new ProductDto(productId, "Test Product", 100.0, "testthumbnail", "testdetail", new CategoryDto(), 50, new Date());
+        ProductDto expectedProduct = new ProductDto(productId, "Test Product", 100.0, "testthumbnail", "testdetail", new CategoryDto(), 50, new Date(), null);
         when(productService.getProductById(productId)).thenReturn(expectedProduct);
 
         // Act
@@ -83,8 +237,8 @@ public class ProductControllerTest {
     @Test
     void addProduct_ValidProduct_ReturnsCreatedProduct() {
         // Arrange
-        ProductDto newProduct = new ProductDto(null, "New Product", 500.0, "newthumbnail", "newdetail", new CategoryDto(), 10, new Date());
-        ProductDto expectedSavedProduct = new ProductDto(1, "New Product", 500.0, "newthumbnail", "newdetail", new CategoryDto(), 10, new Date());
+        ProductDto newProduct = new ProductDto(null, "New Product", 500.0, "newthumbnail", "newdetail", new CategoryDto(), 10, new Date(), null);
+        ProductDto expectedSavedProduct = new ProductDto(1, "New Product", 500.0, "newthumbnail", "newdetail", new CategoryDto(), 10, new Date(), null);
         when(productService.saveProduct(newProduct)).thenReturn(expectedSavedProduct);
 
         // Act
@@ -100,7 +254,7 @@ public class ProductControllerTest {
     @Test
     void addProduct_DuplicateProductName_ReturnsBadRequest() {
         // Arrange
-        ProductDto newProduct = new ProductDto(null, "Duplicate Product", 500.0, "newthumbnail", "newdetail", new CategoryDto(), 10, new Date());
+        ProductDto newProduct = new ProductDto(null, "Duplicate Product", 500.0, "newthumbnail", "newdetail", new CategoryDto(), 10, new Date(), null);
         when(productService.saveProduct(newProduct)).thenThrow(new IllegalArgumentException("Product name must be unique."));
 
         // Act
@@ -114,12 +268,12 @@ public class ProductControllerTest {
     void updateProduct_ValidProduct_ReturnsUpdatedProduct() {
         // Arrange
         int productId = 1;
-        ProductDto updatedProduct = new ProductDto(productId, "Updated Product", 800.0, "updatedthumbnail", "updateddetail", new CategoryDto(), 20, new Date());
-        when(productService.updateProduct(productId, updatedProduct.getName(), updatedProduct.getPrice(), updatedProduct.getThumbnail(), updatedProduct.getDetails(), updatedProduct.getCategory().getId(), updatedProduct.getQuantity(), updatedProduct.getTimestamp()))
+        ProductDto updatedProduct = new ProductDto(productId, "Updated Product", 800.0, "updatedthumbnail", "updateddetail", new CategoryDto(), 20, new Date(), null);
+        when(productService.updateProduct(productId, updatedProduct.getName(), updatedProduct.getPrice(), updatedProduct.getThumbnail(), updatedProduct.getDetails(), updatedProduct.getCategory().getId(), updatedProduct.getQuantity(), updatedProduct.getTimestamp(), 0L))
                 .thenReturn(updatedProduct);
 
         // Act
-        ResponseEntity<ProductDto> responseEntity = productController.updateProduct(productId, updatedProduct.getName(), updatedProduct.getPrice(), updatedProduct.getThumbnail(), updatedProduct.getDetails(), updatedProduct.getCategory().getId(), updatedProduct.getQuantity(), updatedProduct.getTimestamp());
+        ResponseEntity<ProductDto> responseEntity = productController.updateProduct(productId, updatedProduct.getName(), updatedProduct.getPrice(), updatedProduct.getThumbnail(), updatedProduct.getDetails(), updatedProduct.getCategory().getId(), updatedProduct.getQuantity(), updatedProduct.getTimestamp(), 0L);
 
         // Assert
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
@@ -133,12 +287,12 @@ public class ProductControllerTest {
     void updateProduct_ProductNotFound_ReturnsNotFound() {
         // Arrange
         int productId = 1;
-        ProductDto updatedProduct = new ProductDto(productId, "Updated Product", 800.0, "updatedthumbnail", "updateddetail", new CategoryDto(), 20, new Date());
-        when(productService.updateProduct(productId, updatedProduct.getName(), updatedProduct.getPrice(), updatedProduct.getThumbnail(), updatedProduct.getDetails(), updatedProduct.getCategory().getId(), updatedProduct.getQuantity(), updatedProduct.getTimestamp()))
+        ProductDto updatedProduct = new ProductDto(productId, "Updated Product", 800.0, "updatedthumbnail", "updateddetail", new CategoryDto(), 20, new Date(), null);
+        when(productService.updateProduct(productId, updatedProduct.getName(), updatedProduct.getPrice(), updatedProduct.getThumbnail(), updatedProduct.getDetails(), updatedProduct.getCategory().getId(), updatedProduct.getQuantity(), updatedProduct.getTimestamp(), 0L))
                 .thenThrow(new ResourceNotFoundException("Product", "id", productId));
 
         // Act
-        ResponseEntity<ProductDto> responseEntity = productController.updateProduct(productId, updatedProduct.getName(), updatedProduct.getPrice(), updatedProduct.getThumbnail(), updatedProduct.getDetails(), updatedProduct.getCategory().getId(), updatedProduct.getQuantity(), updatedProduct.getTimestamp());
+        ResponseEntity<ProductDto> responseEntity = productController.updateProduct(productId, updatedProduct.getName(), updatedProduct.getPrice(), updatedProduct.getThumbnail(), updatedProduct.getDetails(), updatedProduct.getCategory().getId(), updatedProduct.getQuantity(), updatedProduct.getTimestamp(), 0L);
 
         // Assert
         assertEquals(HttpStatus.NOT_FOUND, responseEntity.getStatusCode());
@@ -149,12 +303,12 @@ public class ProductControllerTest {
     void updateProduct_DuplicateProductName_ReturnsBadRequest() {
         // Arrange
         int productId = 1;
-        ProductDto updatedProduct = new ProductDto(productId, "Updated Product", 800.0, "updatedthumbnail", "updateddetail", new CategoryDto(), 20, new Date());
-        when(productService.updateProduct(productId, updatedProduct.getName(), updatedProduct.getPrice(), updatedProduct.getThumbnail(), updatedProduct.getDetails(), updatedProduct.getCategory().getId(), updatedProduct.getQuantity(), updatedProduct.getTimestamp()))
+        ProductDto updatedProduct = new ProductDto(productId, "Updated Product", 800.0, "updatedthumbnail", "updateddetail", new CategoryDto(), 20, new Date(), null);
+        when(productService.updateProduct(productId, updatedProduct.getName(), updatedProduct.getPrice(), updatedProduct.getThumbnail(), updatedProduct.getDetails(), updatedProduct.getCategory().getId(), updatedProduct.getQuantity(), updatedProduct.getTimestamp(), 0L))
                 .thenThrow(new IllegalArgumentException("Product name must be unique."));
 
         // Act
-        ResponseEntity<ProductDto> responseEntity = productController.updateProduct(productId, updatedProduct.getName(), updatedProduct.getPrice(), updatedProduct.getThumbnail(), updatedProduct.getDetails(), updatedProduct.getCategory().getId(), updatedProduct.getQuantity(), updatedProduct.getTimestamp());
+        ResponseEntity<ProductDto> responseEntity = productController.updateProduct(productId, updatedProduct.getName(), updatedProduct.getPrice(), updatedProduct.getThumbnail(), updatedProduct.getDetails(), updatedProduct.getCategory().getId(), updatedProduct.getQuantity(), updatedProduct.getTimestamp(), 0L);
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST, responseEntity.getStatusCode());
@@ -16,8 +16,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import staj.ordermanagementsystemapi.business.abstracts.IdempotencyService;
 import staj.ordermanagementsystemapi.business.abstracts.ReviewService;
 import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.entities.dto.CursorPageDto;
 import staj.ordermanagementsystemapi.entities.dto.CustomerDto;
 import staj.ordermanagementsystemapi.entities.dto.ProductDto;
 import staj.ordermanagementsystemapi.entities.dto.ReviewDto;
@@ -26,11 +28,13 @@ public class ReviewControllerTest {
 
     private ReviewController reviewController;
     private ReviewService reviewService;
+    private IdempotencyService idempotencyService;
 
     @BeforeEach
     public void setUp() {
         reviewService = mock(ReviewService.class);
-        reviewController = new ReviewController(reviewService);
+        idempotencyService = mock(IdempotencyService.class);
+        reviewController = new ReviewController(reviewService, idempotencyService);
     }
 
     @Test
@@ -39,15 +43,15 @@ public class ReviewControllerTest {
         List<ReviewDto> expectedReviews = new ArrayList<>();
         expectedReviews.add(new ReviewDto(1, "Great product!", 5, new CustomerDto(), new ProductDto(), new Date()));
         expectedReviews.add(new ReviewDto(2, "Good quality.", 4, new CustomerDto(), new ProductDto(), new Date()));
-        when(reviewService.getAllReviews()).thenReturn(expectedReviews);
+        when(reviewService.getAllReviews(null, 50)).thenReturn(new CursorPageDto<>(expectedReviews, null));
 
         // Act
-        ResponseEntity<List<ReviewDto>> responseEntity = reviewController.getAllReviews();
+        ResponseEntity<CursorPageDto<ReviewDto>> responseEntity = reviewController.getAllReviews(null, 50);
 
         // Assert
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         assertNotNull(responseEntity.getBody());
-        assertEquals(expectedReviews.size(), responseEntity.getBody().size());
+        assertEquals(expectedReviews.size(), responseEntity.getBody().getItems().size());
     }
 
     @Test
@@ -89,7 +93,7 @@ public class ReviewControllerTest {
         when(reviewService.saveReview(newReview)).thenReturn(expectedSavedReview);
 
         // Act
-        ResponseEntity<ReviewDto> responseEntity = reviewController.addReview(newReview);
+        ResponseEntity<ReviewDto> responseEntity = reviewController.addReview(newReview, null);
 
         // Assert
         assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
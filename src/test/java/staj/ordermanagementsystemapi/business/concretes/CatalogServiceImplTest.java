@@ -0,0 +1,144 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+import staj.ordermanagementsystemapi.entities.concretes.Category;
+import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.dto.CatalogSnapshot;
+
+class CatalogServiceImplTest {
+
+    private ProductRepository productRepository;
+    private CatalogServiceImpl catalogService;
+    private List<Product> products;
+
+    @BeforeEach
+    public void setUp() {
+        productRepository = mock(ProductRepository.class);
+        catalogService = new CatalogServiceImpl(productRepository, new ModelMapper(), new ObjectMapper(), 60_000, 60_000);
+        products = new ArrayList<>();
+        products.add(new Product(1, "Product 1", 10.0, "thumbnail1", "Detail 1", new Category(), 100, new Date(0), 0L));
+        when(productRepository.findAllWithCategory()).thenAnswer(invocation -> new ArrayList<>(products));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void CatalogService_GetSnapshot_RepeatedReadsReuseEncodedBytes() throws IOException {
+        // Act
+        CatalogSnapshot first = catalogService.getSnapshot();
+        CatalogSnapshot second = catalogService.getSnapshot();
+
+        // Assert
+        assertSame(first, second);
+        verify(productRepository, times(1)).findAllWithCategory();
+        assertArrayEquals(first.getJson(), new GZIPInputStream(new ByteArrayInputStream(first.getGzip())).readAllBytes());
+    }
+
+    @Test
+    public void CatalogService_Invalidate_NextReadRebuildsWithNewEtag() {
+        // Arrange
+        CatalogSnapshot before = catalogService.getSnapshot();
+        products.add(new Product(2, "Product 2", 20.0, "thumbnail2", "Detail 2", new Category(), 50, new Date(0), 0L));
+
+        // Act
+        catalogService.invalidate();
+        CatalogSnapshot after = catalogService.getSnapshot();
+
+        // Assert
+        verify(productRepository, times(2)).findAllWithCategory();
+        assertNotEquals(before.getEtag(), after.getEtag());
+    }
+
+    @Test
+    public void CatalogService_Invalidate_UnchangedContentKeepsEtag() {
+        // Arrange
+        CatalogSnapshot before = catalogService.getSnapshot();
+
+        // Act
+        catalogService.invalidate();
+        CatalogSnapshot after = catalogService.getSnapshot();
+
+        // Assert
+        assertEquals(before.getEtag(), after.getEtag());
+    }
+
+    @Test
+    public void CatalogService_Invalidate_InsideTransactionWaitsForCommit() {
+        // Arrange
+        CatalogSnapshot before = catalogService.getSnapshot();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        catalogService.invalidate();
+        CatalogSnapshot beforeCommit = catalogService.getSnapshot();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        CatalogSnapshot afterCommit = catalogService.getSnapshot();
+
+        // Assert
+        assertSame(before, beforeCommit);
+        assertEquals(before.getGeneration() + 1, afterCommit.getGeneration());
+    }
+
+    @Test
+    public void CatalogService_GetSnapshot_WriteOfAnotherNodeChangesSignatureAndRebuilds() {
+        // Arrange
+        catalogService = new CatalogServiceImpl(productRepository, new ModelMapper(), new ObjectMapper(), 60_000, 0);
+        List<Object[]> signature = new ArrayList<>();
+        signature.add(new Object[]{1L, 1L, 0L, 1L, null});
+        when(productRepository.findCatalogSignature()).thenReturn(signature);
+        CatalogSnapshot before = catalogService.getSnapshot();
+        assertSame(before, catalogService.getSnapshot());
+
+        // Act: another node added a product without this node's generation moving
+        products.add(new Product(2, "Product 2", 20.0, "thumbnail2", "Detail 2", new Category(), 50, new Date(0), 0L));
+        signature.set(0, new Object[]{2L, 3L, 0L, 1L, null});
+        CatalogSnapshot after = catalogService.getSnapshot();
+
+        // Assert
+        verify(productRepository, times(2)).findAllWithCategory();
+        assertNotEquals(before.getEtag(), after.getEtag());
+    }
+
+    @Test
+    public void CatalogService_GetSnapshot_ExpiredSnapshotIsRebuilt() {
+        // Arrange
+        catalogService = new CatalogServiceImpl(productRepository, new ModelMapper(), new ObjectMapper(), 0, 60_000);
+
+        // Act
+        catalogService.getSnapshot();
+        catalogService.getSnapshot();
+
+        // Assert
+        verify(productRepository, times(2)).findAllWithCategory();
+    }
+}
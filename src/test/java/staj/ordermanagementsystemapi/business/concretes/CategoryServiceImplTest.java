@@ -21,7 +21,9 @@ import org.junit.jupiter.api.Test;
 import org.modelmapper.ModelMapper;
 import org.springframework.dao.DataIntegrityViolationException;
 
+import staj.ordermanagementsystemapi.business.abstracts.CatalogService;
 import staj.ordermanagementsystemapi.business.abstracts.CategoryService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductService;
 import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.CategoryRepository;
 import staj.ordermanagementsystemapi.entities.concretes.Category;
@@ -32,12 +34,14 @@ class CategoryServiceImplTest {
     private CategoryService categoryService;
     private CategoryRepository categoryRepository;
     private ModelMapper modelMapper;
+    private ProductService productService;
 
     @BeforeEach
     public void setUp() {
         categoryRepository = mock(CategoryRepository.class);
         modelMapper = new ModelMapper();
-        categoryService = new CategoryServiceImpl(categoryRepository, modelMapper);
+        productService = mock(ProductService.class);
+        categoryService = new CategoryServiceImpl(categoryRepository, modelMapper, mock(CatalogService.class), productService);
     }
 
     @Test
@@ -130,6 +134,7 @@ class CategoryServiceImplTest {
         assertNotNull(updatedCategoryDTO);
         assertEquals(categoryId, updatedCategoryDTO.getId());
         assertEquals(categoryDto.getName(), updatedCategoryDTO.getName());
+        verify(productService).evictCategory(categoryId);
     }
 
     @Test
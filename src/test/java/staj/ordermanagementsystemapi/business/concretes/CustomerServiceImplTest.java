@@ -5,7 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -19,9 +21,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.modelmapper.ModelMapper;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import staj.ordermanagementsystemapi.business.abstracts.CustomerService;
+import staj.ordermanagementsystemapi.business.abstracts.WalletService;
+import staj.ordermanagementsystemapi.core.exception.ConcurrentUpdateException;
 import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.core.utilities.concurrency.OptimisticWriteExecutor;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.CustomerRepository;
 import staj.ordermanagementsystemapi.entities.concretes.Customer;
 import staj.ordermanagementsystemapi.entities.dto.CustomerDto;
@@ -31,13 +38,16 @@ class CustomerServiceImplTest {
     private CustomerRepository customerRepository;
     private ModelMapper modelMapper;
     private BCryptPasswordEncoder passwordEncoder;
+    private WalletService walletService;
 
     @BeforeEach
     public void setUp() {
         customerRepository = mock(CustomerRepository.class);
         modelMapper = new ModelMapper();
         passwordEncoder = new BCryptPasswordEncoder();
-        customerService = new CustomerServiceImpl(customerRepository, modelMapper, passwordEncoder);
+        walletService = mock(WalletService.class);
+        customerService = new CustomerServiceImpl(customerRepository, modelMapper, passwordEncoder, walletService,
+                new OptimisticWriteExecutor(mock(PlatformTransactionManager.class), new SimpleMeterRegistry()));
     }
 
     // CustomerService Tests
@@ -45,8 +55,8 @@ class CustomerServiceImplTest {
     public void CustomerService_GetAll_ReturnsAllCustomers() {
         // Arrange
         List<Customer> customers = new ArrayList<>();
-        customers.add(new Customer(1, "Customer 1", "Location 1", "1234567890", "customer1@customer.com", "1996-04-18", "password1", 100.0, new Date()));
-        customers.add(new Customer(2, "Customer 2", "Location 2", "0987654321", "customer2@customer.com", "2002-06-21", "password2", 200.0, new Date()));
+        customers.add(new Customer(1, "Customer 1", "Location 1", "1234567890", "customer1@customer.com", "1996-04-18", "password1", 100.0, new Date(), 0L));
+        customers.add(new Customer(2, "Customer 2", "Location 2", "0987654321", "customer2@customer.com", "2002-06-21", "password2", 200.0, new Date(), 0L));
         when(customerRepository.findAll()).thenReturn(customers);
 
         // Act
@@ -61,7 +71,7 @@ class CustomerServiceImplTest {
     public void CustomerService_GetCustomerById_ValidCustomerReturnsCustomer() {
         // Arrange
         int customerId = 1;
-        Customer customer = new Customer(1, "Test Customer", "Test Location", "1234567890", "test@example.com", "1996-04-18", "test123", 100.0, new Date());
+        Customer customer = new Customer(1, "Test Customer", "Test Location", "1234567890", "test@example.com", "1996-04-18", "test123", 100.0, new Date(), 0L);
         when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
 
         // Act
@@ -117,13 +127,14 @@ class CustomerServiceImplTest {
         String updatedMail = "updated@example.com";
         String updatedBirthDate = "2002-06-21";
         String updatedPassword = "updated123";
-        Double updatedWalletBalance = 200.0;
 
-        Customer customer = new Customer(customerId, "Test Customer", "Test Location", "1234567890", "test@example.com", "1996-04-18", "test123", 100.0, new Date());
+        Customer customer = new Customer(customerId, "Test Customer", "Test Location", "1234567890", "test@example.com", "1996-04-18", "test123", 100.0, new Date(), 0L);
         when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+        when(walletService.getBalance(customerId)).thenReturn(100.0);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
-        CustomerDto updatedCustomerDto = customerService.updateCustomer(customerId, updatedName, updatedLocation, updatedPhone, updatedMail, updatedBirthDate, updatedPassword, updatedWalletBalance);
+        CustomerDto updatedCustomerDto = customerService.updateCustomer(customerId, updatedName, updatedLocation, updatedPhone, updatedMail, updatedBirthDate, updatedPassword, 0L);
 
         // Assert
         assertNotNull(updatedCustomerDto);
@@ -134,7 +145,7 @@ class CustomerServiceImplTest {
         assertEquals(updatedMail, updatedCustomerDto.getMail());
         assertEquals(updatedBirthDate, updatedCustomerDto.getBirthDate());
         assertEquals(updatedPassword, updatedCustomerDto.getPassword());
-        assertEquals(updatedWalletBalance, updatedCustomerDto.getWalletBalance());
+        assertEquals(100.0, updatedCustomerDto.getWalletBalance());
     }
 
     @Test
@@ -147,12 +158,68 @@ class CustomerServiceImplTest {
         String updatedMail = "updated@example.com";
         String updatedBirthDate = "2002-06-21";
         String updatedPassword = "updated123";
-        Double updatedWalletBalance = 200.0;
 
         when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> customerService.updateCustomer(customerId, updatedName, updatedLocation, updatedPhone, updatedMail, updatedBirthDate, updatedPassword, updatedWalletBalance));
+        assertThrows(ResourceNotFoundException.class, () -> customerService.updateCustomer(customerId, updatedName, updatedLocation, updatedPhone, updatedMail, updatedBirthDate, updatedPassword, 0L));
+    }
+
+    @Test
+    public void CustomerService_UpdateCustomer_LeavesTheBalanceToTheLedger() {
+        // Arrange
+        int customerId = 1;
+        Customer customer = new Customer(customerId, "Test Customer", "Test Location", "1234567890", "test@example.com", "1996-04-18", "test123", 100.0, new Date(), 0L);
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+        when(walletService.getBalance(customerId)).thenReturn(80.0);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        CustomerDto updatedCustomerDto = customerService.updateCustomer(customerId, "name", "loc", "phone", "mail", "birth", "pass", 0L);
+
+        // Assert
+        assertEquals(80.0, updatedCustomerDto.getWalletBalance());
+        verify(walletService, never()).credit(any(), anyDouble(), any());
+        verify(walletService, never()).debit(any(), anyDouble(), any());
+    }
+
+    @Test
+    public void CustomerService_UpdateCustomer_StaleVersionThrowsConcurrentUpdateException() {
+        // Arrange
+        int customerId = 1;
+        Customer customer = new Customer(customerId, "Test Customer", "Test Location", "1234567890", "test@example.com", "1996-04-18", "test123", 100.0, new Date(), 3L);
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+
+        // Act & Assert
+        assertThrows(ConcurrentUpdateException.class, () -> customerService.updateCustomer(customerId, "name", "loc",
+                "phone", "mail", "birth", "pass", 2L));
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
+    }
+
+    @Test
+    public void CustomerService_TopUpWallet_CreditsLedgerAndReturnsBalance() {
+        // Arrange
+        int customerId = 1;
+        Customer customer = new Customer(customerId, "Test Customer", "Test Location", "1234567890", "test@example.com", "1996-04-18", "test123", 100.0, new Date(), 0L);
+        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
+        when(walletService.getBalance(customerId)).thenReturn(150.0);
+
+        // Act
+        CustomerDto customerDto = customerService.topUpWallet(customerId, 50.0);
+
+        // Assert
+        verify(walletService, times(1)).credit(customerId, 50.0, "top-up");
+        assertEquals(150.0, customerDto.getWalletBalance());
+    }
+
+    @Test
+    public void CustomerService_TopUpWallet_CustomerNotFoundThrowsResourceNotFoundException() {
+        // Arrange
+        int customerId = 1;
+        when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> customerService.topUpWallet(customerId, 50.0));
     }
 
     @Test
@@ -160,7 +227,7 @@ class CustomerServiceImplTest {
         // Arrange
         int customerId = 1;
         Customer existingCustomer = new Customer(customerId, "Test Customer", "Test Location",
-        		"1234567890", "test@example.com", "1996-04-18", "test123", 100.0, new Date());
+        		"1234567890", "test@example.com", "1996-04-18", "test123", 100.0, new Date(), 0L);
         when(customerRepository.findById(customerId)).thenReturn(Optional.of(existingCustomer));
         // Act
         assertDoesNotThrow(() -> customerService.deleteCustomer(customerId));
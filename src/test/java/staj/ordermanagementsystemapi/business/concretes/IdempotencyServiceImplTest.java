@@ -0,0 +1,201 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import staj.ordermanagementsystemapi.core.exception.IdempotencyKeyException;
+import staj.ordermanagementsystemapi.core.exception.RequestInProgressException;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.IdempotencyRecordRepository;
+import staj.ordermanagementsystemapi.entities.concretes.IdempotencyRecord;
+import staj.ordermanagementsystemapi.entities.dto.OrderDto;
+
+class IdempotencyServiceImplTest {
+
+    private IdempotencyServiceImpl idempotencyService;
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    public void setUp() {
+        idempotencyRecordRepository = mock(IdempotencyRecordRepository.class);
+        idempotencyService = new IdempotencyServiceImpl(idempotencyRecordRepository, new ObjectMapper(),
+                mock(PlatformTransactionManager.class), 100, 60_000, 5_000, 120_000);
+        executions = new AtomicInteger();
+        when(idempotencyRecordRepository.findByScopeAndIdempotencyKey("order:add", "key-1")).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(invocation -> {
+            IdempotencyRecord record = invocation.getArgument(0);
+            record.setId(1L);
+            return record;
+        });
+    }
+
+    @Test
+    public void IdempotencyService_Execute_RetryReplaysStoredResponse() {
+        // Act
+        OrderDto first = idempotencyService.execute("order:add", "key-1", request(2), OrderDto.class, this::placeOrder);
+        OrderDto retry = idempotencyService.execute("order:add", "key-1", request(2), OrderDto.class, this::placeOrder);
+
+        // Assert
+        assertEquals(1, executions.get());
+        assertEquals(first.getId(), retry.getId());
+        verify(idempotencyRecordRepository, times(1)).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    public void IdempotencyService_Execute_CompletedRecordOfAnotherNodeIsReplayed() throws Exception {
+        // Arrange
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setStatus(IdempotencyRecord.COMPLETED);
+        record.setRequestHash(sha256(new ObjectMapper().writeValueAsString(request(2))));
+        record.setResponse("{\"id\":42,\"quantity\":2}");
+        record.setExpiresAt(new Date(System.currentTimeMillis() + 60_000));
+        when(idempotencyRecordRepository.findByScopeAndIdempotencyKey("order:add", "key-1")).thenReturn(Optional.of(record));
+
+        // Act
+        OrderDto replayed = idempotencyService.execute("order:add", "key-1", request(2), OrderDto.class, this::placeOrder);
+
+        // Assert
+        assertEquals(0, executions.get());
+        assertEquals(42, replayed.getId());
+    }
+
+    @Test
+    public void IdempotencyService_Execute_KeyReusedWithDifferentRequestThrowsIdempotencyKeyException() {
+        // Arrange
+        idempotencyService.execute("order:add", "key-1", request(2), OrderDto.class, this::placeOrder);
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyException.class,
+                () -> idempotencyService.execute("order:add", "key-1", request(3), OrderDto.class, this::placeOrder));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void IdempotencyService_Execute_FailureFreesKeyForRetry() {
+        // Act
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService.execute("order:add", "key-1", request(2),
+                OrderDto.class, () -> {
+                    throw new IllegalArgumentException("Insufficient wallet balance");
+                }));
+        idempotencyService.execute("order:add", "key-1", request(2), OrderDto.class, this::placeOrder);
+
+        // Assert
+        verify(idempotencyRecordRepository, times(1)).deleteById(1L);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void IdempotencyService_Execute_ConcurrentDuplicateWaitsForFirstExecution() throws Exception {
+        // Arrange
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        Future<OrderDto> first = executor.submit(() -> idempotencyService.execute("order:add", "key-1", request(2),
+                OrderDto.class, () -> {
+                    started.countDown();
+                    awaitQuietly(release);
+                    return placeOrder();
+                }));
+        started.await(5, TimeUnit.SECONDS);
+        Future<OrderDto> duplicate = executor.submit(() -> idempotencyService.execute("order:add", "key-1", request(2),
+                OrderDto.class, this::placeOrder));
+        Thread.sleep(100);
+        release.countDown();
+
+        // Assert
+        assertEquals(first.get(5, TimeUnit.SECONDS).getId(), duplicate.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(1, executions.get());
+        executor.shutdown();
+    }
+
+    @Test
+    public void IdempotencyService_Execute_ClaimIsHeldForTheLeaseNotTheWaitTimeout() {
+        // Arrange
+        long before = System.currentTimeMillis();
+        List<Long> claimedUntil = new ArrayList<>();
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(invocation -> {
+            IdempotencyRecord record = invocation.getArgument(0);
+            record.setId(1L);
+            claimedUntil.add(record.getExpiresAt().getTime());
+            return record;
+        });
+
+        // Act
+        idempotencyService.execute("order:add", "key-1", request(2), OrderDto.class, this::placeOrder);
+
+        // Assert
+        assertTrue(claimedUntil.get(0) >= before + 120_000);
+    }
+
+    @Test
+    public void IdempotencyService_Execute_WaitOnClaimOfAnotherNodeTimesOutWithRequestInProgressException() throws Exception {
+        // Arrange
+        IdempotencyServiceImpl impatient = new IdempotencyServiceImpl(idempotencyRecordRepository, new ObjectMapper(),
+                mock(PlatformTransactionManager.class), 100, 60_000, 100, 120_000);
+        IdempotencyRecord running = new IdempotencyRecord();
+        running.setId(1L);
+        running.setStatus(IdempotencyRecord.IN_PROGRESS);
+        running.setRequestHash(sha256(new ObjectMapper().writeValueAsString(request(2))));
+        running.setExpiresAt(new Date(System.currentTimeMillis() + 120_000));
+        when(idempotencyRecordRepository.findByScopeAndIdempotencyKey("order:add", "key-1")).thenReturn(Optional.of(running));
+
+        // Act & Assert
+        assertThrows(RequestInProgressException.class,
+                () -> impatient.execute("order:add", "key-1", request(2), OrderDto.class, this::placeOrder));
+        assertEquals(0, executions.get());
+    }
+
+    private OrderDto placeOrder() {
+        OrderDto orderDto = new OrderDto();
+        orderDto.setId(100 + executions.incrementAndGet());
+        orderDto.setQuantity(2);
+        return orderDto;
+    }
+
+    private static OrderDto request(int quantity) {
+        OrderDto orderDto = new OrderDto();
+        orderDto.setQuantity(quantity);
+        return orderDto;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String sha256(String value) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+}
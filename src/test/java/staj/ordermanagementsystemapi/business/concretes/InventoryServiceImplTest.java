@@ -0,0 +1,178 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import staj.ordermanagementsystemapi.business.abstracts.CatalogService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductFacetService;
+import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+
+class InventoryServiceImplTest {
+
+    private InventoryServiceImpl inventoryService;
+    private ProductRepository productRepository;
+    private JdbcTemplate jdbcTemplate;
+    private ProductFacetService productFacetService;
+
+    @BeforeEach
+    public void setUp() {
+        productRepository = mock(ProductRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        productFacetService = mock(ProductFacetService.class);
+        inventoryService = new InventoryServiceImpl(productRepository, jdbcTemplate,
+                mock(CatalogService.class), productFacetService, mock(PlatformTransactionManager.class), 200);
+        when(productRepository.findQuantityById(1)).thenReturn(Optional.of(10));
+        when(productRepository.findQuantityById(2)).thenReturn(Optional.of(3));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        inventoryService.shutdown();
+    }
+
+    @Test
+    public void InventoryService_Reserve_HoldsStockInMemory() {
+        // Act
+        inventoryService.reserve(Map.of(1, 4));
+
+        // Assert
+        assertEquals(6, inventoryService.getAvailableQuantity(1));
+        verify(productRepository, times(1)).findQuantityById(1);
+    }
+
+    @Test
+    public void InventoryService_Reserve_InsufficientStockHoldsNothing() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> inventoryService.reserve(Map.of(1, 4, 2, 5)));
+        assertEquals(10, inventoryService.getAvailableQuantity(1));
+        assertEquals(3, inventoryService.getAvailableQuantity(2));
+    }
+
+    @Test
+    public void InventoryService_Reserve_ProductNotFoundThrowsResourceNotFoundException() {
+        // Arrange
+        when(productRepository.findQuantityById(3)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> inventoryService.reserve(Map.of(3, 1)));
+    }
+
+    @Test
+    public void InventoryService_Release_ReturnsStock() {
+        // Arrange
+        long reservationId = inventoryService.reserve(Map.of(1, 4));
+
+        // Act
+        inventoryService.release(reservationId);
+
+        // Assert
+        assertEquals(10, inventoryService.getAvailableQuantity(1));
+        assertThrows(IllegalStateException.class, () -> inventoryService.confirm(reservationId));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void InventoryService_Confirm_FlushesDecrementsInOneBatch() {
+        // Arrange
+        inventoryService.confirm(inventoryService.reserve(Map.of(1, 4)));
+        inventoryService.confirm(inventoryService.reserve(Map.of(1, 2, 2, 3)));
+
+        // Act
+        int flushed = inventoryService.flush();
+
+        // Assert
+        assertEquals(4, inventoryService.getAvailableQuantity(1));
+        assertEquals(0, inventoryService.getAvailableQuantity(2));
+        assertEquals(2, flushed);
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), captor.capture());
+        Map<Integer, Integer> decrements = Map.of(
+                (Integer) captor.getValue().get(0)[1], (Integer) captor.getValue().get(0)[0],
+                (Integer) captor.getValue().get(1)[1], (Integer) captor.getValue().get(1)[0]);
+        assertEquals(Map.of(1, 6, 2, 3), decrements);
+        verify(productFacetService, times(1)).updateStock(1, 4);
+        verify(productFacetService, times(1)).updateStock(2, 0);
+        assertEquals(0, inventoryService.flush());
+    }
+
+    @Test
+    public void InventoryService_Reserve_ExpiredHoldIsReleased() throws InterruptedException {
+        // Arrange
+        inventoryService.reserve(Map.of(1, 4));
+
+        // Act
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (inventoryService.getAvailableQuantity(1) != 10 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        // Assert
+        assertEquals(10, inventoryService.getAvailableQuantity(1));
+    }
+
+    @Test
+    public void InventoryService_ReserveForTransaction_ConfirmsOnCommitAndReleasesOnRollback() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        inventoryService.reserveForTransaction(Map.of(1, 4));
+        inventoryService.reserveForTransaction(Map.of(1, 3));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+        // Act
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Assert
+        assertEquals(6, inventoryService.getAvailableQuantity(1));
+    }
+
+    @Test
+    public void InventoryService_ReserveForTransaction_WithoutTransactionThrowsIllegalStateException() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> inventoryService.reserveForTransaction(Map.of(1, 1)));
+        assertEquals(10, inventoryService.getAvailableQuantity(1));
+    }
+
+    @Test
+    public void InventoryService_WriteStock_KeepsUnflushedDecrementsOnTopOfTheWrittenQuantity() {
+        // Arrange
+        inventoryService.confirm(inventoryService.reserve(Map.of(1, 4)));
+
+        // Act
+        int written = inventoryService.writeStock(1, () -> {
+            // Confirmed while the row is being written
+            inventoryService.confirm(inventoryService.reserve(Map.of(1, 1)));
+            return 50;
+        }, Integer::intValue);
+
+        // Assert
+        assertEquals(50, written);
+        assertEquals(45, inventoryService.getAvailableQuantity(1));
+        assertEquals(1, inventoryService.flush());
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), captor.capture());
+        assertEquals(5, captor.getValue().get(0)[0]);
+    }
+}
@@ -0,0 +1,161 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import staj.ordermanagementsystemapi.business.abstracts.OrderArchiveService;
+import staj.ordermanagementsystemapi.business.abstracts.OrderExportService;
+import staj.ordermanagementsystemapi.business.abstracts.OrderService;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ArchivedOrderRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CategoryRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CustomerRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderLineRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+import staj.ordermanagementsystemapi.entities.concretes.Category;
+import staj.ordermanagementsystemapi.entities.concretes.Customer;
+import staj.ordermanagementsystemapi.entities.concretes.Order;
+import staj.ordermanagementsystemapi.entities.concretes.OrderLine;
+import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.dto.CursorPageDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderExportDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderSearchFilter;
+
+@SpringBootTest
+class OrderArchiveServiceImplTest {
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderExportService orderExportService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderLineRepository orderLineRepository;
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void OrderArchiveService_ArchiveOrders_MovesDeliveredOrdersAndReadsThrough() throws Exception {
+        // Arrange
+        String suffix = String.valueOf(System.nanoTime());
+        Category category = new Category();
+        category.setName("archive-category-" + suffix);
+        category = categoryRepository.save(category);
+
+        Product product = new Product();
+        product.setName("archive-product-" + suffix);
+        product.setPrice(5.0);
+        product.setCategory(category);
+        product.setQuantity(100);
+        product = productRepository.save(product);
+
+        // Bought only in the orders that get archived
+        Product archivedProduct = new Product();
+        archivedProduct.setName("archive-only-product-" + suffix);
+        archivedProduct.setPrice(7.0);
+        archivedProduct.setCategory(category);
+        archivedProduct.setQuantity(100);
+        archivedProduct = productRepository.save(archivedProduct);
+
+        Customer customer = new Customer();
+        customer.setName("archive-customer");
+        customer.setPhone(suffix.substring(suffix.length() - 10));
+        customer.setMail("archive-" + suffix + "@customer.com");
+        customer.setPassword("pass");
+        customer.setWalletBalance(0.0);
+        customer = customerRepository.save(customer);
+
+        List<Integer> delivered = new ArrayList<>();
+        List<Integer> open = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Order order = new Order();
+            order.setCustomer(customer);
+            Product ordered = i < 3 ? archivedProduct : product;
+            order.setProduct(ordered);
+            order.setQuantity(1);
+            order = orderRepository.save(order);
+            orderLineRepository.save(new OrderLine(null, order, ordered, 1, ordered.getPrice()));
+            if (i < 3) {
+                jdbcTemplate.update("update orders set status = ? where id = ?", Order.DELIVERED, order.getId());
+                delivered.add(order.getId());
+            } else {
+                open.add(order.getId());
+            }
+        }
+
+        // Act
+        int archived = orderArchiveService.archiveOrders(new Date(System.currentTimeMillis() + 60_000));
+
+        // Assert
+        assertTrue(archived >= delivered.size());
+        for (Integer id : delivered) {
+            assertFalse(orderRepository.existsById(id));
+            assertTrue(archivedOrderRepository.existsById(id));
+        }
+        for (Integer id : open) {
+            assertTrue(orderRepository.existsById(id));
+        }
+
+        // Reads by id and searches without a lower date bound read through to the archive
+        OrderDto read = orderService.getOrderById(delivered.get(0));
+        assertEquals(Order.DELIVERED, read.getStatus());
+        assertEquals(customer.getId(), read.getCustomer().getId());
+
+        OrderSearchFilter filter = new OrderSearchFilter(null, null, null, customer.getId(), null);
+        Set<Integer> ids = new HashSet<>();
+        String cursor = null;
+        do {
+            CursorPageDto<OrderDto> page = orderService.searchOrders(filter, cursor, 2);
+            page.getItems().forEach(order -> assertTrue(ids.add(order.getId())));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertEquals(5, ids.size());
+
+        // Review eligibility and the export see the archived orders' lines
+        assertTrue(orderLineRepository.existsPurchase(customer.getId(), archivedProduct.getId()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.exportOrders(null, null, Order.DELIVERED, out);
+        Set<Integer> exported = new HashSet<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            OrderExportDto row = objectMapper.readValue(line, OrderExportDto.class);
+            if (row.getCustomerId().equals(customer.getId())) {
+                assertEquals(7.0, row.getOrderTotalPrice());
+                exported.add(row.getId());
+            }
+        }
+        assertEquals(new HashSet<>(delivered), exported);
+
+        // Once everything old enough is archived another run has nothing to move
+        assertEquals(0, orderArchiveService.archiveOrders(new Date(System.currentTimeMillis() + 60_000)));
+    }
+}
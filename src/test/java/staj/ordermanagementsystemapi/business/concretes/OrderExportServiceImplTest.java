@@ -0,0 +1,146 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ArchivedOrderRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderLineRepository;
+import staj.ordermanagementsystemapi.entities.dto.OrderExportDto;
+
+class OrderExportServiceImplTest {
+
+    private OrderLineRepository orderLineRepository;
+    private ArchivedOrderRepository archivedOrderRepository;
+    private ObjectMapper objectMapper;
+    private OrderExportServiceImpl orderExportService;
+
+    @BeforeEach
+    public void setUp() {
+        orderLineRepository = mock(OrderLineRepository.class);
+        archivedOrderRepository = mock(ArchivedOrderRepository.class);
+        objectMapper = new ObjectMapper();
+        orderExportService = new OrderExportServiceImpl(orderLineRepository, archivedOrderRepository, objectMapper);
+    }
+
+    @Test
+    public void OrderExportService_ExportOrders_WritesOneJsonLinePerOrderLine() throws Exception {
+        // Arrange
+        when(orderLineRepository.streamForExport(null, null, "SHIPPED"))
+                .thenReturn(IntStream.rangeClosed(1, 3).mapToObj(id -> newLine(id, 1000L, 3, 10.0)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = orderExportService.exportOrders(null, null, "SHIPPED", out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, rows);
+        assertEquals(3, lines.length);
+        OrderExportDto first = objectMapper.readValue(lines[0], OrderExportDto.class);
+        assertEquals(1, first.getId());
+        assertEquals(7, first.getCustomerId());
+        assertEquals(20.0, first.getTotalPrice());
+        assertEquals(20.0, first.getOrderTotalPrice());
+        verify(orderLineRepository, never()).streamArchivedForExport(any(), any(), any());
+    }
+
+    @Test
+    public void OrderExportService_ExportOrders_TotalsEachOrderFromItsLines() throws Exception {
+        // Arrange
+        OrderExportDto mouse = newLine(1, 1000L, 4, 5.0);
+        mouse.setQuantity(1);
+        mouse.setTotalPrice(5.0);
+        when(orderLineRepository.streamForExport(any(), any(), any()))
+                .thenReturn(Stream.of(newLine(1, 1000L, 3, 10.0), mouse, newLine(2, 1000L, 3, 10.0)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = orderExportService.exportOrders(null, null, null, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, rows);
+        OrderExportDto first = objectMapper.readValue(lines[0], OrderExportDto.class);
+        OrderExportDto second = objectMapper.readValue(lines[1], OrderExportDto.class);
+        OrderExportDto third = objectMapper.readValue(lines[2], OrderExportDto.class);
+        assertEquals(20.0, first.getTotalPrice());
+        assertEquals(25.0, first.getOrderTotalPrice());
+        assertEquals(4, second.getProductId());
+        assertEquals(25.0, second.getOrderTotalPrice());
+        assertEquals(2, third.getId());
+        assertEquals(20.0, third.getOrderTotalPrice());
+    }
+
+    @Test
+    public void OrderExportService_ExportOrders_MergesArchivedLinesInOrderDateOrder() throws Exception {
+        // Arrange
+        when(archivedOrderRepository.findLatestOrderDate()).thenReturn(Optional.of(new Date(3000L)));
+        when(orderLineRepository.streamForExport(any(), any(), any()))
+                .thenReturn(Stream.of(newLine(5, 2000L, 3, 10.0), newLine(6, 4000L, 3, 10.0)));
+        when(orderLineRepository.streamArchivedForExport(any(), any(), any()))
+                .thenReturn(Stream.of(newLine(1, 1000L, 3, 10.0), newLine(1, 1000L, 4, 5.0), newLine(2, 3000L, 3, 10.0)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = orderExportService.exportOrders(null, null, null, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, rows);
+        int[] orderIds = new int[lines.length];
+        for (int i = 0; i < lines.length; i++) {
+            orderIds[i] = objectMapper.readValue(lines[i], OrderExportDto.class).getId();
+        }
+        assertEquals("[1, 1, 5, 2, 6]", Arrays.toString(orderIds));
+        assertEquals(30.0, objectMapper.readValue(lines[1], OrderExportDto.class).getOrderTotalPrice());
+    }
+
+    @Test
+    public void OrderExportService_ExportOrders_RangeAfterTheArchiveSkipsIt() throws Exception {
+        // Arrange
+        when(archivedOrderRepository.findLatestOrderDate()).thenReturn(Optional.of(new Date(3000L)));
+        when(orderLineRepository.streamForExport(any(), any(), any())).thenReturn(Stream.empty());
+
+        // Act
+        long rows = orderExportService.exportOrders(new Date(4000L), null, null, new ByteArrayOutputStream());
+
+        // Assert
+        assertEquals(0, rows);
+        verify(orderLineRepository, never()).streamArchivedForExport(any(), any(), any());
+    }
+
+    @Test
+    public void OrderExportService_ExportOrders_EmptyRangeThrowsIllegalArgumentException() {
+        // Arrange
+        Date date = new Date();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> orderExportService.exportOrders(date, date, null, new ByteArrayOutputStream()));
+        verify(orderLineRepository, never()).streamForExport(any(), any(), any());
+    }
+
+    // Two units of the product, as the export query builds the row
+    private static OrderExportDto newLine(int orderId, long orderDate, int productId, double unitPrice) {
+        return new OrderExportDto(orderId, 7, productId, "Keyboard", 2, unitPrice, 2 * unitPrice, 0.0,
+                new Date(orderDate), null, "SHIPPED");
+    }
+}
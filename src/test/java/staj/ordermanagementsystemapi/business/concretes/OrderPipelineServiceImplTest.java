@@ -0,0 +1,193 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import staj.ordermanagementsystemapi.business.abstracts.OrderService;
+import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.core.exception.TooManyRequestsException;
+import staj.ordermanagementsystemapi.entities.dto.CustomerDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderBatchResultDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderTrackingDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+
+class OrderPipelineServiceImplTest {
+
+    private OrderService orderService;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderPipelineServiceImpl orderPipelineService;
+
+    @BeforeEach
+    public void setUp() {
+        orderService = mock(OrderService.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        orderPipelineService.shutdown();
+    }
+
+    @Test
+    public void OrderPipelineService_Submit_PersistsOrderAndReportsCompletion() throws InterruptedException {
+        // Arrange
+        orderPipelineService = new OrderPipelineServiceImpl(orderService, meterRegistry, 16, 10, 60_000);
+        orderPipelineService.start();
+        when(orderService.saveOrders(anyList())).thenAnswer(invocation -> {
+            List<OrderDto> orders = invocation.getArgument(0);
+            List<OrderBatchResultDto> results = new ArrayList<>();
+            for (int i = 0; i < orders.size(); i++) {
+                results.add(new OrderBatchResultDto(i, true, orders.get(i), null));
+            }
+            return results;
+        });
+
+        // Act
+        OrderTrackingDto queued = orderPipelineService.submit(newOrder(1));
+        OrderTrackingDto outcome = awaitOutcome(queued.getTrackingId());
+
+        // Assert
+        assertEquals(OrderTrackingDto.QUEUED, queued.getStatus());
+        assertEquals(OrderTrackingDto.COMPLETED, outcome.getStatus());
+        assertNotNull(outcome.getOrder());
+        assertTrue(meterRegistry.get("order.pipeline.stage.latency").tag("stage", "persist").timer().count() > 0);
+    }
+
+    @Test
+    public void OrderPipelineService_Submit_InvalidOrderFailsWithoutPersisting() throws InterruptedException {
+        // Arrange
+        orderPipelineService = new OrderPipelineServiceImpl(orderService, meterRegistry, 16, 10, 60_000);
+        orderPipelineService.start();
+
+        // Act
+        OrderTrackingDto queued = orderPipelineService.submit(newOrder(0));
+        OrderTrackingDto outcome = awaitOutcome(queued.getTrackingId());
+
+        // Assert
+        assertEquals(OrderTrackingDto.FAILED, outcome.getStatus());
+        verify(orderService, never()).saveOrders(anyList());
+    }
+
+    @Test
+    public void OrderPipelineService_Submit_FullQueueThrowsTooManyRequestsException() {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        orderPipelineService = new OrderPipelineServiceImpl(orderService, meterRegistry, 1, 1, 60_000);
+        orderPipelineService.start();
+        when(orderService.saveOrders(anyList())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return List.of(new OrderBatchResultDto(0, true, null, null));
+        });
+
+        // Act & Assert
+        try {
+            assertThrows(TooManyRequestsException.class, () -> {
+                for (int i = 0; i < 10; i++) {
+                    orderPipelineService.submit(newOrder(1));
+                }
+            });
+            assertEquals(1.0, meterRegistry.get("order.pipeline.rejected").counter().count());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void OrderPipelineService_GetStatus_UnknownTrackingIdThrowsResourceNotFoundException() {
+        // Arrange
+        orderPipelineService = new OrderPipelineServiceImpl(orderService, meterRegistry, 16, 10, 60_000);
+        orderPipelineService.start();
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> orderPipelineService.getStatus("missing"));
+    }
+
+    @Test
+    public void OrderPipelineService_Submit_BeforeStartThrowsTooManyRequestsException() {
+        // Arrange
+        orderPipelineService = new OrderPipelineServiceImpl(orderService, meterRegistry, 16, 10, 60_000);
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> orderPipelineService.submit(newOrder(1)));
+    }
+
+    @Test
+    public void OrderPipelineService_Shutdown_JoinsWorkersAndFailsQueuedOrders() throws InterruptedException {
+        // Arrange
+        CountDownLatch persisting = new CountDownLatch(1);
+        orderPipelineService = new OrderPipelineServiceImpl(orderService, meterRegistry, 16, 1, 60_000);
+        long threadsBefore = pipelineThreads();
+        orderPipelineService.start();
+        assertEquals(threadsBefore + 2, pipelineThreads());
+        when(orderService.saveOrders(anyList())).thenAnswer(invocation -> {
+            persisting.countDown();
+            Thread.sleep(200);
+            return List.of(new OrderBatchResultDto(0, true, null, null));
+        });
+        String first = orderPipelineService.submit(newOrder(1)).getTrackingId();
+        assertTrue(persisting.await(5, TimeUnit.SECONDS));
+        List<String> queued = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            queued.add(orderPipelineService.submit(newOrder(1)).getTrackingId());
+        }
+
+        // Act
+        orderPipelineService.shutdown();
+
+        // Assert
+        assertEquals(threadsBefore, pipelineThreads());
+        assertEquals(OrderTrackingDto.COMPLETED, orderPipelineService.getStatus(first).getStatus());
+        for (String trackingId : queued) {
+            assertEquals(OrderTrackingDto.FAILED, orderPipelineService.getStatus(trackingId).getStatus());
+        }
+        assertThrows(TooManyRequestsException.class, () -> orderPipelineService.submit(newOrder(1)));
+    }
+
+    private OrderTrackingDto awaitOutcome(String trackingId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        OrderTrackingDto status = orderPipelineService.getStatus(trackingId);
+        while ((OrderTrackingDto.QUEUED.equals(status.getStatus()) || OrderTrackingDto.PROCESSING.equals(status.getStatus()))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            status = orderPipelineService.getStatus(trackingId);
+        }
+        return status;
+    }
+
+    private static OrderDto newOrder(int quantity) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setId(1);
+        ProductDto productDto = new ProductDto();
+        productDto.setId(1);
+        OrderDto orderDto = new OrderDto();
+        orderDto.setCustomer(customerDto);
+        orderDto.setProduct(productDto);
+        orderDto.setQuantity(quantity);
+        return orderDto;
+    }
+
+    // Pipeline workers alive in this JVM, including those of any application context other tests started
+    private static long pipelineThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("order-pipeline-"))
+                .count();
+    }
+}
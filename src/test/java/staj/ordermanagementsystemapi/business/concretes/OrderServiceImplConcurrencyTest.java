@@ -0,0 +1,248 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import staj.ordermanagementsystemapi.business.abstracts.InventoryService;
+import staj.ordermanagementsystemapi.business.abstracts.OrderService;
+import staj.ordermanagementsystemapi.business.abstracts.WalletService;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CategoryRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CustomerRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderLineRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+import staj.ordermanagementsystemapi.entities.concretes.Category;
+import staj.ordermanagementsystemapi.entities.concretes.Customer;
+import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.dto.CheckoutDto;
+import staj.ordermanagementsystemapi.entities.dto.CheckoutResultDto;
+import staj.ordermanagementsystemapi.entities.dto.CustomerDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderLineDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+
+@SpringBootTest
+class OrderServiceImplConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int ORDERS = 400;
+    private static final double PRICE = 10.0;
+    private static final double INITIAL_BALANCE = 1000.0;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private WalletService walletService;
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderLineRepository orderLineRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    public void OrderService_SaveOrder_ParallelOrdersOfOneCustomerNeverOverdraw() throws Exception {
+        // Arrange
+        Category category = new Category();
+        category.setName("concurrency-category");
+        category = categoryRepository.save(category);
+
+        Product product = new Product();
+        product.setName("concurrency-product");
+        product.setPrice(PRICE);
+        product.setCategory(category);
+        product.setQuantity(ORDERS);
+        product = productRepository.save(product);
+
+        Customer customer = new Customer();
+        customer.setName("concurrency-customer");
+        customer.setPhone("5550000001");
+        customer.setMail("concurrency@customer.com");
+        customer.setPassword("pass");
+        customer.setWalletBalance(INITIAL_BALANCE);
+        customer = customerRepository.save(customer);
+
+        int customerId = customer.getId();
+        int productId = product.getId();
+        long ordersBefore = orderRepository.count();
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < ORDERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    orderService.saveOrder(newOrder(customerId, productId));
+                    succeeded.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        int affordable = (int) (INITIAL_BALANCE / PRICE);
+        assertEquals(affordable, succeeded.get());
+        assertEquals(ORDERS - affordable, rejected.get());
+        assertEquals(0.0, walletService.getBalance(customerId), 0.0001);
+        assertEquals(ordersBefore + affordable, orderRepository.count());
+    }
+
+    @Test
+    public void OrderService_Checkout_ParallelCartsOfOneCustomerNeverOverdraw() throws Exception {
+        // Arrange
+        Category category = new Category();
+        category.setName("checkout-category");
+        category = categoryRepository.save(category);
+        Product first = newProduct("checkout-first", PRICE, category);
+        Product second = newProduct("checkout-second", PRICE / 2, category);
+
+        Customer customer = new Customer();
+        customer.setName("checkout-customer");
+        customer.setPhone("5550000002");
+        customer.setMail("checkout@customer.com");
+        customer.setPassword("pass");
+        customer.setWalletBalance(INITIAL_BALANCE);
+        customer = customerRepository.save(customer);
+
+        int customerId = customer.getId();
+        // One of the first product and two of the second: 2 * PRICE per cart
+        CheckoutDto cart = new CheckoutDto(customerId, null, List.of(
+                new OrderLineDto(first.getId(), 1, null), new OrderLineDto(second.getId(), 2, null)));
+        int carts = 80;
+        long linesBefore = orderLineRepository.count();
+        AtomicInteger succeeded = new AtomicInteger();
+        List<CheckoutResultDto> results = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < carts; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    CheckoutResultDto result = orderService.checkout(cart);
+                    synchronized (results) {
+                        results.add(result);
+                    }
+                    succeeded.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    // Insufficient balance
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        int affordable = (int) (INITIAL_BALANCE / (2 * PRICE));
+        assertEquals(affordable, succeeded.get());
+        assertEquals(0.0, walletService.getBalance(customerId), 0.0001);
+        assertEquals(linesBefore + 2L * affordable, orderLineRepository.count());
+        assertEquals(ORDERS - affordable, inventoryService.getAvailableQuantity(first.getId()));
+        assertEquals(ORDERS - 2 * affordable, inventoryService.getAvailableQuantity(second.getId()));
+
+        // The stored lines keep the price paid; deleting the order removes them
+        int orderId = results.get(0).getOrder().getId();
+        List<OrderLineDto> lines = orderService.getOrderLines(orderId);
+        assertEquals(2, lines.size());
+        assertEquals(PRICE / 2, lines.get(1).getUnitPrice(), 0.0001);
+        orderService.deleteOrder(orderId);
+        assertEquals(linesBefore + 2L * affordable - 2, orderLineRepository.count());
+    }
+
+    @Test
+    public void WalletService_Compact_EntryAppendedAfterTheLastCompactionIsStillFolded() {
+        // Arrange
+        Customer customer = new Customer();
+        customer.setName("compaction-customer");
+        customer.setPhone("5550000003");
+        customer.setMail("compaction@customer.com");
+        customer.setPassword("pass");
+        customer.setWalletBalance(INITIAL_BALANCE);
+        int customerId = customerRepository.save(customer).getId();
+        transactionTemplate.executeWithoutResult(status -> walletService.credit(customerId, 20.0, "top-up"));
+        walletService.compact();
+        assertEquals(INITIAL_BALANCE + 20.0, customerRepository.findById(customerId).orElseThrow().getWalletBalance(), 0.0001);
+
+        // Act: another node commits the next entry from an id block below the entries folded so far
+        jdbcTemplate.update("insert into wallet_ledger (id, customer_id, seq, amount, type, reference, timestamp, compacted) "
+                + "select -1, ?, max(seq) + 1, 5.0, 'CREDIT', 'late', current_timestamp, false from wallet_ledger "
+                + "where customer_id = ?", customerId, customerId);
+
+        // Assert
+        assertEquals(INITIAL_BALANCE + 25.0, walletService.getBalance(customerId), 0.0001);
+        walletService.compact();
+        assertEquals(INITIAL_BALANCE + 25.0, customerRepository.findById(customerId).orElseThrow().getWalletBalance(), 0.0001);
+        assertEquals(INITIAL_BALANCE + 25.0, walletService.getBalance(customerId), 0.0001);
+    }
+
+    private Product newProduct(String name, double price, Category category) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(price);
+        product.setCategory(category);
+        product.setQuantity(ORDERS);
+        return productRepository.save(product);
+    }
+
+    private static OrderDto newOrder(int customerId, int productId) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setId(customerId);
+        ProductDto productDto = new ProductDto();
+        productDto.setId(productId);
+        OrderDto orderDto = new OrderDto();
+        orderDto.setCustomer(customerDto);
+        orderDto.setProduct(productDto);
+        orderDto.setQuantity(1);
+        return orderDto;
+    }
+}
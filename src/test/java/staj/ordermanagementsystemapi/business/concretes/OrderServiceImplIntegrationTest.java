@@ -0,0 +1,220 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import staj.ordermanagementsystemapi.business.abstracts.InventoryService;
+import staj.ordermanagementsystemapi.business.abstracts.OrderExportService;
+import staj.ordermanagementsystemapi.business.abstracts.OrderService;
+import staj.ordermanagementsystemapi.core.exception.ConcurrentUpdateException;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CategoryRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CustomerRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+import staj.ordermanagementsystemapi.entities.concretes.Category;
+import staj.ordermanagementsystemapi.entities.concretes.Customer;
+import staj.ordermanagementsystemapi.entities.concretes.Order;
+import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.dto.CursorPageDto;
+import staj.ordermanagementsystemapi.entities.dto.CustomerDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderExportDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderStatusUpdateDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+
+@SpringBootTest
+class OrderServiceImplIntegrationTest {
+
+    private static final int STOCK = 50;
+    private static final int ORDERS = 5;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private OrderExportService orderExportService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private int customerId;
+    private int productId;
+    private List<Integer> orderIds;
+
+    @BeforeEach
+    public void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        Category category = new Category();
+        category.setName("integration-category-" + suffix);
+        category = categoryRepository.save(category);
+
+        Product product = new Product();
+        product.setName("integration-product-" + suffix);
+        product.setPrice(10.0);
+        product.setCategory(category);
+        product.setQuantity(STOCK);
+        productId = productRepository.save(product).getId();
+
+        Customer customer = new Customer();
+        customer.setName("integration-customer");
+        customer.setPhone(suffix.substring(suffix.length() - 10));
+        customer.setMail("integration-" + suffix + "@customer.com");
+        customer.setPassword("pass");
+        customer.setWalletBalance(1000.0);
+        customerId = customerRepository.save(customer).getId();
+
+        orderIds = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            orderIds.add(orderService.saveOrder(newOrder(customerId, productId)).getId());
+        }
+    }
+
+    @Test
+    public void InventoryService_Flush_WritesTheStockTakenByOrdersToTheProductRow() {
+        // Arrange
+        long version = productRepository.findById(productId).orElseThrow().getVersion();
+
+        // Act
+        inventoryService.flush();
+
+        // Assert
+        assertEquals(STOCK - ORDERS, inventoryService.getAvailableQuantity(productId));
+        Product product = productRepository.findById(productId).orElseThrow();
+        assertEquals(STOCK - ORDERS, product.getQuantity());
+        // The flush is a write like any other and moves the version that product updates are checked against
+        assertTrue(product.getVersion() > version);
+    }
+
+    @Test
+    public void OrderService_GetOrdersOfCustomer_KeysetPagesReturnEveryOrderOnce() {
+        // Arrange
+        Set<Integer> pagedIds = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+
+        // Act
+        do {
+            CursorPageDto<OrderDto> page = orderService.getOrdersOfCustomer(customerId, cursor, 2);
+            page.getItems().forEach(order -> assertTrue(pagedIds.add(order.getId())));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(Set.copyOf(orderIds), pagedIds);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    public void OrderService_GetOrderById_ProjectsTheCustomerAndTheProduct() {
+        // Act
+        OrderDto read = orderService.getOrderById(orderIds.get(0));
+
+        // Assert
+        assertEquals(orderIds.get(0), read.getId());
+        assertEquals(customerId, read.getCustomer().getId());
+        assertEquals(productId, read.getProduct().getId());
+        assertEquals(1, read.getQuantity());
+    }
+
+    @Test
+    public void OrderService_UpdateOrder_BumpsTheVersionAndRejectsTheStaleOne() {
+        // Arrange
+        OrderDto read = orderService.getOrderById(orderIds.get(0));
+        long version = read.getVersion();
+
+        // Act
+        OrderDto updated = orderService.updateOrder(read.getId(), new Date(), "Shipped", version);
+
+        // Assert
+        assertEquals(version + 1, updated.getVersion());
+        assertEquals(version + 1, orderRepository.findById(read.getId()).orElseThrow().getVersion());
+        assertThrows(ConcurrentUpdateException.class,
+                () -> orderService.updateOrder(read.getId(), new Date(), "Delivered", version));
+    }
+
+    @Test
+    public void OrderService_UpdateOrderStatuses_MovesOnlyOrdersInAnAllowedSourceStatus() {
+        // Arrange
+        orderService.deleteOrder(orderIds.get(0));
+        Date deliveryDate = new Date();
+
+        // Act
+        int moved = orderService.updateOrderStatuses(
+                new OrderStatusUpdateDto(orderIds, Order.SHIPPED, deliveryDate)).getUpdated();
+
+        // Assert
+        assertEquals(ORDERS - 1, moved);
+        assertEquals(0, orderService.updateOrderStatuses(
+                new OrderStatusUpdateDto(orderIds, Order.SHIPPED, null)).getUpdated());
+        Order shipped = orderRepository.findById(orderIds.get(1)).orElseThrow();
+        assertEquals(Order.SHIPPED, shipped.getStatus());
+        assertEquals(1L, shipped.getVersion());
+        assertNotNull(shipped.getDeliveryDate());
+    }
+
+    @Test
+    public void OrderExportService_ExportOrders_StreamsEveryStoredOrderLine() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = orderExportService.exportOrders(null, null, null, out);
+
+        // Assert
+        // Without a start date the export reads the archive as well
+        assertEquals(jdbcTemplate.queryForObject("select count(*) from order_line l "
+                + "where exists (select 1 from orders o where o.id = l.order_id) "
+                + "or exists (select 1 from orders_archive a where a.id = l.order_id)", Long.class), rows);
+        List<OrderExportDto> exported = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            OrderExportDto row = objectMapper.readValue(line, OrderExportDto.class);
+            if (row.getCustomerId() == customerId) {
+                exported.add(row);
+            }
+        }
+        assertEquals(ORDERS, exported.size());
+        exported.forEach(row -> assertEquals(10.0, row.getUnitPrice()));
+        assertEquals(0, orderExportService.exportOrders(null, new Date(0), null, new ByteArrayOutputStream()));
+    }
+
+    private static OrderDto newOrder(int customerId, int productId) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setId(customerId);
+        ProductDto productDto = new ProductDto();
+        productDto.setId(productId);
+        OrderDto orderDto = new OrderDto();
+        orderDto.setCustomer(customerDto);
+        orderDto.setProduct(productDto);
+        orderDto.setQuantity(1);
+        return orderDto;
+    }
+}
@@ -2,10 +2,16 @@ package staj.ordermanagementsystemapi.business.concretes;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -13,79 +19,156 @@ import static org.mockito.Mockito.when;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import staj.ordermanagementsystemapi.business.abstracts.InventoryService;
 import staj.ordermanagementsystemapi.business.abstracts.OrderService;
+import staj.ordermanagementsystemapi.business.abstracts.OutboxService;
+import staj.ordermanagementsystemapi.business.abstracts.WalletService;
+import staj.ordermanagementsystemapi.core.exception.ConcurrentUpdateException;
 import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.core.utilities.pagination.KeysetCursor;
+import staj.ordermanagementsystemapi.core.utilities.concurrency.OptimisticWriteExecutor;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ArchivedOrderRepository;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.CustomerRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderLineRepository;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderSearchRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderWriteRepository;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
 import staj.ordermanagementsystemapi.entities.concretes.Customer;
 import staj.ordermanagementsystemapi.entities.concretes.Order;
+import staj.ordermanagementsystemapi.entities.concretes.OutboxEvent;
 import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.dto.CheckoutDto;
+import staj.ordermanagementsystemapi.entities.dto.CheckoutResultDto;
+import staj.ordermanagementsystemapi.entities.dto.CursorPageDto;
 import staj.ordermanagementsystemapi.entities.dto.CustomerDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderBatchResultDto;
 import staj.ordermanagementsystemapi.entities.dto.OrderDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderLineDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderSearchFilter;
+import staj.ordermanagementsystemapi.entities.dto.OrderStatusUpdateDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderStatusUpdateResultDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderView;
 import staj.ordermanagementsystemapi.entities.dto.ProductDto;
 
 class OrderServiceImplTest {
 
     private OrderService orderService;
     private OrderRepository orderRepository;
+    private OrderLineRepository orderLineRepository;
+    private ArchivedOrderRepository archivedOrderRepository;
+    private OrderSearchRepository orderSearchRepository;
+    private OrderWriteRepository orderWriteRepository;
     private ModelMapper modelMapper;
     private CustomerRepository customerRepository;
     private ProductRepository productRepository;
+    private WalletService walletService;
+    private InventoryService inventoryService;
+    private OutboxService outboxService;
 
     @BeforeEach
     public void setUp() {
         orderRepository = mock(OrderRepository.class);
+        orderLineRepository = mock(OrderLineRepository.class);
+        archivedOrderRepository = mock(ArchivedOrderRepository.class);
+        orderSearchRepository = mock(OrderSearchRepository.class);
+        orderWriteRepository = mock(OrderWriteRepository.class);
         modelMapper = new ModelMapper();
         customerRepository = mock(CustomerRepository.class);
         productRepository = mock(ProductRepository.class);
+        walletService = mock(WalletService.class);
+        inventoryService = mock(InventoryService.class);
+        outboxService = mock(OutboxService.class);
+
+        orderService = new OrderServiceImpl(orderRepository, orderLineRepository, archivedOrderRepository, orderSearchRepository,
+                orderWriteRepository, modelMapper, customerRepository, productRepository, walletService, inventoryService,
+                new OptimisticWriteExecutor(mock(PlatformTransactionManager.class), new SimpleMeterRegistry()),
+                outboxService);
+    }
+
+    @Test
+    public void OrderService_GetAll_ReturnsFirstPageWithoutCursorWhenNoMoreRows() {
+        // Arrange
+        List<OrderView> orders = new ArrayList<>();
+        orders.add(orderView(1, 1, 2, new Date(), "Pending"));
+        orders.add(orderView(2, 1, 1, new Date(), "Delivered"));
+        when(orderRepository.findFirstPage(PageRequest.of(0, 3))).thenReturn(orders);
+
+        // Act
+        CursorPageDto<OrderDto> page = orderService.getAllOrders(null, 2);
 
-        orderService = new OrderServiceImpl(orderRepository, modelMapper, customerRepository, productRepository);
+        // Assert
+        assertNotNull(page);
+        assertEquals(orders.size(), page.getItems().size());
+        assertNull(page.getNextCursor());
     }
 
     @Test
-    public void OrderService_GetAll_ReturnsAllOrders() {
+    public void OrderService_GetAll_NextCursorPointsAfterLastReturnedRow() {
         // Arrange
-        List<Order> orders = new ArrayList<>();
-        orders.add(new Order(1, new Customer(), new Product(), 2, new Date(), null, "Pending"));
-        orders.add(new Order(2, new Customer(), new Product(), 1, new Date(), null, "Delivered"));
-        when(orderRepository.findAll()).thenReturn(orders);
+        Date date = new Date(1_700_000_000_000L);
+        List<OrderView> orders = new ArrayList<>();
+        orders.add(orderView(1, 1, 2, date, "Pending"));
+        orders.add(orderView(2, 1, 1, date, "Pending"));
+        orders.add(orderView(3, 1, 1, date, "Pending"));
+        when(orderRepository.findFirstPage(PageRequest.of(0, 3))).thenReturn(orders);
+        when(orderRepository.findPageAfter(date, 2, PageRequest.of(0, 3))).thenReturn(orders.subList(2, 3));
 
         // Act
-        List<OrderDto> orderDtoList = orderService.getAllOrders();
+        CursorPageDto<OrderDto> first = orderService.getAllOrders(null, 2);
+        CursorPageDto<OrderDto> second = orderService.getAllOrders(first.getNextCursor(), 2);
 
         // Assert
-        assertNotNull(orderDtoList);
-        assertEquals(orders.size(), orderDtoList.size());
+        assertEquals(2, first.getItems().size());
+        assertNotNull(first.getNextCursor());
+        assertEquals(1, second.getItems().size());
+        assertEquals(3, second.getItems().get(0).getId());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    public void OrderService_GetAll_InvalidCursorOrLimitThrowsIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> orderService.getAllOrders("not-a-cursor", 10));
+        assertThrows(IllegalArgumentException.class, () -> orderService.getAllOrders(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> orderService.getAllOrders(null, 501));
     }
 
     @Test
     public void OrderService_GetById_ValidOrderReturnsOrder() {
         // Arrange
         int orderId = 1;
-        Order order = new Order(orderId, new Customer(), new Product(), 2, new Date(), null, "Pending");
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        OrderView order = orderView(orderId, 1, 2, new Date(), "Pending");
+        when(orderRepository.findViewById(orderId)).thenReturn(Optional.of(order));
 
         // Act
         OrderDto orderDto = orderService.getOrderById(orderId);
 
         // Assert
         assertNotNull(orderDto);
-        assertEquals(order.getId(), orderDto.getId());
-        assertEquals(order.getQuantity(), orderDto.getQuantity());
+        assertEquals(order.id(), orderDto.getId());
+        assertEquals(order.quantity(), orderDto.getQuantity());
+        assertEquals(1, orderDto.getCustomer().getId());
+        assertNull(orderDto.getCustomer().getPassword());
+        assertNull(orderDto.getCustomer().getWalletBalance());
     }
 
     @Test
     public void OrderService_GetById_OrderNotFoundThrowsResourceNotFoundException() {
         // Arrange
         int orderId = 1;
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(orderRepository.findViewById(orderId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderById(orderId));
@@ -94,21 +177,98 @@ class OrderServiceImplTest {
     @Test
     public void OrderService_GetOrdersOfCustomer_ReturnsOrders() {
         // Arrange
-        List<Order> ordersOfCustomer = new ArrayList<>();
+        List<OrderView> ordersOfCustomer = new ArrayList<>();
         Integer customerId = 1;
-        Customer customer = new Customer(customerId, "name", "loc", "phone", "mail", "birth", "pass", 500.00, new Date());
-        ordersOfCustomer.add(new Order(1, customer, new Product(), 2, new Date(), null, "Pending"));
-        ordersOfCustomer.add(new Order(2, customer, new Product(), 1, new Date(), null, "Delivered"));
+        ordersOfCustomer.add(orderView(1, customerId, 2, new Date(), "Pending"));
+        ordersOfCustomer.add(orderView(2, customerId, 1, new Date(), "Delivered"));
+
+        when(customerRepository.existsById(customerId)).thenReturn(true);
+        when(orderRepository.findFirstPageOfCustomer(customerId, PageRequest.of(0, 51))).thenReturn(ordersOfCustomer);
+
+        // Act
+        CursorPageDto<OrderDto> page = orderService.getOrdersOfCustomer(customerId, null, 50);
+
+        // Assert
+        assertNotNull(page);
+        assertEquals(ordersOfCustomer.size(), page.getItems().size());
+    }
+
+    @Test
+    public void OrderService_SearchOrders_PassesFilterAndCursorToRepository() {
+        // Arrange
+        Date date = new Date(1_700_000_000_000L);
+        OrderSearchFilter filter = new OrderSearchFilter("Pending", null, null, 1, null);
+        List<OrderView> orders = List.of(orderView(5, 1, 1, date, "Pending"));
+        String after = new KeysetCursor(date, 4).encode();
+        when(orderSearchRepository.search(filter, date, 4, 11)).thenReturn(orders);
+
+        // Act
+        CursorPageDto<OrderDto> page = orderService.searchOrders(filter, after, 10);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertEquals(5, page.getItems().get(0).getId());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void OrderService_SearchOrders_RangeReachingTheArchiveMergesBothTables() {
+        // Arrange
+        Date older = new Date(1_600_000_000_000L);
+        Date newer = new Date(1_700_000_000_000L);
+        OrderSearchFilter filter = new OrderSearchFilter(null, null, null, 1, null);
+        when(archivedOrderRepository.findLatestOrderDate()).thenReturn(Optional.of(older));
+        when(orderSearchRepository.search(filter, null, null, 3)).thenReturn(List.of(orderView(9, 1, 1, newer, "Created")));
+        when(orderSearchRepository.searchArchive(filter, null, null, 3)).thenReturn(List.of(
+                orderView(2, 1, 1, older, "Delivered"), orderView(3, 1, 1, older, "Delivered")));
 
-        when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
-        when(orderRepository.findByCustomer(customer)).thenReturn(ordersOfCustomer);
+        // Act
+        CursorPageDto<OrderDto> page = orderService.searchOrders(filter, null, 2);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertEquals(2, page.getItems().get(0).getId());
+        assertEquals(3, page.getItems().get(1).getId());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    public void OrderService_SearchOrders_RangeAfterTheArchiveReadsOnlyOrders() {
+        // Arrange
+        Date archivedUntil = new Date(1_600_000_000_000L);
+        OrderSearchFilter filter = new OrderSearchFilter(null, new Date(1_700_000_000_000L), null, 1, null);
+        when(archivedOrderRepository.findLatestOrderDate()).thenReturn(Optional.of(archivedUntil));
+        when(orderSearchRepository.search(filter, null, null, 11)).thenReturn(List.of());
 
         // Act
-        List<OrderDto> orderDtoList = orderService.getOrdersOfCustomer(customerId);
+        orderService.searchOrders(filter, null, 10);
 
         // Assert
-        assertNotNull(orderDtoList);
-        assertEquals(ordersOfCustomer.size(), orderDtoList.size());
+        verify(orderSearchRepository, never()).searchArchive(any(), any(), any(), any(Integer.class));
+    }
+
+    @Test
+    public void OrderService_GetById_ArchivedOrderIsReadFromArchive() {
+        // Arrange
+        when(orderRepository.findViewById(4)).thenReturn(Optional.empty());
+        when(archivedOrderRepository.findViewById(4)).thenReturn(Optional.of(orderView(4, 1, 1, new Date(), "Delivered")));
+
+        // Act
+        OrderDto orderDto = orderService.getOrderById(4);
+
+        // Assert
+        assertEquals(4, orderDto.getId());
+        assertEquals("Delivered", orderDto.getStatus());
+    }
+
+    @Test
+    public void OrderService_SearchOrders_EmptyRangeThrowsIllegalArgumentException() {
+        // Arrange
+        Date date = new Date();
+        OrderSearchFilter filter = new OrderSearchFilter(null, date, date, null, null);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> orderService.searchOrders(filter, null, 10));
     }
 
     @Test
@@ -143,8 +303,240 @@ class OrderServiceImplTest {
         // Assert
         assertNotNull(savedOrderDto);
         assertEquals(order.getQuantity(), savedOrderDto.getQuantity());
+        verify(walletService, times(1)).debit(eq(1), eq(40.0), any(String.class));
+        verify(inventoryService, times(1)).reserveForTransaction(Map.of(1, 2));
+        verify(outboxService, times(1)).recordOrderEvents(eq(OutboxEvent.ORDER_CREATED), any());
+    }
+
+    @Test
+    public void OrderService_SaveOrder_InsufficientBalanceThrowsIllegalArgumentException() {
+        // Arrange
+        OrderDto orderDto = new OrderDto();
+        orderDto.setQuantity(2);
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setId(1);
+        orderDto.setCustomer(customerDto);
+        ProductDto productDto = new ProductDto();
+        productDto.setId(1);
+        orderDto.setProduct(productDto);
+
+        Product product = new Product();
+        product.setId(1);
+        product.setPrice(20.0);
+        when(productRepository.findById(1)).thenReturn(Optional.of(product));
+        Customer customer = new Customer();
+        customer.setId(1);
+        when(customerRepository.getReferenceById(1)).thenReturn(customer);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new IllegalArgumentException("Insufficient wallet balance: 30.0 required: 40.0")).when(walletService)
+                .debit(eq(1), eq(40.0), any(String.class));
+
+        // Act & Assert
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> orderService.saveOrder(orderDto));
+        assertEquals("Insufficient wallet balance: 30.0 required: 40.0", e.getMessage());
+    }
+
+    @Test
+    public void OrderService_SaveOrder_CustomerNotFoundThrowsResourceNotFoundException() {
+        // Arrange
+        OrderDto orderDto = new OrderDto();
+        orderDto.setQuantity(1);
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setId(1);
+        orderDto.setCustomer(customerDto);
+        ProductDto productDto = new ProductDto();
+        productDto.setId(1);
+        orderDto.setProduct(productDto);
+
+        Product product = new Product();
+        product.setId(1);
+        product.setPrice(20.0);
+        when(productRepository.findById(1)).thenReturn(Optional.of(product));
+        Customer customer = new Customer();
+        customer.setId(1);
+        when(customerRepository.getReferenceById(1)).thenReturn(customer);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new ResourceNotFoundException("customer", "id", 1)).when(walletService)
+                .debit(eq(1), eq(20.0), any(String.class));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> orderService.saveOrder(orderDto));
+    }
+
+    @Test
+    public void OrderService_SaveOrder_InsufficientStockThrowsIllegalArgumentException() {
+        // Arrange
+        OrderDto orderDto = batchOrder(1, 1, 5);
+        Product product = new Product();
+        product.setId(1);
+        product.setPrice(20.0);
+        when(productRepository.findById(1)).thenReturn(Optional.of(product));
+        doThrow(new IllegalArgumentException("Insufficient stock")).when(inventoryService)
+                .reserveForTransaction(Map.of(1, 5));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> orderService.saveOrder(orderDto));
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(walletService, never()).debit(any(Integer.class), any(Double.class), any(String.class));
+    }
+
+
+    @Test
+    public void OrderService_SaveOrders_ReportsResultPerItemAndDebitsOncePerCustomer() {
+        // Arrange
+        Customer customer = new Customer();
+        customer.setId(1);
+        Product product = new Product();
+        product.setId(1);
+        product.setPrice(20.0);
+        when(customerRepository.findAllById(any())).thenReturn(List.of(customer));
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+        when(walletService.getBalances(any())).thenReturn(Map.of(1, 50.0));
+        when(orderRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            for (int i = 0; i < orders.size(); i++) {
+                orders.get(i).setId(i + 10);
+            }
+            return orders;
+        });
+
+        List<OrderDto> orderDtos = List.of(
+                batchOrder(1, 1, 1),  // 20.0, accepted
+                batchOrder(1, 2, 1),  // unknown product
+                batchOrder(1, 1, 1),  // 20.0, accepted
+                batchOrder(1, 1, 1),  // 20.0, exceeds the remaining 10.0
+                batchOrder(2, 1, 1)); // unknown customer
+
+        // Act
+        List<OrderBatchResultDto> results = orderService.saveOrders(orderDtos);
+
+        // Assert
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(2).isSuccess());
+        assertFalse(results.get(3).isSuccess());
+        assertFalse(results.get(4).isSuccess());
+        assertEquals(10, results.get(0).getOrder().getId());
+        verify(orderRepository, times(1)).saveAll(any());
+        verify(walletService, times(1)).debit(eq(1), eq(40.0), any(String.class));
+    }
+
+    @Test
+    public void OrderService_SaveOrders_TooManyOrdersThrowsIllegalArgumentException() {
+        // Arrange
+        List<OrderDto> orderDtos = new ArrayList<>();
+        for (int i = 0; i < 1001; i++) {
+            orderDtos.add(batchOrder(1, 1, 1));
+        }
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> orderService.saveOrders(orderDtos));
+    }
+
+    @Test
+    public void OrderService_Checkout_LoadsProductsOnceAndDebitsTotalOnce() {
+        // Arrange
+        Product first = new Product();
+        first.setId(1);
+        first.setPrice(20.0);
+        Product second = new Product();
+        second.setId(2);
+        second.setPrice(5.0);
+        Customer customer = new Customer();
+        customer.setId(1);
+        when(customerRepository.getReferenceById(1)).thenReturn(customer);
+        when(productRepository.findAllById(any())).thenReturn(List.of(first, second));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId(7);
+            return order;
+        });
+        CheckoutDto checkoutDto = new CheckoutDto(1, null, List.of(
+                new OrderLineDto(1, 2, null),
+                new OrderLineDto(2, 3, null),
+                new OrderLineDto(1, 1, null)));
+
+        // Act
+        CheckoutResultDto result = orderService.checkout(checkoutDto);
+
+        // Assert
+        assertEquals(75.0, result.getTotalPrice());
+        assertEquals(2, result.getLines().size());
+        assertEquals(3, result.getLines().get(0).getQuantity());
+        assertEquals(20.0, result.getLines().get(0).getUnitPrice());
+        assertNull(result.getOrder().getProduct());
+        verify(productRepository, times(1)).findAllById(any());
+        verify(inventoryService, times(1)).reserveForTransaction(Map.of(1, 3, 2, 3));
+        verify(orderLineRepository, times(1)).saveAll(any());
+        verify(walletService, times(1)).debit(1, 75.0, "order:7");
+        verify(outboxService, times(1)).recordOrderEvents(eq(OutboxEvent.ORDER_CREATED), any());
+    }
+
+    @Test
+    public void OrderService_Checkout_UnknownProductThrowsResourceNotFoundException() {
+        // Arrange
+        Product product = new Product();
+        product.setId(1);
+        product.setPrice(20.0);
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+        CheckoutDto checkoutDto = new CheckoutDto(1, null, List.of(new OrderLineDto(1, 1, null), new OrderLineDto(9, 1, null)));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> orderService.checkout(checkoutDto));
+        verify(inventoryService, never()).reserveForTransaction(any());
+        verify(walletService, never()).debit(any(Integer.class), any(Double.class), any(String.class));
     }
 
+    @Test
+    public void OrderService_Checkout_InsufficientBalanceThrowsIllegalArgumentException() {
+        // Arrange
+        Product product = new Product();
+        product.setId(1);
+        product.setPrice(20.0);
+        when(productRepository.findAllById(any())).thenReturn(List.of(product));
+        Customer customer = new Customer();
+        customer.setId(1);
+        when(customerRepository.getReferenceById(1)).thenReturn(customer);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new IllegalArgumentException("Insufficient wallet balance: 30.0 required: 40.0")).when(walletService)
+                .debit(eq(1), eq(40.0), any(String.class));
+        CheckoutDto checkoutDto = new CheckoutDto(1, null, List.of(new OrderLineDto(1, 2, null)));
+
+        // Act & Assert
+        // The reservation made before the debit is released when the transaction rolls back
+        assertThrows(IllegalArgumentException.class, () -> orderService.checkout(checkoutDto));
+    }
+
+    @Test
+    public void OrderService_Checkout_InvalidLinesThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> orderService.checkout(new CheckoutDto(1, null, List.of())));
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.checkout(new CheckoutDto(1, null, List.of(new OrderLineDto(1, 0, null)))));
+        verify(productRepository, never()).findAllById(any());
+    }
+
+    @Test
+    public void OrderService_GetOrderLines_OrderNotFoundThrowsResourceNotFoundException() {
+        // Arrange
+        when(orderRepository.existsById(1)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderLines(1));
+    }
+
+    private static OrderDto batchOrder(int customerId, int productId, int quantity) {
+        CustomerDto customerDto = new CustomerDto();
+        customerDto.setId(customerId);
+        ProductDto productDto = new ProductDto();
+        productDto.setId(productId);
+        OrderDto orderDto = new OrderDto();
+        orderDto.setCustomer(customerDto);
+        orderDto.setProduct(productDto);
+        orderDto.setQuantity(quantity);
+        return orderDto;
+    }
 
     @Test
     public void OrderService_UpdateOrder_ValidOrderIdAndData_ReturnsUpdatedOrderDTO() {
@@ -152,11 +544,11 @@ class OrderServiceImplTest {
         int orderId = 1;
         Date newDeliveryDate = new Date();
         String newStatus = "Delivered";
-        Order order = new Order(orderId, new Customer(), new Product(), 2, new Date(), null, "Pending");
+        Order order = new Order(orderId, new Customer(), new Product(), 2, new Date(), null, "Pending", 0L);
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
 
         // Act
-        OrderDto updatedOrderDto = orderService.updateOrder(orderId, newDeliveryDate, newStatus);
+        OrderDto updatedOrderDto = orderService.updateOrder(orderId, newDeliveryDate, newStatus, 0L);
 
         // Assert
         assertNotNull(updatedOrderDto);
@@ -174,14 +566,63 @@ class OrderServiceImplTest {
         when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> orderService.updateOrder(orderId, newDeliveryDate, newStatus));
+        assertThrows(ResourceNotFoundException.class, () -> orderService.updateOrder(orderId, newDeliveryDate, newStatus, 0L));
+    }
+
+    @Test
+    public void OrderService_UpdateOrder_StaleVersionThrowsConcurrentUpdateException() {
+        // Arrange
+        int orderId = 1;
+        Order order = new Order(orderId, new Customer(), new Product(), 2, new Date(), null, "Shipped", 2L);
+        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+
+        // Act & Assert
+        assertThrows(ConcurrentUpdateException.class, () -> orderService.updateOrder(orderId, new Date(), "Delivered", 1L));
+        assertEquals("Shipped", order.getStatus());
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
+        verify(outboxService, never()).recordOrderEvents(any(), any());
+    }
+
+    @Test
+    public void OrderService_UpdateOrderStatuses_RunsOneUpdatePerChunk() {
+        // Arrange
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 1; i <= 2500; i++) {
+            ids.add(i);
+        }
+        ids.add(1);
+        // 100 orders of the last chunk are not in a status that may move to Shipped
+        when(orderWriteRepository.updateStatus(any(), any(), eq(Order.SHIPPED), any())).thenAnswer(invocation -> {
+            List<Integer> chunk = new ArrayList<>(invocation.getArgument(0));
+            return chunk.size() == 500 ? chunk.subList(0, 400) : chunk;
+        });
+
+        // Act
+        OrderStatusUpdateResultDto result = orderService.updateOrderStatuses(new OrderStatusUpdateDto(ids, Order.SHIPPED, null));
+
+        // Assert
+        assertEquals(2500, result.getRequested());
+        assertEquals(2400, result.getUpdated());
+        verify(orderWriteRepository, times(3)).updateStatus(any(), eq(Set.of(Order.CREATED)), eq(Order.SHIPPED), any());
+        verify(orderRepository, never()).findById(any(Integer.class));
+        verify(outboxService, times(3)).recordOrderEvents(eq(OutboxEvent.ORDER_UPDATED), any());
+    }
+
+    @Test
+    public void OrderService_UpdateOrderStatuses_UnknownTargetStatusThrowsIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.updateOrderStatuses(new OrderStatusUpdateDto(List.of(1), Order.CREATED, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.updateOrderStatuses(new OrderStatusUpdateDto(List.of(), Order.SHIPPED, null)));
+        verify(orderWriteRepository, never()).updateStatus(any(), any(), any(), any());
     }
 
     @Test
     public void OrderService_Delete_ValidOrderId_DeletesOrder() {
         // Arrange
         int orderId = 1;
-        Order order = new Order(orderId, new Customer(), new Product(), 2, new Date(), null, "Pending");
+        Order order = new Order(orderId, new Customer(), new Product(), 2, new Date(), null, "Pending", 0L);
         when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
 
         // Act
@@ -189,6 +630,7 @@ class OrderServiceImplTest {
 
         // Assert
         verify(orderRepository, times(1)).deleteById(orderId);
+        verify(outboxService, times(1)).recordOrderEvents(eq(OutboxEvent.ORDER_DELETED), any());
     }
 
     @Test
@@ -200,4 +642,11 @@ class OrderServiceImplTest {
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> orderService.deleteOrder(orderId));
     }
+
+    private static OrderView orderView(int id, int customerId, int quantity, Date orderDate, String status) {
+        return new OrderView(id, quantity, orderDate, null, status, 0L,
+                customerId, "name", "loc", "phone", "mail", "birth", new Date(),
+                1, "product", 10.0, null, null, 5, new Date(),
+                1, "category", null, new Date());
+    }
 }
@@ -0,0 +1,200 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import staj.ordermanagementsystemapi.business.abstracts.OrderService;
+import staj.ordermanagementsystemapi.business.abstracts.OutboxService;
+import staj.ordermanagementsystemapi.core.utilities.outbox.InMemoryOutboxSink;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CategoryRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CustomerRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OutboxEventRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OutboxRelayStateRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+import staj.ordermanagementsystemapi.entities.concretes.Category;
+import staj.ordermanagementsystemapi.entities.concretes.Customer;
+import staj.ordermanagementsystemapi.entities.concretes.OutboxEvent;
+import staj.ordermanagementsystemapi.entities.concretes.OutboxRelayState;
+import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.dto.CheckoutDto;
+import staj.ordermanagementsystemapi.entities.dto.CheckoutResultDto;
+import staj.ordermanagementsystemapi.entities.dto.CursorPageDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderEventDto;
+import staj.ordermanagementsystemapi.entities.dto.OrderLineDto;
+import staj.ordermanagementsystemapi.entities.dto.OutboxEventDto;
+
+@SpringBootTest
+class OutboxServiceImplTest {
+
+    @Autowired
+    private OutboxService outboxService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private InMemoryOutboxSink outboxSink;
+    @Autowired
+    private OutboxRelayStateRepository outboxRelayStateRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void OutboxService_Relay_PublishesEveryCommittedEventOnce() {
+        // Arrange
+        List<OrderEventDto> events = new ArrayList<>();
+        for (int i = 0; i < 450; i++) {
+            events.add(new OrderEventDto(100_000 + i, 1, 1, 1, "Created", null, null, null));
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> outboxService.recordOrderEvents(OutboxEvent.ORDER_CREATED, events));
+        // Events of a rolled back transaction are never published
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            outboxService.recordOrderEvents(OutboxEvent.ORDER_DELETED, List.of(new OrderEventDto(-1, null, null, null,
+                    null, null, null, null)));
+            status.setRollbackOnly();
+        });
+
+        // Act
+        outboxService.relay();
+        int relayedAgain = outboxService.relay();
+
+        // Assert
+        assertEquals(0, relayedAgain);
+        Set<Integer> published = new HashSet<>();
+        outboxSink.getEvents().forEach(event -> published.add(event.getOrderId()));
+        for (OrderEventDto event : events) {
+            assertTrue(published.contains(event.getOrderId()));
+        }
+        assertTrue(!published.contains(-1));
+        assertEquals(0, outboxEventRepository.findAll().stream().filter(event -> event.getPublishedAt() == null).count());
+    }
+
+    @Test
+    public void OutboxService_GetEvents_PagesEveryEventOnce() {
+        // Arrange
+        List<OrderEventDto> events = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            events.add(new OrderEventDto(200_000 + i, 1, 1, 1, "Created", null, null, null));
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> outboxService.recordOrderEvents(OutboxEvent.ORDER_CREATED, events));
+        outboxService.relay();
+
+        // Act
+        Set<Integer> orderIds = new HashSet<>();
+        long lastSeq = 0;
+        Long after = null;
+        String cursor;
+        do {
+            CursorPageDto<OutboxEventDto> page = outboxService.getEvents(after, 10);
+            for (OutboxEventDto event : page.getItems()) {
+                assertTrue(event.getPublishSeq() > lastSeq);
+                lastSeq = event.getPublishSeq();
+                if (event.getOrderId() >= 200_000) {
+                    assertTrue(orderIds.add(event.getOrderId()));
+                }
+            }
+            cursor = page.getNextCursor();
+            after = cursor == null ? null : Long.valueOf(cursor);
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(25, orderIds.size());
+    }
+
+    @Test
+    public void OutboxService_GetEvents_EventWithLowerIdCommittedLaterIsNotSkipped() {
+        // Arrange
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> outboxService.recordOrderEvents(
+                OutboxEvent.ORDER_CREATED, List.of(new OrderEventDto(300_000, 1, 1, 1, "Created", null, null, null))));
+        outboxService.relay();
+        Long after = outboxRelayStateRepository.findById(OutboxRelayState.ID).orElseThrow().getLastPublishSeq();
+        // An id allocated before the events above, committed only now
+        jdbcTemplate.update("insert into outbox_event (id, type, aggregate_id, payload, created_at) values (?, ?, ?, ?, ?)",
+                -300_001L, OutboxEvent.ORDER_CREATED, 300_001, "{\"orderId\":300001}", new Date());
+        outboxService.relay();
+
+        // Act
+        CursorPageDto<OutboxEventDto> page = outboxService.getEvents(after, 10);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertEquals(-300_001L, page.getItems().get(0).getId());
+        assertEquals(after + 1, page.getItems().get(0).getPublishSeq());
+    }
+
+    @Test
+    public void OutboxService_RecordOrderEvents_StoresTheEventOfTheLargestCheckout() throws Exception {
+        // Arrange
+        String suffix = String.valueOf(System.nanoTime());
+        Category category = new Category();
+        category.setName("outbox-category-" + suffix);
+        category = categoryRepository.save(category);
+        List<OrderLineDto> lines = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Product product = new Product();
+            product.setName("outbox-product-" + suffix + "-" + i);
+            product.setPrice(1234.56);
+            product.setCategory(category);
+            product.setQuantity(100);
+            lines.add(new OrderLineDto(productRepository.save(product).getId(), 10, null));
+        }
+        Customer customer = new Customer();
+        customer.setName("outbox-customer");
+        customer.setPhone(suffix.substring(suffix.length() - 10));
+        customer.setMail("outbox-" + suffix + "@customer.com");
+        customer.setPassword("pass");
+        customer.setWalletBalance(3_000_000.0);
+        int customerId = customerRepository.save(customer).getId();
+
+        // Act
+        CheckoutResultDto result = orderService.checkout(new CheckoutDto(customerId, null, lines));
+
+        // Assert
+        Integer orderId = result.getOrder().getId();
+        OutboxEvent event = outboxEventRepository.findAll().stream()
+                .filter(outboxEvent -> orderId.equals(outboxEvent.getAggregateId()))
+                .findFirst().orElseThrow();
+        assertTrue(event.getPayload().length() > 10_000);
+        outboxService.relay();
+        OutboxEventDto published = outboxSink.getEvents().stream()
+                .filter(outboxEvent -> orderId.equals(outboxEvent.getOrderId()))
+                .findFirst().orElseThrow();
+        assertEquals(200, objectMapper.readValue(published.getPayload(), OrderEventDto.class).getLines().size());
+    }
+
+    @Test
+    public void OutboxService_RecordOrderEvents_OutsideTransactionThrows() {
+        // Act & Assert
+        assertThrows(IllegalTransactionStateException.class, () -> outboxService.recordOrderEvents(
+                OutboxEvent.ORDER_CREATED, List.of(new OrderEventDto(1, 1, 1, 1, "Created", null, null, null))));
+    }
+}
@@ -0,0 +1,85 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+import staj.ordermanagementsystemapi.entities.dto.CategoryDto;
+import staj.ordermanagementsystemapi.entities.dto.FacetCountDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductFilterResultDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductIndexRow;
+
+class ProductFacetServiceImplTest {
+
+    private ProductRepository productRepository;
+    private ProductFacetServiceImpl productFacetService;
+
+    @BeforeEach
+    public void setUp() {
+        productRepository = mock(ProductRepository.class);
+        productFacetService = new ProductFacetServiceImpl(productRepository, mock(PlatformTransactionManager.class));
+        when(productRepository.streamIndexRows()).thenReturn(Stream.of(
+                new ProductIndexRow(10, "Tea Kettle", null, 30.0, null, 1, 5),
+                new ProductIndexRow(20, "Coffee Mug", null, 8.0, null, 1, 0),
+                new ProductIndexRow(30, "Desk Lamp", null, 45.0, null, 2, 7)));
+        productFacetService.rebuild();
+    }
+
+    @Test
+    public void ProductFacetService_Filter_CombinesFacetsAndCountsOtherValues() {
+        // Act
+        ProductFilterResultDto result = productFacetService.filter(List.of(1), List.of(2, 3), true, 0, 50);
+
+        // Assert
+        assertEquals(1, result.getTotal());
+        assertEquals(List.of(10), result.getProductIds());
+        // Category counts ignore the category filter itself
+        assertEquals(List.of(new FacetCountDto(1, null, 1), new FacetCountDto(2, null, 1)), result.getCategories());
+        assertEquals(1, result.getPriceBands().get(2).getCount());
+        assertEquals("25-50", result.getPriceBands().get(2).getLabel());
+        assertEquals(1, result.getInStock());
+    }
+
+    @Test
+    public void ProductFacetService_Filter_NoFiltersPagesOverEveryProduct() {
+        // Act
+        ProductFilterResultDto result = productFacetService.filter(null, null, null, 1, 1);
+
+        // Assert
+        assertEquals(3, result.getTotal());
+        assertEquals(List.of(20), result.getProductIds());
+        assertEquals(2, result.getInStock());
+    }
+
+    @Test
+    public void ProductFacetService_Index_MovesProductBetweenFacets() {
+        // Act
+        productFacetService.index(new ProductDto(20, "Coffee Mug", 120.0, null, null, new CategoryDto(2, "Home", null, null),
+                4, new Date(), null));
+        productFacetService.remove(30);
+        productFacetService.updateStock(10, 0);
+
+        // Assert
+        assertEquals(List.of(20), productFacetService.filter(List.of(2), null, true, 0, 50).getProductIds());
+        assertEquals(List.of(20), productFacetService.filter(null, List.of(4), null, 0, 50).getProductIds());
+        assertEquals(List.of(10), productFacetService.filter(null, null, false, 0, 50).getProductIds());
+        assertEquals(List.of(), productFacetService.filter(List.of(1), null, true, 0, 50).getProductIds());
+    }
+
+    @Test
+    public void ProductFacetService_Filter_UnknownPriceBandThrowsIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> productFacetService.filter(null, List.of(8), null, 0, 50));
+    }
+}
@@ -0,0 +1,94 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import staj.ordermanagementsystemapi.business.abstracts.ProductFacetService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductImportService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductSearchService;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CategoryRepository;
+import staj.ordermanagementsystemapi.entities.concretes.Category;
+import staj.ordermanagementsystemapi.entities.dto.ProductImportProgressDto;
+
+@SpringBootTest
+class ProductImportServiceImplTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+    @Autowired
+    private ProductSearchService productSearchService;
+    @Autowired
+    private ProductFacetService productFacetService;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void ProductImportService_ImportProducts_LoadsValidCsvRowsAndReportsTheRest() throws Exception {
+        // Arrange
+        String suffix = String.valueOf(System.nanoTime());
+        Category category = new Category();
+        category.setName("Import-Category-" + suffix);
+        category = categoryRepository.save(category);
+        String csv = "quantity,name,price,category,details\n"
+                + "5,zxkettle" + suffix + ",30.5,import-category-" + suffix + ",\"Steel, 1.7l\nwith \"\"filter\"\"\"\n"
+                + "1,Unknown Category,2,no-such-category-" + suffix + ",\n"
+                + "2,Bad Price,free,import-category-" + suffix + ",\n"
+                + "0,zxmug" + suffix + ",8,IMPORT-CATEGORY-" + suffix + ",\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        ProductImportProgressDto result = productImportService.importProducts(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ProductImportService.Format.CSV, out);
+
+        // Assert
+        assertEquals(new ProductImportProgressDto(4L, 2L, 2L, true), result);
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertTrue(lines.contains("{\"line\":4,\"error\":\"Category 'no-such-category-" + suffix + "' does not exist.\"}"));
+        assertTrue(lines.get(lines.size() - 1).contains("\"done\":true"));
+        assertEquals("Steel, 1.7l\nwith \"filter\"", jdbcTemplate.queryForObject(
+                "select details from product where name = ?", String.class, "zxkettle" + suffix));
+        assertEquals(category.getId(), jdbcTemplate.queryForObject(
+                "select category_id from product where name = ?", Integer.class, "zxmug" + suffix));
+        assertEquals(1, productSearchService.search("zxkettle" + suffix, 10).size());
+        assertEquals(1, productFacetService.filter(List.of(category.getId()), null, true, 0, 50).getTotal());
+    }
+
+    @Test
+    public void ProductImportService_ImportProducts_ReadsNdjsonAndRejectsMalformedLines() throws Exception {
+        // Arrange
+        String suffix = String.valueOf(System.nanoTime());
+        Category category = new Category();
+        category.setName("ndjson-category-" + suffix);
+        categoryRepository.save(category);
+        String ndjson = "{\"name\":\"ndjson product " + suffix + "\",\"price\":12,\"category\":\"ndjson-category-" + suffix
+                + "\",\"quantity\":3}\n\n"
+                + "not json\n"
+                + "{\"name\":\"negative " + suffix + "\",\"price\":1,\"category\":\"ndjson-category-" + suffix
+                + "\",\"quantity\":-1}\n";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        ProductImportProgressDto result = productImportService.importProducts(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), ProductImportService.Format.NDJSON, out);
+
+        // Assert
+        assertEquals(new ProductImportProgressDto(3L, 1L, 2L, true), result);
+        String output = out.toString(StandardCharsets.UTF_8);
+        assertTrue(output.contains("{\"line\":3,\"error\":\"Line is not valid JSON.\"}"));
+        assertTrue(output.contains("{\"line\":4,\"error\":\"Quantity must not be negative.\"}"));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from product where name = ?", Integer.class,
+                "ndjson product " + suffix));
+    }
+}
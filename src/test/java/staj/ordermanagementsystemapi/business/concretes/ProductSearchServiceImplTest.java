@@ -0,0 +1,84 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+import staj.ordermanagementsystemapi.entities.dto.CategoryDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductIndexRow;
+import staj.ordermanagementsystemapi.entities.dto.ProductSearchHitDto;
+
+class ProductSearchServiceImplTest {
+
+    private ProductRepository productRepository;
+    private ProductSearchServiceImpl productSearchService;
+
+    @BeforeEach
+    public void setUp() {
+        productRepository = mock(ProductRepository.class);
+        productSearchService = new ProductSearchServiceImpl(productRepository, mock(PlatformTransactionManager.class));
+        when(productRepository.streamIndexRows()).thenReturn(Stream.of(
+                new ProductIndexRow(1, "Tea Kettle", "Steel kettle", 30.0, "kettle.jpg", 1, 5),
+                new ProductIndexRow(2, "Coffee Mug", "Large mug", 8.0, "mug.jpg", 1, 0)));
+    }
+
+    @Test
+    public void ProductSearchService_Rebuild_IndexesEveryStreamedProduct() {
+        // Act
+        int indexed = productSearchService.rebuild();
+        List<ProductSearchHitDto> hits = productSearchService.search("mug", 10);
+
+        // Assert
+        assertEquals(2, indexed);
+        assertEquals(1, hits.size());
+        assertEquals("Coffee Mug", hits.get(0).getName());
+        assertEquals(8.0, hits.get(0).getPrice());
+        assertTrue(hits.get(0).getScore() > 0);
+    }
+
+    @Test
+    public void ProductSearchService_Index_UpdatedProductIsFoundByNewName() {
+        // Arrange
+        productSearchService.rebuild();
+        ProductDto updated = new ProductDto(2, "Travel Cup", 12.0, "cup.jpg", "Insulated", new CategoryDto(), 3, new Date(), null);
+
+        // Act
+        productSearchService.index(updated);
+
+        // Assert
+        assertEquals(List.of(), productSearchService.search("mug", 10));
+        assertEquals(12.0, productSearchService.search("travel", 10).get(0).getPrice());
+        assertEquals(List.of("travel"), productSearchService.suggest("tra", 10));
+    }
+
+    @Test
+    public void ProductSearchService_Remove_DeletedProductIsNotFound() {
+        // Arrange
+        productSearchService.rebuild();
+
+        // Act
+        productSearchService.remove(1);
+
+        // Assert
+        assertEquals(List.of(), productSearchService.search("kettle", 10));
+    }
+
+    @Test
+    public void ProductSearchService_Search_BlankQueryThrowsIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> productSearchService.search(" ", 10));
+        assertThrows(IllegalArgumentException.class, () -> productSearchService.suggest("te", 0));
+    }
+}
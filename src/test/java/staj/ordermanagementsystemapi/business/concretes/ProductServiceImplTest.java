@@ -5,31 +5,52 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.modelmapper.ModelMapper;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import staj.ordermanagementsystemapi.business.abstracts.CatalogService;
 import staj.ordermanagementsystemapi.business.abstracts.CategoryService;
+import staj.ordermanagementsystemapi.business.abstracts.InventoryService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductFacetService;
+import staj.ordermanagementsystemapi.business.abstracts.ProductSearchService;
 import staj.ordermanagementsystemapi.business.abstracts.ProductService;
+import staj.ordermanagementsystemapi.core.exception.ConcurrentUpdateException;
 import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.core.utilities.concurrency.OptimisticWriteExecutor;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.CategoryRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductDetailRepository;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductWriteRepository;
 import staj.ordermanagementsystemapi.entities.concretes.Category;
 import staj.ordermanagementsystemapi.entities.concretes.Product;
 import staj.ordermanagementsystemapi.entities.dto.CategoryDto;
 import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductIndexRow;
+import staj.ordermanagementsystemapi.entities.dto.ProductRepriceDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductRepriceResultDto;
 
 class ProductServiceImplTest {
 
@@ -39,17 +60,34 @@ class ProductServiceImplTest {
 
     private ProductService productService;
     private ProductRepository productRepository;
+    private ProductWriteRepository productWriteRepository;
+    private ProductDetailRepository productDetailRepository;
     private ModelMapper productModelMapper;
+    private InventoryService inventoryService;
+    private SimpleMeterRegistry meterRegistry;
+    private ProductSearchService productSearchService;
+    private ProductFacetService productFacetService;
 
     @BeforeEach
     public void setUp() {
         categoryRepository = mock(CategoryRepository.class);
         categoryModelMapper = new ModelMapper();
-        categoryService = new CategoryServiceImpl(categoryRepository, categoryModelMapper);
 
         productRepository = mock(ProductRepository.class);
+        productWriteRepository = mock(ProductWriteRepository.class);
+        productDetailRepository = mock(ProductDetailRepository.class);
         productModelMapper = new ModelMapper();
-        productService = new ProductServiceImpl(productRepository, categoryRepository, productModelMapper);
+        inventoryService = mock(InventoryService.class);
+        when(inventoryService.writeStock(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+        meterRegistry = new SimpleMeterRegistry();
+        productSearchService = mock(ProductSearchService.class);
+        productFacetService = mock(ProductFacetService.class);
+        productService = new ProductServiceImpl(productRepository, categoryRepository, productWriteRepository, productDetailRepository,
+                productModelMapper, inventoryService,
+                new OptimisticWriteExecutor(mock(PlatformTransactionManager.class), new SimpleMeterRegistry()),
+                mock(CatalogService.class), productSearchService, productFacetService, meterRegistry, 100, 60_000);
+        categoryService = new CategoryServiceImpl(categoryRepository, categoryModelMapper, mock(CatalogService.class), productService);
     }
 
     // ProductService Tests
@@ -57,8 +95,8 @@ class ProductServiceImplTest {
     public void ProductService_GetAll_ReturnsAllProducts() {
         // Arrange
         List<Product> products = new ArrayList<>();
-        products.add(new Product(1, "Product 1", 10.0, "thumbnail1", "Detail 1", new Category(), 100, new Date()));
-        products.add(new Product(2, "Product 2", 20.0, "thumbnail2", "Detail 2", new Category(), 50, new Date()));
+        products.add(new Product(1, "Product 1", 10.0, "thumbnail1", "Detail 1", new Category(), 100, new Date(), 0L));
+        products.add(new Product(2, "Product 2", 20.0, "thumbnail2", "Detail 2", new Category(), 50, new Date(), 0L));
         when(productRepository.findAll()).thenReturn(products);
 
         // Act
@@ -73,7 +111,7 @@ class ProductServiceImplTest {
     public void ProductService_GetById_ValidProductReturnsProduct() {
         // Arrange
         int productId = 1;
-        Product product = new Product(1, "Test Product", 10.0, "thumbnail", "Test Detail", new Category(), 100, new Date());
+        Product product = new Product(1, "Test Product", 10.0, "thumbnail", "Test Detail", new Category(), 100, new Date(), 0L);
         when(productRepository.findById(productId)).thenReturn(Optional.of(product));
 
         // Act
@@ -85,6 +123,45 @@ class ProductServiceImplTest {
         assertEquals(product.getName(), productDto.getName());
     }
 
+    @Test
+    public void ProductService_GetById_RepeatedReadIsServedFromCache() {
+        // Arrange
+        int productId = 1;
+        Product product = new Product(1, "Test Product", 10.0, "thumbnail", "Test Detail", new Category(), 100, new Date(), 0L);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+
+        // Act
+        ProductDto first = productService.getProductById(productId);
+        first.setName("Changed by caller");
+        ProductDto second = productService.getProductById(productId);
+
+        // Assert
+        verify(productRepository, times(1)).findById(productId);
+        assertEquals("Test Product", second.getName());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "product").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "product").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    public void ProductService_EvictCategory_ProductsOfThatCategoryAreReloaded() {
+        // Arrange
+        Category renamed = new Category(1, "Keyboards", "Details", new Date());
+        Category other = new Category(2, "Mice", "Details", new Date());
+        when(productRepository.findById(1)).thenReturn(Optional.of(new Product(1, "Keyboard", 10.0, "thumbnail", "Detail", renamed, 100, new Date(), 0L)));
+        when(productRepository.findById(2)).thenReturn(Optional.of(new Product(2, "Mouse", 5.0, "thumbnail", "Detail", other, 100, new Date(), 0L)));
+        productService.getProductById(1);
+        productService.getProductById(2);
+
+        // Act
+        productService.evictCategory(1);
+        productService.getProductById(1);
+        productService.getProductById(2);
+
+        // Assert
+        verify(productRepository, times(2)).findById(1);
+        verify(productRepository, times(1)).findById(2);
+    }
+
     @Test
     public void ProductService_GetById_ProductNotFoundThrowsResourceNotFoundException() {
         // Arrange
@@ -95,6 +172,16 @@ class ProductServiceImplTest {
         assertThrows(ResourceNotFoundException.class, () -> productService.getProductById(productId));
     }
 
+    @Test
+    public void ProductService_GetProductDetail_MissingProductThrowsResourceNotFoundException() {
+        // Arrange
+        when(productDetailRepository.findDetail(1, 5)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> productService.getProductDetail(1, 5));
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductDetail(1, ProductService.MAX_DETAIL_REVIEWS + 1));
+    }
+
     @Test
     public void ProductService_SaveProduct_ValidProductDTO_ReturnsSavedProductDTO() {
         // Arrange
@@ -148,13 +235,14 @@ class ProductServiceImplTest {
         Date newDate = new Date();
 
         // Creating ProductDTO
-        ProductDto productDto = new ProductDto(productId, updatedName, updatedPrice, updatedThumbnail, updatedDetail, categoryDto, newQuantity, newDate);
-        Product existingProduct = new Product(productId, "Test Product", 10.0, "thumbnail", "Test Details", category, 100, new Date());
+        ProductDto productDto = new ProductDto(productId, updatedName, updatedPrice, updatedThumbnail, updatedDetail, categoryDto, newQuantity, newDate, null);
+        Product existingProduct = new Product(productId, "Test Product", 10.0, "thumbnail", "Test Details", category, 100, new Date(), 0L);
         when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
         when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category)); // Mock category fetch
+        when(productRepository.saveAndFlush(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
-        ProductDto updatedProductDTO = productService.updateProduct(productId, updatedName, updatedPrice, updatedThumbnail, updatedDetail, categoryId, newQuantity, newDate);
+        ProductDto updatedProductDTO = productService.updateProduct(productId, updatedName, updatedPrice, updatedThumbnail, updatedDetail, categoryId, newQuantity, newDate, 0L);
 
         // Assert
         assertNotNull(updatedProductDTO);
@@ -166,6 +254,9 @@ class ProductServiceImplTest {
         assertEquals(categoryDto.getId(), updatedProductDTO.getCategory().getId());
         assertEquals(categoryDto.getName(), updatedProductDTO.getCategory().getName());
         assertEquals(newQuantity, updatedProductDTO.getQuantity());
+        verify(inventoryService, times(1)).writeStock(eq(productId), any(), any());
+        assertEquals(updatedName, productService.getProductById(productId).getName());
+        verify(productRepository, times(1)).findById(productId);
     }
 
     @Test
@@ -192,7 +283,7 @@ class ProductServiceImplTest {
         when(productRepository.findById(productId)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> productService.updateProduct(productId, updatedName, updatedPrice, updatedThumbnail, updatedDetail, categoryId, newQuantity, newDate));
+        assertThrows(ResourceNotFoundException.class, () -> productService.updateProduct(productId, updatedName, updatedPrice, updatedThumbnail, updatedDetail, categoryId, newQuantity, newDate, 0L));
     }
 
     @Test
@@ -217,27 +308,57 @@ class ProductServiceImplTest {
         Date newDate = new Date();
 
         // Mocking the product fetch
-        Product existingProduct = new Product(productId, "Test Product", 10.0, "thumbnail", "Test Details", category, 100, new Date());
+        Product existingProduct = new Product(productId, "Test Product", 10.0, "thumbnail", "Test Details", category, 100, new Date(), 0L);
         when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
 
         // Mocking the category fetch with an empty Optional to simulate category not found
         when(categoryRepository.findById(categoryId)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(ResourceNotFoundException.class, () -> productService.updateProduct(productId, updatedName, updatedPrice, updatedThumbnail, updatedDetail, categoryId, newQuantity, newDate));
+        assertThrows(ResourceNotFoundException.class, () -> productService.updateProduct(productId, updatedName, updatedPrice, updatedThumbnail, updatedDetail, categoryId, newQuantity, newDate, 0L));
+    }
+
+    @Test
+    public void ProductService_UpdateProduct_StaleVersionThrowsConcurrentUpdateException() {
+        // Arrange
+        int productId = 1;
+        Product existingProduct = new Product(productId, "Test Product", 10.0, "thumbnail", "Test Details", new Category(), 100, new Date(), 4L);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
+
+        // Act & Assert
+        assertThrows(ConcurrentUpdateException.class, () -> productService.updateProduct(productId, "Updated Product",
+                15.0, null, null, 1, 50, new Date(), 3L));
+        verify(productRepository, never()).saveAndFlush(any(Product.class));
     }
 
     @Test
     public void ProductService_Delete_ValidProductId_DeletesProduct() {
         // Arrange
         int productId = 1;
-        Product existingProduct = new Product(productId, "Test Product", 10.0, "thumbnail", "Test Details", new Category(), 100, new Date());
+        Product existingProduct = new Product(productId, "Test Product", 10.0, "thumbnail", "Test Details", new Category(), 100, new Date(), 0L);
         when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
         // Act
         assertDoesNotThrow(() -> productService.deleteProduct(productId));
 
         // Assert
         verify(productRepository, times(1)).deleteById(productId);
+        verify(productSearchService, times(1)).remove(productId);
+    }
+
+    @Test
+    public void ProductService_Delete_EvictsCachedProduct() {
+        // Arrange
+        int productId = 1;
+        Product existingProduct = new Product(productId, "Test Product", 10.0, "thumbnail", "Test Details", new Category(), 100, new Date(), 0L);
+        when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
+        productService.getProductById(productId);
+
+        // Act
+        productService.deleteProduct(productId);
+        when(productRepository.findById(productId)).thenReturn(Optional.empty());
+
+        // Assert
+        assertThrows(ResourceNotFoundException.class, () -> productService.getProductById(productId));
     }
 
     @Test
@@ -254,11 +375,91 @@ class ProductServiceImplTest {
     public void ProductService_Delete_AssociatedProductThrowsIllegalArgumentException() {
         // Arrange
         int productId = 1;
-        Product existingProduct = new Product(productId, "Test Product", 10.0, "thumbnail", "Test Details", new Category(), 100, new Date());
+        Product existingProduct = new Product(productId, "Test Product", 10.0, "thumbnail", "Test Details", new Category(), 100, new Date(), 0L);
         when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
         doThrow(DataIntegrityViolationException.class).when(productRepository).deleteById(productId);
 
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () -> productService.deleteProduct(productId));
     }
+
+    @Test
+    public void ProductService_RepriceCategory_UpdatesInOneStatementAndDropsOnlyRepricedProducts() {
+        // Arrange
+        Category category = new Category(3, "Electronics", null, new Date());
+        Product existingProduct = new Product(1, "Radio", 100.0, null, null, category, 5, new Date(), 0L);
+        Product otherProduct = new Product(2, "Kettle", 30.0, null, null, new Category(4, "Kitchen", null, new Date()),
+                5, new Date(), 0L);
+        when(productRepository.findById(1)).thenReturn(Optional.of(existingProduct));
+        when(productRepository.findById(2)).thenReturn(Optional.of(otherProduct));
+        when(categoryRepository.findById(3)).thenReturn(Optional.of(category));
+        when(productWriteRepository.repriceCategory(eq(3), any(), any(), any(), any()))
+                .thenReturn(List.of(new ProductIndexRow(1, "Radio", null, 105.0, null, 3, 5)));
+        productService.getProductById(1);
+        productService.getProductById(2);
+        existingProduct.setPrice(105.0);
+
+        // Act
+        ProductRepriceResultDto result = productService.repriceCategory(new ProductRepriceDto(3, 5.0, null, null, null));
+
+        // Assert
+        assertEquals(List.of(1), result.getProductIds());
+        verify(productWriteRepository).repriceCategory(3, new BigDecimal("1.050"), BigDecimal.ZERO,
+                BigDecimal.valueOf(0.01), RoundingMode.HALF_UP);
+        verify(productSearchService).index(any(ProductDto.class));
+        assertEquals(105.0, productService.getProductById(1).getPrice());
+        assertEquals(30.0, productService.getProductById(2).getPrice());
+        verify(productRepository, times(2)).findById(1);
+        verify(productRepository, times(1)).findById(2);
+    }
+
+    @Test
+    public void ProductService_RepriceCategory_PercentAndAmountTogetherThrowsIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> productService.repriceCategory(new ProductRepriceDto(3, 5.0, 1.0, null, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> productService.repriceCategory(new ProductRepriceDto(3, null, 1.0, null, RoundingMode.HALF_EVEN)));
+    }
+
+    @Test
+    public void ProductService_PatchProduct_StockOnlyPatchWritesOneColumnThroughTheStock() throws Exception {
+        // Arrange
+        ProductDto patched = new ProductDto(1, "Radio", 10.0, null, null, new CategoryDto(3, "Electronics", null, null), 7, new Date(), null);
+        when(productWriteRepository.patchProduct(1, Map.of("quantity", 7))).thenReturn(Optional.of(patched));
+
+        // Act
+        ProductDto result = productService.patchProduct(1, new ObjectMapper().readTree("{\"quantity\": 7}"));
+
+        // Assert
+        assertEquals(7, result.getQuantity());
+        verify(categoryRepository, never()).existsById(any());
+        verify(inventoryService).writeStock(eq(1), any(), any());
+        verify(productFacetService).updateStock(1, 7);
+        verify(productSearchService, never()).index(any());
+        assertEquals(7, productService.getProductById(1).getQuantity());
+    }
+
+    @Test
+    public void ProductService_PatchProduct_UnknownCategoryThrowsResourceNotFoundException() throws Exception {
+        // Arrange
+        when(categoryRepository.existsById(9)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class,
+                () -> productService.patchProduct(1, new ObjectMapper().readTree("{\"categoryId\": 9, \"price\": 5}")));
+        verify(productWriteRepository, never()).patchProduct(any(), any());
+    }
+
+    @Test
+    public void ProductService_PatchProduct_InvalidFieldsThrowIllegalArgumentException() {
+        // Arrange
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> productService.patchProduct(1, objectMapper.readTree("{\"version\": 3}")));
+        assertThrows(IllegalArgumentException.class, () -> productService.patchProduct(1, objectMapper.readTree("{\"name\": null}")));
+        assertThrows(IllegalArgumentException.class, () -> productService.patchProduct(1, objectMapper.readTree("{\"quantity\": 1.5}")));
+        assertThrows(IllegalArgumentException.class, () -> productService.patchProduct(1, objectMapper.readTree("[]")));
+    }
 }
@@ -18,16 +18,18 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
 
 import staj.ordermanagementsystemapi.business.abstracts.ReviewService;
 import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.CustomerRepository;
-import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderLineRepository;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
 import staj.ordermanagementsystemapi.dataAccess.abstracts.ReviewRepository;
 import staj.ordermanagementsystemapi.entities.concretes.Customer;
 import staj.ordermanagementsystemapi.entities.concretes.Product;
 import staj.ordermanagementsystemapi.entities.concretes.Review;
+import staj.ordermanagementsystemapi.entities.dto.CursorPageDto;
 import staj.ordermanagementsystemapi.entities.dto.CustomerDto;
 import staj.ordermanagementsystemapi.entities.dto.ProductDto;
 import staj.ordermanagementsystemapi.entities.dto.ReviewDto;
@@ -36,7 +38,7 @@ class ReviewServiceImplTest {
 
     private ProductRepository productRepository;
     private CustomerRepository customerRepository;
-    private OrderRepository orderRepository;
+    private OrderLineRepository orderLineRepository;
     private ReviewService reviewService;
     private ReviewRepository reviewRepository;
     private ModelMapper modelMapper;
@@ -45,11 +47,11 @@ class ReviewServiceImplTest {
     public void setUp() {
         productRepository = mock(ProductRepository.class);
         customerRepository = mock(CustomerRepository.class);
-        orderRepository = mock(OrderRepository.class);
+        orderLineRepository = mock(OrderLineRepository.class);
         reviewRepository = mock(ReviewRepository.class);
 
         modelMapper = new ModelMapper();
-        reviewService = new ReviewServiceImpl(productRepository, customerRepository, orderRepository, reviewRepository, modelMapper);
+        reviewService = new ReviewServiceImpl(productRepository, customerRepository, orderLineRepository, reviewRepository, modelMapper);
     }
 
     // ReviewService Tests
@@ -59,14 +61,14 @@ class ReviewServiceImplTest {
         List<Review> reviews = new ArrayList<>();
         reviews.add(new Review(1, "Review 1", 5, new Customer(), new Product(), new Date()));
         reviews.add(new Review(2, "Review 2", 4, new Customer(), new Product(), new Date()));
-        when(reviewRepository.findAll()).thenReturn(reviews);
+        when(reviewRepository.findFirstPage(PageRequest.of(0, 51))).thenReturn(reviews);
 
         // Act
-        List<ReviewDto> reviewDtoList = reviewService.getAllReviews();
+        CursorPageDto<ReviewDto> page = reviewService.getAllReviews(null, 50);
 
         // Assert
-        assertNotNull(reviewDtoList);
-        assertEquals(reviews.size(), reviewDtoList.size());
+        assertNotNull(page);
+        assertEquals(reviews.size(), page.getItems().size());
     }
 
     @Test
@@ -114,7 +116,7 @@ class ReviewServiceImplTest {
         when(reviewRepository.save(any(Review.class))).thenReturn(review);
         when(customerRepository.findById(1)).thenReturn(Optional.of(new Customer())); // Mock customer repository call
         when(productRepository.findById(1)).thenReturn(Optional.of(new Product())); // Mock product repository call
-        when(orderRepository.existsByCustomerAndProduct(any(Customer.class), any(Product.class))).thenReturn(true); // Mock order repository call
+        when(orderLineRepository.existsPurchase(1, 1)).thenReturn(true); // Mock order line repository call
 
         // Act
         ReviewDto savedReviewDto = reviewService.saveReview(reviewDto);
@@ -215,15 +217,8 @@ class ReviewServiceImplTest {
     public void ReviewService_GetAverageReviewOfProduct_ValidProductId_ReturnsAverageReview() {
         // Arrange
         int productId = 1;
-        Product product1 = new Product();
-        Product product2 = new Product();
-        product1.setId(productId);
-        product2.setId(productId);
-        List<Review> reviews = new ArrayList<>();
-        reviews.add(new Review(1, "Review 1", 5, new Customer(), product1, new Date()));
-        reviews.add(new Review(2, "Review 2", 4, new Customer(), product2, new Date()));
-        when(productRepository.findById(productId)).thenReturn(Optional.of(product1));
-        when(reviewRepository.findByProduct(product1)).thenReturn(reviews);
+        when(productRepository.existsById(productId)).thenReturn(true);
+        when(reviewRepository.findAverageStarByProductId(productId)).thenReturn(4.5);
 
         // Act
         double averageReview = reviewService.getAverageReviewOfProduct(productId);
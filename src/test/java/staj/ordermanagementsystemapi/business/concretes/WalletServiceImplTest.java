@@ -0,0 +1,211 @@
+package staj.ordermanagementsystemapi.business.concretes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import staj.ordermanagementsystemapi.business.abstracts.WalletService;
+import staj.ordermanagementsystemapi.core.exception.ConcurrentUpdateException;
+import staj.ordermanagementsystemapi.core.exception.ResourceNotFoundException;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.WalletLedgerRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.WalletLedgerWriteRepository;
+import staj.ordermanagementsystemapi.entities.concretes.WalletLedgerEntry;
+
+class WalletServiceImplTest {
+
+    private WalletService walletService;
+    private WalletLedgerRepository walletLedgerRepository;
+    private WalletLedgerWriteRepository walletLedgerWriteRepository;
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setUp() {
+        walletLedgerRepository = mock(WalletLedgerRepository.class);
+        walletLedgerWriteRepository = mock(WalletLedgerWriteRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        walletService = new WalletServiceImpl(walletLedgerRepository, walletLedgerWriteRepository, transactionManager);
+    }
+
+    @Test
+    public void WalletService_GetBalance_ReturnsSnapshotPlusPendingEntries() {
+        // Arrange
+        when(walletLedgerRepository.findBalance(1)).thenReturn(Optional.of(75.0));
+
+        // Act & Assert
+        assertEquals(75.0, walletService.getBalance(1));
+    }
+
+    @Test
+    public void WalletService_GetBalance_CustomerNotFoundThrowsResourceNotFoundException() {
+        // Arrange
+        when(walletLedgerRepository.findBalance(1)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> walletService.getBalance(1));
+    }
+
+    @Test
+    public void WalletService_GetPendingAmounts_ReturnsAmountPerCustomer() {
+        // Arrange
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1, -20.0});
+        rows.add(new Object[]{2, 5.0});
+        when(walletLedgerRepository.findPendingAmounts(List.of(1, 2, 3))).thenReturn(rows);
+
+        // Act
+        Map<Integer, Double> pending = walletService.getPendingAmounts(List.of(1, 2, 3));
+
+        // Assert
+        assertEquals(2, pending.size());
+        assertEquals(-20.0, pending.get(1));
+        assertEquals(5.0, pending.get(2));
+    }
+
+    @Test
+    public void WalletService_Debit_AppendsNegativeEntryCoveredByTheBalance() {
+        // Arrange
+        when(walletLedgerWriteRepository.append(1, -40.0, WalletLedgerEntry.DEBIT, "order:7", true)).thenReturn(true);
+
+        // Act
+        walletService.debit(1, 40.0, "order:7");
+
+        // Assert
+        verify(walletLedgerWriteRepository, times(1)).append(1, -40.0, WalletLedgerEntry.DEBIT, "order:7", true);
+        verify(walletLedgerRepository, never()).findBalance(any());
+    }
+
+    @Test
+    public void WalletService_Debit_UncoveredAmountThrowsIllegalArgumentException() {
+        // Arrange
+        when(walletLedgerWriteRepository.append(any(), anyDouble(), any(), any(), anyBoolean())).thenReturn(false);
+        when(walletLedgerRepository.findBalance(1)).thenReturn(Optional.of(30.0));
+
+        // Act & Assert
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> walletService.debit(1, 40.0, "order:7"));
+        assertEquals("Insufficient wallet balance: 30.0 required: 40.0", e.getMessage());
+        verify(walletLedgerWriteRepository, times(1)).append(any(), anyDouble(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    public void WalletService_Debit_LostRaceAppendsAgainAgainstTheNewBalance() {
+        // Arrange
+        when(walletLedgerWriteRepository.append(1, -40.0, WalletLedgerEntry.DEBIT, "order:7", true))
+                .thenReturn(false, true);
+        when(walletLedgerRepository.findBalance(1)).thenReturn(Optional.of(60.0));
+
+        // Act
+        walletService.debit(1, 40.0, "order:7");
+
+        // Assert
+        verify(walletLedgerWriteRepository, times(2)).append(1, -40.0, WalletLedgerEntry.DEBIT, "order:7", true);
+    }
+
+    @Test
+    public void WalletService_Debit_CustomerNotFoundThrowsResourceNotFoundException() {
+        // Arrange
+        when(walletLedgerRepository.findBalance(1)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> walletService.debit(1, 40.0, "order:7"));
+    }
+
+    @Test
+    public void WalletService_Debit_EndlessRaceThrowsConcurrentUpdateException() {
+        // Arrange
+        when(walletLedgerRepository.findBalance(1)).thenReturn(Optional.of(100.0));
+
+        // Act & Assert
+        assertThrows(ConcurrentUpdateException.class, () -> walletService.debit(1, 40.0, "order:7"));
+    }
+
+    @Test
+    public void WalletService_GetBalances_ReturnsBalancePerCustomer() {
+        // Arrange
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1, 10.0});
+        rows.add(new Object[]{2, 20.0});
+        when(walletLedgerRepository.findBalances(List.of(1, 2))).thenReturn(rows);
+
+        // Act
+        Map<Integer, Double> balances = walletService.getBalances(List.of(1, 2));
+
+        // Assert
+        assertEquals(Map.of(1, 10.0, 2, 20.0), balances);
+    }
+
+    @Test
+    public void WalletService_Credit_AppendsPositiveEntryWithoutCover() {
+        // Arrange
+        when(walletLedgerWriteRepository.append(1, 25.0, WalletLedgerEntry.CREDIT, "top-up", false)).thenReturn(true);
+
+        // Act
+        walletService.credit(1, 25.0, "top-up");
+
+        // Assert
+        verify(walletLedgerWriteRepository, times(1)).append(1, 25.0, WalletLedgerEntry.CREDIT, "top-up", false);
+    }
+
+    @Test
+    public void WalletService_Credit_NonPositiveAmountThrowsIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> walletService.credit(1, 0.0, "top-up"));
+    }
+
+    @Test
+    public void WalletService_Compact_MarksPendingEntriesAndFoldsThemIntoSnapshot() {
+        // Arrange
+        List<Object[]> summary = new ArrayList<>();
+        summary.add(new Object[]{3L, -30.0, 12L});
+        when(walletLedgerRepository.findCustomersWithPendingEntries()).thenReturn(List.of(1));
+        when(walletLedgerRepository.summarizePendingEntries(1)).thenReturn(summary);
+        when(walletLedgerRepository.markCompacted(1, 12L)).thenReturn(3);
+        when(walletLedgerRepository.foldIntoSnapshot(1, -30.0)).thenReturn(1);
+
+        // Act
+        int compacted = walletService.compact();
+
+        // Assert
+        assertEquals(1, compacted);
+        verify(walletLedgerRepository, times(1)).markCompacted(1, 12L);
+        verify(walletLedgerRepository, times(1)).foldIntoSnapshot(1, -30.0);
+    }
+
+    @Test
+    public void WalletService_Compact_ConcurrentCompactionRollsBackWithoutFolding() {
+        // Arrange
+        List<Object[]> summary = new ArrayList<>();
+        summary.add(new Object[]{3L, -30.0, 12L});
+        SimpleTransactionStatus status = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        when(walletLedgerRepository.findCustomersWithPendingEntries()).thenReturn(List.of(1));
+        when(walletLedgerRepository.summarizePendingEntries(1)).thenReturn(summary);
+        when(walletLedgerRepository.markCompacted(1, 12L)).thenReturn(0);
+
+        // Act
+        int compacted = walletService.compact();
+
+        // Assert
+        assertEquals(0, compacted);
+        assertTrue(status.isRollbackOnly());
+        verify(walletLedgerRepository, never()).foldIntoSnapshot(any(), any());
+    }
+}
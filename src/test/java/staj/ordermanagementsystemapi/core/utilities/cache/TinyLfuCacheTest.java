@@ -0,0 +1,137 @@
+package staj.ordermanagementsystemapi.core.utilities.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TinyLfuCacheTest {
+
+    private AtomicLong clock;
+    private TinyLfuCache<String> cache;
+
+    @BeforeEach
+    public void setUp() {
+        clock = new AtomicLong();
+        cache = new TinyLfuCache<>(100, 1_000, clock::get);
+    }
+
+    @Test
+    public void TinyLfuCache_Get_CountsHitsAndMisses() {
+        // Arrange
+        cache.put(1, "one");
+
+        // Act
+        String hit = cache.get(1);
+        String miss = cache.get(2);
+
+        // Assert
+        assertEquals("one", hit);
+        assertNull(miss);
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    public void TinyLfuCache_Get_ExpiredEntryIsDropped() {
+        // Arrange
+        cache.put(1, "one");
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1_000));
+
+        // Act & Assert
+        assertNull(cache.get(1));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void TinyLfuCache_Put_ScanDoesNotEvictFrequentlyReadEntries() {
+        // Arrange
+        for (int key = 0; key < 50; key++) {
+            cache.put(key, "hot-" + key);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int key = 0; key < 50; key++) {
+                cache.get(key);
+            }
+        }
+
+        // Act
+        for (int key = 1_000; key < 1_500; key++) {
+            cache.get(key);
+            cache.put(key, "cold-" + key);
+        }
+
+        // Assert
+        for (int key = 0; key < 50; key++) {
+            assertNotNull(cache.get(key));
+        }
+        assertEquals(100, cache.size());
+        assertTrue(cache.evictionCount() >= 450);
+    }
+
+    @Test
+    public void TinyLfuCache_Invalidate_RemovesOnlyThatKey() {
+        // Arrange
+        for (int key = 0; key < 100; key++) {
+            cache.put(key, "value-" + key);
+        }
+
+        // Act
+        cache.invalidate(42);
+
+        // Assert
+        assertNull(cache.get(42));
+        for (int key = 0; key < 100; key++) {
+            if (key != 42) {
+                assertEquals("value-" + key, cache.get(key));
+            }
+        }
+        assertEquals(99, cache.size());
+    }
+
+    @Test
+    public void TinyLfuCache_InvalidateAll_RemovesOnlyTheGivenKeys() {
+        // Arrange
+        for (int key = 0; key < 100; key++) {
+            cache.put(key, "value-" + key);
+        }
+
+        // Act
+        cache.invalidateAll(List.of(3, 42, 99, 1000));
+
+        // Assert
+        assertNull(cache.get(3));
+        assertNull(cache.get(42));
+        assertNull(cache.get(99));
+        assertEquals("value-4", cache.get(4));
+        assertEquals(97, cache.size());
+    }
+
+    @Test
+    public void TinyLfuCache_InvalidateIf_RemovesOnlyMatchingValues() {
+        // Arrange
+        for (int key = 0; key < 100; key++) {
+            cache.put(key, "value-" + key);
+        }
+
+        // Act
+        cache.invalidateIf(value -> value.endsWith("7"));
+
+        // Assert
+        for (int key = 0; key < 100; key++) {
+            if (key % 10 == 7) {
+                assertNull(cache.get(key));
+            } else {
+                assertEquals("value-" + key, cache.get(key));
+            }
+        }
+        assertEquals(90, cache.size());
+    }
+}
@@ -0,0 +1,71 @@
+package staj.ordermanagementsystemapi.core.utilities.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import staj.ordermanagementsystemapi.core.exception.ConcurrentUpdateException;
+import staj.ordermanagementsystemapi.entities.concretes.Product;
+
+class OptimisticWriteExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticWriteExecutor writeExecutor;
+    private AtomicInteger attempts;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        writeExecutor = new OptimisticWriteExecutor(mock(PlatformTransactionManager.class), meterRegistry);
+        attempts = new AtomicInteger();
+    }
+
+    @Test
+    public void OptimisticWriteExecutor_Execute_ReturnsTheResultOfTheWrite() {
+        // Act
+        String result = writeExecutor.execute("product.update", () -> {
+            attempts.incrementAndGet();
+            return "saved";
+        });
+
+        // Assert
+        assertEquals("saved", result);
+        assertEquals(1, attempts.get());
+        assertEquals(1.0, counter("optimistic.lock.attempts"));
+        assertEquals(0.0, counter("optimistic.lock.conflicts"));
+    }
+
+    @Test
+    public void OptimisticWriteExecutor_Execute_ConflictThrowsWithoutRetrying() {
+        // Act & Assert
+        assertThrows(ConcurrentUpdateException.class, () -> writeExecutor.execute("product.update", () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Product.class, 1);
+        }));
+        assertEquals(1, attempts.get());
+        assertEquals(1.0, counter("optimistic.lock.conflicts"));
+    }
+
+    @Test
+    public void OptimisticWriteExecutor_Execute_OtherFailuresPassThrough() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> writeExecutor.execute("product.update", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("Product name must be unique.");
+        }));
+        assertEquals(1, attempts.get());
+        assertEquals(0.0, counter("optimistic.lock.conflicts"));
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).tag("operation", "product.update").counter().count();
+    }
+}
@@ -0,0 +1,39 @@
+package staj.ordermanagementsystemapi.core.utilities.csv;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+class CsvReaderTest {
+
+    @Test
+    public void CsvReader_Next_HandlesQuotesEmbeddedNewlinesAndBlankLines() throws IOException {
+        // Arrange
+        CsvReader reader = new CsvReader(new StringReader("\uFEFFa,b\r\n\r\n\"x, \"\"y\"\"\",\"line1\nline2\"\n,last"));
+
+        // Act & Assert
+        assertArrayEquals(new String[] {"a", "b"}, reader.next());
+        assertEquals(1, reader.getRecordLine());
+        assertArrayEquals(new String[] {"x, \"y\"", "line1\nline2"}, reader.next());
+        assertEquals(3, reader.getRecordLine());
+        assertArrayEquals(new String[] {"", "last"}, reader.next());
+        assertEquals(5, reader.getRecordLine());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void CsvReader_Next_UnclosedQuoteThrowsIllegalArgumentException() throws IOException {
+        // Arrange
+        CsvReader reader = new CsvReader(new StringReader("ok\n\"never closed,\nmore"));
+
+        // Act & Assert
+        assertArrayEquals(new String[] {"ok"}, reader.next());
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+}
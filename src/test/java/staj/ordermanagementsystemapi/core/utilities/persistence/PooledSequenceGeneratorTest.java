@@ -0,0 +1,125 @@
+package staj.ordermanagementsystemapi.core.utilities.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CategoryRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CustomerRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ReviewRepository;
+import staj.ordermanagementsystemapi.entities.concretes.Category;
+import staj.ordermanagementsystemapi.entities.concretes.Customer;
+import staj.ordermanagementsystemapi.entities.concretes.Order;
+import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.concretes.Review;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PooledSequenceGeneratorTest {
+
+    private static final int ROWS = 200;
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Customer customer;
+    private Product product;
+
+    @BeforeEach
+    public void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        Category category = new Category();
+        category.setName("generator-" + suffix);
+        category = categoryRepository.save(category);
+
+        product = new Product();
+        product.setName("generator-" + suffix);
+        product.setPrice(10.0);
+        product.setCategory(category);
+        product.setQuantity(ROWS);
+        product = productRepository.save(product);
+
+        customer = new Customer();
+        customer.setName("generator-" + suffix);
+        customer.setPhone(suffix.substring(suffix.length() - 10));
+        customer.setMail("generator-" + suffix + "@customer.com");
+        customer.setPassword("pass");
+        customer.setWalletBalance(0.0);
+        customer = customerRepository.save(customer);
+    }
+
+    @Test
+    public void PooledSequenceGenerator_SaveAllOrders_InsertsAreBatched() {
+        // Arrange
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Order order = new Order();
+            order.setCustomer(customer);
+            order.setProduct(product);
+            order.setQuantity(1);
+            orders.add(order);
+        }
+        Statistics statistics = statistics();
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> orderRepository.saveAll(orders));
+
+        // Assert
+        // 200 rows take 4 sequence calls and 4 insert batches instead of 200 identity inserts
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 10, "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void PooledSequenceGenerator_SaveAllReviews_InsertsAreBatched() {
+        // Arrange
+        List<Review> reviews = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Review review = new Review();
+            review.setDescription("generator review " + i);
+            review.setStar(1 + i % 5);
+            review.setCustomer(customer);
+            review.setProduct(product);
+            reviews.add(review);
+        }
+        Statistics statistics = statistics();
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> reviewRepository.saveAll(reviews));
+
+        // Assert
+        assertEquals(ROWS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 10, "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
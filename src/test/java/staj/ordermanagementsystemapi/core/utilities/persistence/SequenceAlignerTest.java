@@ -0,0 +1,53 @@
+package staj.ordermanagementsystemapi.core.utilities.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CategoryRepository;
+import staj.ordermanagementsystemapi.entities.concretes.Category;
+
+@SpringBootTest
+class SequenceAlignerTest {
+
+    @Autowired
+    private SequenceAligner sequenceAligner;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void SequenceAligner_AlignSequences_NextIdIsAboveRowsInsertedOutsideHibernate() {
+        // Arrange
+        jdbcTemplate.update("insert into category (id, name, timestamp) values (100000, 'aligner-manual', current_timestamp)");
+
+        // Act
+        int restarted = sequenceAligner.alignSequences();
+
+        // Assert
+        // Read the sequence itself: the generator may still hold a block allocated earlier in this context
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        Long nextValue = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString("category_seq"), Long.class);
+        assertTrue(restarted >= 1);
+        assertTrue(nextValue > 100000);
+        assertEquals(0, sequenceAligner.alignSequences());
+        assertTrue(categoryRepository.save(newCategory("aligner-after")).getId() != 100000);
+    }
+
+    private static Category newCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+}
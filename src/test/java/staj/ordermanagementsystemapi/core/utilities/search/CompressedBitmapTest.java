@@ -0,0 +1,91 @@
+package staj.ordermanagementsystemapi.core.utilities.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class CompressedBitmapTest {
+
+    @Test
+    public void CompressedBitmap_AndOr_MatchBitSetForSparseAndDenseGroups() {
+        // Arrange
+        Random random = new Random(42);
+        CompressedBitmap sparse = new CompressedBitmap();
+        CompressedBitmap dense = new CompressedBitmap();
+        BitSet sparseBits = new BitSet();
+        BitSet denseBits = new BitSet();
+        for (int i = 0; i < 3_000; i++) {
+            int value = random.nextInt(200_000);
+            sparse.add(value);
+            sparseBits.set(value);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            int value = random.nextInt(140_000);
+            dense.add(value);
+            denseBits.set(value);
+        }
+
+        // Act
+        CompressedBitmap and = sparse.and(dense);
+        CompressedBitmap or = sparse.or(dense);
+
+        // Assert
+        BitSet expectedAnd = (BitSet) sparseBits.clone();
+        expectedAnd.and(denseBits);
+        BitSet expectedOr = (BitSet) sparseBits.clone();
+        expectedOr.or(denseBits);
+        assertEquals(denseBits.cardinality(), dense.cardinality());
+        assertEquals(expectedAnd.cardinality(), and.cardinality());
+        assertEquals(expectedAnd.cardinality(), sparse.andCardinality(dense));
+        assertEquals(expectedOr.cardinality(), or.cardinality());
+        assertEquals(expectedOr.stream().boxed().toList(), values(or, 0, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void CompressedBitmap_Remove_DenseGroupShrinksBackAndKeepsOtherValues() {
+        // Arrange
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int value = 0; value < 10_000; value++) {
+            bitmap.add(value);
+        }
+
+        // Act
+        for (int value = 0; value < 10_000; value += 2) {
+            bitmap.remove(value);
+        }
+        bitmap.remove(9_999);
+
+        // Assert
+        assertEquals(4_999, bitmap.cardinality());
+        assertTrue(bitmap.contains(1));
+        assertFalse(bitmap.contains(2));
+        assertFalse(bitmap.contains(9_999));
+    }
+
+    @Test
+    public void CompressedBitmap_ForEach_PagesAcrossGroups() {
+        // Arrange
+        CompressedBitmap bitmap = new CompressedBitmap();
+        bitmap.add(5);
+        bitmap.add(65_536);
+        bitmap.add(65_540);
+        bitmap.add(200_000);
+
+        // Act & Assert
+        assertEquals(List.of(65_540, 200_000), values(bitmap, 2, 10));
+        assertEquals(List.of(65_536), values(bitmap, 1, 1));
+    }
+
+    private static List<Integer> values(CompressedBitmap bitmap, int offset, int limit) {
+        List<Integer> values = new ArrayList<>();
+        bitmap.forEach(offset, limit, values::add);
+        return values;
+    }
+}
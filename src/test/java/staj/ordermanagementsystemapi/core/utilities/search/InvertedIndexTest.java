@@ -0,0 +1,75 @@
+package staj.ordermanagementsystemapi.core.utilities.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new InvertedIndex();
+        index.put(1, "Porselen Çay Bardağı", "Six glasses for tea");
+        index.put(2, "Tea Kettle", "Steel kettle, boils water for tea and coffee");
+        index.put(3, "Coffee Mug", "Large mug");
+    }
+
+    @Test
+    public void InvertedIndex_Search_TitleMatchRanksFirst() {
+        // Act
+        List<InvertedIndex.Hit> hits = index.search("kettle", 10);
+
+        // Assert
+        assertEquals(1, hits.size());
+        assertEquals(2, hits.get(0).documentId());
+    }
+
+    @Test
+    public void InvertedIndex_Search_RanksByBm25AcrossTerms() {
+        // Act
+        List<InvertedIndex.Hit> hits = index.search("coffee mug", 10);
+
+        // Assert
+        assertEquals(List.of(3, 2), hits.stream().map(InvertedIndex.Hit::documentId).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    public void InvertedIndex_Search_MatchesWithoutAccentsOrCase() {
+        // Act
+        List<InvertedIndex.Hit> hits = index.search("CAY bardagi", 10);
+
+        // Assert
+        assertEquals(1, hits.get(0).documentId());
+    }
+
+    @Test
+    public void InvertedIndex_Put_ReplacesEarlierVersionOfDocument() {
+        // Act
+        index.put(3, "Travel Mug", "Insulated");
+
+        // Assert
+        assertTrue(index.search("coffee", 10).stream().noneMatch(hit -> hit.documentId() == 3));
+        assertEquals(3, index.search("travel", 10).get(0).documentId());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void InvertedIndex_Suggest_MostCommonTermsFirstAndRemovedTermsDropped() {
+        // Act
+        List<String> before = index.suggest("C", 10);
+        index.remove(2);
+        List<String> after = index.suggest("c", 10);
+
+        // Assert
+        assertEquals(List.of("coffee", "cay"), before);
+        assertEquals(List.of("cay", "coffee"), after);
+        assertEquals(List.of(), index.suggest("kett", 10));
+    }
+}
@@ -0,0 +1,171 @@
+package staj.ordermanagementsystemapi.dataAccess.concretes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CategoryRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CustomerRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderLineRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.OrderSearchRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+import staj.ordermanagementsystemapi.entities.concretes.Category;
+import staj.ordermanagementsystemapi.entities.concretes.Customer;
+import staj.ordermanagementsystemapi.entities.concretes.Order;
+import staj.ordermanagementsystemapi.entities.concretes.OrderLine;
+import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.dto.OrderSearchFilter;
+import staj.ordermanagementsystemapi.entities.dto.OrderView;
+
+@SpringBootTest
+class OrderSearchRepositoryImplTest {
+
+    @Autowired
+    private OrderSearchRepository orderSearchRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderLineRepository orderLineRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Customer customer;
+    private Product product;
+
+    @BeforeEach
+    public void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        Category category = new Category();
+        category.setName("search-category-" + suffix);
+        category = categoryRepository.save(category);
+
+        product = new Product();
+        product.setName("search-product-" + suffix);
+        product.setPrice(5.0);
+        product.setCategory(category);
+        product.setQuantity(100);
+        product = productRepository.save(product);
+
+        customer = new Customer();
+        customer.setName("search-customer");
+        customer.setPhone(suffix.substring(suffix.length() - 10));
+        customer.setMail("search-" + suffix + "@customer.com");
+        customer.setPassword("pass");
+        customer.setWalletBalance(0.0);
+        customer = customerRepository.save(customer);
+
+        for (int i = 0; i < 7; i++) {
+            Order order = new Order();
+            order.setCustomer(customer);
+            order.setProduct(product);
+            order.setQuantity(1);
+            order = orderRepository.save(order);
+            orderLineRepository.save(new OrderLine(null, order, product, 1, product.getPrice()));
+            if (i % 2 == 0) {
+                jdbcTemplate.update("update orders set status = 'Shipped' where id = ?", order.getId());
+            }
+        }
+    }
+
+    @Test
+    public void OrderSearchRepository_Search_AppliesOnlyTheFiltersThatAreSet() {
+        // Act
+        List<OrderView> ofCustomer = orderSearchRepository.search(filter(null), null, null, 100);
+        List<OrderView> shipped = orderSearchRepository.search(filter("Shipped"), null, null, 100);
+
+        // Assert
+        assertEquals(7, ofCustomer.size());
+        assertEquals(4, shipped.size());
+        shipped.forEach(order -> assertEquals("Shipped", order.status()));
+        shipped.forEach(order -> assertEquals(product.getId(), order.productId()));
+    }
+
+    @Test
+    public void OrderSearchRepository_Search_FindsTheProductOnAnyLineOfAMultiLineOrder() {
+        // Arrange
+        Product other = new Product();
+        other.setName("search-other-" + System.nanoTime());
+        other.setPrice(2.0);
+        other.setCategory(product.getCategory());
+        other.setQuantity(100);
+        other = productRepository.save(other);
+        Order header = new Order();
+        header.setCustomer(customer);
+        Order checkout = orderRepository.save(header);
+        orderLineRepository.save(new OrderLine(null, checkout, other, 2, other.getPrice()));
+        orderLineRepository.save(new OrderLine(null, checkout, product, 3, product.getPrice()));
+
+        // Act
+        List<OrderView> found = orderSearchRepository.search(filter(null), null, null, 100);
+
+        // Assert
+        assertEquals(8, found.size());
+        assertTrue(found.stream().anyMatch(order -> order.id().equals(checkout.getId()) && order.productId() == null));
+    }
+
+    @Test
+    public void OrderSearchRepository_Search_KeysetPagesReturnEveryOrderOnce() {
+        // Act
+        Set<Integer> ids = new HashSet<>();
+        List<OrderView> page = orderSearchRepository.search(filter(null), null, null, 3);
+        while (!page.isEmpty()) {
+            page.forEach(order -> assertTrue(ids.add(order.id())));
+            OrderView last = page.get(page.size() - 1);
+            page = orderSearchRepository.search(filter(null), last.orderDate(), last.id(), 3);
+        }
+
+        // Assert
+        assertEquals(7, ids.size());
+    }
+
+    @Test
+    public void OrderSearchRepository_Search_FiltersAreServedByCompositeIndexes() {
+        // Act
+        String byStatus = plan(new OrderSearchFilter("Shipped", null, null, null, null), "Shipped");
+        String byCustomerAndProduct = plan(new OrderSearchFilter(null, null, null, customer.getId(), product.getId()),
+                customer.getId(), product.getId());
+
+        // Assert
+        assertTrue(byStatus.contains("idx_orders_status_order_date_id: status = ?1"));
+        // H2 indexes every foreign key on its own and ties it with (customer_id, order_date, id), so only the seek
+        // on the customer is checked here; PostgreSQL has no such index and only the composite one matches
+        assertTrue(byCustomerAndProduct.contains(": customer_id = ?1"));
+        assertTrue(byCustomerAndProduct.contains("idx_order_line_product_id_order_id: product_id = ?2"));
+    }
+
+    private OrderSearchFilter filter(String status) {
+        return new OrderSearchFilter(status, null, null, customer.getId(), product.getId());
+    }
+
+    // Explains the statement Hibernate generates for the filter; the arguments are its parameters up to the row limit
+    private String plan(OrderSearchFilter filter, Object... filterArgs) {
+        RecordingStatementInspector.start();
+        List<String> statements;
+        try {
+            orderSearchRepository.search(filter, null, null, 100);
+        } finally {
+            statements = RecordingStatementInspector.stop();
+        }
+        assertEquals(1, statements.size());
+        Object[] args = Arrays.copyOf(filterArgs, filterArgs.length + 1);
+        args[filterArgs.length] = 100;
+        return jdbcTemplate.queryForObject("explain " + statements.get(0), String.class, args).toLowerCase();
+    }
+}
@@ -0,0 +1,96 @@
+package staj.ordermanagementsystemapi.dataAccess.concretes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CategoryRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CustomerRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductDetailRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ReviewRepository;
+import staj.ordermanagementsystemapi.entities.concretes.Category;
+import staj.ordermanagementsystemapi.entities.concretes.Customer;
+import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.concretes.Review;
+import staj.ordermanagementsystemapi.entities.dto.ProductDetailDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductDetailReviewDto;
+
+@SpringBootTest
+class ProductDetailRepositoryImplTest {
+
+    @Autowired
+    private ProductDetailRepository productDetailRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Test
+    public void ProductDetailRepository_FindDetail_AggregatesAllReviewsAndReturnsTheNewest() {
+        // Arrange
+        String suffix = String.valueOf(System.nanoTime());
+        Category category = new Category();
+        category.setName("detail-category-" + suffix);
+        category = categoryRepository.save(category);
+        Product product = newProduct("detail-product-" + suffix, category);
+        Product other = newProduct("detail-other-" + suffix, category);
+
+        Customer customer = new Customer();
+        customer.setName("detail-customer");
+        customer.setPhone(suffix.substring(suffix.length() - 10));
+        customer.setMail("detail-" + suffix + "@customer.com");
+        customer.setPassword("pass");
+        customer.setWalletBalance(0.0);
+        customer = customerRepository.save(customer);
+
+        long now = System.currentTimeMillis();
+        int[] stars = {5, 4, 2};
+        for (int i = 0; i < stars.length; i++) {
+            Review review = reviewRepository.save(new Review(null, "review " + i, stars[i], customer, product, null));
+            // The entity stamps the time on persist, so the test spreads the reviews out afterwards
+            review.setTimestamp(new Date(now - (stars.length - i) * 60_000L));
+            reviewRepository.save(review);
+        }
+        reviewRepository.save(new Review(null, "elsewhere", 1, customer, other, null));
+
+        // Act
+        ProductDetailDto detail = productDetailRepository.findDetail(product.getId(), 2).orElseThrow();
+        ProductDetailDto summaryOnly = productDetailRepository.findDetail(product.getId(), 0).orElseThrow();
+        ProductDetailDto unreviewed = productDetailRepository.findDetail(
+                newProduct("detail-unreviewed-" + suffix, category).getId(), 5).orElseThrow();
+
+        // Assert
+        assertEquals("detail-product-" + suffix, detail.getProduct().getName());
+        assertEquals("detail-category-" + suffix, detail.getProduct().getCategory().getName());
+        assertEquals(3L, detail.getRatingCount());
+        assertEquals(11.0 / 3, detail.getRatingAverage(), 1e-9);
+        assertEquals(List.of("review 2", "review 1"),
+                detail.getLatestReviews().stream().map(ProductDetailReviewDto::getDescription).toList());
+        assertEquals("detail-customer", detail.getLatestReviews().get(0).getCustomerName());
+        assertEquals(3L, summaryOnly.getRatingCount());
+        assertTrue(summaryOnly.getLatestReviews().isEmpty());
+        assertEquals(0L, unreviewed.getRatingCount());
+        assertEquals(0.0, unreviewed.getRatingAverage());
+        assertTrue(productDetailRepository.findDetail(-1, 5).isEmpty());
+    }
+
+    private Product newProduct(String name, Category category) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(10.0);
+        product.setCategory(category);
+        product.setQuantity(1);
+        return productRepository.save(product);
+    }
+}
@@ -0,0 +1,114 @@
+package staj.ordermanagementsystemapi.dataAccess.concretes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import staj.ordermanagementsystemapi.dataAccess.abstracts.CategoryRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductRepository;
+import staj.ordermanagementsystemapi.dataAccess.abstracts.ProductWriteRepository;
+import staj.ordermanagementsystemapi.entities.concretes.Category;
+import staj.ordermanagementsystemapi.entities.concretes.Product;
+import staj.ordermanagementsystemapi.entities.dto.ProductDto;
+import staj.ordermanagementsystemapi.entities.dto.ProductIndexRow;
+
+@SpringBootTest
+class ProductWriteRepositoryImplTest {
+
+    @Autowired
+    private ProductWriteRepository productWriteRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    public void ProductWriteRepository_RepriceCategory_RoundsEveryProductInTheCategoryAndBumpsVersions() {
+        // Arrange
+        String suffix = String.valueOf(System.nanoTime());
+        Category category = categoryRepository.save(newCategory("reprice-" + suffix));
+        Category other = categoryRepository.save(newCategory("reprice-other-" + suffix));
+        Product cheap = productRepository.save(newProduct("cheap-" + suffix, 19.99, category));
+        Product dear = productRepository.save(newProduct("dear-" + suffix, 200.0, category));
+        Product untouched = productRepository.save(newProduct("untouched-" + suffix, 10.0, other));
+
+        // Act
+        List<ProductIndexRow> rows = productWriteRepository.repriceCategory(category.getId(), new BigDecimal("1.05"),
+                BigDecimal.ZERO, new BigDecimal("0.05"), RoundingMode.HALF_UP);
+
+        // Assert
+        assertEquals(List.of(cheap.getId(), dear.getId()), rows.stream().map(ProductIndexRow::getId).toList());
+        // 19.99 * 1.05 = 20.9895, the nearest multiple of 0.05 is 21.00
+        assertEquals(21.0, productRepository.findById(cheap.getId()).orElseThrow().getPrice());
+        assertEquals(210.0, rows.get(1).getPrice());
+        assertEquals(cheap.getVersion() + 1, productRepository.findById(cheap.getId()).orElseThrow().getVersion());
+        assertEquals(10.0, productRepository.findById(untouched.getId()).orElseThrow().getPrice());
+    }
+
+    @Test
+    public void ProductWriteRepository_RepriceCategory_NegativeResultsStopAtZero() {
+        // Arrange
+        String suffix = String.valueOf(System.nanoTime());
+        Category category = categoryRepository.save(newCategory("reprice-down-" + suffix));
+        Product product = productRepository.save(newProduct("discounted-" + suffix, 3.0, category));
+
+        // Act
+        productWriteRepository.repriceCategory(category.getId(), BigDecimal.ONE, new BigDecimal("-5"),
+                new BigDecimal("0.01"), RoundingMode.DOWN);
+
+        // Assert
+        assertEquals(0.0, productRepository.findById(product.getId()).orElseThrow().getPrice());
+    }
+
+    @Test
+    public void ProductWriteRepository_PatchProduct_WritesOnlyTheGivenColumns() {
+        // Arrange
+        String suffix = String.valueOf(System.nanoTime());
+        Category category = categoryRepository.save(newCategory("patch-" + suffix));
+        Category other = categoryRepository.save(newCategory("patch-other-" + suffix));
+        Product product = newProduct("patched-" + suffix, 4.5, category);
+        product.setThumbnail("thumb.jpg");
+        product = productRepository.save(product);
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("quantity", 12);
+        changes.put("thumbnail", null);
+        changes.put("categoryId", other.getId());
+
+        // Act
+        ProductDto patched = productWriteRepository.patchProduct(product.getId(), changes).orElseThrow();
+
+        // Assert
+        assertEquals("patched-" + suffix, patched.getName());
+        assertEquals(4.5, patched.getPrice());
+        assertEquals(12, patched.getQuantity());
+        assertNull(patched.getThumbnail());
+        assertEquals("patch-other-" + suffix, patched.getCategory().getName());
+        assertEquals(product.getVersion() + 1, productRepository.findById(product.getId()).orElseThrow().getVersion());
+        assertTrue(productWriteRepository.patchProduct(-1, Map.of("price", 1.0)).isEmpty());
+    }
+
+    private static Category newCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return category;
+    }
+
+    private static Product newProduct(String name, double price, Category category) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(price);
+        product.setCategory(category);
+        product.setQuantity(1);
+        return product;
+    }
+}